@@ -0,0 +1,85 @@
+package ac.su.kdt.beauthenticationservice.benchmark;
+
+import ac.su.kdt.beauthenticationservice.config.OAuth2Properties;
+import ac.su.kdt.beauthenticationservice.jwt.JwtKeyRing;
+import ac.su.kdt.beauthenticationservice.jwt.JwtService;
+import ac.su.kdt.beauthenticationservice.jwt.TokenMinter;
+import ac.su.kdt.beauthenticationservice.jwt.VerifiedTokenCache;
+import ac.su.kdt.beauthenticationservice.service.RevokedTokenBloomFilter;
+import ac.su.kdt.beauthenticationservice.service.TimingWheel;
+import ac.su.kdt.beauthenticationservice.service.TokenBlacklistService;
+import ac.su.kdt.beauthenticationservice.service.UserTokenWatermarkService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+
+/**
+ * 벤치마크 공통 객체 생성 (Spring 컨텍스트 없이 운영과 동일한 설정으로 구성)
+ */
+public final class BenchmarkFixtures {
+
+    public static final String ISSUER = "https://auth.devops-platform.com";
+    public static final String SECRET = "benchmark-secret-key-for-jwt-signing-minimum-512-bits-required-for-hs512-algorithm";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * JwtService 생성
+     *
+     * @param verificationCacheSize 0이면 검증 캐시를 사용하지 않음 (매번 서명 검증)
+     */
+    public static JwtService jwtService(long verificationCacheSize) {
+        OAuth2Properties properties = new OAuth2Properties();
+        properties.getJwt().setSecret(SECRET);
+
+        JwtKeyRing keyRing = new JwtKeyRing(properties);
+        JwtService jwtService = new JwtService(
+                keyRing,
+                new VerifiedTokenCache(new SimpleMeterRegistry(), verificationCacheSize),
+                new TokenMinter(keyRing, ISSUER));
+
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 3600L);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenExpiration", 2592000L);
+        return jwtService;
+    }
+
+    /**
+     * 동기화가 끝난 상태의 TokenBlacklistService 생성 (로컬 사본만 조회, Redis 연결 없음)
+     * 워터마크 조회는 사용자별 첫 요청에서만 "키 없음" 응답을 받아 "워터마크 없음"으로 캐시됩니다.
+     */
+    public static TokenBlacklistService tokenBlacklistService() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StringRedisTemplate redisTemplate = emptyRedisTemplate();
+        TokenBlacklistService service = new TokenBlacklistService(
+                redisTemplate,
+                new RevokedTokenBloomFilter(meterRegistry, 3600, 10_000, 0.001),
+                new UserTokenWatermarkService(redisTemplate, Optional.empty(), meterRegistry, 2592000, 3600),
+                new TimingWheel(meterRegistry, 100),
+                Optional.empty(),
+                meterRegistry,
+                Long.MAX_VALUE,
+                200_000);
+        ReflectionTestUtils.setField(service, "synced", true);
+        return service;
+    }
+
+    /**
+     * 모든 값 조회에 null(키 없음)을 돌려주는 Redis 템플릿 (연결 없이 조회 성공 경로를 타도록)
+     */
+    @SuppressWarnings("unchecked")
+    private static StringRedisTemplate emptyRedisTemplate() {
+        ValueOperations<String, String> valueOperations = (ValueOperations<String, String>) Proxy.newProxyInstance(
+                ValueOperations.class.getClassLoader(), new Class<?>[]{ValueOperations.class}, (proxy, method, args) -> null);
+        return new StringRedisTemplate() {
+            @Override
+            public ValueOperations<String, String> opsForValue() {
+                return valueOperations;
+            }
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package ac.su.kdt.beauthenticationservice.benchmark;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 같은 벤치마크를 스레드 수 1, 2, 4, 코어 수로 반복 실행해 경합을 비교합니다.
+ * 실행: ./gradlew jmhScaling -Pbenchmarks=JwtServiceBenchmark
+ */
+public final class ThreadScalingRunner {
+
+    private ThreadScalingRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "ac.su.kdt.beauthenticationservice.*";
+
+        SortedSet<Integer> threadCounts = new TreeSet<>();
+        threadCounts.add(1);
+        threadCounts.add(2);
+        threadCounts.add(4);
+        threadCounts.add(Runtime.getRuntime().availableProcessors());
+
+        // benchmark -> (threads -> score)
+        Map<String, Map<Integer, RunResult>> summary = new TreeMap<>();
+
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(3)
+                    .measurementIterations(5)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("build/results/jmh/scaling-" + threads + "t.json")
+                    .build();
+
+            for (RunResult result : new Runner(options).run()) {
+                String name = result.getParams().getBenchmark();
+                summary.computeIfAbsent(name, key -> new TreeMap<>()).put(threads, result);
+            }
+        }
+
+        printSummary(threadCounts, summary);
+    }
+
+    private static void printSummary(SortedSet<Integer> threadCounts, Map<String, Map<Integer, RunResult>> summary) {
+        System.out.println();
+        System.out.println("Thread scaling summary");
+        summary.forEach((benchmark, byThreads) -> {
+            System.out.println(benchmark);
+            for (int threads : threadCounts) {
+                RunResult result = byThreads.get(threads);
+                if (result != null) {
+                    System.out.printf("  %3d threads: %14.3f %s%n",
+                            threads,
+                            result.getPrimaryResult().getScore(),
+                            result.getPrimaryResult().getScoreUnit());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package ac.su.kdt.beauthenticationservice.jwt;
+
+import ac.su.kdt.beauthenticationservice.config.OAuth2Properties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 경로(호출마다 SecretKey + JwtParser 생성)와 JwtKeyRing(기동 시 한 번 생성) 비교
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtKeyRingBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-signing-minimum-512-bits-required-for-hs512-algorithm";
+
+    private JwtKeyRing keyRing;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        OAuth2Properties properties = new OAuth2Properties();
+        properties.getJwt().setSecret(SECRET);
+        keyRing = new JwtKeyRing(properties);
+
+        token = Jwts.builder()
+                .header().keyId(keyRing.getActiveKeyId()).and()
+                .subject("user123")
+                .claim("email", "bench@example.com")
+                .claim("role", "USER")
+                .claim("token_type", "access_token")
+                .signWith(keyRing.getActiveKey())
+                .compact();
+    }
+
+    @Benchmark
+    public SecretKey legacySigningKey() {
+        return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public Key keyRingSigningKey() {
+        return keyRing.getActiveKey();
+    }
+
+    @Benchmark
+    public Claims legacyParse() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    @Benchmark
+    public Claims keyRingParse() {
+        return keyRing.getParser()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
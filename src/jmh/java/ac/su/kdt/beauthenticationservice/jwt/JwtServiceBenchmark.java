@@ -0,0 +1,47 @@
+package ac.su.kdt.beauthenticationservice.jwt;
+
+import ac.su.kdt.beauthenticationservice.benchmark.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtService 발급/검증 경로 벤치마크
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private JwtService uncachedJwtService;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = BenchmarkFixtures.jwtService(10_000);
+        uncachedJwtService = BenchmarkFixtures.jwtService(0);
+        accessToken = jwtService.generateAccessToken("user123", "bench@example.com", "USER");
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken("user123", "bench@example.com", "USER");
+    }
+
+    @Benchmark
+    public Boolean isAccessTokenValidCached() {
+        return jwtService.isAccessTokenValid(accessToken);
+    }
+
+    @Benchmark
+    public Boolean isAccessTokenValidUncached() {
+        return uncachedJwtService.isAccessTokenValid(accessToken);
+    }
+}
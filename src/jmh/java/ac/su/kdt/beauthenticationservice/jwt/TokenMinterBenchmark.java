@@ -0,0 +1,75 @@
+package ac.su.kdt.beauthenticationservice.jwt;
+
+import ac.su.kdt.beauthenticationservice.benchmark.BenchmarkFixtures;
+import ac.su.kdt.beauthenticationservice.config.OAuth2Properties;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 jjwt 빌더 + UUID.randomUUID() 발급 경로와 TokenMinter 비교
+ * 코어 수에 따른 처리량 변화는 ./gradlew jmhScaling -Pbenchmarks=TokenMinterBenchmark 로 확인합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TokenMinterBenchmark {
+
+    private JwtKeyRing keyRing;
+    private TokenMinter tokenMinter;
+    private JtiGenerator jtiGenerator;
+
+    @Setup
+    public void setUp() {
+        OAuth2Properties properties = new OAuth2Properties();
+        properties.getJwt().setSecret(BenchmarkFixtures.SECRET);
+        keyRing = new JwtKeyRing(properties);
+        tokenMinter = new TokenMinter(keyRing, BenchmarkFixtures.ISSUER);
+        jtiGenerator = new JtiGenerator();
+    }
+
+    @Benchmark
+    public String legacyJjwtBuilder() {
+        Date now = new Date();
+        return Jwts.builder()
+                .header().keyId(keyRing.getActiveKeyId()).and()
+                .subject("user123")
+                .issuer(BenchmarkFixtures.ISSUER)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + 3600 * 1000))
+                .id(UUID.randomUUID().toString())
+                .claim("email", "bench@example.com")
+                .claim("role", "USER")
+                .claim("token_type", "access_token")
+                .signWith(keyRing.getActiveKey())
+                .compact();
+    }
+
+    @Benchmark
+    public String tokenMinter() {
+        return tokenMinter.begin("user123", null, 3600)
+                .claim("email", "bench@example.com")
+                .claim("role", "USER")
+                .claim("token_type", "access_token")
+                .sign();
+    }
+
+    @Benchmark
+    public String legacyJti() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String stripedJti() {
+        return jtiGenerator.next();
+    }
+}
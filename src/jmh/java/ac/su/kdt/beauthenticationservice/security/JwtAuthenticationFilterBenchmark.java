@@ -0,0 +1,68 @@
+package ac.su.kdt.beauthenticationservice.security;
+
+import ac.su.kdt.beauthenticationservice.benchmark.BenchmarkFixtures;
+import ac.su.kdt.beauthenticationservice.jwt.JwtService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter.doFilterInternal 벤치마크 (Bearer 토큰이 있는 mock 요청)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter filter;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = BenchmarkFixtures.jwtService(10_000);
+        filter = new JwtAuthenticationFilter(jwtService, BenchmarkFixtures.tokenBlacklistService());
+        accessToken = jwtService.generateAccessToken("user123", "bench@example.com", "USER");
+    }
+
+    /**
+     * 요청/응답 객체는 스레드별로 사용
+     */
+    @State(Scope.Thread)
+    public static class RequestState {
+
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+
+        @Setup
+        public void setUp(JwtAuthenticationFilterBenchmark benchmark) {
+            request = new MockHttpServletRequest("GET", "/api/profile");
+            request.setServletPath("/api/profile");
+            request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + benchmark.accessToken);
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public Authentication doFilterInternal(RequestState state) throws Exception {
+        try {
+            filter.doFilterInternal(state.request, state.response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
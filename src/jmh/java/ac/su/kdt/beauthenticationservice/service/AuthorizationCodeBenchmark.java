@@ -0,0 +1,60 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authorization Code 데이터 해시 변환 벤치마크
+ * 발급 시 필드 맵 생성과, 소비 스크립트 응답(필드/값 평탄 목록)에서 데이터를 복원하는 비용을 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AuthorizationCodeBenchmark {
+
+    private static final String CODE_CHALLENGE = "E9Melhoa2OwvFrEMTJguCHaoeK1t8URWbuGJSstw-cM";
+
+    private AuthorizationCodeService.AuthorizationCodeData data;
+    private List<Object> consumeReply;
+
+    @Setup
+    public void setUp() {
+        data = AuthorizationCodeService.AuthorizationCodeData.builder()
+                .userId("user123")
+                .clientId("devops-platform-client")
+                .redirectUri("https://app.example.com/oauth/callback")
+                .scope("openid profile email")
+                .state("xyz-state")
+                .codeChallenge(CODE_CHALLENGE)
+                .codeChallengeMethod("S256")
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        consumeReply = new ArrayList<>();
+        toHash().forEach((field, value) -> {
+            consumeReply.add(field);
+            consumeReply.add(value);
+        });
+    }
+
+    @Benchmark
+    public Map<String, String> toHash() {
+        return AuthorizationCodeService.toHash(data);
+    }
+
+    @Benchmark
+    public AuthorizationCodeService.AuthorizationCodeData fromReply() {
+        return AuthorizationCodeService.fromHash(AuthorizationCodeService.toFieldMap(consumeReply));
+    }
+}
@@ -0,0 +1,112 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로그인 실패 카운터 비교: 기존 Guava LoadingCache get-then-put 방식 vs SlidingWindowCounter
+ * hot key는 한 IP에서의 공격(모든 스레드가 같은 키), spread key는 여러 IP로 분산된 경우입니다.
+ * 반복마다 실제 증가 횟수와 카운터 값을 비교해 유실된 증가 수를 출력합니다.
+ * 실행: ./gradlew jmhScaling -Pbenchmarks=LoginAttemptCounterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LoginAttemptCounterBenchmark {
+
+    private static final String HOT_KEY = "203.0.113.7";
+    private static final int SPREAD_KEYS = 10_000;
+
+    private LoadingCache<String, Integer> legacyCache;
+    private SlidingWindowCounter counter;
+
+    private final LongAdder legacyHotIncrements = new LongAdder();
+    private final LongAdder counterHotIncrements = new LongAdder();
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // 변경 전 LoginAttemptService와 같은 구성
+        legacyCache = CacheBuilder.newBuilder()
+                .expireAfterWrite(15, TimeUnit.MINUTES)
+                .build(new CacheLoader<String, Integer>() {
+                    @Override
+                    public Integer load(String key) {
+                        return 0;
+                    }
+                });
+        counter = new SlidingWindowCounter(Duration.ofMinutes(15), 15, 100_000);
+        legacyHotIncrements.reset();
+        counterHotIncrements.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportLostUpdates() throws ExecutionException {
+        long legacyExpected = legacyHotIncrements.sum();
+        long counterExpected = counterHotIncrements.sum();
+        if (legacyExpected > 0) {
+            System.out.printf("%nlegacy hot key: %d increments, %d lost%n",
+                    legacyExpected, legacyExpected - legacyCache.get(HOT_KEY));
+        }
+        if (counterExpected > 0) {
+            // 슬롯당 최대 2^24 - 1에서 포화되므로 유실 수는 포화분을 제외하고 봐야 함
+            System.out.printf("%nsliding window hot key: %d increments, %d lost%n",
+                    counterExpected, counterExpected - counter.count(HOT_KEY));
+        }
+    }
+
+    @Benchmark
+    public int legacyHotKey() throws ExecutionException {
+        legacyHotIncrements.increment();
+        return legacyIncrement(HOT_KEY);
+    }
+
+    @Benchmark
+    public int slidingWindowHotKey() {
+        counterHotIncrements.increment();
+        return counter.increment(HOT_KEY);
+    }
+
+    @Benchmark
+    public int legacySpreadKeys() throws ExecutionException {
+        return legacyIncrement(spreadKey());
+    }
+
+    @Benchmark
+    public int slidingWindowSpreadKeys() {
+        return counter.increment(spreadKey());
+    }
+
+    @Benchmark
+    public int slidingWindowRead() {
+        return counter.count(HOT_KEY);
+    }
+
+    /**
+     * 변경 전 LoginAttemptService.loginFailed의 증가 방식
+     */
+    private int legacyIncrement(String key) throws ExecutionException {
+        int attempts = legacyCache.get(key) + 1;
+        legacyCache.put(key, attempts);
+        return attempts;
+    }
+
+    private static String spreadKey() {
+        return "10.0." + ThreadLocalRandom.current().nextInt(SPREAD_KEYS);
+    }
+}
@@ -4,6 +4,7 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Data
@@ -31,13 +32,37 @@ public class OAuth2Properties {
      */
     private Social social = new Social();
     
+    /**
+     * SSO 설정
+     */
+    private Sso sso = new Sso();
+    
     @Data
     public static class Jwt {
-        private String secret;
+        private String algorithm = "HMAC"; // HMAC, ES256, EdDSA
+        private String secret; // HMAC 서명 키
+        private String privateKey; // ES256/EdDSA 개인키 (PKCS#8, Base64 또는 PEM)
+        private String publicKey; // ES256/EdDSA 공개키 (X.509, Base64 또는 PEM)
+        private String keyId = "primary"; // 발급 토큰의 kid 헤더
+        private Map<String, String> verificationKeys = new LinkedHashMap<>(); // 키 교체 중 검증에만 쓰는 이전 키 (kid -> HMAC secret 또는 공개키)
         private long accessTokenExpiration = 3600; // 1시간
         private long refreshTokenExpiration = 2592000; // 30일
     }
     
+    @Data
+    public static class Sso {
+        private BackchannelLogout backchannelLogout = new BackchannelLogout();
+    }
+    
+    @Data
+    public static class BackchannelLogout {
+        private Map<String, String> uris = new LinkedHashMap<>(); // applicationId -> 로그아웃 알림을 받을 URI (등록된 애플리케이션만 알림)
+        private long timeoutMs = 2000; // 애플리케이션별 요청 타임아웃
+        private int maxRetries = 2; // 연결 실패/5xx 응답 재시도 횟수
+        private long retryBackoffMs = 200; // 재시도 간격 (재시도마다 두 배)
+        private int threads = 4; // HTTP 클라이언트 스레드 수
+    }
+    
     @Data
     public static class Social {
         private Google google = new Google();
@@ -95,7 +95,7 @@ public class AdminController {
     @GetMapping("/security/dashboard")
     @Operation(
         summary = "보안 대시보드",
-        description = "전체 보안 상황을 요약한 대시보드 정보를 제공합니다"
+        description = "전체 보안 상황을 요약한 대시보드 정보를 제공합니다 (집계 카운터 기반, 키 수와 무관하게 일정한 비용)"
     )
     public ResponseEntity<Map<String, Object>> getSecurityDashboard() {
         var stats = redisLoginAttemptService.getLoginAttemptStats();
@@ -107,6 +107,11 @@ public class AdminController {
             "medium_priority", stats.getTotalAccountsWithFailedAttempts(),
             "low_priority", stats.getTotalSuspiciousIPs()
         ));
+        dashboard.put("failure_rate", Map.of(
+            "failures_last_minute", stats.getFailuresLastMinute(),
+            "failures_per_minute", stats.getFailuresPerMinute(),
+            "window_minutes", stats.getFailureRateWindowMinutes()
+        ));
         dashboard.put("system_status", Map.of(
             "redis_connection", "healthy",
             "login_protection", "active",
@@ -120,40 +125,64 @@ public class AdminController {
     @GetMapping("/accounts/locked")
     @Operation(
         summary = "잠긴 계정 목록 조회",
-        description = "현재 잠금 상태인 모든 계정의 상세 정보를 조회합니다"
+        description = "현재 잠금 상태인 계정의 상세 정보를 잠금 해제 시각 순으로 조회합니다 (nextCursor로 다음 페이지 조회)"
     )
-    public ResponseEntity<List<RedisLoginAttemptService.LockedAccountInfo>> getLockedAccounts() {
-        var lockedAccounts = redisLoginAttemptService.getLockedAccounts();
+    public ResponseEntity<RedisLoginAttemptService.CursorPage<RedisLoginAttemptService.LockedAccountInfo>> getLockedAccounts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        var lockedAccounts = redisLoginAttemptService.getLockedAccounts(cursor, limit);
         return ResponseEntity.ok(lockedAccounts);
     }
     
     @GetMapping("/accounts/failed")
     @Operation(
         summary = "실패 시도 계정 목록 조회",
-        description = "로그인 실패 시도가 있는 모든 계정의 정보를 조회합니다"
+        description = "로그인 실패 시도가 있는 계정의 정보를 조회합니다 (nextCursor로 다음 페이지 조회)"
     )
-    public ResponseEntity<List<RedisLoginAttemptService.FailedAttemptAccountInfo>> getAccountsWithFailedAttempts() {
-        var failedAccounts = redisLoginAttemptService.getAccountsWithFailedAttempts();
+    public ResponseEntity<RedisLoginAttemptService.CursorPage<RedisLoginAttemptService.FailedAttemptAccountInfo>> getAccountsWithFailedAttempts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        var failedAccounts = redisLoginAttemptService.getAccountsWithFailedAttempts(cursor, limit);
         return ResponseEntity.ok(failedAccounts);
     }
     
     @GetMapping("/ips/suspicious")
     @Operation(
         summary = "의심스러운 IP 목록 조회",
-        description = "의심스러운 활동을 보이는 IP 주소와 관련 정보를 조회합니다"
+        description = "의심스러운 활동을 보이는 IP 주소와 관련 정보를 조회합니다 (nextCursor로 다음 페이지 조회)"
     )
-    public ResponseEntity<List<RedisLoginAttemptService.SuspiciousIPInfo>> getSuspiciousIPs() {
-        var suspiciousIPs = redisLoginAttemptService.getSuspiciousIPsWithDetails();
+    public ResponseEntity<RedisLoginAttemptService.CursorPage<RedisLoginAttemptService.SuspiciousIPInfo>> getSuspiciousIPs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        var suspiciousIPs = redisLoginAttemptService.getSuspiciousIPsWithDetails(cursor, limit);
         return ResponseEntity.ok(suspiciousIPs);
     }
     
+    @GetMapping("/ips/suspicious-prefixes")
+    @Operation(
+        summary = "의심스러운 IP 대역 조회",
+        description = "로그인 실패가 많은 IP 대역(IPv4 /24, IPv6 /64)을 실패 추정값 순으로 조회합니다"
+    )
+    public ResponseEntity<List<RedisLoginAttemptService.SuspiciousPrefixInfo>> getSuspiciousPrefixes(
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        var prefixes = redisLoginAttemptService.getSuspiciousPrefixes(limit);
+        return ResponseEntity.ok(prefixes);
+    }
+    
     @GetMapping("/accounts/all")
     @Operation(
         summary = "모든 계정 보안 상태 요약",
-        description = "Redis에 기록된 모든 계정의 보안 상태를 요약하여 조회합니다"
+        description = "Redis에 기록된 계정의 보안 상태를 요약하여 조회합니다 (nextCursor로 다음 페이지 조회)"
     )
-    public ResponseEntity<List<RedisLoginAttemptService.AccountSecuritySummary>> getAllAccountsSecuritySummary() {
-        var summaries = redisLoginAttemptService.getAllAccountsSecuritySummary();
+    public ResponseEntity<RedisLoginAttemptService.CursorPage<RedisLoginAttemptService.AccountSecuritySummary>> getAllAccountsSecuritySummary(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        var summaries = redisLoginAttemptService.getAllAccountsSecuritySummary(cursor, limit);
         return ResponseEntity.ok(summaries);
     }
     
@@ -162,29 +191,31 @@ public class AdminController {
         summary = "계정 보안 상태 개요",
         description = "전체 계정 보안 상태의 개요와 각 카테고리별 상세 정보를 제공합니다"
     )
-    public ResponseEntity<Map<String, Object>> getAccountsOverview() {
-        var lockedAccounts = redisLoginAttemptService.getLockedAccounts();
-        var failedAccounts = redisLoginAttemptService.getAccountsWithFailedAttempts();
-        var suspiciousIPs = redisLoginAttemptService.getSuspiciousIPsWithDetails();
-        var allAccounts = redisLoginAttemptService.getAllAccountsSecuritySummary();
+    public ResponseEntity<Map<String, Object>> getAccountsOverview(
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        // 건수는 인덱스 ZCOUNT, 목록은 카테고리별 첫 페이지만 조회
+        var stats = redisLoginAttemptService.getLoginAttemptStats();
+        var lockedAccounts = redisLoginAttemptService.getLockedAccounts(null, limit);
+        var failedAccounts = redisLoginAttemptService.getAccountsWithFailedAttempts(null, limit);
+        var suspiciousIPs = redisLoginAttemptService.getSuspiciousIPsWithDetails(null, limit);
         
         Map<String, Object> overview = new HashMap<>();
         overview.put("summary", Map.of(
-            "total_accounts_tracked", allAccounts.size(),
-            "locked_accounts", lockedAccounts.size(),
-            "accounts_with_failed_attempts", failedAccounts.size(),
-            "suspicious_ips", suspiciousIPs.size(),
-            "accounts_near_lock_threshold", 
-                failedAccounts.stream().mapToInt(acc -> acc.isNearLockThreshold() ? 1 : 0).sum()
+            "total_accounts_tracked", stats.getTotalAccountsWithFailedAttempts(),
+            "locked_accounts", stats.getTotalLockedAccounts(),
+            "accounts_with_failed_attempts", stats.getTotalAccountsWithFailedAttempts(),
+            "suspicious_ips", stats.getTotalSuspiciousIPs(),
+            "accounts_near_lock_threshold", stats.getTotalAccountsNearLockThreshold()
         ));
         overview.put("locked_accounts", lockedAccounts);
         overview.put("failed_attempt_accounts", failedAccounts);
         overview.put("suspicious_ips", suspiciousIPs);
         overview.put("high_risk_alerts", Map.of(
             "accounts_near_lock", 
-                failedAccounts.stream().filter(acc -> acc.isNearLockThreshold()).toList(),
+                failedAccounts.getItems().stream().filter(acc -> acc.isNearLockThreshold()).toList(),
             "high_risk_ips", 
-                suspiciousIPs.stream().filter(ip -> ip.isHighRisk()).toList()
+                suspiciousIPs.getItems().stream().filter(ip -> ip.isHighRisk()).toList()
         ));
         
         return ResponseEntity.ok(overview);
@@ -1,18 +1,26 @@
 package ac.su.kdt.beauthenticationservice.controller;
 
+import ac.su.kdt.beauthenticationservice.model.dto.UserSnapshot;
 import ac.su.kdt.beauthenticationservice.model.entity.User;
 import ac.su.kdt.beauthenticationservice.service.AuthService;
 import ac.su.kdt.beauthenticationservice.service.RedisLoginAttemptService;
+import ac.su.kdt.beauthenticationservice.service.TokenBlacklistService;
 import ac.su.kdt.beauthenticationservice.jwt.JwtService;
+import ac.su.kdt.beauthenticationservice.jwt.VerifiedToken;
+import ac.su.kdt.beauthenticationservice.security.LoginChallengeService;
+import ac.su.kdt.beauthenticationservice.security.LoginTarpit;
+import ac.su.kdt.beauthenticationservice.security.PasswordHashingRejectedException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.Map;
 import java.util.Optional;
@@ -32,6 +40,9 @@ public class AuthController {
     private final AuthService authService;
     private final RedisLoginAttemptService redisLoginAttemptService;
     private final JwtService jwtService;
+    private final TokenBlacklistService tokenBlacklistService;
+    private final LoginTarpit loginTarpit;
+    private final LoginChallengeService loginChallengeService;
     
     @GetMapping("/test")
     @Operation(summary = "Authentication Service Test", description = "인증 서비스 동작 확인 및 사용 가능한 엔드포인트 조회")
@@ -94,6 +105,10 @@ public class AuthController {
                 )
             ));
             
+        } catch (PasswordHashingRejectedException e) {
+            log.warn("Signup rejected - password hashing saturated, IP: {}", ipAddress);
+            return passwordHashingUnavailable(e);
+            
         } catch (IllegalArgumentException e) {
             log.warn("Signup failed from IP: {}: {}", ipAddress, e.getMessage());
             return ResponseEntity.badRequest()
@@ -108,7 +123,7 @@ public class AuthController {
     
     @PostMapping("/login")
     @Operation(summary = "User Login", description = "이메일/비밀번호로 로그인")
-    public ResponseEntity<?> login(
+    public DeferredResult<ResponseEntity<?>> login(
             @Parameter(description = "로그인 요청 데이터") @RequestBody Map<String, String> request,
             HttpServletRequest httpRequest) {
         
@@ -117,18 +132,40 @@ public class AuthController {
         String password = request.get("password");
         
         if (email == null || email.isEmpty()) {
-            return ResponseEntity.badRequest()
-                .body(Map.of("error", "EMAIL_REQUIRED", "message", "이메일이 필요합니다"));
+            return loginTarpit.respond(ResponseEntity.badRequest()
+                .body(Map.of("error", "EMAIL_REQUIRED", "message", "이메일이 필요합니다")), 0);
         }
         
         if (password == null || password.isEmpty()) {
-            return ResponseEntity.badRequest()
-                .body(Map.of("error", "PASSWORD_REQUIRED", "message", "비밀번호가 필요합니다"));
+            return loginTarpit.respond(ResponseEntity.badRequest()
+                .body(Map.of("error", "PASSWORD_REQUIRED", "message", "비밀번호가 필요합니다")), 0);
+        }
+        
+        // Redis 로그인 시도 제한 확인 (잠금 여부와 상세 정보를 한 번에 조회)
+        var loginStatus = redisLoginAttemptService.getLoginStatus(email, ipAddress);
+        
+        // 지연은 로그인 전 상태로 결정 (성공/실패 응답 시간 차이로 결과를 미리 알 수 없도록), 대기 중에는 요청 스레드 미사용
+        boolean blocked = loginStatus.isLocked() || loginStatus.isSourceBlocked();
+        long delayMillis = loginTarpit.delayFor(loginStatus.getFailedAttempts(), blocked);
+        
+        // 실패가 많은 IP는 비밀번호 해시 검증 전에 작업 증명 요구 (잠김/차단 응답은 해시를 계산하지 않음)
+        Optional<LoginChallengeService.Challenge> challenge = blocked
+                ? Optional.empty()
+                : loginChallengeService.challengeIfRequired(httpRequest, ipAddress, loginStatus.getSuspiciousCount());
+        if (challenge.isPresent()) {
+            log.warn("Login challenge required for email: {} from IP: {} (difficulty {})", 
+                    email, ipAddress, challenge.get().difficulty());
+            return loginTarpit.respond(ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+                .body(LoginChallengeService.toResponseBody(challenge.get())), delayMillis);
         }
         
-        // Redis 로그인 시도 제한 확인
-        if (redisLoginAttemptService.isAccountLocked(email)) {
-            var lockInfo = redisLoginAttemptService.getAccountLockInfoAsMap(email);
+        return loginTarpit.respond(authenticate(email, password, ipAddress, loginStatus), delayMillis);
+    }
+    
+    private ResponseEntity<?> authenticate(String email, String password, String ipAddress,
+                                           RedisLoginAttemptService.LoginAttemptStatus loginStatus) {
+        if (loginStatus.isLocked()) {
+            var lockInfo = loginStatus.toMap();
             log.warn("Login blocked - account locked: {} from IP: {}", email, ipAddress);
             
             return ResponseEntity.status(423).body(Map.of(
@@ -142,6 +179,16 @@ public class AuthController {
             ));
         }
         
+        // 같은 IP/대역에서 여러 계정을 시도한 경우 차단 (credential stuffing)
+        if (loginStatus.isSourceBlocked()) {
+            log.warn("Login blocked - credential stuffing suspected: {} from IP: {}", email, ipAddress);
+            
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of(
+                "error", "TOO_MANY_TARGET_ACCOUNTS",
+                "message", "여러 계정에 대한 로그인 실패가 감지되어 일시적으로 차단되었습니다. 잠시 후 다시 시도해 주세요."
+            ));
+        }
+        
         try {
             // 사용자 인증
             AuthService.LoginResult loginResult = authService.authenticateUser(email, password, ipAddress);
@@ -162,7 +209,7 @@ public class AuthController {
             String refreshToken = jwtService.generateRefreshToken(user.getId());
             
             // 로그인 성공 기록
-            redisLoginAttemptService.recordSuccessfulLogin(email);
+            redisLoginAttemptService.recordSuccessfulLogin(email, ipAddress);
             
             log.info("Login successful for email: {} from IP: {}", email, ipAddress);
             
@@ -181,6 +228,11 @@ public class AuthController {
                 )
             ));
             
+        } catch (PasswordHashingRejectedException e) {
+            // 서버 과부하는 로그인 실패로 기록하지 않음
+            log.warn("Login rejected - password hashing saturated: {} from IP: {}", email, ipAddress);
+            return passwordHashingUnavailable(e);
+            
         } catch (Exception e) {
             // 예외가 발생해도 실패 시도로 기록
             redisLoginAttemptService.recordFailedAttempt(email, ipAddress);
@@ -210,16 +262,22 @@ public class AuthController {
                     .body(Map.of("error", "INVALID_REFRESH_TOKEN", "message", "유효하지 않은 refresh token입니다"));
             }
             
+            // 무효화(로그아웃, 비밀번호 변경 등)된 Refresh Token 확인
+            if (jwtService.verify(refreshToken).filter(tokenBlacklistService::isRevoked).isPresent()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "TOKEN_REVOKED", "message", "무효화된 refresh token입니다"));
+            }
+            
             // 사용자 정보 추출
             String userId = jwtService.extractUserId(refreshToken);
-            Optional<User> userOpt = authService.getUserById(userId);
+            Optional<UserSnapshot> userOpt = authService.getUserSnapshot(userId);
             
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "USER_NOT_FOUND", "message", "사용자를 찾을 수 없습니다"));
             }
             
-            User user = userOpt.get();
+            UserSnapshot user = userOpt.get();
             
             // 새 Access Token 생성
             String accessToken = jwtService.generateAccessToken(user.getId(), user.getEmail(), user.getRole().toString());
@@ -274,23 +332,19 @@ public class AuthController {
                         .body(Map.of("error", "Token is required"));
             }
             
-            boolean isValid = authService.validateToken(token);
-            
-            if (isValid) {
-                Optional<User> userOpt = authService.getUserFromToken(token);
-                if (userOpt.isPresent()) {
-                    User user = userOpt.get();
-                    return ResponseEntity.ok(Map.of(
-                        "valid", true,
-                        "user", Map.of(
-                            "id", user.getId(),
-                            "email", user.getEmail(),
-                            "name", user.getName(),
-                            "role", user.getRole().toString(),
-                            "tickets", user.getCurrentTickets()
-                        )
-                    ));
-                }
+            Optional<UserSnapshot> userOpt = getUserFromToken(token);
+            if (userOpt.isPresent()) {
+                UserSnapshot user = userOpt.get();
+                return ResponseEntity.ok(Map.of(
+                    "valid", true,
+                    "user", Map.of(
+                        "id", user.getId(),
+                        "email", user.getEmail(),
+                        "name", user.getName(),
+                        "role", user.getRole().toString(),
+                        "tickets", user.getCurrentTickets()
+                    )
+                ));
             }
             
             return ResponseEntity.ok(Map.of("valid", false));
@@ -312,10 +366,10 @@ public class AuthController {
             }
             
             String token = authHeader.substring(7);
-            Optional<User> userOpt = authService.getUserFromToken(token);
+            Optional<UserSnapshot> userOpt = getUserFromToken(token);
             
             if (userOpt.isPresent()) {
-                User user = userOpt.get();
+                UserSnapshot user = userOpt.get();
                 return ResponseEntity.ok(Map.of(
                     "id", user.getId(),
                     "email", user.getEmail(),
@@ -356,6 +410,27 @@ public class AuthController {
         ));
     }
     
+    /**
+     * 비밀번호 해싱 실행기 포화 시 응답 (503 + Retry-After)
+     */
+    private ResponseEntity<?> passwordHashingUnavailable(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(Map.of("error", "SERVICE_BUSY", "message", "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."));
+    }
+    
+    /**
+     * 토큰을 한 번 검증하고, 무효화(jti 블랙리스트, 사용자 워터마크)되지 않았으면 토큰의 사용자 스냅샷 반환
+     * /auth/** 는 JwtAuthenticationFilter를 거치지 않으므로 여기서 직접 확인합니다.
+     */
+    private Optional<UserSnapshot> getUserFromToken(String token) {
+        Optional<VerifiedToken> verified = jwtService.verify(token);
+        if (verified.isEmpty() || tokenBlacklistService.isRevoked(verified.get())) {
+            return Optional.empty();
+        }
+        return authService.getUserSnapshot(verified.get().getUserId());
+    }
+
     private String getClientIpAddress(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
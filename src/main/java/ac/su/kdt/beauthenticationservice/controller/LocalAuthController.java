@@ -3,6 +3,9 @@ package ac.su.kdt.beauthenticationservice.controller;
 import ac.su.kdt.beauthenticationservice.model.dto.LoginRequest;
 import ac.su.kdt.beauthenticationservice.model.dto.SignupRequest;
 import ac.su.kdt.beauthenticationservice.model.dto.PasswordResetRequest;
+import ac.su.kdt.beauthenticationservice.security.LoginChallengeService;
+import ac.su.kdt.beauthenticationservice.security.LoginTarpit;
+import ac.su.kdt.beauthenticationservice.security.PasswordHashingRejectedException;
 import ac.su.kdt.beauthenticationservice.service.LocalAuthService;
 import ac.su.kdt.beauthenticationservice.service.LoginAttemptService;
 import ac.su.kdt.beauthenticationservice.service.RedisLoginAttemptService;
@@ -18,11 +21,15 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * 일반 이메일/비밀번호 기반 인증 API
@@ -38,6 +45,8 @@ public class LocalAuthController {
     private final LocalAuthService localAuthService;
     private final LoginAttemptService loginAttemptService;
     private final RedisLoginAttemptService redisLoginAttemptService;
+    private final LoginTarpit loginTarpit;
+    private final LoginChallengeService loginChallengeService;
     
     @PostMapping("/signup")
     @Operation(
@@ -146,6 +155,10 @@ public class LocalAuthController {
             
             return ResponseEntity.ok(response);
             
+        } catch (PasswordHashingRejectedException e) {
+            log.warn("Local signup rejected - password hashing saturated: {}", request.getEmail());
+            return passwordHashingUnavailable(e);
+            
         } catch (Exception e) {
             log.error("Local signup failed for email: {}", request.getEmail(), e);
             
@@ -162,16 +175,41 @@ public class LocalAuthController {
         summary = "이메일 로그인",
         description = "이메일과 비밀번호를 사용한 로그인"
     )
-    public ResponseEntity<Map<String, Object>> login(
+    public DeferredResult<ResponseEntity<Map<String, Object>>> login(
             @Valid @RequestBody LoginRequest request,
             HttpServletRequest httpRequest
     ) {
         String ipAddress = getClientIpAddress(httpRequest);
         String userAgent = httpRequest.getHeader("User-Agent");
         
-        // Redis 기반 계정 잠금 확인
-        if (redisLoginAttemptService.isAccountLocked(request.getEmail())) {
-            var lockInfo = redisLoginAttemptService.getAccountLockInfo(request.getEmail());
+        // Redis 기반 계정 잠금 확인 (한 번의 조회)
+        var loginStatus = redisLoginAttemptService.getLoginStatus(request.getEmail(), ipAddress);
+        
+        // 임계값에 가까운 계정/차단된 출처는 응답을 점점 늦게 반환 (대기 중에는 요청 스레드 미사용)
+        boolean blocked = loginStatus.isLocked() || loginStatus.isSourceBlocked()
+                || loginAttemptService.isBlocked(ipAddress, request.getEmail());
+        long delayMillis = loginTarpit.delayFor(loginStatus.getFailedAttempts(), blocked);
+        
+        // 실패가 많은 IP는 비밀번호 해시 검증 전에 작업 증명 요구 (잠김/차단 응답은 해시를 계산하지 않음)
+        Optional<LoginChallengeService.Challenge> challenge = blocked
+                ? Optional.empty()
+                : loginChallengeService.challengeIfRequired(httpRequest, ipAddress, loginStatus.getSuspiciousCount());
+        if (challenge.isPresent()) {
+            log.warn("Login challenge required for email: {} from IP: {} (difficulty {})", 
+                    request.getEmail(), ipAddress, challenge.get().difficulty());
+            
+            Map<String, Object> challengeResponse = LoginChallengeService.toResponseBody(challenge.get());
+            challengeResponse.put("status", "challenge_required");
+            return loginTarpit.respond(ResponseEntity.status(428).body(challengeResponse), delayMillis); // Precondition Required
+        }
+        
+        return loginTarpit.respond(authenticate(request, ipAddress, userAgent, loginStatus), delayMillis);
+    }
+    
+    private ResponseEntity<Map<String, Object>> authenticate(LoginRequest request, String ipAddress, String userAgent,
+                                                             RedisLoginAttemptService.LoginAttemptStatus loginStatus) {
+        if (loginStatus.isLocked()) {
+            var lockInfo = loginStatus.toLockInfo();
             
             log.warn("Login blocked for email: {} from IP: {} - Account is locked until {}", 
                     request.getEmail(), ipAddress, lockInfo.getUnlockTime());
@@ -187,6 +225,19 @@ public class LocalAuthController {
             return ResponseEntity.status(423).body(errorResponse); // Locked
         }
         
+        // 같은 IP/대역에서 여러 계정을 시도한 경우 차단 (credential stuffing)
+        if (loginStatus.isSourceBlocked()) {
+            log.warn("Login blocked for email: {} from IP: {} - {} distinct accounts targeted from this source", 
+                    request.getEmail(), ipAddress, loginStatus.getDistinctTargetsFromIp());
+            
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "ip_blocked");
+            errorResponse.put("message", "여러 계정에 대한 로그인 실패가 감지되어 IP가 일시적으로 차단되었습니다. 잠시 후 다시 시도해 주세요.");
+            errorResponse.put("remaining_attempts", 0);
+            
+            return ResponseEntity.status(429).body(errorResponse); // Too Many Requests
+        }
+        
         // IP 기반 로그인 시도 제한 확인 (기존 시스템)
         if (loginAttemptService.isBlocked(ipAddress, request.getEmail())) {
             log.warn("Login blocked for email: {} from IP: {} due to too many attempts", 
@@ -208,7 +259,7 @@ public class LocalAuthController {
             
             // 로그인 성공 시 실패 기록 초기화 (두 시스템 모두)
             loginAttemptService.loginSucceeded(ipAddress, request.getEmail());
-            redisLoginAttemptService.recordLoginAttempt(request.getEmail(), ipAddress, true);
+            redisLoginAttemptService.recordSuccessfulLogin(request.getEmail(), ipAddress);
             
             Map<String, Object> response = new HashMap<>();
             response.put("status", "success");
@@ -220,31 +271,34 @@ public class LocalAuthController {
             
             return ResponseEntity.ok(response);
             
+        } catch (PasswordHashingRejectedException e) {
+            // 서버 과부하는 로그인 실패로 기록하지 않음
+            log.warn("Local login rejected - password hashing saturated: {} from IP: {}", request.getEmail(), ipAddress);
+            return passwordHashingUnavailable(e);
+            
         } catch (Exception e) {
             log.error("Local login failed for email: {} from IP: {}", request.getEmail(), ipAddress, e);
             
             // 로그인 실패 기록 (두 시스템 모두)
             loginAttemptService.loginFailed(ipAddress, request.getEmail());
-            redisLoginAttemptService.recordLoginAttempt(request.getEmail(), ipAddress, false);
-            
-            // Redis 기반 남은 시도 횟수 확인
-            int remainingAttempts = redisLoginAttemptService.getRemainingAttempts(request.getEmail());
-            var lockInfo = redisLoginAttemptService.getAccountLockInfo(request.getEmail());
+            // 기록 후 상태(남은 시도 횟수, 잠금 여부)를 같은 응답으로 받음
+            var failureStatus = redisLoginAttemptService.recordFailedAttempt(request.getEmail(), ipAddress);
+            int remainingAttempts = failureStatus.getRemainingAttempts();
             
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("status", "error");
             errorResponse.put("message", e.getMessage());
             errorResponse.put("remaining_attempts", remainingAttempts);
-            errorResponse.put("current_attempts", redisLoginAttemptService.getCurrentLoginAttempts(request.getEmail()));
-            errorResponse.put("max_attempts", 10);
+            errorResponse.put("current_attempts", failureStatus.getFailedAttempts());
+            errorResponse.put("max_attempts", failureStatus.getMaxAttempts());
             
             if (remainingAttempts <= 3 && remainingAttempts > 0) {
                 errorResponse.put("warning", "경고: " + remainingAttempts + "회 더 실패하면 계정이 1시간 동안 잠깁니다.");
             }
             
-            if (lockInfo.isLocked()) {
+            if (failureStatus.isLocked()) {
                 errorResponse.put("account_locked", true);
-                errorResponse.put("unlock_time", lockInfo.getUnlockTime());
+                errorResponse.put("unlock_time", failureStatus.getUnlockTime());
                 return ResponseEntity.status(423).body(errorResponse); // Locked
             }
             
@@ -313,6 +367,10 @@ public class LocalAuthController {
             
             return ResponseEntity.ok(response);
             
+        } catch (PasswordHashingRejectedException e) {
+            log.warn("Password reset confirmation rejected - password hashing saturated");
+            return passwordHashingUnavailable(e);
+            
         } catch (Exception e) {
             log.error("Password reset confirmation failed from IP: {}", getClientIpAddress(httpRequest), e);
             
@@ -372,6 +430,20 @@ public class LocalAuthController {
         }
     }
     
+    /**
+     * 비밀번호 해싱 실행기 포화 시 응답 (503 + Retry-After)
+     */
+    private ResponseEntity<Map<String, Object>> passwordHashingUnavailable(PasswordHashingRejectedException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("status", "service_busy");
+        errorResponse.put("message", "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+        errorResponse.put("retry_after_seconds", e.getRetryAfterSeconds());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+    
     /**
      * 클라이언트 IP 주소를 추출합니다.
      */
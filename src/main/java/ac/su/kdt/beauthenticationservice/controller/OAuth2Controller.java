@@ -1,11 +1,14 @@
 package ac.su.kdt.beauthenticationservice.controller;
 
 import ac.su.kdt.beauthenticationservice.config.OAuth2Properties;
+import ac.su.kdt.beauthenticationservice.jwt.JwtKeyRing;
 import ac.su.kdt.beauthenticationservice.jwt.JwtService;
-import ac.su.kdt.beauthenticationservice.model.entity.User;
+import ac.su.kdt.beauthenticationservice.jwt.VerifiedToken;
+import ac.su.kdt.beauthenticationservice.model.dto.UserSnapshot;
 import ac.su.kdt.beauthenticationservice.service.AuthService;
 import ac.su.kdt.beauthenticationservice.service.AuthorizationCodeService;
 import ac.su.kdt.beauthenticationservice.service.RedisLoginAttemptService;
+import ac.su.kdt.beauthenticationservice.service.TokenBlacklistService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,7 +17,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -44,9 +47,10 @@ public class OAuth2Controller {
     private final AuthorizationCodeService authorizationCodeService;
     private final AuthService authService;
     private final JwtService jwtService;
+    private final JwtKeyRing jwtKeyRing;
     private final RedisLoginAttemptService redisLoginAttemptService;
     private final OAuth2Properties oauth2Properties;
-    private final RedisTemplate<String, String> redisTemplate;
+    private final TokenBlacklistService tokenBlacklistService;
     
     // PKCE를 위한 SecureRandom
     private final SecureRandom secureRandom = new SecureRandom();
@@ -66,11 +70,11 @@ public class OAuth2Controller {
         metadata.put("token_endpoint", baseUrl + "/oauth/token");
         metadata.put("revocation_endpoint", baseUrl + "/oauth/revoke");
         metadata.put("userinfo_endpoint", baseUrl + "/oauth/userinfo");
-        metadata.put("jwks_uri", baseUrl + "/oauth/jwks");
+        metadata.put("jwks_uri", baseUrl + "/oauth/.well-known/jwks.json");
         metadata.put("response_types_supported", new String[]{"code"});
         metadata.put("grant_types_supported", new String[]{"authorization_code", "refresh_token"});
         metadata.put("subject_types_supported", new String[]{"public"});
-        metadata.put("id_token_signing_alg_values_supported", new String[]{"HS512"});
+        metadata.put("id_token_signing_alg_values_supported", new String[]{jwtKeyRing.getSigningAlgorithmName()});
         metadata.put("scopes_supported", new String[]{"openid", "profile", "email"});
         metadata.put("token_endpoint_auth_methods_supported", new String[]{"client_secret_post", "client_secret_basic"});
         metadata.put("code_challenge_methods_supported", new String[]{"S256", "plain"});
@@ -78,6 +82,18 @@ public class OAuth2Controller {
         return ResponseEntity.ok(metadata);
     }
     
+    /**
+     * JSON Web Key Set Endpoint
+     * RFC 7517: 리소스 서버가 네트워크 호출 없이 토큰을 직접 검증할 수 있도록 공개키를 배포합니다.
+     */
+    @GetMapping({"/.well-known/jwks.json", "/jwks"})
+    @Operation(summary = "JWKS", description = "토큰 서명 검증용 공개키 목록(JWK Set)을 반환합니다")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(jwtKeyRing.getJwkSet());
+    }
+    
     /**
      * OAuth 2.0 Authorization Endpoint
      * RFC 6749 Section 3.1
@@ -191,18 +207,11 @@ public class OAuth2Controller {
         log.info("Token revocation request from IP: {} for client: {}", ipAddress, clientId);
         
         try {
-            // JWT ID를 추출하여 블랙리스트에 추가
-            String jti = jwtService.extractJti(token);
-            if (jti != null) {
-                // Redis에 블랙리스트로 등록 (토큰 만료시간까지)
-                long expiration = jwtService.extractExpiration(token).getTime();
-                long ttl = (expiration - System.currentTimeMillis()) / 1000;
-                
-                if (ttl > 0) {
-                    redisTemplate.opsForValue().set("blacklist:token:" + jti, "revoked", ttl, TimeUnit.SECONDS);
-                    log.info("Token revoked: {} from IP: {}", jti, ipAddress);
-                }
-            }
+            // 검증된 토큰을 블랙리스트에 추가 (남은 수명만큼 Redis 보관 후 모든 인스턴스에 전파)
+            jwtService.verify(token).ifPresent(verifiedToken -> {
+                tokenBlacklistService.revoke(verifiedToken);
+                log.info("Token revoked: {} from IP: {}", verifiedToken.getJti(), ipAddress);
+            });
             
             return ResponseEntity.ok(Map.of("revoked", true));
             
@@ -231,16 +240,16 @@ public class OAuth2Controller {
             String accessToken = authHeader.substring(7);
             
             // 토큰 유효성 검증
-            if (!jwtService.isAccessTokenValid(accessToken)) {
+            Optional<VerifiedToken> verified = jwtService.verify(accessToken).filter(VerifiedToken::isAccessToken);
+            if (verified.isEmpty()) {
                 return ResponseEntity.status(401).body(Map.of(
                     "error", "invalid_token",
                     "error_description", "Invalid access token"
                 ));
             }
             
-            // 블랙리스트 확인
-            String jti = jwtService.extractJti(accessToken);
-            if (redisTemplate.hasKey("blacklist:token:" + jti)) {
+            // 블랙리스트 확인 (Bloom filter 음성이면 조회 생략)
+            if (tokenBlacklistService.isRevoked(verified.get())) {
                 return ResponseEntity.status(401).body(Map.of(
                     "error", "invalid_token",
                     "error_description", "Token has been revoked"
@@ -248,8 +257,8 @@ public class OAuth2Controller {
             }
             
             // 사용자 정보 조회
-            String userId = jwtService.extractUserId(accessToken);
-            Optional<User> userOpt = authService.getUserById(userId);
+            String userId = verified.get().getUserId();
+            Optional<UserSnapshot> userOpt = authService.getUserSnapshot(userId);
             
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(401).body(Map.of(
@@ -258,7 +267,7 @@ public class OAuth2Controller {
                 ));
             }
             
-            User user = userOpt.get();
+            UserSnapshot user = userOpt.get();
             return ResponseEntity.ok(Map.of(
                 "sub", user.getId(),
                 "email", user.getEmail(),
@@ -314,12 +323,12 @@ public class OAuth2Controller {
         }
         
         // 사용자 정보 조회
-        Optional<User> userOpt = authService.getUserById(authData.getUserId());
+        Optional<UserSnapshot> userOpt = authService.getUserSnapshot(authData.getUserId());
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
         
-        User user = userOpt.get();
+        UserSnapshot user = userOpt.get();
         
         // 토큰 생성
         Map<String, Object> additionalClaims = Map.of(
@@ -369,16 +378,21 @@ public class OAuth2Controller {
             throw new IllegalArgumentException("Invalid or expired refresh token");
         }
         
+        // 무효화된 Refresh Token 확인
+        if (jwtService.verify(refreshToken).filter(tokenBlacklistService::isRevoked).isPresent()) {
+            throw new IllegalArgumentException("Refresh token has been revoked");
+        }
+        
         // 사용자 정보 조회
         String userId = jwtService.extractUserId(refreshToken);
         String email = jwtService.extractEmail(refreshToken);
         
-        Optional<User> userOpt = authService.getUserById(userId);
+        Optional<UserSnapshot> userOpt = authService.getUserSnapshot(userId);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
         
-        User user = userOpt.get();
+        UserSnapshot user = userOpt.get();
         
         // 새로운 Access Token 생성
         Map<String, Object> additionalClaims = Map.of(
@@ -2,7 +2,7 @@ package ac.su.kdt.beauthenticationservice.controller;
 
 import ac.su.kdt.beauthenticationservice.security.JwtUserDetails;
 import ac.su.kdt.beauthenticationservice.service.AuthService;
-import ac.su.kdt.beauthenticationservice.model.entity.User;
+import ac.su.kdt.beauthenticationservice.model.dto.UserSnapshot;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -47,8 +47,8 @@ public class ProtectedApiController {
         JwtUserDetails userDetails = (JwtUserDetails) auth.getPrincipal();
         log.info("Profile requested for user: {}", userDetails.getEmail());
         
-        // 데이터베이스에서 사용자 정보 조회
-        Optional<User> userOpt = authService.getUserFromToken(userDetails.getRawToken());
+        // 사용자 정보 조회 (토큰 서명과 무효화 여부는 JwtAuthenticationFilter에서 확인됨)
+        Optional<UserSnapshot> userOpt = authService.getUserSnapshot(userDetails.getUserId());
         
         Map<String, Object> response = new HashMap<>();
         response.put("auth0_user_id", userDetails.getAuth0UserId());
@@ -57,7 +57,7 @@ public class ProtectedApiController {
         response.put("authorities", auth.getAuthorities());
         
         if (userOpt.isPresent()) {
-            User user = userOpt.get();
+            UserSnapshot user = userOpt.get();
             response.put("user_id", user.getId());
             response.put("name", user.getName());
             response.put("current_tickets", user.getCurrentTickets());
@@ -1,6 +1,6 @@
 package ac.su.kdt.beauthenticationservice.controller;
 
-import ac.su.kdt.beauthenticationservice.model.entity.User;
+import ac.su.kdt.beauthenticationservice.model.dto.UserSnapshot;
 import ac.su.kdt.beauthenticationservice.service.SSOTokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -80,10 +80,10 @@ public class SSOController {
                 ));
             }
             
-            Optional<User> userOpt = ssoTokenService.validateSSOToken(ssoToken);
+            Optional<UserSnapshot> userOpt = ssoTokenService.validateSSOToken(ssoToken);
             
             if (userOpt.isPresent()) {
-                User user = userOpt.get();
+                UserSnapshot user = userOpt.get();
                 Map<String, Object> response = new HashMap<>();
                 response.put("valid", true);
                 response.put("user", Map.of(
@@ -0,0 +1,65 @@
+package ac.su.kdt.beauthenticationservice.jwt;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * JWT ID (jti) 생성기
+ * UUID.randomUUID()는 JVM 전역 SecureRandom 하나를 공유하므로 동시 발급 시 경합이 생깁니다.
+ * 여러 개의 독립 SecureRandom(DRBG)을 스트라이프로 두고 스레드마다 임의로 선택해 경합을 분산합니다.
+ * 결과는 기존과 같은 UUID v4 문자열 형식입니다.
+ */
+public final class JtiGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int UUID_BYTES = 16;
+    private static final int UUID_LENGTH = 36;
+
+    private final SecureRandom[] stripes;
+    private final int mask;
+
+    public JtiGenerator() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public JtiGenerator(int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new SecureRandom[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = newSecureRandom();
+        }
+    }
+
+    /**
+     * UUID v4 형식의 jti 생성
+     */
+    public String next() {
+        byte[] bytes = new byte[UUID_BYTES];
+        stripes[ThreadLocalRandom.current().nextInt() & mask].nextBytes(bytes);
+
+        bytes[6] = (byte) ((bytes[6] & 0x0f) | 0x40); // version 4
+        bytes[8] = (byte) ((bytes[8] & 0x3f) | 0x80); // IETF variant
+
+        char[] chars = new char[UUID_LENGTH];
+        int pos = 0;
+        for (int i = 0; i < UUID_BYTES; i++) {
+            if (i == 4 || i == 6 || i == 8 || i == 10) {
+                chars[pos++] = '-';
+            }
+            chars[pos++] = HEX[(bytes[i] >> 4) & 0x0f];
+            chars[pos++] = HEX[bytes[i] & 0x0f];
+        }
+        return new String(chars);
+    }
+
+    private static SecureRandom newSecureRandom() {
+        try {
+            // 인스턴스별로 독립된 상태를 갖는 DRBG (NativePRNG는 전역 락을 공유)
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package ac.su.kdt.beauthenticationservice.jwt;
+
+import ac.su.kdt.beauthenticationservice.config.OAuth2Properties;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.util.Base64URL;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JWT 서명 키 링
+ * 서명 키와 JwtParser를 기동 시 한 번만 생성하고, kid 헤더로 검증 키를 선택합니다.
+ * oauth.jwt.verification-keys에 이전 키를 남겨두면 무중단으로 키를 교체할 수 있습니다.
+ * ES256/EdDSA 사용 시 공개키는 JWKS로 배포되어 다른 서비스가 직접 토큰을 검증할 수 있습니다.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    private static final int ED25519_PUBLIC_KEY_LENGTH = 32;
+
+    private final SigningAlgorithm algorithm;
+    private final String activeKeyId;
+    private final Key activeKey;
+    private final String signingAlgorithmName;
+    private final Map<String, Key> keys;
+    private final Map<String, Object> jwkSet;
+    private final JwtParser parser;
+
+    public JwtKeyRing(OAuth2Properties properties) {
+        OAuth2Properties.Jwt jwt = properties.getJwt();
+
+        this.algorithm = SigningAlgorithm.from(jwt.getAlgorithm());
+        this.activeKeyId = jwt.getKeyId();
+
+        Map<String, Key> ring = new LinkedHashMap<>();
+        List<JWK> publicJwks = new ArrayList<>();
+
+        if (algorithm.isSymmetric()) {
+            if (!hasText(jwt.getSecret())) {
+                throw new IllegalStateException("oauth.jwt.secret must be configured");
+            }
+
+            SecretKey secretKey = hmacKey(jwt.getSecret());
+            this.activeKey = secretKey;
+            this.signingAlgorithmName = hmacAlgorithmName(secretKey);
+            ring.put(activeKeyId, secretKey);
+
+            jwt.getVerificationKeys().forEach((kid, secret) -> {
+                if (!activeKeyId.equals(kid)) {
+                    ring.put(kid, hmacKey(secret));
+                }
+            });
+        } else {
+            KeyPair keyPair = loadOrGenerateKeyPair(jwt);
+            this.activeKey = keyPair.getPrivate();
+            this.signingAlgorithmName = algorithm.getJwsName();
+            ring.put(activeKeyId, keyPair.getPublic());
+            publicJwks.add(toJwk(activeKeyId, keyPair.getPublic()));
+
+            // 교체 중인 이전 공개키도 JWKS에 포함
+            jwt.getVerificationKeys().forEach((kid, encoded) -> {
+                if (!activeKeyId.equals(kid)) {
+                    PublicKey publicKey = decodePublicKey(encoded);
+                    ring.put(kid, publicKey);
+                    publicJwks.add(toJwk(kid, publicKey));
+                }
+            });
+        }
+
+        this.keys = Collections.unmodifiableMap(ring);
+        this.jwkSet = Collections.unmodifiableMap(new JWKSet(publicJwks).toJSONObject());
+
+        // JwtParser는 불변이며 스레드 안전하므로 하나를 공유
+        this.parser = Jwts.parser()
+                .keyLocator(this::locateKey)
+                .build();
+
+        log.info("JWT key ring initialized: alg={}, active kid={}, verification kids={}",
+                signingAlgorithmName, activeKeyId, keys.keySet());
+    }
+
+    /**
+     * 토큰 발급에 사용하는 키 ID
+     */
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    /**
+     * 토큰 발급에 사용하는 서명 키 (HMAC SecretKey 또는 PrivateKey)
+     */
+    public Key getActiveKey() {
+        return activeKey;
+    }
+
+    /**
+     * 서명 알고리즘 종류
+     */
+    public SigningAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * 발급 토큰의 JWS alg 값 (HS256/HS384/HS512/ES256/EdDSA)
+     */
+    public String getSigningAlgorithmName() {
+        return signingAlgorithmName;
+    }
+
+    public boolean isSymmetric() {
+        return algorithm.isSymmetric();
+    }
+
+    /**
+     * 공유 JwtParser (kid 기반 키 선택)
+     */
+    public JwtParser getParser() {
+        return parser;
+    }
+
+    /**
+     * 검증 가능한 키 ID 목록
+     */
+    public Set<String> getKeyIds() {
+        return keys.keySet();
+    }
+
+    /**
+     * 공개키 JWK Set (RFC 7517)
+     * HMAC 키는 공개할 수 없으므로 HMAC 모드에서는 빈 키 목록을 반환합니다.
+     */
+    public Map<String, Object> getJwkSet() {
+        return jwkSet;
+    }
+
+    /**
+     * kid 헤더로 검증 키 선택
+     * kid가 없는 토큰(키 링 도입 이전 발급분)은 활성 키로 검증합니다.
+     */
+    private Key locateKey(Header header) {
+        String kid = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+        if (kid == null) {
+            return keys.get(activeKeyId);
+        }
+
+        Key key = keys.get(kid);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown JWT key id: " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * 설정된 키 쌍을 읽거나, 없으면 임시 키 쌍 생성
+     */
+    private KeyPair loadOrGenerateKeyPair(OAuth2Properties.Jwt jwt) {
+        boolean hasPrivateKey = hasText(jwt.getPrivateKey());
+        boolean hasPublicKey = hasText(jwt.getPublicKey());
+
+        if (hasPrivateKey && hasPublicKey) {
+            return new KeyPair(decodePublicKey(jwt.getPublicKey()), decodePrivateKey(jwt.getPrivateKey()));
+        }
+        if (hasPrivateKey || hasPublicKey) {
+            throw new IllegalStateException("oauth.jwt.private-key and oauth.jwt.public-key must be configured together");
+        }
+
+        log.warn("No {} key pair configured - generated an ephemeral key pair. " +
+                "Issued tokens will not survive a restart and are not shared across instances.", algorithm.getJwsName());
+        return generateKeyPair();
+    }
+
+    private KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm.getKeyAlgorithm());
+            if (algorithm == SigningAlgorithm.ES256) {
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+            }
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to generate " + algorithm + " key pair", e);
+        }
+    }
+
+    /**
+     * Base64(DER) 또는 PEM 형식의 X.509 공개키 디코딩
+     */
+    private PublicKey decodePublicKey(String encoded) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(algorithm.getKeyAlgorithm());
+            PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(decodeDer(encoded)));
+            if (publicKey instanceof ECPublicKey ecPublicKey
+                    && ecPublicKey.getParams().getCurve().getField().getFieldSize() != 256) {
+                throw new IllegalStateException("ES256 requires a P-256 public key");
+            }
+            return publicKey;
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid " + algorithm + " public key", e);
+        }
+    }
+
+    /**
+     * Base64(DER) 또는 PEM 형식의 PKCS#8 개인키 디코딩
+     */
+    private PrivateKey decodePrivateKey(String encoded) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(algorithm.getKeyAlgorithm());
+            return keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodeDer(encoded)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid " + algorithm + " private key", e);
+        }
+    }
+
+    private static byte[] decodeDer(String encoded) {
+        String base64 = encoded
+                .replaceAll("-----[A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    private JWK toJwk(String kid, PublicKey publicKey) {
+        if (publicKey instanceof ECPublicKey ecPublicKey) {
+            return new ECKey.Builder(Curve.P_256, ecPublicKey)
+                    .keyID(kid)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.ES256)
+                    .build();
+        }
+
+        // Ed25519 X.509 인코딩의 마지막 32바이트가 원본 공개키
+        byte[] encoded = publicKey.getEncoded();
+        byte[] raw = Arrays.copyOfRange(encoded, encoded.length - ED25519_PUBLIC_KEY_LENGTH, encoded.length);
+        return new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(raw))
+                .keyID(kid)
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(JWSAlgorithm.EdDSA)
+                .build();
+    }
+
+    private static SecretKey hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * jjwt가 키 길이로 선택하는 HMAC 알고리즘과 동일한 규칙
+     */
+    private static String hmacAlgorithmName(SecretKey key) {
+        int bits = key.getEncoded().length * 8;
+        if (bits >= 512) {
+            return "HS512";
+        }
+        if (bits >= 384) {
+            return "HS384";
+        }
+        return "HS256";
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
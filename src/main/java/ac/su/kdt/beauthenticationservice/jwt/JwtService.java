@@ -1,24 +1,24 @@
 package ac.su.kdt.beauthenticationservice.jwt;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class JwtService {
     
-    @Value("${oauth.jwt.secret}")
-    private String secret;
+    private final JwtKeyRing keyRing;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenMinter tokenMinter;
     
     @Value("${oauth.jwt.access-token-expiration:3600}")
     private long accessTokenExpiration; // 1시간
@@ -26,14 +26,6 @@ public class JwtService {
     @Value("${oauth.jwt.refresh-token-expiration:2592000}")
     private long refreshTokenExpiration; // 30일
     
-    @Value("${oauth.issuer}")
-    private String issuer;
-    
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-    
     /**
      * Access Token 생성 (간단한 버전)
      */
@@ -45,26 +37,12 @@ public class JwtService {
      * Access Token 생성
      */
     public String generateAccessToken(String email, String userId, String role, Map<String, Object> claims) {
-        Date now = new Date();
-        Date expiration = new Date(now.getTime() + accessTokenExpiration * 1000);
-        
-        JwtBuilder builder = Jwts.builder()
-                .setSubject(userId)
-                .setIssuer(issuer)
-                .setIssuedAt(now)
-                .setExpiration(expiration)
-                .setId(UUID.randomUUID().toString())
+        return tokenMinter.begin(userId, null, accessTokenExpiration)
                 .claim("email", email)
                 .claim("role", role)
                 .claim("token_type", "access_token")
-                .signWith(getSigningKey());
-        
-        // 추가 클레임 설정
-        if (claims != null) {
-            claims.forEach(builder::claim);
-        }
-        
-        return builder.compact();
+                .claims(claims) // 추가 클레임 설정
+                .sign();
     }
     
     /**
@@ -78,47 +56,26 @@ public class JwtService {
      * Refresh Token 생성
      */
     public String generateRefreshToken(String email, String userId) {
-        Date now = new Date();
-        Date expiration = new Date(now.getTime() + refreshTokenExpiration * 1000);
-        
-        return Jwts.builder()
-                .setSubject(userId)
-                .setIssuer(issuer)
-                .setIssuedAt(now)
-                .setExpiration(expiration)
-                .setId(UUID.randomUUID().toString())
+        // HMAC 모드에서는 HS512, 비대칭 모드에서는 활성 알고리즘으로 서명
+        return tokenMinter.begin(userId, null, refreshTokenExpiration)
                 .claim("email", email)
                 .claim("token_type", "refresh_token")
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
-                .compact();
+                .signAsRefreshToken();
     }
     
     /**
      * ID Token 생성 (OpenID Connect용)
      */
     public String generateIdToken(String email, String userId, String name, String picture, Map<String, Object> claims) {
-        Date now = new Date();
-        Date expiration = new Date(now.getTime() + accessTokenExpiration * 1000); // Access Token과 동일한 만료시간
-        
-        JwtBuilder builder = Jwts.builder()
-                .setSubject(userId)
-                .setIssuer(issuer)
-                .setAudience("devops-platform-client")
-                .setIssuedAt(now)
-                .setExpiration(expiration)
-                .setId(UUID.randomUUID().toString())
+        // Access Token과 동일한 만료시간
+        return tokenMinter.begin(userId, "devops-platform-client", accessTokenExpiration)
                 .claim("email", email)
                 .claim("name", name)
                 .claim("picture", picture)
                 .claim("email_verified", true)
                 .claim("token_type", "id_token")
-                .signWith(getSigningKey());
-        
-        if (claims != null) {
-            claims.forEach(builder::claim);
-        }
-        
-        return builder.compact();
+                .claims(claims)
+                .sign();
     }
     
     /**
@@ -164,14 +121,46 @@ public class JwtService {
         return extractClaim(token, Claims::getExpiration);
     }
     
+    /**
+     * 토큰 검증 (서명 + 만료)
+     * 토큰당 한 번만 파싱하며, 검증 결과는 exp 시각까지 캐시됩니다.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        try {
+            return Optional.of(verifiedToken(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Token verification failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+    
     /**
      * 모든 클레임 추출
      */
     private Claims extractAllClaims(String token) {
+        return verifiedToken(token).getClaims();
+    }
+    
+    /**
+     * 캐시를 거쳐 검증된 토큰 반환, 실패 시 JwtException 발생
+     */
+    private VerifiedToken verifiedToken(String token) {
+        VerifiedToken cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        
+        VerifiedToken verified = VerifiedToken.from(parseClaims(token));
+        verifiedTokenCache.put(token, verified);
+        return verified;
+    }
+    
+    /**
+     * 서명 검증 및 클레임 파싱
+     */
+    private Claims parseClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
+            return keyRing.getParser()
                     .parseSignedClaims(token)
                     .getPayload();
         } catch (ExpiredJwtException e) {
@@ -207,47 +196,25 @@ public class JwtService {
      * 토큰 유효성 검증
      */
     public Boolean isTokenValid(String token) {
-        try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
-        } catch (JwtException e) {
-            log.debug("Token validation failed: {}", e.getMessage());
-            return false;
-        }
+        return verify(token).isPresent();
     }
     
     /**
      * Refresh Token 유효성 검증 (타입까지 확인)
      */
     public Boolean isRefreshTokenValid(String refreshToken) {
-        try {
-            if (!isTokenValid(refreshToken)) {
-                return false;
-            }
-            
-            String tokenType = extractTokenType(refreshToken);
-            return "refresh_token".equals(tokenType);
-        } catch (Exception e) {
-            log.debug("Refresh token validation failed: {}", e.getMessage());
-            return false;
-        }
+        return verify(refreshToken)
+                .map(VerifiedToken::isRefreshToken)
+                .orElse(false);
     }
     
     /**
      * Access Token 유효성 검증 (타입까지 확인)
      */
     public Boolean isAccessTokenValid(String accessToken) {
-        try {
-            if (!isTokenValid(accessToken)) {
-                return false;
-            }
-            
-            String tokenType = extractTokenType(accessToken);
-            return "access_token".equals(tokenType);
-        } catch (Exception e) {
-            log.debug("Access token validation failed: {}", e.getMessage());
-            return false;
-        }
+        return verify(accessToken)
+                .map(VerifiedToken::isAccessToken)
+                .orElse(false);
     }
     
     /**
@@ -290,65 +257,37 @@ public class JwtService {
      * 비밀번호 재설정 토큰 생성
      */
     public String generatePasswordResetToken(String userId) {
-        Date now = new Date();
-        Date expiration = new Date(now.getTime() + 3600 * 1000); // 1시간
-        
-        return Jwts.builder()
-                .subject(userId)
-                .issuer(issuer)
-                .issuedAt(now)
-                .expiration(expiration)
-                .id(UUID.randomUUID().toString())
+        return tokenMinter.begin(userId, null, 3600) // 1시간
                 .claim("type", "password_reset")
-                .signWith(getSigningKey())
-                .compact();
+                .sign();
     }
     
     /**
      * 비밀번호 재설정 토큰 검증
      */
     public boolean validatePasswordResetToken(String token) {
-        try {
-            Claims claims = extractAllClaims(token);
-            String tokenType = claims.get("type", String.class);
-            return "password_reset".equals(tokenType) && !isTokenExpired(token);
-        } catch (JwtException e) {
-            log.warn("Invalid password reset token: {}", e.getMessage());
-            return false;
-        }
+        return verify(token)
+                .map(verified -> "password_reset".equals(verified.getClaims().get("type", String.class)))
+                .orElse(false);
     }
     
     /**
      * 로컬 토큰 검증 (validateLocalToken 대체)
      */
     public Claims validateLocalToken(String token) {
-        try {
-            if (isTokenValid(token)) {
-                return extractAllClaims(token);
-            }
-        } catch (JwtException e) {
-            log.warn("Local token validation failed: {}", e.getMessage());
-        }
-        return null;
+        return verify(token)
+                .map(VerifiedToken::getClaims)
+                .orElse(null);
     }
     
     /**
      * 테스트용: 커스텀 만료 시간으로 토큰 생성
      */
     public String generateTokenWithCustomExpiration(String userId, String email, String role, long expirationSeconds) {
-        Date now = new Date();
-        Date expiration = new Date(now.getTime() + expirationSeconds * 1000);
-        
-        return Jwts.builder()
-                .setSubject(userId)
-                .setIssuer(issuer)
-                .setIssuedAt(now)
-                .setExpiration(expiration)
-                .setId(UUID.randomUUID().toString())
+        return tokenMinter.begin(userId, null, expirationSeconds)
                 .claim("email", email)
                 .claim("role", role)
                 .claim("token_type", "access_token")
-                .signWith(getSigningKey())
-                .compact();
+                .sign();
     }
 }
\ No newline at end of file
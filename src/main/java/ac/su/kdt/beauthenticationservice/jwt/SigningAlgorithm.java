@@ -0,0 +1,56 @@
+package ac.su.kdt.beauthenticationservice.jwt;
+
+/**
+ * JWT 서명 알고리즘 (oauth.jwt.algorithm)
+ * HMAC은 secret을 공유해야 하지만, ES256/EdDSA는 JWKS로 공개키만 배포하면 됩니다.
+ */
+public enum SigningAlgorithm {
+
+    HMAC(null, null),
+    ES256("EC", "ES256"),
+    EDDSA("Ed25519", "EdDSA");
+
+    private final String keyAlgorithm;
+    private final String jwsName;
+
+    SigningAlgorithm(String keyAlgorithm, String jwsName) {
+        this.keyAlgorithm = keyAlgorithm;
+        this.jwsName = jwsName;
+    }
+
+    /**
+     * 설정 값으로부터 알고리즘 결정 (HS256/HS384/HS512는 HMAC으로 취급)
+     */
+    public static SigningAlgorithm from(String value) {
+        if (value == null || value.isBlank()
+                || "HMAC".equalsIgnoreCase(value)
+                || value.toUpperCase().startsWith("HS")) {
+            return HMAC;
+        }
+        if ("ES256".equalsIgnoreCase(value)) {
+            return ES256;
+        }
+        if ("EdDSA".equalsIgnoreCase(value) || "Ed25519".equalsIgnoreCase(value)) {
+            return EDDSA;
+        }
+        throw new IllegalArgumentException("Unsupported JWT signing algorithm: " + value);
+    }
+
+    public boolean isSymmetric() {
+        return this == HMAC;
+    }
+
+    /**
+     * KeyFactory / KeyPairGenerator 알고리즘 이름
+     */
+    public String getKeyAlgorithm() {
+        return keyAlgorithm;
+    }
+
+    /**
+     * JWS alg 헤더 값 (HMAC은 키 길이에 따라 결정되므로 null)
+     */
+    public String getJwsName() {
+        return jwsName;
+    }
+}
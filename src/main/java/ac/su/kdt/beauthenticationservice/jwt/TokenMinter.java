@@ -0,0 +1,285 @@
+package ac.su.kdt.beauthenticationservice.jwt;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.security.WeakKeyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JWT 발급 엔진
+ * 헤더 세그먼트와 iss 클레임을 기동 시 미리 인코딩하고, 페이로드는 스레드별 버퍼에 직접 JSON으로 씁니다.
+ * 서명 객체(Mac/Signature)는 스레드별로 재사용하고, jti는 스트라이프된 SecureRandom에서 생성합니다.
+ * 클레임 이름, 순서, 타입(iat/exp는 epoch 초)은 기존 jjwt 빌더 출력과 동일하고, 사용자 워터마크 비교용 iat_ms(epoch 밀리초)를 덧붙입니다.
+ */
+@Slf4j
+@Component
+public class TokenMinter {
+
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+    private static final JsonStringEncoder JSON_STRING_ENCODER = JsonStringEncoder.getInstance();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final int INITIAL_PAYLOAD_CAPACITY = 512;
+    private static final int MAX_RETAINED_PAYLOAD_CAPACITY = 8192;
+    private static final int HS512_MIN_KEY_BYTES = 64;
+
+    private final JtiGenerator jtiGenerator = new JtiGenerator();
+    private final String issuerClaim;
+    private final SigningProfile signingProfile;
+    private final SigningProfile refreshSigningProfile;
+    private final ThreadLocal<PayloadWriter> writers = ThreadLocal.withInitial(PayloadWriter::new);
+
+    public TokenMinter(JwtKeyRing keyRing, @Value("${oauth.issuer}") String issuer) {
+        this.issuerClaim = issuer != null ? "\"iss\":" + quote(issuer) : null;
+
+        String keyId = keyRing.getActiveKeyId();
+        Key key = keyRing.getActiveKey();
+        this.signingProfile = new SigningProfile(keyRing.getSigningAlgorithmName(), keyId, key);
+
+        // Refresh Token은 HMAC 모드에서 항상 HS512로 서명 (기존 동작 유지)
+        if (!keyRing.isSymmetric()) {
+            this.refreshSigningProfile = signingProfile;
+        } else if (key.getEncoded().length >= HS512_MIN_KEY_BYTES) {
+            this.refreshSigningProfile = new SigningProfile("HS512", keyId, key);
+        } else {
+            log.warn("oauth.jwt.secret is shorter than 512 bits - refresh tokens (HS512) cannot be issued");
+            this.refreshSigningProfile = null;
+        }
+    }
+
+    /**
+     * 페이로드 작성 시작 (sub, iss, aud, iat, exp, jti, iat_ms 순서)
+     * 반환된 writer는 스레드별로 재사용되므로 sign 호출 전까지만 사용해야 합니다.
+     */
+    public PayloadWriter begin(String subject, String audience, long ttlSeconds) {
+        return writers.get().reset(subject, audience, ttlSeconds);
+    }
+
+    private String mint(PayloadWriter writer, SigningProfile profile) {
+        byte[] payload = BASE64URL.encode(writer.finish().getBytes(StandardCharsets.UTF_8));
+        byte[] signature = BASE64URL.encode(profile.sign(payload));
+        byte[] header = profile.headerSegment;
+
+        byte[] token = new byte[header.length + payload.length + 1 + signature.length];
+        System.arraycopy(header, 0, token, 0, header.length);
+        System.arraycopy(payload, 0, token, header.length, payload.length);
+        token[header.length + payload.length] = '.';
+        System.arraycopy(signature, 0, token, header.length + payload.length + 1, signature.length);
+        return new String(token, StandardCharsets.US_ASCII);
+    }
+
+    private static String quote(String value) {
+        return "\"" + new String(JSON_STRING_ENCODER.quoteAsString(value)) + "\"";
+    }
+
+    /**
+     * 스레드별로 재사용되는 페이로드 JSON 버퍼
+     */
+    public final class PayloadWriter {
+
+        private StringBuilder json = new StringBuilder(INITIAL_PAYLOAD_CAPACITY);
+        private final List<String> names = new ArrayList<>();
+
+        private PayloadWriter reset(String subject, String audience, long ttlSeconds) {
+            if (json.capacity() > MAX_RETAINED_PAYLOAD_CAPACITY) {
+                json = new StringBuilder(INITIAL_PAYLOAD_CAPACITY);
+            } else {
+                json.setLength(0);
+            }
+            names.clear();
+
+            long issuedAtMillis = System.currentTimeMillis();
+            long issuedAt = issuedAtMillis / 1000;
+
+            json.append('{');
+            claim("sub", subject);
+            if (issuerClaim != null) {
+                separator("iss");
+                json.append(issuerClaim);
+            }
+            claim("aud", audience);
+            claim("iat", issuedAt);
+            claim("exp", issuedAt + ttlSeconds);
+            claim("jti", jtiGenerator.next());
+            claim(VerifiedToken.ISSUED_AT_MILLIS_CLAIM, issuedAtMillis);
+            return this;
+        }
+
+        /**
+         * 문자열 클레임 (null이면 생략 - jjwt 빌더와 동일)
+         */
+        public PayloadWriter claim(String name, String value) {
+            if (value != null) {
+                separator(name);
+                json.append('"');
+                JSON_STRING_ENCODER.quoteAsString(value, json);
+                json.append('"');
+            }
+            return this;
+        }
+
+        public PayloadWriter claim(String name, long value) {
+            separator(name);
+            json.append(value);
+            return this;
+        }
+
+        public PayloadWriter claim(String name, boolean value) {
+            separator(name);
+            json.append(value);
+            return this;
+        }
+
+        /**
+         * 추가 클레임 (이미 쓴 클레임과 이름이 겹치면 예외)
+         */
+        public PayloadWriter claims(Map<String, Object> claims) {
+            if (claims == null) {
+                return this;
+            }
+
+            claims.forEach((name, value) -> {
+                if (names.contains(name)) {
+                    throw new IllegalArgumentException("Duplicate JWT claim: " + name);
+                }
+                if (value == null) {
+                    return;
+                }
+
+                if (value instanceof String stringValue) {
+                    claim(name, stringValue);
+                } else if (value instanceof Boolean || value instanceof Number) {
+                    separator(name);
+                    json.append(value);
+                } else if (value instanceof Date date) {
+                    claim(name, date.getTime() / 1000);
+                } else {
+                    separator(name);
+                    json.append(toJson(value));
+                }
+            });
+            return this;
+        }
+
+        /**
+         * 활성 키/알고리즘으로 서명
+         */
+        public String sign() {
+            return mint(this, signingProfile);
+        }
+
+        /**
+         * Refresh Token 서명 (HMAC 모드에서는 HS512)
+         */
+        public String signAsRefreshToken() {
+            if (refreshSigningProfile == null) {
+                throw new WeakKeyException("Refresh tokens require an HMAC key of at least 512 bits");
+            }
+            return mint(this, refreshSigningProfile);
+        }
+
+        private String finish() {
+            return json.append('}').toString();
+        }
+
+        private void separator(String name) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"');
+            JSON_STRING_ENCODER.quoteAsString(name, json);
+            json.append("\":");
+            names.add(name);
+        }
+
+        private String toJson(Object value) {
+            try {
+                return OBJECT_MAPPER.writeValueAsString(value);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Unable to serialize JWT claim value", e);
+            }
+        }
+    }
+
+    /**
+     * 알고리즘별 미리 인코딩된 헤더 세그먼트와 스레드별 서명 객체
+     */
+    private static final class SigningProfile {
+
+        private final byte[] headerSegment; // base64url(header) + '.'
+        private final ThreadLocal<Mac> macs;
+        private final ThreadLocal<Signature> signatures;
+
+        private SigningProfile(String algorithm, String keyId, Key key) {
+            String header = "{\"alg\":\"" + algorithm + "\",\"kid\":" + quote(keyId) + "}";
+            this.headerSegment = (BASE64URL.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + ".")
+                    .getBytes(StandardCharsets.US_ASCII);
+
+            if (key instanceof SecretKey secretKey) {
+                String macAlgorithm = "HmacSHA" + algorithm.substring(2);
+                this.macs = ThreadLocal.withInitial(() -> newMac(macAlgorithm, secretKey));
+                this.signatures = null;
+            } else {
+                String signatureAlgorithm = "ES256".equals(algorithm)
+                        ? "SHA256withECDSAinP1363Format" // JWS는 DER이 아닌 R||S 형식
+                        : "Ed25519";
+                this.macs = null;
+                this.signatures = ThreadLocal.withInitial(() -> newSignature(signatureAlgorithm, (PrivateKey) key));
+            }
+        }
+
+        private byte[] sign(byte[] payloadSegment) {
+            try {
+                if (macs != null) {
+                    Mac mac = macs.get();
+                    mac.update(headerSegment);
+                    mac.update(payloadSegment);
+                    return mac.doFinal();
+                }
+
+                Signature signature = signatures.get();
+                signature.update(headerSegment);
+                signature.update(payloadSegment);
+                return signature.sign();
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Failed to sign JWT", e);
+            }
+        }
+
+        private static Mac newMac(String algorithm, SecretKey key) {
+            try {
+                Mac mac = Mac.getInstance(algorithm);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unable to initialize " + algorithm, e);
+            }
+        }
+
+        private static Signature newSignature(String algorithm, PrivateKey key) {
+            try {
+                Signature signature = Signature.getInstance(algorithm);
+                signature.initSign(key);
+                return signature;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unable to initialize " + algorithm, e);
+            }
+        }
+    }
+}
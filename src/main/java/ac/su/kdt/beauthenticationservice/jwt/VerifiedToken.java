@@ -0,0 +1,83 @@
+package ac.su.kdt.beauthenticationservice.jwt;
+
+import io.jsonwebtoken.Claims;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * 서명 검증이 끝난 JWT의 클레임을 담는 불변 객체
+ * 토큰당 한 번만 파싱하고, 필터와 서비스는 이 객체에서 값을 읽습니다.
+ */
+@Value
+@Builder
+public class VerifiedToken {
+
+    /**
+     * 밀리초 단위 발급 시각 클레임 (iat는 초 단위라 같은 초 안의 무효화 전후를 구분할 수 없음)
+     */
+    public static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+
+    String subject;
+    String email;
+    String role;
+    String tokenType;
+    String jti;
+    String issuer;
+    Instant issuedAt; // iat_ms가 있으면 밀리초 정밀도
+    Instant expiresAt;
+    Claims claims;
+
+    /**
+     * 검증된 클레임으로부터 VerifiedToken 생성
+     */
+    public static VerifiedToken from(Claims claims) {
+        return VerifiedToken.builder()
+                .subject(claims.getSubject())
+                .email(claims.get("email", String.class))
+                .role(claims.get("role", String.class))
+                .tokenType(claims.get("token_type", String.class))
+                .jti(claims.getId())
+                .issuer(claims.getIssuer())
+                .issuedAt(issuedAt(claims))
+                .expiresAt(toInstant(claims.getExpiration()))
+                .claims(claims)
+                .build();
+    }
+
+    /**
+     * 사용자 ID (sub 클레임)
+     */
+    public String getUserId() {
+        return subject;
+    }
+
+    /**
+     * 주어진 시각 기준 만료 여부
+     */
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    public boolean isAccessToken() {
+        return "access_token".equals(tokenType);
+    }
+
+    public boolean isRefreshToken() {
+        return "refresh_token".equals(tokenType);
+    }
+
+    private static Instant issuedAt(Claims claims) {
+        Object issuedAtMillis = claims.get(ISSUED_AT_MILLIS_CLAIM);
+        if (issuedAtMillis instanceof Number number) {
+            return Instant.ofEpochMilli(number.longValue());
+        }
+        return toInstant(claims.getIssuedAt());
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+}
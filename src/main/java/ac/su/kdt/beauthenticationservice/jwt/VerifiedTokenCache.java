@@ -0,0 +1,116 @@
+package ac.su.kdt.beauthenticationservice.jwt;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * 검증이 끝난 JWT를 보관하는 크기 제한 캐시
+ * 키는 compact 토큰의 SHA-256 다이제스트이며, 각 항목은 토큰 자신의 exp 시각에 만료됩니다.
+ * 같은 클라이언트의 반복 요청은 HMAC 서명 검증과 JSON 디코딩을 건너뜁니다.
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    });
+
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    // Metrics
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+                              @Value("${oauth.jwt.verification-cache.max-size:10000}") long maxSize) {
+        this.verifiedTokens = CacheBuilder.newBuilder()
+                .maximumSize(maxSize) // 메모리 상한
+                .build();
+
+        this.hitCounter = Counter.builder("jwt_verification_cache_hit_count")
+                .description("Number of JWT verifications served from cache")
+                .register(meterRegistry);
+
+        this.missCounter = Counter.builder("jwt_verification_cache_miss_count")
+                .description("Number of JWT verifications that required signature verification")
+                .register(meterRegistry);
+
+        Gauge.builder("jwt_verification_cache_size", verifiedTokens, Cache::size)
+                .description("Number of verified JWTs currently cached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 검증 결과를 반환합니다. 없거나 exp가 지난 경우 null을 반환합니다.
+     */
+    public VerifiedToken get(String token) {
+        String key = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+
+        if (cached == null) {
+            missCounter.increment();
+            return null;
+        }
+
+        // 토큰 자신의 exp 시각에 항목 만료
+        if (cached.isExpired(Instant.now())) {
+            verifiedTokens.invalidate(key);
+            missCounter.increment();
+            return null;
+        }
+
+        hitCounter.increment();
+        return cached;
+    }
+
+    /**
+     * 검증에 성공한 토큰을 캐시에 저장합니다.
+     */
+    public void put(String token, VerifiedToken verifiedToken) {
+        if (verifiedToken.isExpired(Instant.now())) {
+            return;
+        }
+        verifiedTokens.put(digest(token), verifiedToken);
+    }
+
+    /**
+     * 특정 토큰의 캐시 항목을 제거합니다.
+     */
+    public void invalidate(String token) {
+        verifiedTokens.invalidate(digest(token));
+    }
+
+    /**
+     * 캐시 전체를 비웁니다.
+     */
+    public void invalidateAll() {
+        verifiedTokens.invalidateAll();
+    }
+
+    public long size() {
+        return verifiedTokens.size();
+    }
+
+    private String digest(String token) {
+        MessageDigest digest = SHA_256.get();
+        byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().withoutPadding().encodeToString(hash);
+    }
+}
@@ -0,0 +1,7 @@
+package ac.su.kdt.beauthenticationservice.model.dto;
+
+/**
+ * 사용자 정보 변경 이벤트 (애플리케이션 내부, 트랜잭션 커밋 후 사용자 스냅샷 캐시 무효화용)
+ */
+public record UserChangedEvent(String userId) {
+}
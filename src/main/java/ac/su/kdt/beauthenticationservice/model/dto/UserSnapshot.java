@@ -0,0 +1,101 @@
+package ac.su.kdt.beauthenticationservice.model.dto;
+
+import ac.su.kdt.beauthenticationservice.model.entity.User;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 인증/조회 응답에 필요한 사용자 정보의 불변 스냅샷
+ * 엔티티(지연 로딩 팀 컬렉션 포함) 대신 캐시와 Redis 해시에 담아 DB 조회 없이 사용합니다.
+ */
+@Value
+@Builder
+public class UserSnapshot {
+    
+    private static final String FIELD_USER_ID = "userId";
+    private static final String FIELD_EMAIL = "email";
+    private static final String FIELD_NAME = "name";
+    private static final String FIELD_ROLE = "role";
+    private static final String FIELD_EMAIL_VERIFIED = "emailVerified";
+    private static final String FIELD_IS_ACTIVE = "isActive";
+    private static final String FIELD_PICTURE_URL = "pictureUrl";
+    private static final String FIELD_SOCIAL_PROVIDER = "socialProvider";
+    private static final String FIELD_CURRENT_TICKETS = "currentTickets";
+    
+    String id;
+    String email;
+    String name;
+    User.UserRole role;
+    Boolean emailVerified;
+    Boolean isActive;
+    String pictureUrl;
+    String socialProvider;
+    Integer currentTickets;
+    
+    public static UserSnapshot from(User user) {
+        return UserSnapshot.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .name(user.getName())
+                .role(user.getRole())
+                .emailVerified(user.getEmailVerified())
+                .isActive(user.getIsActive())
+                .pictureUrl(user.getPictureUrl())
+                .socialProvider(user.getSocialProvider())
+                .currentTickets(user.getCurrentTickets())
+                .build();
+    }
+    
+    /**
+     * Redis 해시 필드로 변환 (값이 없는 필드는 생략)
+     */
+    public Map<String, String> toFields() {
+        Map<String, String> fields = new HashMap<>();
+        putIfPresent(fields, FIELD_USER_ID, id);
+        putIfPresent(fields, FIELD_EMAIL, email);
+        putIfPresent(fields, FIELD_NAME, name);
+        putIfPresent(fields, FIELD_ROLE, role != null ? role.name() : null);
+        putIfPresent(fields, FIELD_EMAIL_VERIFIED, emailVerified != null ? emailVerified.toString() : null);
+        putIfPresent(fields, FIELD_IS_ACTIVE, isActive != null ? isActive.toString() : null);
+        putIfPresent(fields, FIELD_PICTURE_URL, pictureUrl);
+        putIfPresent(fields, FIELD_SOCIAL_PROVIDER, socialProvider);
+        putIfPresent(fields, FIELD_CURRENT_TICKETS, currentTickets != null ? currentTickets.toString() : null);
+        return fields;
+    }
+    
+    /**
+     * Redis 해시 필드로 스냅샷 구성 (사용자 ID나 역할이 없으면 null, 다른 필드가 섞여 있어도 무시)
+     */
+    public static UserSnapshot fromFields(Map<String, String> fields) {
+        String id = fields.get(FIELD_USER_ID);
+        String role = fields.get(FIELD_ROLE);
+        if (id == null || role == null) {
+            return null;
+        }
+        
+        try {
+            return UserSnapshot.builder()
+                    .id(id)
+                    .email(fields.get(FIELD_EMAIL))
+                    .name(fields.get(FIELD_NAME))
+                    .role(User.UserRole.valueOf(role))
+                    .emailVerified(Boolean.parseBoolean(fields.get(FIELD_EMAIL_VERIFIED)))
+                    .isActive(Boolean.parseBoolean(fields.get(FIELD_IS_ACTIVE)))
+                    .pictureUrl(fields.get(FIELD_PICTURE_URL))
+                    .socialProvider(fields.get(FIELD_SOCIAL_PROVIDER))
+                    .currentTickets(fields.containsKey(FIELD_CURRENT_TICKETS) ? Integer.valueOf(fields.get(FIELD_CURRENT_TICKETS)) : null)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static void putIfPresent(Map<String, String> fields, String field, String value) {
+        if (value != null) {
+            fields.put(field, value);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package ac.su.kdt.beauthenticationservice.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비밀번호 해싱을 전용 실행기에서 수행하는 PasswordEncoder
+ * BCrypt 같은 의도적으로 느린 해시가 Tomcat 요청 스레드를 모두 점유하지 않도록 스레드 수(코어 수)와 대기열을 제한합니다.
+ * 대기열이 가득 차거나 대기 시간을 넘기면 즉시 PasswordHashingRejectedException을 던집니다.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+    private final long retryAfterSeconds;
+
+    // Metrics
+    private final Timer waitTimer;
+    private final Timer hashTimer;
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                  long maxWaitMillis, long retryAfterSeconds, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HasherThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+
+        this.waitTimer = Timer.builder("password_hashing_wait_duration")
+                .description("Time password hashing tasks spent queued before running")
+                .register(meterRegistry);
+
+        this.hashTimer = Timer.builder("password_hashing_duration")
+                .description("Time taken to encode or verify a password hash")
+                .register(meterRegistry);
+
+        this.rejectedCounter = Counter.builder("password_hashing_rejected_count")
+                .description("Number of password hashing requests rejected because the executor was saturated")
+                .register(meterRegistry);
+
+        Gauge.builder("password_hashing_queue_depth", executor, e -> e.getQueue().size())
+                .description("Number of password hashing tasks waiting in the queue")
+                .register(meterRegistry);
+
+        Gauge.builder("password_hashing_active_threads", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Number of password hashing threads currently busy")
+                .register(meterRegistry);
+
+        log.info("Password hashing executor started: {} threads, queue capacity {}", threads, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            throw reject("Password hashing queue is full");
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw reject("Password hashing timed out after " + maxWaitMillis + "ms");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private PasswordHashingRejectedException reject(String reason) {
+        rejectedCounter.increment();
+        log.warn("{} (queued: {}, active: {})", reason, executor.getQueue().size(), executor.getActiveCount());
+        return new PasswordHashingRejectedException(reason, retryAfterSeconds);
+    }
+
+    private static final class HasherThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hasher-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package ac.su.kdt.beauthenticationservice.security;
 
 import ac.su.kdt.beauthenticationservice.jwt.JwtService;
+import ac.su.kdt.beauthenticationservice.jwt.VerifiedToken;
+import ac.su.kdt.beauthenticationservice.service.TokenBlacklistService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,6 +19,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * OAuth 2.0 JWT 토큰 검증을 위한 Spring Security 필터
@@ -31,6 +34,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String AUTH_HEADER = HttpHeaders.AUTHORIZATION;
     
     private final JwtService jwtService;
+    private final TokenBlacklistService tokenBlacklistService;
     
     @Override
     protected void doFilterInternal(
@@ -81,16 +85,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
             
-            // JWT 토큰 유효성 검증
-            if (!jwtService.isTokenValid(token)) {
+            // JWT 토큰 유효성 검증 (한 번만 파싱)
+            Optional<VerifiedToken> verified = jwtService.verify(token);
+            if (verified.isEmpty()) {
                 log.warn("Invalid JWT token provided");
                 throw new RuntimeException("Invalid JWT token");
             }
             
-            // JWT에서 사용자 정보 추출
-            String userId = jwtService.extractUserId(token);
-            String email = jwtService.extractEmail(token);
-            String role = jwtService.extractRole(token);
+            // 무효화(로그아웃/폐기)된 토큰 확인 - 로컬 사본 조회로 네트워크 왕복 없음
+            VerifiedToken verifiedToken = verified.get();
+            if (tokenBlacklistService.isRevoked(verifiedToken)) {
+                log.warn("Revoked JWT token provided");
+                throw new RuntimeException("Revoked JWT token");
+            }
+            
+            // 검증된 토큰에서 사용자 정보 추출
+            String userId = verifiedToken.getUserId();
+            String email = verifiedToken.getEmail();
+            String role = verifiedToken.getRole();
             
             // Spring Security 인증 객체 생성
             List<SimpleGrantedAuthority> authorities = List.of(
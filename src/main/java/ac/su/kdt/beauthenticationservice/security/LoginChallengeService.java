@@ -0,0 +1,280 @@
+package ac.su.kdt.beauthenticationservice.security;
+
+import ac.su.kdt.beauthenticationservice.service.RedisCircuitBreaker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 의심 IP 대상 작업 증명(proof-of-work) 로그인 챌린지
+ * 실패가 많은 IP는 BCrypt 검증 전에 SHA-256(challenge + ":" + solution)의 앞 N비트가 0인 solution을 제출해야 합니다.
+ * 챌린지는 서버에 저장하지 않고 HMAC으로 서명하며(IP 바인딩), 검증은 HMAC 1회와 SHA-256 1회로 끝납니다.
+ * 사용한 챌린지는 만료 시각까지만 Redis에 남겨 재사용을 막고, Redis 장애(서킷 오픈) 중에는 인스턴스 로컬의 크기 제한 집합으로 막습니다.
+ */
+@Slf4j
+@Component
+public class LoginChallengeService {
+
+    public static final String CHALLENGE_HEADER = "X-Login-Challenge";
+    public static final String SOLUTION_HEADER = "X-Login-Challenge-Solution";
+    public static final String ALGORITHM = "sha256";
+
+    private static final String VERSION = "v1";
+    private static final String USED_CHALLENGE_KEY = "login_challenge:used:"; // + nonce
+    private static final int NONCE_BYTES = 16;
+    private static final int MAX_SOLUTION_LENGTH = 64;
+    private static final int MAX_LOCAL_USED_CHALLENGES = 100_000; // Redis 장애 중 로컬 재사용 방지 집합 상한
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    });
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final Cache<String, Boolean> localUsedChallenges;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+    private final SecureRandom random = new SecureRandom();
+    private final int startFailures;
+    private final int baseBits;
+    private final int maxBits;
+    private final long ttlSeconds;
+    private final LongSupplier clock;
+
+    // Metrics
+    private final Counter issuedCounter;
+    private final Counter solvedCounter;
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public LoginChallengeService(RedisTemplate<String, String> redisTemplate,
+                                 RedisCircuitBreaker redisCircuitBreaker,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${oauth.login-challenge.secret:}") String secret,
+                                 @Value("${oauth.login-challenge.start-failures:10}") int startFailures,
+                                 @Value("${oauth.login-challenge.base-bits:16}") int baseBits,
+                                 @Value("${oauth.login-challenge.max-bits:22}") int maxBits,
+                                 @Value("${oauth.login-challenge.ttl-seconds:120}") long ttlSeconds) {
+        this(redisTemplate, redisCircuitBreaker, meterRegistry, secret, startFailures, baseBits, maxBits, ttlSeconds,
+                System::currentTimeMillis);
+    }
+
+    LoginChallengeService(RedisTemplate<String, String> redisTemplate, RedisCircuitBreaker redisCircuitBreaker,
+                          MeterRegistry meterRegistry, String secret, int startFailures, int baseBits, int maxBits,
+                          long ttlSeconds, LongSupplier clock) {
+        this.redisTemplate = redisTemplate;
+        this.redisCircuitBreaker = redisCircuitBreaker;
+        this.localUsedChallenges = CacheBuilder.newBuilder()
+                .maximumSize(MAX_LOCAL_USED_CHALLENGES)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .build();
+        this.startFailures = startFailures;
+        this.baseBits = baseBits;
+        this.maxBits = maxBits;
+        this.ttlSeconds = ttlSeconds;
+        this.clock = clock;
+
+        byte[] keyBytes;
+        if (secret == null || secret.isEmpty()) {
+            // 인스턴스마다 키가 달라지므로 여러 인스턴스 운영 시에는 공통 secret 설정 필요
+            log.warn("oauth.login-challenge.secret is not set, using a random per-instance key");
+            keyBytes = new byte[32];
+            random.nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, "HmacSHA256");
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance("HmacSHA256");
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 algorithm not available", e);
+            }
+        });
+
+        this.issuedCounter = Counter.builder("login_challenge_issued_count")
+                .description("Number of proof-of-work challenges issued to suspicious login sources")
+                .register(meterRegistry);
+
+        this.solvedCounter = Counter.builder("login_challenge_solved_count")
+                .description("Number of valid proof-of-work solutions accepted")
+                .register(meterRegistry);
+
+        this.rejectedCounter = Counter.builder("login_challenge_rejected_count")
+                .description("Number of invalid, expired or replayed proof-of-work solutions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * IP 실패 추정값에 따른 난이도 (0 = 챌린지 없음), 시작 횟수의 2배마다 1비트(풀이 비용 2배) 증가
+     */
+    public int difficultyFor(long ipFailures) {
+        if (startFailures <= 0 || ipFailures < startFailures) {
+            return 0;
+        }
+        int extraBits = 63 - Long.numberOfLeadingZeros(ipFailures / startFailures);
+        return Math.min(maxBits, baseBits + extraBits);
+    }
+
+    /**
+     * 챌린지가 필요한데 유효한 풀이가 없으면 새 챌린지 반환, 필요 없거나 풀이가 유효하면 empty
+     */
+    public Optional<Challenge> challengeIfRequired(HttpServletRequest request, String ipAddress, long ipFailures) {
+        int difficulty = difficultyFor(ipFailures);
+        if (difficulty == 0) {
+            return Optional.empty();
+        }
+
+        String challenge = request.getHeader(CHALLENGE_HEADER);
+        String solution = request.getHeader(SOLUTION_HEADER);
+        if (challenge != null && solution != null) {
+            if (verify(challenge, solution, ipAddress, difficulty)) {
+                solvedCounter.increment();
+                return Optional.empty();
+            }
+            rejectedCounter.increment();
+            log.warn("Rejected login challenge solution from IP: {}", ipAddress);
+        }
+
+        issuedCounter.increment();
+        return Optional.of(issue(ipAddress, difficulty));
+    }
+
+    /**
+     * 새 챌린지 발급: v1.<만료 epoch 초>.<난이도>.<nonce>.<HMAC(만료|난이도|nonce|IP)>
+     */
+    public Challenge issue(String ipAddress, int difficulty) {
+        byte[] nonceBytes = new byte[NONCE_BYTES];
+        random.nextBytes(nonceBytes);
+        String nonce = base64(nonceBytes);
+        long expiresAt = clock.getAsLong() / 1000 + ttlSeconds;
+
+        String payload = VERSION + "." + expiresAt + "." + difficulty + "." + nonce;
+        String token = payload + "." + base64(sign(payload, ipAddress));
+        return new Challenge(token, difficulty, ttlSeconds);
+    }
+
+    /**
+     * 풀이 검증 (서명, 만료, 난이도, 작업 증명 확인 후 마지막에 재사용 여부 확인)
+     */
+    public boolean verify(String token, String solution, String ipAddress, int requiredDifficulty) {
+        if (solution.isEmpty() || solution.length() > MAX_SOLUTION_LENGTH) {
+            return false;
+        }
+
+        String[] parts = token.split("\\.");
+        if (parts.length != 5 || !VERSION.equals(parts[0])) {
+            return false;
+        }
+
+        long expiresAt;
+        int difficulty;
+        try {
+            expiresAt = Long.parseLong(parts[1]);
+            difficulty = Integer.parseInt(parts[2]);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        long now = clock.getAsLong() / 1000;
+        if (expiresAt <= now || difficulty < requiredDifficulty) {
+            return false;
+        }
+
+        String payload = parts[0] + "." + parts[1] + "." + parts[2] + "." + parts[3];
+        byte[] signature;
+        try {
+            signature = Base64.getUrlDecoder().decode(parts[4]);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (!MessageDigest.isEqual(signature, sign(payload, ipAddress))) {
+            return false;
+        }
+
+        if (!hasLeadingZeroBits(sha256(token + ":" + solution), difficulty)) {
+            return false;
+        }
+
+        // 재사용 방지: 챌린지 만료 시각까지만 보관 (Redis 장애 시 로컬 집합)
+        String nonce = parts[3];
+        return redisCircuitBreaker.execute("login_challenge_replay",
+                () -> Boolean.TRUE.equals(redisTemplate.opsForValue()
+                        .setIfAbsent(USED_CHALLENGE_KEY + nonce, "1", Duration.ofSeconds(expiresAt - now))),
+                () -> localUsedChallenges.asMap().putIfAbsent(nonce, Boolean.TRUE) == null);
+    }
+
+    /**
+     * 428 응답 본문
+     */
+    public static Map<String, Object> toResponseBody(Challenge challenge) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "CHALLENGE_REQUIRED");
+        body.put("message", "로그인 실패가 많은 IP입니다. 작업 증명 챌린지를 풀어 다시 요청해 주세요.");
+        body.put("challenge", challenge.token());
+        body.put("difficulty", challenge.difficulty());
+        body.put("algorithm", ALGORITHM);
+        body.put("expires_in", challenge.expiresInSeconds());
+        body.put("instructions", "Find a solution so that SHA-256(challenge + \":\" + solution) starts with "
+                + challenge.difficulty() + " zero bits, then resend the login with headers "
+                + CHALLENGE_HEADER + " and " + SOLUTION_HEADER);
+        return body;
+    }
+
+    static boolean hasLeadingZeroBits(byte[] hash, int bits) {
+        int fullBytes = bits / 8;
+        for (int i = 0; i < fullBytes; i++) {
+            if (hash[i] != 0) {
+                return false;
+            }
+        }
+        int remainingBits = bits % 8;
+        return remainingBits == 0 || (hash[fullBytes] & 0xff) >>> (8 - remainingBits) == 0;
+    }
+
+    static byte[] sha256(String value) {
+        return SHA_256.get().digest(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private byte[] sign(String payload, String ipAddress) {
+        return mac.get().doFinal((payload + "|" + ipAddress).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String base64(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * 발급된 챌린지 (token을 그대로 돌려받아 검증)
+     */
+    public record Challenge(String token, int difficulty, long expiresInSeconds) {
+    }
+}
@@ -0,0 +1,119 @@
+package ac.su.kdt.beauthenticationservice.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 로그인 응답 지연 (tarpit)
+ * 잠금 임계값에 가까운 계정이나 차단된 출처의 응답을 실패 횟수에 따라 점점 늦게 돌려줍니다.
+ * 응답은 DeferredResult로 반환하고 공용 스케줄러 스레드 하나가 지연 후 완료하므로, 대기 중에는 요청 스레드를 점유하지 않습니다.
+ */
+@Slf4j
+@Component
+public class LoginTarpit implements DisposableBean {
+
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final int startAttempts;
+    private final int maxPending;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    // Metrics
+    private final Counter delayedCounter;
+    private final Counter overflowCounter;
+
+    @Autowired
+    public LoginTarpit(MeterRegistry meterRegistry,
+                       @Value("${oauth.login-tarpit.base-delay-ms:500}") long baseDelayMillis,
+                       @Value("${oauth.login-tarpit.max-delay-ms:8000}") long maxDelayMillis,
+                       @Value("${oauth.login-tarpit.start-attempts:3}") int startAttempts,
+                       @Value("${oauth.login-tarpit.max-pending:10000}") int maxPending) {
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.startAttempts = startAttempts;
+        this.maxPending = maxPending;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "login-tarpit");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.delayedCounter = Counter.builder("login_tarpit_delayed_count")
+                .description("Number of login responses held back by the tarpit")
+                .register(meterRegistry);
+
+        this.overflowCounter = Counter.builder("login_tarpit_overflow_count")
+                .description("Number of login responses sent without delay because too many were already held")
+                .register(meterRegistry);
+
+        Gauge.builder("login_tarpit_pending", pending, AtomicInteger::get)
+                .description("Number of login responses currently held by the tarpit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 지연 시간: 시작 횟수부터 실패할 때마다 2배, 잠김/차단 상태는 최대값
+     */
+    public long delayFor(int failedAttempts, boolean blocked) {
+        if (baseDelayMillis <= 0 || maxDelayMillis <= 0) {
+            return 0;
+        }
+        if (blocked) {
+            return maxDelayMillis;
+        }
+        if (failedAttempts < startAttempts) {
+            return 0;
+        }
+
+        int doublings = Math.min(failedAttempts - startAttempts, 30);
+        return Math.min(maxDelayMillis, baseDelayMillis << doublings);
+    }
+
+    /**
+     * 지연 후 응답을 완료하는 DeferredResult 반환 (지연이 없거나 대기 중인 응답이 너무 많으면 즉시 완료)
+     */
+    public <T> DeferredResult<T> respond(T response, long delayMillis) {
+        // 스케줄러가 늦어져도 컨테이너 비동기 타임아웃 시 같은 응답으로 완료
+        DeferredResult<T> result = new DeferredResult<>(delayMillis + TimeUnit.SECONDS.toMillis(5), response);
+        if (delayMillis <= 0) {
+            result.setResult(response);
+            return result;
+        }
+
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            overflowCounter.increment();
+            result.setResult(response);
+            return result;
+        }
+
+        result.onCompletion(pending::decrementAndGet);
+        try {
+            scheduler.schedule(() -> result.setResult(response), delayMillis, TimeUnit.MILLISECONDS);
+            delayedCounter.increment();
+        } catch (RejectedExecutionException e) {
+            result.setResult(response);
+        }
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        log.info("Login tarpit scheduler stopped");
+    }
+}
@@ -0,0 +1,113 @@
+package ac.su.kdt.beauthenticationservice.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 기동 시 현재 노드에서 목표 해시 지연시간에 맞춰 비밀번호 해시 비용을 보정합니다.
+ * 보정된 BCrypt/Argon2 encoder를 DelegatingPasswordEncoder({bcrypt}, {argon2} 접두사)로 묶어,
+ * 알고리즘이나 비용이 바뀌어도 기존 해시를 그대로 검증하고 로그인 시 새 설정으로 재해시할 수 있게 합니다.
+ */
+@Slf4j
+public final class PasswordEncoderCalibrator {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+
+    // BCrypt: 기존 기본값(10) 아래로는 내리지 않음, 강도 1 증가 = 비용 2배
+    static final int MIN_BCRYPT_STRENGTH = 10;
+    static final int MAX_BCRYPT_STRENGTH = 16;
+
+    // Argon2id: OWASP 권장 최소값 (19 MiB, t=2, p=1), 반복 횟수만 보정
+    private static final int ARGON2_SALT_LENGTH = 16;
+    private static final int ARGON2_HASH_LENGTH = 32;
+    private static final int ARGON2_PARALLELISM = 1;
+    private static final int ARGON2_MEMORY_KB = 19 * 1024;
+    static final int MIN_ARGON2_ITERATIONS = 2;
+    static final int MAX_ARGON2_ITERATIONS = 10;
+
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-password";
+
+    private PasswordEncoderCalibrator() {
+    }
+
+    /**
+     * 보정된 DelegatingPasswordEncoder 생성
+     *
+     * @param algorithm    새 해시에 사용할 알고리즘 (bcrypt, argon2)
+     * @param targetMillis 목표 해시 지연시간, 0 이하이면 보정하지 않고 최소 비용 사용
+     */
+    public static PasswordEncoder create(String algorithm, long targetMillis) {
+        String idForEncode = ARGON2.equalsIgnoreCase(algorithm) ? ARGON2 : BCRYPT;
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(
+                targetMillis > 0 ? calibrateBCryptStrength(targetMillis) : MIN_BCRYPT_STRENGTH);
+        Argon2PasswordEncoder argon2 = argon2(
+                targetMillis > 0 && ARGON2.equals(idForEncode) ? calibrateArgon2Iterations(targetMillis) : MIN_ARGON2_ITERATIONS);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(idForEncode, Map.of(BCRYPT, bcrypt, ARGON2, argon2));
+        // 접두사 없는 기존 해시는 BCrypt ($2a$...)
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    /**
+     * 목표 지연시간을 넘지 않는 가장 높은 BCrypt 강도
+     */
+    static int calibrateBCryptStrength(long targetMillis) {
+        double measured = measureMillis(() -> new BCryptPasswordEncoder(MIN_BCRYPT_STRENGTH));
+        int strength = MIN_BCRYPT_STRENGTH + (int) Math.floor(log2(targetMillis / measured));
+        strength = Math.max(MIN_BCRYPT_STRENGTH, Math.min(MAX_BCRYPT_STRENGTH, strength));
+
+        log.info("Calibrated BCrypt strength {} for target {}ms (strength {} took {}ms)",
+                strength, targetMillis, MIN_BCRYPT_STRENGTH, String.format("%.1f", measured));
+        return strength;
+    }
+
+    /**
+     * 목표 지연시간을 넘지 않는 가장 높은 Argon2 반복 횟수 (비용은 반복 횟수에 비례)
+     */
+    static int calibrateArgon2Iterations(long targetMillis) {
+        double measured = measureMillis(() -> argon2(MIN_ARGON2_ITERATIONS));
+        int iterations = (int) Math.floor(MIN_ARGON2_ITERATIONS * targetMillis / measured);
+        iterations = Math.max(MIN_ARGON2_ITERATIONS, Math.min(MAX_ARGON2_ITERATIONS, iterations));
+
+        log.info("Calibrated Argon2 iterations {} for target {}ms (t={} took {}ms)",
+                iterations, targetMillis, MIN_ARGON2_ITERATIONS, String.format("%.1f", measured));
+        return iterations;
+    }
+
+    private static Argon2PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, ARGON2_PARALLELISM,
+                ARGON2_MEMORY_KB, iterations);
+    }
+
+    /**
+     * 워밍업 1회 후 중앙값 측정 (JIT/GC 영향 완화)
+     */
+    private static double measureMillis(Supplier<PasswordEncoder> encoderSupplier) {
+        PasswordEncoder encoder = encoderSupplier.get();
+        encoder.encode(SAMPLE_PASSWORD);
+
+        double[] samples = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return Math.max(samples[SAMPLES / 2], 0.001);
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+}
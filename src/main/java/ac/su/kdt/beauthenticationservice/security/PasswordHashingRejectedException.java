@@ -0,0 +1,18 @@
+package ac.su.kdt.beauthenticationservice.security;
+
+import lombok.Getter;
+
+/**
+ * 비밀번호 해싱 전용 실행기가 포화 상태라 요청을 거절한 경우
+ * 컨트롤러는 로그인 실패로 기록하지 않고 503 + Retry-After로 응답합니다.
+ */
+@Getter
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,13 +1,15 @@
 package ac.su.kdt.beauthenticationservice.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -17,6 +19,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 @Configuration
 @EnableWebSecurity
@@ -73,8 +76,21 @@ public class SecurityConfig {
         return source;
     }
     
+    /**
+     * 기동 시 목표 지연시간에 맞춰 보정된 BCrypt/Argon2 위임 encoder
+     * 해싱은 요청 스레드가 아닌 코어 수 크기의 전용 실행기에서 수행 (대기열 포화 시 503)
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            Optional<MeterRegistry> meterRegistry,
+            @Value("${oauth.password-hashing.algorithm:bcrypt}") String algorithm,
+            @Value("${oauth.password-hashing.target-millis:0}") long targetMillis,
+            @Value("${oauth.password-hashing.threads:0}") int threads,
+            @Value("${oauth.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${oauth.password-hashing.max-wait-ms:5000}") long maxWaitMillis,
+            @Value("${oauth.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(PasswordEncoderCalibrator.create(algorithm, targetMillis), poolSize, queueCapacity,
+                maxWaitMillis, retryAfterSeconds, meterRegistry.orElseGet(SimpleMeterRegistry::new));
     }
 }
\ No newline at end of file
@@ -2,16 +2,20 @@ package ac.su.kdt.beauthenticationservice.service;
 
 import ac.su.kdt.beauthenticationservice.jwt.JwtService;
 import ac.su.kdt.beauthenticationservice.model.dto.PasswordResetRequestedEvent;
+import ac.su.kdt.beauthenticationservice.model.dto.UserChangedEvent;
 import ac.su.kdt.beauthenticationservice.model.dto.UserLoggedInEvent;
 import ac.su.kdt.beauthenticationservice.model.dto.UserSignedUpEvent;
+import ac.su.kdt.beauthenticationservice.model.dto.UserSnapshot;
 import ac.su.kdt.beauthenticationservice.model.entity.User;
 import ac.su.kdt.beauthenticationservice.repository.UserRepository;
+import ac.su.kdt.beauthenticationservice.security.PasswordHashingRejectedException;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.Builder;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,21 +38,29 @@ public class AuthService {
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
     private final Optional<EventPublisher> eventPublisher;
+    private final UserTokenWatermarkService userTokenWatermarkService;
+    private final UserSnapshotCache userSnapshotCache;
+    private final ApplicationEventPublisher applicationEventPublisher;
     private final MeterRegistry meterRegistry;
     
     // Metrics
     private final Counter signupSuccessCounter;
     private final Counter loginSuccessCounter;
     private final Counter loginFailureCounter;
+    private final Counter passwordRehashCounter;
     private final Timer jwtIssuanceTimer;
     
     public AuthService(UserRepository userRepository, JwtService jwtService, 
                       PasswordEncoder passwordEncoder, Optional<EventPublisher> eventPublisher, 
-                      MeterRegistry meterRegistry) {
+                      UserTokenWatermarkService userTokenWatermarkService, UserSnapshotCache userSnapshotCache,
+                      ApplicationEventPublisher applicationEventPublisher, MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
         this.jwtService = jwtService;
         this.passwordEncoder = passwordEncoder;
         this.eventPublisher = eventPublisher;
+        this.userTokenWatermarkService = userTokenWatermarkService;
+        this.userSnapshotCache = userSnapshotCache;
+        this.applicationEventPublisher = applicationEventPublisher;
         this.meterRegistry = meterRegistry;
         
         // Initialize metrics
@@ -64,6 +76,10 @@ public class AuthService {
                 .description("Number of failed user logins")
                 .register(meterRegistry);
         
+        this.passwordRehashCounter = Counter.builder("password_rehash_count")
+                .description("Number of password hashes upgraded to the current algorithm or cost on login")
+                .register(meterRegistry);
+        
         this.jwtIssuanceTimer = Timer.builder("jwt_issuance_duration")
                 .description("Time taken to issue JWT tokens")
                 .register(meterRegistry);
@@ -139,6 +155,11 @@ public class AuthService {
                 return LoginResult.failure("Invalid email or password");
             }
             
+            // 이전 알고리즘/비용의 해시는 현재 설정으로 재해시
+            if (passwordEncoder.upgradeEncoding(user.getPasswordHash())) {
+                upgradePasswordHash(user, password);
+            }
+            
             // 로그인 성공
             loginSuccessCounter.increment();
             
@@ -154,6 +175,21 @@ public class AuthService {
         }
     }
     
+    /**
+     * 로그인 성공 후 비밀번호 해시를 현재 알고리즘/비용으로 갱신
+     * 해싱 실행기가 포화 상태면 다음 로그인으로 미룹니다.
+     */
+    private void upgradePasswordHash(User user, String rawPassword) {
+        try {
+            user.setPasswordHash(passwordEncoder.encode(rawPassword));
+            userRepository.save(user);
+            passwordRehashCounter.increment();
+            log.info("Password hash upgraded for user: {}", user.getEmail());
+        } catch (PasswordHashingRejectedException e) {
+            log.debug("Password hash upgrade deferred for user: {}", user.getEmail());
+        }
+    }
+    
     /**
      * 사용자 ID로 조회
      */
@@ -161,6 +197,13 @@ public class AuthService {
         return userRepository.findById(userId);
     }
     
+    /**
+     * 사용자 ID로 스냅샷 조회 (로컬/Redis 캐시 우선, 읽기 전용 경로용)
+     */
+    public Optional<UserSnapshot> getUserSnapshot(String userId) {
+        return userSnapshotCache.get(userId);
+    }
+    
     /**
      * 이메일로 사용자 조회
      */
@@ -186,13 +229,6 @@ public class AuthService {
         }
     }
     
-    /**
-     * 토큰 유효성 검증
-     */
-    public boolean validateToken(String token) {
-        return jwtService.isTokenValid(token);
-    }
-    
     /**
      * 비밀번호 재설정 요청
      */
@@ -229,6 +265,7 @@ public class AuthService {
         User user = userOpt.get();
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        applicationEventPublisher.publishEvent(new UserChangedEvent(user.getId()));
         
         log.info("Password reset successful for user: {}", email);
     }
@@ -245,6 +282,7 @@ public class AuthService {
         User user = userOpt.get();
         user.setEmailVerified(true);
         userRepository.save(user);
+        applicationEventPublisher.publishEvent(new UserChangedEvent(userId));
         
         log.info("Email verified for user: {}", user.getEmail());
     }
@@ -262,6 +300,10 @@ public class AuthService {
         User.UserRole oldRole = user.getRole();
         user.setRole(newRole);
         userRepository.save(user);
+        applicationEventPublisher.publishEvent(new UserChangedEvent(userId));
+        
+        // 이전 권한이 담긴 토큰 모두 무효화
+        userTokenWatermarkService.invalidateAllTokens(userId);
         
         log.info("User role updated: {} from {} to {}", user.getEmail(), oldRole, newRole);
     }
@@ -278,6 +320,10 @@ public class AuthService {
         User user = userOpt.get();
         user.setIsActive(false);
         userRepository.save(user);
+        applicationEventPublisher.publishEvent(new UserChangedEvent(userId));
+        
+        // 발급된 모든 토큰 무효화
+        userTokenWatermarkService.invalidateAllTokens(userId);
         
         log.info("User account deactivated: {}", user.getEmail());
     }
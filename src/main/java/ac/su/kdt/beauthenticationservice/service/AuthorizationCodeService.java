@@ -2,18 +2,31 @@ package ac.su.kdt.beauthenticationservice.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.security.SecureRandom;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
  * OAuth 2.0 Authorization Code 관리 서비스
- * Authorization Code Flow에서 사용되는 임시 코드를 Redis에 저장하고 관리합니다.
+ * Authorization Code Flow에서 사용되는 임시 코드를 코드당 Redis 해시 하나로 저장하고, 소비는 스크립트로 읽기와 삭제를 한 번에 처리합니다.
+ * 사용자/클라이언트별 인덱스(sorted set, score = 만료 시각)를 함께 관리하므로 무효화 시 해당 코드만 조회합니다.
+ * Redis 장애로 회로가 열리면 기다리지 않고 발급은 실패, 소비/검증은 무효 코드로 처리합니다.
+ * 봉인 모드(oauth.auth-code.sealed.enabled)에서는 코드 데이터를 코드 자체에 암호화해 담아 Redis를 거치지 않습니다.
  */
 @Slf4j
 @Service
@@ -21,15 +34,33 @@ import java.util.concurrent.TimeUnit;
 public class AuthorizationCodeService {
     
     private final RedisTemplate<String, String> redisTemplate;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final SealedAuthorizationCodes sealedAuthorizationCodes;
     private final SecureRandom secureRandom = new SecureRandom();
     
     // Redis 키 접두사
-    private static final String AUTH_CODE_KEY = "oauth:auth_code:";
-    private static final String AUTH_CODE_DATA_KEY = "oauth:auth_code_data:";
+    private static final String AUTH_CODE_KEY = "oauth:auth_code:"; // + code (HASH)
+    private static final String USER_INDEX_KEY = "oauth:auth_code_index:user:"; // + userId (ZSET)
+    private static final String CLIENT_INDEX_KEY = "oauth:auth_code_index:client:"; // + clientId (ZSET)
     
     // Authorization Code 만료시간 (10분)
     private static final long AUTH_CODE_EXPIRATION_MINUTES = 10;
     
+    // 해시 필드
+    private static final String FIELD_USER_ID = "userId";
+    private static final String FIELD_CLIENT_ID = "clientId";
+    private static final String FIELD_REDIRECT_URI = "redirectUri";
+    private static final String FIELD_SCOPE = "scope";
+    private static final String FIELD_STATE = "state";
+    private static final String FIELD_CODE_CHALLENGE = "codeChallenge";
+    private static final String FIELD_CODE_CHALLENGE_METHOD = "codeChallengeMethod";
+    private static final String FIELD_CREATED_AT = "createdAt";
+    
+    private static final RedisScript<Long> ISSUE_SCRIPT = RedisScript.of(new ClassPathResource("scripts/auth_code_issue.lua"), Long.class);
+    private static final RedisScript<List> CONSUME_SCRIPT = RedisScript.of(new ClassPathResource("scripts/auth_code_consume.lua"), List.class);
+    
+    private static final int SCAN_COUNT = 1000;
+    
     /**
      * Authorization Code 생성
      */
@@ -41,20 +72,36 @@ public class AuthorizationCodeService {
         secureRandom.nextBytes(randomBytes);
         String authCode = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
         
-        // Authorization Code 데이터 저장
-        String authCodeData = String.format("%s:%s:%s:%s:%s:%s:%s:%s",
-            userId, clientId, redirectUri, scope, state, 
-            codeChallenge != null ? codeChallenge : "",
-            codeChallengeMethod != null ? codeChallengeMethod : "",
-            LocalDateTime.now().toString()
-        );
+        AuthorizationCodeData data = AuthorizationCodeData.builder()
+                .userId(userId)
+                .clientId(clientId)
+                .redirectUri(redirectUri)
+                .scope(scope)
+                .state(state)
+                .codeChallenge(codeChallenge)
+                .codeChallengeMethod(codeChallengeMethod)
+                .createdAt(LocalDateTime.now())
+                .build();
         
-        // Redis에 저장 (10분 만료)
-        String key = AUTH_CODE_KEY + authCode;
-        String dataKey = AUTH_CODE_DATA_KEY + authCode;
+        if (sealedAuthorizationCodes.isEnabled()) {
+            String sealedCode = sealedAuthorizationCodes.seal(data);
+            log.info("Generated sealed authorization code for user: {} client: {}", userId, clientId);
+            return sealedCode;
+        }
+        
+        // 코드 해시 저장과 인덱스 갱신을 한 번의 왕복으로 (10분 만료)
+        List<String> args = new ArrayList<>();
+        args.add(authCode);
+        args.add(String.valueOf(TimeUnit.MINUTES.toSeconds(AUTH_CODE_EXPIRATION_MINUTES)));
+        args.add(String.valueOf(Instant.now().getEpochSecond()));
+        toHash(data).forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
         
-        redisTemplate.opsForValue().set(key, "valid", AUTH_CODE_EXPIRATION_MINUTES, TimeUnit.MINUTES);
-        redisTemplate.opsForValue().set(dataKey, authCodeData, AUTH_CODE_EXPIRATION_MINUTES, TimeUnit.MINUTES);
+        redisCircuitBreaker.execute("auth_code_store", () -> redisTemplate.execute(ISSUE_SCRIPT,
+                List.of(AUTH_CODE_KEY + authCode, USER_INDEX_KEY + userId, CLIENT_INDEX_KEY + clientId),
+                args.toArray()));
         
         log.info("Generated authorization code for user: {} client: {}", userId, clientId);
         return authCode;
@@ -62,120 +109,196 @@ public class AuthorizationCodeService {
     
     /**
      * Authorization Code 검증 및 소비 (일회용)
+     * 읽기와 삭제가 스크립트 하나로 원자적으로 처리되므로 같은 코드로 동시에 요청해도 한 요청만 데이터를 받습니다.
      */
     public AuthorizationCodeData consumeAuthorizationCode(String authCode) {
-        String key = AUTH_CODE_KEY + authCode;
-        String dataKey = AUTH_CODE_DATA_KEY + authCode;
+        if (SealedAuthorizationCodes.isSealed(authCode)) {
+            AuthorizationCodeData data = sealedAuthorizationCodes.open(authCode);
+            if (data != null) {
+                log.info("Consumed sealed authorization code for user: {} client: {}", data.getUserId(), data.getClientId());
+            }
+            return data;
+        }
         
-        // Authorization Code 존재 여부 확인
-        String codeStatus = redisTemplate.opsForValue().get(key);
-        if (codeStatus == null) {
+        // Redis 장애 시 무효 코드로 처리 (일회용 보장을 확인할 수 없으므로 실패 쪽으로 닫음)
+        List<Object> reply = redisCircuitBreaker.execute("auth_code_consume",
+                () -> takeAuthorizationCodeData(authCode), () -> null);
+        if (reply == null || reply.isEmpty()) {
             log.warn("Authorization code not found or expired: {}", authCode);
             return null;
         }
         
-        // Authorization Code 데이터 가져오기
-        String authCodeData = redisTemplate.opsForValue().get(dataKey);
-        if (authCodeData == null) {
-            log.warn("Authorization code data not found: {}", authCode);
-            return null;
+        AuthorizationCodeData data = fromHash(toFieldMap(reply));
+        if (data != null) {
+            log.info("Consumed authorization code for user: {} client: {}", data.getUserId(), data.getClientId());
         }
         
-        // Authorization Code를 즉시 무효화 (일회용)
-        redisTemplate.delete(key);
-        redisTemplate.delete(dataKey);
+        return data;
+    }
+    
+    /**
+     * 저장된 코드 해시를 꺼내고 즉시 삭제 (없거나 만료되면 빈 목록)
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object> takeAuthorizationCodeData(String authCode) {
+        return redisTemplate.execute(CONSUME_SCRIPT, List.of(AUTH_CODE_KEY + authCode));
+    }
+    
+    /**
+     * Authorization Code 데이터를 해시 필드로 변환 (값이 없는 필드는 생략)
+     */
+    static Map<String, String> toHash(AuthorizationCodeData data) {
+        Map<String, String> hash = new LinkedHashMap<>();
+        putIfPresent(hash, FIELD_USER_ID, data.getUserId());
+        putIfPresent(hash, FIELD_CLIENT_ID, data.getClientId());
+        putIfPresent(hash, FIELD_REDIRECT_URI, data.getRedirectUri());
+        putIfPresent(hash, FIELD_SCOPE, data.getScope());
+        putIfPresent(hash, FIELD_STATE, data.getState());
+        putIfPresent(hash, FIELD_CODE_CHALLENGE, data.getCodeChallenge());
+        putIfPresent(hash, FIELD_CODE_CHALLENGE_METHOD, data.getCodeChallengeMethod());
+        putIfPresent(hash, FIELD_CREATED_AT, data.getCreatedAt() != null ? data.getCreatedAt().toString() : null);
+        return hash;
+    }
+    
+    /**
+     * 해시 필드로 Authorization Code 데이터 구성 (필수 필드가 없으면 null)
+     */
+    static AuthorizationCodeData fromHash(Map<String, String> hash) {
+        if (hash.get(FIELD_USER_ID) == null || hash.get(FIELD_CLIENT_ID) == null) {
+            log.error("Authorization code data is missing required fields: {}", hash.keySet());
+            return null;
+        }
         
-        // 데이터 파싱
         try {
-            String[] parts = authCodeData.split(":");
-            if (parts.length >= 6) {
-                AuthorizationCodeData data = AuthorizationCodeData.builder()
-                        .userId(parts[0])
-                        .clientId(parts[1])
-                        .redirectUri(parts[2])
-                        .scope(parts[3])
-                        .state(parts[4])
-                        .codeChallenge(parts.length > 5 && !parts[5].isEmpty() ? parts[5] : null)
-                        .codeChallengeMethod(parts.length > 6 && !parts[6].isEmpty() ? parts[6] : null)
-                        .createdAt(parts.length > 7 ? LocalDateTime.parse(parts[7]) : LocalDateTime.now())
-                        .build();
-                
-                log.info("Consumed authorization code for user: {} client: {}", data.getUserId(), data.getClientId());
-                return data;
-            }
+            String createdAt = hash.get(FIELD_CREATED_AT);
+            return AuthorizationCodeData.builder()
+                    .userId(hash.get(FIELD_USER_ID))
+                    .clientId(hash.get(FIELD_CLIENT_ID))
+                    .redirectUri(hash.get(FIELD_REDIRECT_URI))
+                    .scope(hash.get(FIELD_SCOPE))
+                    .state(hash.get(FIELD_STATE))
+                    .codeChallenge(hash.get(FIELD_CODE_CHALLENGE))
+                    .codeChallengeMethod(hash.get(FIELD_CODE_CHALLENGE_METHOD))
+                    .createdAt(createdAt != null ? LocalDateTime.parse(createdAt) : LocalDateTime.now())
+                    .build();
         } catch (Exception e) {
             log.error("Failed to parse authorization code data: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * HGETALL 응답(필드/값 평탄 목록)을 맵으로 변환
+     */
+    static Map<String, String> toFieldMap(List<?> reply) {
+        Map<String, String> hash = new HashMap<>();
+        for (int i = 0; i + 1 < reply.size(); i += 2) {
+            hash.put(String.valueOf(reply.get(i)), String.valueOf(reply.get(i + 1)));
+        }
+        return hash;
+    }
+    
+    private static void putIfPresent(Map<String, String> hash, String field, String value) {
+        if (value != null) {
+            hash.put(field, value);
         }
-        
-        return null;
     }
     
     /**
      * Authorization Code 유효성 검증만 (소비하지 않음)
      */
     public boolean isAuthorizationCodeValid(String authCode) {
+        if (SealedAuthorizationCodes.isSealed(authCode)) {
+            return sealedAuthorizationCodes.isValid(authCode);
+        }
+        
         String key = AUTH_CODE_KEY + authCode;
-        return redisTemplate.hasKey(key);
+        return redisCircuitBreaker.execute("auth_code_check",
+                () -> Boolean.TRUE.equals(redisTemplate.hasKey(key)), () -> false);
     }
     
     /**
      * 사용자의 모든 Authorization Code 무효화
      */
     public void revokeUserAuthorizationCodes(String userId) {
-        // 패턴 매칭으로 사용자의 모든 Authorization Code 찾기
-        var keys = redisTemplate.keys(AUTH_CODE_DATA_KEY + "*");
-        if (keys != null) {
-            for (String dataKey : keys) {
-                String authCodeData = redisTemplate.opsForValue().get(dataKey);
-                if (authCodeData != null && authCodeData.startsWith(userId + ":")) {
-                    String authCode = dataKey.replace(AUTH_CODE_DATA_KEY, "");
-                    String key = AUTH_CODE_KEY + authCode;
-                    
-                    redisTemplate.delete(key);
-                    redisTemplate.delete(dataKey);
-                    log.info("Revoked authorization code for user: {}", userId);
-                }
-            }
-        }
+        sealedAuthorizationCodes.revokeUser(userId);
+        int revoked = revokeIndexedCodes("auth_code_revoke_user", USER_INDEX_KEY + userId);
+        log.info("Revoked {} authorization codes for user: {}", revoked, userId);
     }
     
     /**
      * 클라이언트의 모든 Authorization Code 무효화
      */
     public void revokeClientAuthorizationCodes(String clientId) {
-        var keys = redisTemplate.keys(AUTH_CODE_DATA_KEY + "*");
-        if (keys != null) {
-            for (String dataKey : keys) {
-                String authCodeData = redisTemplate.opsForValue().get(dataKey);
-                if (authCodeData != null) {
-                    String[] parts = authCodeData.split(":");
-                    if (parts.length >= 2 && clientId.equals(parts[1])) {
-                        String authCode = dataKey.replace(AUTH_CODE_DATA_KEY, "");
-                        String key = AUTH_CODE_KEY + authCode;
-                        
-                        redisTemplate.delete(key);
-                        redisTemplate.delete(dataKey);
-                        log.info("Revoked authorization code for client: {}", clientId);
-                    }
+        sealedAuthorizationCodes.revokeClient(clientId);
+        int revoked = revokeIndexedCodes("auth_code_revoke_client", CLIENT_INDEX_KEY + clientId);
+        log.info("Revoked {} authorization codes for client: {}", revoked, clientId);
+    }
+    
+    /**
+     * 인덱스에서 아직 만료되지 않은 코드만 골라 삭제하고 인덱스도 삭제
+     * (다른 쪽 인덱스에 남은 항목은 코드 키가 없으므로 무효이며 다음 발급 시 정리됨)
+     */
+    private int revokeIndexedCodes(String operation, String indexKey) {
+        return redisCircuitBreaker.execute(operation, () -> {
+            Set<String> codes = redisTemplate.opsForZSet()
+                    .rangeByScore(indexKey, Instant.now().getEpochSecond(), Double.POSITIVE_INFINITY);
+            List<String> keys = new ArrayList<>();
+            if (codes != null) {
+                for (String code : codes) {
+                    keys.add(AUTH_CODE_KEY + code);
                 }
             }
-        }
+            keys.add(indexKey);
+            redisTemplate.delete(keys);
+            return keys.size() - 1;
+        });
     }
     
     /**
      * Authorization Code 통계 조회 (관리자용)
+     * 코드당 키가 하나이므로 total_data_entries는 total_active_codes와 같습니다.
+     * Redis 장애 중에는 코드 수 대신 status=unavailable을 반환합니다.
      */
     public Map<String, Object> getAuthorizationCodeStats() {
-        var codeKeys = redisTemplate.keys(AUTH_CODE_KEY + "*");
-        var dataKeys = redisTemplate.keys(AUTH_CODE_DATA_KEY + "*");
+        Long activeCodes = redisCircuitBreaker.execute("auth_code_stats", this::countActiveCodes, () -> null);
+        if (activeCodes == null) {
+            return Map.of(
+                "status", "unavailable",
+                "expiration_minutes", AUTH_CODE_EXPIRATION_MINUTES,
+                "sealed_codes_enabled", sealedAuthorizationCodes.isEnabled(),
+                "sealed_replay_entries", sealedAuthorizationCodes.replayEntries()
+            );
+        }
         
         return Map.of(
-            "total_active_codes", codeKeys != null ? codeKeys.size() : 0,
-            "total_data_entries", dataKeys != null ? dataKeys.size() : 0,
-            "expiration_minutes", AUTH_CODE_EXPIRATION_MINUTES
+            "total_active_codes", activeCodes,
+            "total_data_entries", activeCodes,
+            "expiration_minutes", AUTH_CODE_EXPIRATION_MINUTES,
+            "sealed_codes_enabled", sealedAuthorizationCodes.isEnabled(),
+            "sealed_replay_entries", sealedAuthorizationCodes.replayEntries()
         );
     }
     
+    /**
+     * 활성 코드 키 수 (SCAN으로 순회)
+     */
+    private Long countActiveCodes() {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(AUTH_CODE_KEY + "*")
+                .count(SCAN_COUNT)
+                .build();
+        
+        long activeCodes = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                cursor.next();
+                activeCodes++;
+            }
+        }
+        return activeCodes;
+    }
+    
     /**
      * Authorization Code 데이터 클래스
      */
@@ -191,4 +314,4 @@ public class AuthorizationCodeService {
         private String codeChallengeMethod; // PKCE
         private LocalDateTime createdAt;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,162 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import ac.su.kdt.beauthenticationservice.config.OAuth2Properties;
+import ac.su.kdt.beauthenticationservice.jwt.TokenMinter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * OpenID Connect Back-Channel Logout 알림 서비스
+ * SSO 로그아웃 시 세션에 등록된 애플리케이션마다 서명된 logout_token(sub, sid, events 클레임)을 POST로 보냅니다.
+ * 알림은 공유 HTTP 클라이언트(연결 재사용)로 동시에 보내므로, 로그아웃 지연은 애플리케이션 수의 합이 아니라 가장 느린 애플리케이션 하나로 제한됩니다.
+ * 연결 실패와 5xx 응답은 간격을 늘려가며 재시도하고, 4xx 응답은 재시도하지 않습니다.
+ */
+@Slf4j
+@Service
+public class BackchannelLogoutService implements DisposableBean {
+
+    static final String LOGOUT_EVENT = "http://schemas.openid.net/event/backchannel-logout";
+    private static final long LOGOUT_TOKEN_TTL_SECONDS = 120;
+
+    private final TokenMinter tokenMinter;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, URI> logoutUris;
+    private final Duration timeout;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+
+    @Autowired
+    public BackchannelLogoutService(OAuth2Properties properties, TokenMinter tokenMinter, MeterRegistry meterRegistry) {
+        this(tokenMinter, meterRegistry, properties.getSso().getBackchannelLogout());
+    }
+
+    BackchannelLogoutService(TokenMinter tokenMinter, MeterRegistry meterRegistry,
+                             OAuth2Properties.BackchannelLogout config) {
+        this.tokenMinter = tokenMinter;
+        this.meterRegistry = meterRegistry;
+        this.timeout = Duration.ofMillis(config.getTimeoutMs());
+        this.maxRetries = config.getMaxRetries();
+        this.retryBackoffMillis = config.getRetryBackoffMs();
+
+        this.logoutUris = new LinkedHashMap<>();
+        config.getUris().forEach((applicationId, uri) -> {
+            try {
+                logoutUris.put(applicationId, URI.create(uri));
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring invalid back-channel logout URI for application {}: {}", applicationId, uri);
+            }
+        });
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, config.getThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "sso-backchannel-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * 로그아웃 알림 전송 (알림 URI가 설정된 애플리케이션만, 결과는 applicationId -> 전달 여부)
+     * 반환된 future는 모든 알림이 성공하거나 재시도를 마치면 완료되며 예외로 끝나지 않습니다.
+     */
+    public CompletableFuture<Map<String, Boolean>> notifyLogout(String userId, String sessionId,
+                                                                Collection<String> applicationIds) {
+        Map<String, CompletableFuture<Boolean>> deliveries = new LinkedHashMap<>();
+        for (String applicationId : applicationIds) {
+            URI uri = logoutUris.get(applicationId);
+            if (uri == null) {
+                continue;
+            }
+            String body = "logout_token=" + URLEncoder.encode(logoutToken(userId, sessionId, applicationId), StandardCharsets.UTF_8);
+            deliveries.put(applicationId, deliver(applicationId, uri, body, 0)
+                    .thenApply(delivered -> {
+                        deliveryCounter(delivered).increment();
+                        return delivered;
+                    }));
+        }
+
+        return CompletableFuture.allOf(deliveries.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<String, Boolean> results = new LinkedHashMap<>();
+                    deliveries.forEach((applicationId, delivery) -> results.put(applicationId, delivery.join()));
+                    return results;
+                });
+    }
+
+    /**
+     * logout_token 발급 (aud = 애플리케이션, nonce 없음)
+     */
+    String logoutToken(String userId, String sessionId, String applicationId) {
+        return tokenMinter.begin(userId, applicationId, LOGOUT_TOKEN_TTL_SECONDS)
+                .claim("sid", sessionId)
+                .claims(Map.of("events", Map.of(LOGOUT_EVENT, Map.of())))
+                .sign();
+    }
+
+    private CompletableFuture<Boolean> deliver(String applicationId, URI uri, String body, int attempt) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    if (error == null && response.statusCode() / 100 == 2) {
+                        return CompletableFuture.completedFuture(true);
+                    }
+
+                    boolean retryable = error != null || response.statusCode() >= 500;
+                    if (retryable && attempt < maxRetries) {
+                        long backoff = retryBackoffMillis << attempt;
+                        return CompletableFuture.runAsync(() -> { },
+                                        CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS, executor))
+                                .thenCompose(ignored -> deliver(applicationId, uri, body, attempt + 1));
+                    }
+
+                    log.warn("Back-channel logout to application {} failed after {} attempts: {}", applicationId,
+                            attempt + 1, error != null ? error.toString() : "HTTP " + response.statusCode());
+                    return CompletableFuture.completedFuture(false);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private Counter deliveryCounter(boolean delivered) {
+        return Counter.builder("sso_backchannel_logout_count")
+                .description("Number of back-channel logout notifications by final delivery result")
+                .tag("result", delivered ? "delivered" : "failed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
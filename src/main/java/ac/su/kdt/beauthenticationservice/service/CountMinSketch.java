@@ -0,0 +1,75 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 고정 메모리 빈도 추정 (Count-Min Sketch)
+ * depth개의 행마다 해시 위치의 카운터를 증가시키고, 추정값은 행별 카운터의 최솟값입니다.
+ * 과소 추정은 없으며, 확률 1 - (1/2)^depth로 과대 추정 오차는 (e / width) * 전체 증가 수 이하입니다.
+ */
+public final class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final AtomicIntegerArray counters;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("depth must be positive and width a power of two");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new AtomicIntegerArray(depth * width);
+    }
+
+    /**
+     * 1 증가 후 추정값 반환
+     */
+    public int add(String item) {
+        long hash = hash(item);
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    public int estimate(String item) {
+        long hash = hash(item);
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    /**
+     * 전체 증가 수 대비 과대 추정 오차 상한 (e / width)
+     */
+    public double relativeError() {
+        return Math.E / width;
+    }
+
+    public long memoryBytes() {
+        return (long) counters.length() * Integer.BYTES;
+    }
+
+    private int index(long hash, int row) {
+        // Kirsch-Mitzenmacher: 64비트 해시 하나로 행별 해시 생성 (Guava BloomFilter와 같은 방식)
+        int combined = (int) hash + row * (int) (hash >>> 32);
+        return row * width + (combined & (width - 1));
+    }
+
+    private static long hash(String item) {
+        return Hashing.murmur3_128().hashString(item, StandardCharsets.UTF_8).asLong();
+    }
+}
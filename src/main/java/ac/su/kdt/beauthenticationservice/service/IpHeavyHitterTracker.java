@@ -0,0 +1,248 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 로그인 실패 IP/대역별 빈도 추적 (고정 메모리)
+ * 윈도우를 슬롯으로 나누어 슬롯마다 Count-Min Sketch와 Space-Saving 상위 K개를 두고, 오래된 슬롯은 재사용합니다.
+ * 공격 IP가 수십만 개로 분산되어도 메모리는 설정한 크기로 고정됩니다.
+ * 차단 판정은 과대 추정만 하는 CMS 추정값을 그대로 임계값과 비교하므로, 실제 횟수가 임계값을 넘은 IP는 실패량과 무관하게 반드시 차단됩니다.
+ * 해시 충돌로 인한 잘못된 차단은 폭 선택으로 제한합니다: 윈도우 실패 수가 expected-failures일 때 과대 추정이 target-error 이하가 되도록
+ * width = e * expected-failures / target-error (2의 거듭제곱으로 올림), 기본값(25만 건, 20)이면 65536칸 x 4행 x 2(IP/대역) x 3슬롯 = 약 6MB입니다.
+ */
+@Component
+public class IpHeavyHitterTracker {
+
+    private static final int SLOTS = 3;
+    private static final int DEPTH = 4;
+
+    private final long slotMillis;
+    private final int topK;
+    private final LongSupplier clock;
+    private final Slot[] slots = new Slot[SLOTS];
+
+    @Autowired
+    public IpHeavyHitterTracker(MeterRegistry meterRegistry,
+                                @Value("${oauth.login-throttle.ip-sketch.window-minutes:15}") long windowMinutes,
+                                @Value("${oauth.login-throttle.ip-sketch.expected-failures:250000}") long expectedFailures,
+                                @Value("${oauth.login-throttle.ip-sketch.target-error:20}") long targetError,
+                                @Value("${oauth.login-throttle.ip-sketch.top-k:64}") int topK) {
+        this(meterRegistry, windowMinutes, widthFor(expectedFailures, targetError), topK, System::currentTimeMillis);
+    }
+
+    IpHeavyHitterTracker(MeterRegistry meterRegistry, long windowMinutes, int width, int topK, LongSupplier clock) {
+        this.slotMillis = TimeUnit.MINUTES.toMillis(windowMinutes) / SLOTS;
+        this.topK = topK;
+        this.clock = clock;
+        for (int i = 0; i < SLOTS; i++) {
+            slots[i] = new Slot(width, topK);
+        }
+
+        Gauge.builder("login_ip_sketch_memory_bytes", this, IpHeavyHitterTracker::memoryBytes)
+                .description("Fixed memory used by the failed-login IP sketches")
+                .register(meterRegistry);
+        Gauge.builder("login_ip_sketch_error_bound", this, IpHeavyHitterTracker::errorBound)
+                .description("Current worst-case overestimate of a per-IP failure count")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 윈도우 실패 수가 expectedFailures일 때 과대 추정 오차 상한 (e / width) * expectedFailures 가 targetError 이하인 폭
+     */
+    static int widthFor(long expectedFailures, long targetError) {
+        if (expectedFailures <= 0 || targetError <= 0) {
+            throw new IllegalArgumentException("expectedFailures and targetError must be positive");
+        }
+        long width = (long) Math.ceil(Math.E * expectedFailures / targetError);
+        if (width > 1 << 30) {
+            throw new IllegalArgumentException("ip-sketch width too large: " + width);
+        }
+        return Math.max(1, Integer.highestOneBit((int) width - 1) << 1);
+    }
+
+    /**
+     * 로그인 실패 기록 (IP와 해당 대역)
+     */
+    public void recordFailure(String ipAddress) {
+        if (ipAddress == null) {
+            return;
+        }
+
+        Slot slot = currentSlot();
+        slot.total.incrementAndGet();
+        slot.ips.add(ipAddress);
+        slot.topIps.offer(ipAddress);
+
+        String prefix = IpPrefixes.of(ipAddress);
+        if (prefix != null) {
+            slot.prefixes.add(prefix);
+            slot.topPrefixes.offer(prefix);
+        }
+    }
+
+    /**
+     * 윈도우 내 IP 실패 수 추정 (과대 추정만 가능)
+     */
+    public long estimateIp(String ipAddress) {
+        long estimate = 0;
+        for (Slot slot : liveSlots()) {
+            estimate += slot.ips.estimate(ipAddress);
+        }
+        return estimate;
+    }
+
+    /**
+     * 윈도우 내 대역 실패 수 추정
+     */
+    public long estimatePrefix(String ipAddress) {
+        String prefix = IpPrefixes.of(ipAddress);
+        if (prefix == null) {
+            return 0;
+        }
+
+        long estimate = 0;
+        for (Slot slot : liveSlots()) {
+            estimate += slot.prefixes.estimate(prefix);
+        }
+        return estimate;
+    }
+
+    /**
+     * 추정값(상한)이 임계값 이상이면 true
+     * 실제 횟수가 임계값 이상이면 전체 실패량과 무관하게 반드시 true이며, 충돌로 인한 과대 추정은 폭 선택으로 제한합니다.
+     */
+    public boolean ipExceeds(String ipAddress, long threshold) {
+        return estimateIp(ipAddress) >= threshold;
+    }
+
+    public boolean prefixExceeds(String ipAddress, long threshold) {
+        return estimatePrefix(ipAddress) >= threshold;
+    }
+
+    /**
+     * 실패 수 상위 IP (윈도우 내 추정값 내림차순)
+     */
+    public List<HeavyHitter> topIps(int limit) {
+        return top(limit, true);
+    }
+
+    /**
+     * 실패 수 상위 대역
+     */
+    public List<HeavyHitter> topPrefixes(int limit) {
+        return top(limit, false);
+    }
+
+    /**
+     * 윈도우 내 전체 실패 수 기준 과대 추정 오차 상한
+     */
+    public long errorBound() {
+        long total = 0;
+        for (Slot slot : liveSlots()) {
+            total += slot.total.get();
+        }
+        return (long) (slots[0].ips.relativeError() * total);
+    }
+
+    public long memoryBytes() {
+        long bytes = 0;
+        for (Slot slot : slots) {
+            bytes += slot.ips.memoryBytes() + slot.prefixes.memoryBytes();
+        }
+        return bytes;
+    }
+
+    private List<HeavyHitter> top(int limit, boolean ips) {
+        // 슬롯별 후보를 합친 뒤 윈도우 전체 추정값으로 다시 정렬
+        Set<String> candidates = new LinkedHashSet<>();
+        for (Slot slot : liveSlots()) {
+            for (SpaceSavingTopK.Candidate candidate : (ips ? slot.topIps : slot.topPrefixes).candidates()) {
+                candidates.add(candidate.item());
+            }
+        }
+
+        long errorBound = errorBound();
+        List<HeavyHitter> result = new ArrayList<>(candidates.size());
+        for (String item : candidates) {
+            long estimate = 0;
+            for (Slot slot : liveSlots()) {
+                estimate += (ips ? slot.ips : slot.prefixes).estimate(item);
+            }
+            result.add(new HeavyHitter(item, estimate, errorBound));
+        }
+
+        result.sort(Comparator.comparingLong(HeavyHitter::estimate).reversed());
+        return result.subList(0, Math.min(Math.min(limit, topK), result.size()));
+    }
+
+    /**
+     * 현재 슬롯 (슬롯 번호가 바뀌었으면 이전 내용을 비우고 재사용)
+     */
+    private Slot currentSlot() {
+        long slotNumber = clock.getAsLong() / slotMillis;
+        Slot slot = slots[(int) (slotNumber % SLOTS)];
+        if (slot.slotNumber != slotNumber) {
+            synchronized (slot) {
+                if (slot.slotNumber != slotNumber) {
+                    slot.clear();
+                    slot.slotNumber = slotNumber;
+                }
+            }
+        }
+        return slot;
+    }
+
+    private List<Slot> liveSlots() {
+        long slotNumber = clock.getAsLong() / slotMillis;
+        List<Slot> live = new ArrayList<>(SLOTS);
+        for (Slot slot : slots) {
+            if (slot.slotNumber <= slotNumber && slotNumber - slot.slotNumber < SLOTS) {
+                live.add(slot);
+            }
+        }
+        return live;
+    }
+
+    /**
+     * estimate는 과대 추정이며 실제 값은 estimate - errorBound 이상
+     */
+    public record HeavyHitter(String key, long estimate, long errorBound) {
+    }
+
+    private static final class Slot {
+        private final CountMinSketch ips;
+        private final CountMinSketch prefixes;
+        private final SpaceSavingTopK topIps;
+        private final SpaceSavingTopK topPrefixes;
+        private final AtomicLong total = new AtomicLong();
+        private volatile long slotNumber = -SLOTS;
+
+        private Slot(int width, int topK) {
+            this.ips = new CountMinSketch(DEPTH, width);
+            this.prefixes = new CountMinSketch(DEPTH, width);
+            this.topIps = new SpaceSavingTopK(topK);
+            this.topPrefixes = new SpaceSavingTopK(topK);
+        }
+
+        private void clear() {
+            ips.clear();
+            prefixes.clear();
+            topIps.clear();
+            topPrefixes.clear();
+            total.set(0);
+        }
+    }
+}
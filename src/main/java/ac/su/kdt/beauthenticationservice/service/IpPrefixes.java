@@ -0,0 +1,38 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import com.google.common.net.InetAddresses;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+
+/**
+ * IP 주소의 네트워크 대역 (IPv4 /24, IPv6 /64)
+ * 문자열 파싱만 하며 DNS 조회는 하지 않습니다.
+ */
+public final class IpPrefixes {
+
+    private IpPrefixes() {
+    }
+
+    /**
+     * 대역 문자열 (예: 203.0.113.0/24, 2001:db8:1:2::/64), IP가 아니면 null
+     */
+    public static String of(String ipAddress) {
+        if (ipAddress == null || !InetAddresses.isInetAddress(ipAddress)) {
+            return null;
+        }
+
+        InetAddress address = InetAddresses.forString(ipAddress);
+        byte[] bytes = address.getAddress();
+        int prefixBits = address instanceof Inet4Address ? 24 : 64;
+        Arrays.fill(bytes, prefixBits / 8, bytes.length, (byte) 0);
+
+        try {
+            return InetAddresses.toAddrString(InetAddress.getByAddress(bytes)) + "/" + prefixBits;
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+}
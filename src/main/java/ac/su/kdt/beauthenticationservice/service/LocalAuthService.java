@@ -2,11 +2,14 @@ package ac.su.kdt.beauthenticationservice.service;
 
 import ac.su.kdt.beauthenticationservice.model.dto.LoginRequest;
 import ac.su.kdt.beauthenticationservice.model.dto.SignupRequest;
+import ac.su.kdt.beauthenticationservice.model.dto.UserChangedEvent;
 import ac.su.kdt.beauthenticationservice.model.entity.User;
 import ac.su.kdt.beauthenticationservice.repository.UserRepository;
 import ac.su.kdt.beauthenticationservice.jwt.JwtService;
+import ac.su.kdt.beauthenticationservice.security.PasswordHashingRejectedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,9 +31,11 @@ public class LocalAuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
-    private final RedisLoginAttemptService loginAttemptService;
     private final EventPublisherInterface eventPublisher;
     private final EmailService emailService;
+    private final TokenBlacklistService tokenBlacklistService;
+    private final UserTokenWatermarkService userTokenWatermarkService;
+    private final ApplicationEventPublisher applicationEventPublisher;
     
     private static final int MAX_LOGIN_ATTEMPTS = 10;
     private static final int LOCKOUT_DURATION_HOURS = 1;
@@ -77,15 +82,11 @@ public class LocalAuthService {
     public LoginResult login(LoginRequest request, String ipAddress, String userAgent) {
         log.info("Local login requested for email: {} from IP: {}", request.getEmail(), ipAddress);
         
-        // Redis 기반 로그인 시도 제한 확인
-        if (loginAttemptService.isAccountLocked(request.getEmail())) {
-            throw new IllegalArgumentException("계정이 잠겨있습니다. 1시간 후 다시 시도해 주세요.");
-        }
+        // Redis 기반 로그인 시도 제한은 LocalAuthController에서 한 번만 확인/기록
         
         // 사용자 조회
         Optional<User> optionalUser = userRepository.findByEmail(request.getEmail());
         if (optionalUser.isEmpty()) {
-            loginAttemptService.recordFailedAttempt(request.getEmail(), ipAddress);
             throw new IllegalArgumentException("이메일 또는 비밀번호가 올바르지 않습니다.");
         }
         
@@ -108,6 +109,16 @@ public class LocalAuthService {
             throw new IllegalArgumentException("이메일 또는 비밀번호가 올바르지 않습니다.");
         }
         
+        // 이전 알고리즘/비용의 해시는 현재 설정으로 재해시 (handleSuccessfulLogin에서 함께 저장)
+        if (passwordEncoder.upgradeEncoding(user.getPasswordHash())) {
+            try {
+                user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+                log.info("Password hash upgraded for user: {}", user.getEmail());
+            } catch (PasswordHashingRejectedException e) {
+                log.debug("Password hash upgrade deferred for user: {}", user.getEmail());
+            }
+        }
+        
         // 로그인 성공 처리
         handleSuccessfulLogin(user);
         
@@ -129,9 +140,6 @@ public class LocalAuthService {
     }
     
     private void handleFailedLogin(User user, String ipAddress) {
-        // Redis 기반 로그인 시도 기록
-        loginAttemptService.recordFailedAttempt(user.getEmail(), ipAddress);
-        
         // 데이터베이스 기반 실패 횟수 증가
         user.setFailedLoginAttempts(user.getFailedLoginAttempts() + 1);
         user.setLastFailedLoginAt(LocalDateTime.now());
@@ -146,9 +154,6 @@ public class LocalAuthService {
     }
     
     private void handleSuccessfulLogin(User user) {
-        // Redis 기반 로그인 시도 초기화
-        loginAttemptService.recordSuccessfulLogin(user.getEmail());
-        
         // 데이터베이스 기반 실패 횟수 초기화
         user.setFailedLoginAttempts(0);
         user.setLastFailedLoginAt(null);
@@ -206,6 +211,10 @@ public class LocalAuthService {
         user.setLockedUntil(null); // 계정 잠금 해제
         
         userRepository.save(user);
+        applicationEventPublisher.publishEvent(new UserChangedEvent(userId));
+        
+        // 이전 비밀번호로 발급된 모든 Access/Refresh Token 무효화
+        userTokenWatermarkService.invalidateAllTokens(userId);
         
         // 비밀번호 재설정 토큰 무효화
         invalidatePasswordResetToken(token);
@@ -219,8 +228,8 @@ public class LocalAuthService {
         // JWT 토큰을 블랙리스트에 추가
         if (token != null && token.startsWith("Bearer ")) {
             String jwtToken = token.substring(7);
-            // TokenBlacklistService를 통해 토큰 무효화 처리
-            // TODO: TokenBlacklistService 구현 필요
+            // TokenBlacklistService를 통해 토큰 무효화 처리 (모든 인스턴스에 전파)
+            jwtService.verify(jwtToken).ifPresent(tokenBlacklistService::revoke);
         }
         
         log.info("Local logout completed from IP: {}", ipAddress);
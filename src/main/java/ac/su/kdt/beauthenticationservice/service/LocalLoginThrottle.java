@@ -0,0 +1,160 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Redis 장애 시 사용하는 인스턴스 로컬 로그인 제한 (메모리 상한 있음)
+ * 계정/IP별 실패 횟수를 슬라이딩 윈도우로 세고, 처리한 결과를 저널에 남겨 Redis 복구 후 그대로 반영할 수 있게 합니다.
+ * 저널이 상한을 넘으면 가장 오래된 항목부터 버립니다.
+ */
+@Component
+public class LocalLoginThrottle {
+
+    private static final String IP_KEY = "ip:"; // + IP (계정 키와 같은 카운터 사용)
+    private static final int WINDOW_SLOTS = 12;
+
+    private final Duration window;
+    private final int maxKeys;
+    private final int maxJournalEntries;
+    private final LongSupplier clock;
+    private volatile SlidingWindowCounter failures;
+
+    private final ArrayDeque<JournalEntry> journal = new ArrayDeque<>();
+    private volatile int journalSize; // 저널 잠금 없이 읽는 크기 (저널 변경 시 함께 갱신)
+
+    // Metrics
+    private final Counter droppedCounter;
+
+    @Autowired
+    public LocalLoginThrottle(MeterRegistry meterRegistry,
+                              @Value("${oauth.login-throttle.local.window-minutes:60}") long windowMinutes,
+                              @Value("${oauth.login-throttle.local.max-keys:100000}") int maxKeys,
+                              @Value("${oauth.login-throttle.local.max-journal-entries:50000}") int maxJournalEntries) {
+        this(meterRegistry, Duration.ofMinutes(windowMinutes), maxKeys, maxJournalEntries, System::currentTimeMillis);
+    }
+
+    LocalLoginThrottle(MeterRegistry meterRegistry, Duration window, int maxKeys, int maxJournalEntries,
+                       LongSupplier clock) {
+        this.window = window;
+        this.maxKeys = maxKeys;
+        this.maxJournalEntries = maxJournalEntries;
+        this.clock = clock;
+        this.failures = new SlidingWindowCounter(window, WINDOW_SLOTS, maxKeys, clock);
+
+        this.droppedCounter = Counter.builder("login_local_journal_dropped_count")
+                .description("Number of degraded-mode login events dropped because the local journal was full")
+                .register(meterRegistry);
+
+        Gauge.builder("login_local_journal_size", this, LocalLoginThrottle::journalSize)
+                .description("Number of degraded-mode login events waiting to be replayed to Redis")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 실패 기록 후 윈도우 내 계정 실패 횟수 반환
+     */
+    public int recordFailure(String email, String ipAddress) {
+        SlidingWindowCounter counter = failures;
+        int attempts = counter.increment(email);
+        if (ipAddress != null) {
+            counter.increment(IP_KEY + ipAddress);
+        }
+        append(new JournalEntry(EventType.FAILURE, email, ipAddress, null, clock.getAsLong()));
+        return attempts;
+    }
+
+    public void recordSuccess(String email, String ipAddress) {
+        failures.reset(email);
+        append(new JournalEntry(EventType.SUCCESS, email, ipAddress, null, clock.getAsLong()));
+    }
+
+    public void unlock(String email, String adminUser) {
+        failures.reset(email);
+        append(new JournalEntry(EventType.UNLOCK, email, null, adminUser, clock.getAsLong()));
+    }
+
+    public int failedAttempts(String email) {
+        return failures.count(email);
+    }
+
+    public int ipFailures(String ipAddress) {
+        return ipAddress != null ? failures.count(IP_KEY + ipAddress) : 0;
+    }
+
+    /**
+     * 저널 전체를 꺼내고 비웁니다 (기록 순서 유지)
+     */
+    public List<JournalEntry> drainJournal() {
+        synchronized (journal) {
+            List<JournalEntry> entries = new ArrayList<>(journal);
+            journal.clear();
+            journalSize = 0;
+            return entries;
+        }
+    }
+
+    /**
+     * 반영하지 못한 항목을 저널 앞쪽에 되돌립니다 (그 사이 새로 쌓인 항목보다 먼저 반영)
+     */
+    public void restore(List<JournalEntry> entries) {
+        synchronized (journal) {
+            for (int i = entries.size() - 1; i >= 0; i--) {
+                if (journal.size() >= maxJournalEntries) {
+                    // 되돌리는 항목이 가장 오래되었으므로 그것부터 버림
+                    droppedCounter.increment(i + 1);
+                    break;
+                }
+                journal.addFirst(entries.get(i));
+            }
+            journalSize = journal.size();
+        }
+    }
+
+    /**
+     * 저널 반영이 끝나 Redis가 다시 기준이 되면 로컬 횟수를 초기화
+     */
+    public void clearCounters() {
+        failures = new SlidingWindowCounter(window, WINDOW_SLOTS, maxKeys, clock);
+    }
+
+    public int journalSize() {
+        return journalSize;
+    }
+
+    private void append(JournalEntry entry) {
+        synchronized (journal) {
+            if (journal.size() >= maxJournalEntries) {
+                journal.pollFirst();
+                droppedCounter.increment();
+            }
+            journal.addLast(entry);
+            journalSize = journal.size();
+        }
+    }
+
+    public enum EventType {
+        FAILURE, SUCCESS, UNLOCK
+    }
+
+    /**
+     * 대체 모드에서 처리한 로그인 이벤트 (timestampMillis = 발생 시각)
+     */
+    public record JournalEntry(EventType type, String email, String ipAddress, String adminUser, long timestampMillis) {
+
+        public Instant timestamp() {
+            return Instant.ofEpochMilli(timestampMillis);
+        }
+    }
+}
@@ -1,108 +1,78 @@
 package ac.su.kdt.beauthenticationservice.service;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.List;
 
 /**
  * 로그인 시도 횟수 제한을 위한 서비스
  * 특정 IP 주소나 사용자에 대한 로그인 실패 횟수를 추적하고 제한합니다.
+ * 사용자별 횟수는 최근 15분(1분 슬롯) 슬라이딩 윈도우 기준이며, 증가는 lock-free라 동시 요청에서도 유실되지 않습니다.
+ * 윈도우가 지난 사용자 키는 공용 타이밍 휠이 제때 제거하므로 추적 키 수가 실제 활성 사용자 수를 따라갑니다.
+ * IP/대역별 횟수는 고정 메모리 sketch로 추적하므로 공격 IP 수가 늘어도 메모리가 증가하지 않습니다.
  */
 @Slf4j
 @Service
 public class LoginAttemptService {
     
     private static final int MAX_ATTEMPTS = 5; // 최대 로그인 시도 횟수
-    private static final int ATTEMPT_INCREMENT = 1;
+    private static final int MAX_IP_ATTEMPTS = 20; // IP별 최대 실패 횟수 (성공으로 초기화되지 않으므로 NAT 공유를 고려해 여유 있게)
+    private static final int MAX_PREFIX_ATTEMPTS = 100; // 대역(/24, /64)별 최대 실패 횟수
     private static final int LOCK_TIME_DURATION = 15; // 잠금 시간 (분)
+    private static final int MAX_TRACKED_KEYS = 100_000; // 카운터별 추적 키 상한 (메모리 상한)
     
-    // IP 기반 로그인 시도 추적 캐시
-    private final LoadingCache<String, Integer> ipAttemptsCache;
+    // IP/대역 기반 로그인 실패 추적 (Count-Min Sketch + 상위 K개)
+    private final IpHeavyHitterTracker ipHeavyHitterTracker;
     
-    // 사용자 기반 로그인 시도 추적 캐시
-    private final LoadingCache<String, Integer> userAttemptsCache;
+    // 사용자 기반 로그인 시도 추적
+    private final SlidingWindowCounter userAttempts;
     
-    public LoginAttemptService() {
-        super();
-        
-        // IP 기반 캐시 초기화
-        ipAttemptsCache = CacheBuilder.newBuilder()
-                .expireAfterWrite(LOCK_TIME_DURATION, TimeUnit.MINUTES)
-                .build(new CacheLoader<String, Integer>() {
-                    @Override
-                    public Integer load(String key) {
-                        return 0;
-                    }
-                });
-        
-        // 사용자 기반 캐시 초기화
-        userAttemptsCache = CacheBuilder.newBuilder()
-                .expireAfterWrite(LOCK_TIME_DURATION, TimeUnit.MINUTES)
-                .build(new CacheLoader<String, Integer>() {
-                    @Override
-                    public Integer load(String key) {
-                        return 0;
-                    }
-                });
+    public LoginAttemptService(IpHeavyHitterTracker ipHeavyHitterTracker, TimingWheel timingWheel) {
+        this.ipHeavyHitterTracker = ipHeavyHitterTracker;
+        this.userAttempts = new SlidingWindowCounter(
+                Duration.ofMinutes(LOCK_TIME_DURATION), LOCK_TIME_DURATION, MAX_TRACKED_KEYS, timingWheel);
     }
     
     /**
-     * 로그인 성공 시 해당 IP와 사용자의 실패 기록을 초기화합니다.
+     * 로그인 성공 시 사용자의 실패 기록을 초기화합니다.
+     * IP 횟수는 sketch에서 개별 삭제할 수 없으므로 윈도우가 지나면서 줄어듭니다.
      */
     public void loginSucceeded(String key, String userEmail) {
-        ipAttemptsCache.invalidate(key);
         if (userEmail != null) {
-            userAttemptsCache.invalidate(userEmail);
+            userAttempts.reset(userEmail);
         }
-        log.debug("Login attempts cleared for IP: {} and user: {}", key, userEmail);
+        log.debug("Login attempts cleared for user: {} (IP: {})", userEmail, key);
     }
     
     /**
      * 로그인 실패 시 해당 IP와 사용자의 실패 횟수를 증가시킵니다.
      */
     public void loginFailed(String key, String userEmail) {
-        int attempts = 0;
-        try {
-            attempts = ipAttemptsCache.get(key);
-        } catch (ExecutionException e) {
-            attempts = 0;
-        }
-        
-        attempts += ATTEMPT_INCREMENT;
-        ipAttemptsCache.put(key, attempts);
+        ipHeavyHitterTracker.recordFailure(key);
+        long attempts = ipHeavyHitterTracker.estimateIp(key);
         
         if (userEmail != null) {
-            int userAttempts = 0;
-            try {
-                userAttempts = userAttemptsCache.get(userEmail);
-            } catch (ExecutionException e) {
-                userAttempts = 0;
-            }
-            
-            userAttempts += ATTEMPT_INCREMENT;
-            userAttemptsCache.put(userEmail, userAttempts);
+            int userAttemptCount = userAttempts.increment(userEmail);
             
             log.warn("Login failed for IP: {} (attempts: {}) and user: {} (attempts: {})", 
-                    key, attempts, userEmail, userAttempts);
+                    key, attempts, userEmail, userAttemptCount);
         } else {
             log.warn("Login failed for IP: {} (attempts: {})", key, attempts);
         }
     }
     
     /**
-     * IP 주소가 차단되었는지 확인합니다.
+     * IP 주소 또는 해당 대역이 차단되었는지 확인합니다.
      */
     public boolean isIpBlocked(String key) {
-        try {
-            return ipAttemptsCache.get(key) >= MAX_ATTEMPTS;
-        } catch (ExecutionException e) {
+        if (key == null) {
             return false;
         }
+        
+        return ipHeavyHitterTracker.ipExceeds(key, MAX_IP_ATTEMPTS)
+                || ipHeavyHitterTracker.prefixExceeds(key, MAX_PREFIX_ATTEMPTS);
     }
     
     /**
@@ -113,11 +83,7 @@ public class LoginAttemptService {
             return false;
         }
         
-        try {
-            return userAttemptsCache.get(userEmail) >= MAX_ATTEMPTS;
-        } catch (ExecutionException e) {
-            return false;
-        }
+        return userAttempts.count(userEmail) >= MAX_ATTEMPTS;
     }
     
     /**
@@ -128,14 +94,10 @@ public class LoginAttemptService {
     }
     
     /**
-     * 현재 IP의 로그인 시도 횟수를 반환합니다.
+     * 현재 IP의 로그인 실패 횟수 추정값을 반환합니다.
      */
     public int getIpAttempts(String ipAddress) {
-        try {
-            return ipAttemptsCache.get(ipAddress);
-        } catch (ExecutionException e) {
-            return 0;
-        }
+        return ipAddress != null ? (int) ipHeavyHitterTracker.estimateIp(ipAddress) : 0;
     }
     
     /**
@@ -146,22 +108,28 @@ public class LoginAttemptService {
             return 0;
         }
         
-        try {
-            return userAttemptsCache.get(userEmail);
-        } catch (ExecutionException e) {
-            return 0;
-        }
+        return userAttempts.count(userEmail);
     }
     
     /**
      * 남은 시도 횟수를 반환합니다.
      */
     public int getRemainingAttempts(String ipAddress, String userEmail) {
-        int ipAttempts = getIpAttempts(ipAddress);
-        int userAttempts = getUserAttempts(userEmail);
-        int maxAttempts = Math.max(ipAttempts, userAttempts);
+        int ipRemaining = MAX_IP_ATTEMPTS - getIpAttempts(ipAddress);
+        int userRemaining = MAX_ATTEMPTS - getUserAttempts(userEmail);
         
-        return Math.max(0, MAX_ATTEMPTS - maxAttempts);
+        return Math.max(0, Math.min(ipRemaining, userRemaining));
+    }
+    
+    /**
+     * 실패 횟수 상위 IP와 대역을 반환합니다. (관리자 기능)
+     */
+    public List<IpHeavyHitterTracker.HeavyHitter> getTopFailingIps(int limit) {
+        return ipHeavyHitterTracker.topIps(limit);
+    }
+    
+    public List<IpHeavyHitterTracker.HeavyHitter> getTopFailingPrefixes(int limit) {
+        return ipHeavyHitterTracker.topPrefixes(limit);
     }
     
     /**
@@ -169,22 +137,21 @@ public class LoginAttemptService {
      */
     public void resetAttempts(String ipAddress, String userEmail) {
         if (ipAddress != null) {
-            ipAttemptsCache.invalidate(ipAddress);
-            log.info("Reset login attempts for IP: {}", ipAddress);
+            log.info("IP login attempts for {} cannot be reset individually; they expire with the {}-minute window", 
+                    ipAddress, LOCK_TIME_DURATION);
         }
         
         if (userEmail != null) {
-            userAttemptsCache.invalidate(userEmail);
+            userAttempts.reset(userEmail);
             log.info("Reset login attempts for user: {}", userEmail);
         }
     }
     
     /**
-     * 캐시 통계 정보를 반환합니다. (모니터링 용도)
+     * 추적 중인 키 수를 반환합니다. (모니터링 용도)
      */
     public String getCacheStats() {
-        return String.format("IP Cache - Size: %d, Hit Rate: %.2f%% | User Cache - Size: %d, Hit Rate: %.2f%%",
-                ipAttemptsCache.size(), ipAttemptsCache.stats().hitRate() * 100,
-                userAttemptsCache.size(), userAttemptsCache.stats().hitRate() * 100);
+        return String.format("IP Sketch - Memory: %d bytes, Error Bound: %d | User Counter - Size: %d",
+                ipHeavyHitterTracker.memoryBytes(), ipHeavyHitterTracker.errorBound(), userAttempts.size());
     }
 }
\ No newline at end of file
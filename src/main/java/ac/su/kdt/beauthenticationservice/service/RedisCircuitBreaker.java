@@ -0,0 +1,159 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Redis 호출 회로 차단기
+ * Redis 오류(DataAccessException)나 느린 호출이 일정 비율을 넘으면 회로를 열어, 이후 호출은 Redis를 기다리지 않고 즉시 대체 경로로 보냅니다.
+ * 회로가 다시 닫히면 등록된 복구 작업(로컬 저널 반영 등)을 전용 스레드에서 실행합니다.
+ */
+@Slf4j
+@Component
+public class RedisCircuitBreaker implements DisposableBean {
+
+    public static final String NAME = "redis";
+
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final List<Runnable> recoveryListeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService recoveryExecutor;
+
+    @Autowired
+    public RedisCircuitBreaker(MeterRegistry meterRegistry,
+                               @Value("${oauth.redis-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+                               @Value("${oauth.redis-breaker.slow-call-ms:500}") long slowCallMillis,
+                               @Value("${oauth.redis-breaker.window-size:20}") int windowSize,
+                               @Value("${oauth.redis-breaker.open-seconds:10}") long openSeconds) {
+        this(meterRegistry, CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(windowSize)
+                .minimumNumberOfCalls(Math.max(1, windowSize / 2))
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallMillis))
+                .slowCallRateThreshold(failureRateThreshold)
+                .waitDurationInOpenState(Duration.ofSeconds(openSeconds))
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .recordExceptions(DataAccessException.class)
+                .build());
+    }
+
+    RedisCircuitBreaker(MeterRegistry meterRegistry, CircuitBreakerConfig config) {
+        this.meterRegistry = meterRegistry;
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        this.circuitBreaker = registry.circuitBreaker(NAME);
+        this.recoveryExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-recovery");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // resilience4j_circuitbreaker_state, _calls, _failure_rate 등
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            log.warn("Redis circuit breaker state changed: {}", event.getStateTransition());
+            if (event.getStateTransition().getToState() == CircuitBreaker.State.CLOSED) {
+                runRecoveryListeners();
+            }
+        });
+    }
+
+    /**
+     * Redis 호출 실행, 회로가 열려 있거나 Redis 오류가 나면 대체 값 반환
+     */
+    public <T> T execute(String operation, Supplier<T> call, Supplier<T> fallback) {
+        try {
+            return circuitBreaker.executeSupplier(call);
+        } catch (CallNotPermittedException | DataAccessException e) {
+            fallbackCounter(operation).increment();
+            log.debug("Redis operation {} fell back: {}", operation, e.getMessage());
+            return fallback.get();
+        }
+    }
+
+    /**
+     * 대체 값이 없는 Redis 호출 실행, 회로가 열려 있으면 Redis를 기다리지 않고 즉시 IllegalStateException (Redis 오류는 그대로 전파)
+     */
+    public <T> T execute(String operation, Supplier<T> call) {
+        try {
+            return circuitBreaker.executeSupplier(call);
+        } catch (CallNotPermittedException e) {
+            fallbackCounter(operation).increment();
+            throw new IllegalStateException("Redis circuit is open, skipped " + operation, e);
+        }
+    }
+
+    public void run(String operation, Runnable call) {
+        execute(operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * 회로가 다시 닫힐 때 실행할 작업 등록 (요청 스레드가 아닌 전용 스레드에서 실행)
+     */
+    public void onRecovery(Runnable listener) {
+        recoveryListeners.add(listener);
+    }
+
+    /**
+     * 회로 상태 변화 없이 복구 작업 실행 요청 (회로가 열리지 않은 일시적 실패로 쌓인 저널 반영용)
+     */
+    public void requestRecovery() {
+        runRecoveryListeners();
+    }
+
+    CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    private void runRecoveryListeners() {
+        for (Runnable listener : recoveryListeners) {
+            try {
+                recoveryExecutor.execute(() -> {
+                    try {
+                        listener.run();
+                    } catch (Exception e) {
+                        log.error("Redis recovery task failed", e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                log.warn("Redis recovery task rejected during shutdown");
+            }
+        }
+    }
+
+    private Counter fallbackCounter(String operation) {
+        return Counter.builder("redis_fallback_count")
+                .description("Number of Redis operations served by a fallback because Redis failed or the circuit was open")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        recoveryExecutor.shutdownNow();
+    }
+}
@@ -1,19 +1,31 @@
 package ac.su.kdt.beauthenticationservice.service;
 
+import ac.su.kdt.beauthenticationservice.service.LocalLoginThrottle.JournalEntry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Redis 기반 로그인 시도 제한 서비스
  * 특정 아이디에 대해 로그인 시도를 추적하고 제한합니다.
+ * Redis 장애로 회로가 열리면 인스턴스 로컬 제한으로 대체하고, 복구 후 로컬 저널을 Redis에 반영합니다.
+ * 관리자용 조회도 회로 차단기를 거치며, 장애 중에는 기다리지 않고 빈 목록/0 통계를 반환합니다.
  */
 @Slf4j
 @Service
@@ -21,6 +33,8 @@ import java.util.concurrent.TimeUnit;
 public class RedisLoginAttemptService {
     
     private final RedisTemplate<String, String> redisTemplate;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final LocalLoginThrottle localLoginThrottle;
     
     // 설정값들
     private static final int MAX_LOGIN_ATTEMPTS = 10; // 최대 로그인 시도 횟수
@@ -32,442 +46,935 @@ public class RedisLoginAttemptService {
     private static final String LOGIN_ATTEMPTS_KEY = "login_attempts:";
     private static final String ACCOUNT_LOCK_KEY = "account_lock:";
     private static final String LOGIN_HISTORY_KEY = "login_history:";
-    private static final String SUSPICIOUS_IP_KEY = "suspicious_ip:";
+    
+    // 관리자 조회용 sorted set 인덱스 (score = 원본 키의 만료 시각 epoch 초, 쓰기 스크립트에서 유지)
+    private static final String LOCKED_INDEX_KEY = "login_index:locked";
+    private static final String FAILED_INDEX_KEY = "login_index:failed";
+    private static final String NEAR_LOCK_INDEX_KEY = "login_index:near_lock";
+    private static final String FAILED_COUNTS_KEY = "login_index:failed_counts"; // 실패 인덱스 계정별 마지막 실패 횟수 (총 실패 횟수 증감용)
+    private static final int MAX_PAGE_SIZE = 500; // 관리자 목록 최대 페이지 크기
+    
+    // 쓰기 경로에서 유지하는 집계 카운터 (대시보드는 키 수와 무관하게 O(1) 조회)
+    private static final String STATS_COUNTERS_KEY = "login_stats:counters";
+    private static final String FAILURE_BUCKET_KEY = "login_stats:failures:"; // + epoch 분
+    private static final int FAILURE_RATE_WINDOW_MINUTES = 10; // 분당 실패율 계산 구간
+    private static final long STATS_RECONCILE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    
+    // 실패 IP/대역 빈도: 슬롯별 Count-Min Sketch(고정 크기 BITFIELD) + 상위 K개 (IP별 키를 만들지 않음)
+    private static final String SKETCH_SLOT_KEY = "login_sketch:cms:"; // + 슬롯 번호
+    private static final String TOP_IPS_KEY = "login_sketch:top_ips";
+    private static final String TOP_PREFIXES_KEY = "login_sketch:top_prefixes";
+    private static final String IP_DETAILS_KEY = "login_sketch:ip_details";
+    private static final long SKETCH_SLOT_SECONDS = TimeUnit.MINUTES.toSeconds(15);
+    private static final int SKETCH_SLOTS = 4; // 윈도우 = 4슬롯 (시도 추적 윈도우와 동일한 1시간)
+    private static final int SKETCH_WIDTH = 8192; // 행당 카운터 수 (4행 x 8192 x 4바이트 = 슬롯당 128KB)
+    private static final int SKETCH_TOP_K = 100;
+    private static final int HIGH_RISK_IP_THRESHOLD = 20;
+    
+    // IP/대역별 대상 계정 수 HyperLogLog (credential stuffing 탐지, 이메일 집합을 저장하지 않음)
+    private static final String IP_TARGETS_KEY = "login_targets:ip:"; // + IP
+    private static final String PREFIX_TARGETS_KEY = "login_targets:net:"; // + 대역
+    private static final int MAX_TARGETS_PER_IP = 20; // 시도 추적 윈도우 내 한 IP에서 실패한 서로 다른 계정 수 상한
+    private static final int MAX_TARGETS_PER_PREFIX = 50; // 대역(/24, /64) 기준 상한
+    
+    // 로그인 결과별 서버 측 스크립트 (잠금 확인, 횟수 증가, 잠금, 의심 IP 기록을 한 번의 왕복으로 처리)
+    private static final RedisScript<List> LOGIN_STATUS_SCRIPT = loadScript("scripts/login_status.lua");
+    private static final RedisScript<List> LOGIN_FAILURE_SCRIPT = loadScript("scripts/login_failure.lua");
+    private static final RedisScript<Long> LOGIN_SUCCESS_SCRIPT = RedisScript.of(new ClassPathResource("scripts/login_success.lua"), Long.class);
+    private static final RedisScript<Long> LOGIN_UNLOCK_SCRIPT = RedisScript.of(new ClassPathResource("scripts/login_unlock.lua"), Long.class);
+    private static final RedisScript<Long> STATS_RECONCILE_SCRIPT = RedisScript.of(new ClassPathResource("scripts/login_stats_reconcile.lua"), Long.class);
+    private static final RedisScript<List> SUSPICIOUS_IPS_SCRIPT = loadScript("scripts/suspicious_ips.lua");
+    
+    // 마지막 카운터 보정 시각 (쓰기가 없는 동안의 만료 반영)
+    private final AtomicLong lastStatsReconcileAt = new AtomicLong();
+    
+    // 로컬 저널 반영 중 여부 (복구 작업 중복 실행 방지)
+    private final AtomicBoolean journalReplaying = new AtomicBoolean();
+    
+    @PostConstruct
+    void registerJournalReplay() {
+        redisCircuitBreaker.onRecovery(this::replayLocalJournal);
+    }
     
     /**
      * 로그인 시도를 기록합니다
      */
     public void recordLoginAttempt(String email, String ipAddress, boolean success) {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        ValueOperations<String, String> ops = redisTemplate.opsForValue();
-        
         if (success) {
-            // 로그인 성공 시 모든 실패 기록 초기화
-            clearLoginAttempts(email);
-            log.info("Login successful for {}, cleared all failed attempts", email);
-            
-            // 성공 기록 저장
-            String historyKey = LOGIN_HISTORY_KEY + email;
-            String historyValue = String.format("SUCCESS:%s:%s", ipAddress, timestamp);
-            ops.set(historyKey, historyValue, ATTEMPT_WINDOW_MINUTES, TimeUnit.MINUTES);
-            
+            recordSuccessfulLogin(email, ipAddress);
         } else {
-            // 로그인 실패 시 시도 횟수 증가
-            String attemptsKey = LOGIN_ATTEMPTS_KEY + email;
-            String currentAttempts = ops.get(attemptsKey);
-            
-            int attempts = currentAttempts != null ? Integer.parseInt(currentAttempts) : 0;
-            attempts++;
-            
-            // Redis에 실패 횟수 저장 (1시간 후 만료)
-            ops.set(attemptsKey, String.valueOf(attempts), ATTEMPT_WINDOW_MINUTES, TimeUnit.MINUTES);
-            
-            // 실패 기록 저장
-            String historyKey = LOGIN_HISTORY_KEY + email + ":" + timestamp;
-            String historyValue = String.format("FAILURE:%s:%s:attempt_%d", ipAddress, timestamp, attempts);
-            ops.set(historyKey, historyValue, ATTEMPT_WINDOW_MINUTES, TimeUnit.MINUTES);
-            
-            log.warn("Login failed for {} from IP: {} (attempt {}/{})", 
-                    email, ipAddress, attempts, MAX_LOGIN_ATTEMPTS);
-            
-            // 최대 시도 횟수 초과 시 계정 잠금
-            if (attempts >= MAX_LOGIN_ATTEMPTS) {
-                lockAccount(email, ipAddress);
-            } else if (attempts >= WARNING_THRESHOLD) {
-                // 경고 임계값 도달 시 알림
-                log.warn("Warning: Account {} approaching lock threshold ({}/{})", 
-                        email, attempts, MAX_LOGIN_ATTEMPTS);
-            }
-            
-            // 의심스러운 IP 추적
-            trackSuspiciousIP(ipAddress, email);
+            recordFailedAttempt(email, ipAddress);
         }
     }
     
     /**
-     * 계정이 잠겨있는지 확인합니다
+     * 로그인 전 잠금 여부와 실패 횟수를 한 번의 왕복으로 조회합니다
      */
-    public boolean isAccountLocked(String email) {
-        String lockKey = ACCOUNT_LOCK_KEY + email;
-        String lockInfo = redisTemplate.opsForValue().get(lockKey);
-        
-        boolean isLocked = lockInfo != null;
-        if (isLocked) {
-            log.debug("Account {} is locked: {}", email, lockInfo);
-        }
-        
-        return isLocked;
+    public LoginAttemptStatus getLoginStatus(String email) {
+        return getLoginStatus(email, null);
     }
     
     /**
-     * 현재 로그인 시도 횟수를 반환합니다
+     * 로그인 전 잠금 여부, 실패 횟수, 요청 IP/대역의 대상 계정 수와 IP 실패 추정값을 한 번의 왕복으로 조회합니다
      */
-    public int getCurrentLoginAttempts(String email) {
-        String attemptsKey = LOGIN_ATTEMPTS_KEY + email;
-        String attempts = redisTemplate.opsForValue().get(attemptsKey);
-        return attempts != null ? Integer.parseInt(attempts) : 0;
+    @SuppressWarnings("unchecked")
+    public LoginAttemptStatus getLoginStatus(String email, String ipAddress) {
+        return redisCircuitBreaker.execute("login_status", () -> {
+            List<String> keys = new ArrayList<>(List.of(ACCOUNT_LOCK_KEY + email, LOGIN_ATTEMPTS_KEY + email));
+            keys.addAll(targetKeys(ipAddress));
+            keys.addAll(sketchSlotKeys(Instant.now()));
+            List<Object> reply = redisTemplate.execute(LOGIN_STATUS_SCRIPT, keys,
+                    ipAddress != null ? "ip:" + ipAddress : "",
+                    String.valueOf(SKETCH_WIDTH));
+            
+            replayJournalIfPending();
+            return toStatus(reply, false, replyInt(reply, 5), replyInt(reply, 3), replyInt(reply, 4));
+        }, () -> localStatus(ipAddress, localLoginThrottle.failedAttempts(email), false));
     }
     
     /**
-     * 남은 시도 횟수를 반환합니다
+     * 로그인 실패를 기록하고 기록 후 상태를 반환합니다 (한 번의 왕복, Redis 장애 시 로컬 기록)
      */
-    public int getRemainingAttempts(String email) {
-        if (isAccountLocked(email)) {
-            return 0;
+    public LoginAttemptStatus recordFailedAttempt(String email, String ipAddress) {
+        LoginAttemptStatus status = redisCircuitBreaker.execute("login_failure",
+                () -> executeFailureScript(email, ipAddress, Instant.now()),
+                () -> {
+                    int attempts = localLoginThrottle.recordFailure(email, ipAddress);
+                    return localStatus(ipAddress, attempts, attempts == MAX_LOGIN_ATTEMPTS);
+                });
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        int suspiciousCount = status.getSuspiciousCount();
+        
+        log.warn("Login failed for {} from IP: {} (attempt {}/{})", 
+                email, ipAddress, status.getFailedAttempts(), MAX_LOGIN_ATTEMPTS);
+        
+        if (status.isNewlyLocked()) {
+            log.error("Account {} has been locked for {} hours due to {} failed login attempts from IP: {}", 
+                    email, LOCK_DURATION_HOURS, MAX_LOGIN_ATTEMPTS, ipAddress);
+            
+            // 관리자 알림을 위한 추가 로깅 (실제 환경에서는 이메일/Slack 알림 등)
+            log.error("SECURITY_ALERT: Account lockout - Email: {}, IP: {}, Time: {}", 
+                    email, ipAddress, timestamp);
+        } else if (!status.isLocked() && status.getFailedAttempts() >= WARNING_THRESHOLD) {
+            // 경고 임계값 도달 시 알림
+            log.warn("Warning: Account {} approaching lock threshold ({}/{})", 
+                    email, status.getFailedAttempts(), MAX_LOGIN_ATTEMPTS);
+        }
+        
+        // 의심스러운 IP에서 여러 계정 대상 공격 시 경고 (sketch 추정값, 과대 추정만 가능)
+        if (suspiciousCount >= HIGH_RISK_IP_THRESHOLD) {
+            log.error("SECURITY_ALERT: Suspicious IP {} has attempted login {} times, latest target: {}", 
+                    ipAddress, suspiciousCount, email);
         }
         
-        int currentAttempts = getCurrentLoginAttempts(email);
-        return Math.max(0, MAX_LOGIN_ATTEMPTS - currentAttempts);
+        // 한 출처에서 여러 계정을 대상으로 실패 (credential stuffing), 임계값 도달 시 한 번만 경고
+        if (status.getDistinctTargetsFromIp() == MAX_TARGETS_PER_IP) {
+            log.error("SECURITY_ALERT: Credential stuffing suspected from IP {} - {} distinct accounts targeted, blocking further logins",
+                    ipAddress, status.getDistinctTargetsFromIp());
+        }
+        if (status.getDistinctTargetsFromPrefix() == MAX_TARGETS_PER_PREFIX) {
+            log.error("SECURITY_ALERT: Credential stuffing suspected from network {} - {} distinct accounts targeted, blocking further logins",
+                    IpPrefixes.of(ipAddress), status.getDistinctTargetsFromPrefix());
+        }
+        
+        return status;
     }
     
     /**
-     * 계정 잠금 정보를 반환합니다
+     * 실패 기록 스크립트 실행 (at = 실패 시각, 저널 반영 시에는 원래 발생 시각)
      */
-    public AccountLockInfo getAccountLockInfo(String email) {
-        String lockKey = ACCOUNT_LOCK_KEY + email;
-        String lockInfo = redisTemplate.opsForValue().get(lockKey);
+    @SuppressWarnings("unchecked")
+    private LoginAttemptStatus executeFailureScript(String email, String ipAddress, Instant at) {
+        String timestamp = formatTimestamp(at);
         
-        if (lockInfo == null) {
-            return AccountLockInfo.builder()
-                    .locked(false)
-                    .remainingAttempts(getRemainingAttempts(email))
-                    .build();
-        }
+        List<String> keys = new ArrayList<>(List.of(
+                LOGIN_ATTEMPTS_KEY + email,
+                ACCOUNT_LOCK_KEY + email,
+                LOGIN_HISTORY_KEY + email + ":" + timestamp,
+                FAILED_INDEX_KEY,
+                LOCKED_INDEX_KEY,
+                NEAR_LOCK_INDEX_KEY,
+                STATS_COUNTERS_KEY,
+                FAILURE_BUCKET_KEY + at.getEpochSecond() / 60));
+        keys.addAll(sketchSlotKeys(at));
+        keys.addAll(List.of(TOP_IPS_KEY, TOP_PREFIXES_KEY, IP_DETAILS_KEY));
+        keys.addAll(targetKeys(ipAddress));
+        keys.add(FAILED_COUNTS_KEY);
+        String prefix = IpPrefixes.of(ipAddress);
         
-        String[] parts = lockInfo.split(":");
-        LocalDateTime lockTime = LocalDateTime.parse(parts[2]);
-        LocalDateTime unlockTime = lockTime.plusHours(LOCK_DURATION_HOURS);
+        List<Object> reply = redisTemplate.execute(LOGIN_FAILURE_SCRIPT, keys,
+                String.valueOf(MAX_LOGIN_ATTEMPTS),
+                String.valueOf(TimeUnit.MINUTES.toSeconds(ATTEMPT_WINDOW_MINUTES)),
+                String.valueOf(TimeUnit.HOURS.toSeconds(LOCK_DURATION_HOURS)),
+                ipAddress,
+                email,
+                timestamp,
+                String.valueOf(at.getEpochSecond()),
+                String.valueOf(WARNING_THRESHOLD),
+                String.valueOf(TimeUnit.MINUTES.toSeconds(FAILURE_RATE_WINDOW_MINUTES + 1)),
+                prefix != null ? prefix : "",
+                String.valueOf(SKETCH_WIDTH),
+                String.valueOf(SKETCH_TOP_K),
+                String.valueOf(SKETCH_SLOT_SECONDS * SKETCH_SLOTS));
         
-        return AccountLockInfo.builder()
-                .locked(true)
-                .lockReason(parts[0])
-                .lockTime(lockTime)
-                .unlockTime(unlockTime)
-                .lockingIP(parts[1])
-                .remainingAttempts(0)
-                .build();
+        return toStatus(reply, replyInt(reply, 3) == 1, replyInt(reply, 4), replyInt(reply, 5), replyInt(reply, 6));
     }
     
     /**
-     * 계정을 잠급니다
+     * 로그인 성공을 기록합니다 (실패 횟수와 잠금 초기화, 한 번의 왕복, Redis 장애 시 로컬 기록)
      */
-    private void lockAccount(String email, String ipAddress) {
-        String lockKey = ACCOUNT_LOCK_KEY + email;
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        String lockValue = String.format("MAX_ATTEMPTS_EXCEEDED:%s:%s", ipAddress, timestamp);
-        
-        // 계정을 지정된 시간 동안 잠금
-        redisTemplate.opsForValue().set(lockKey, lockValue, LOCK_DURATION_HOURS, TimeUnit.HOURS);
-        
-        log.error("Account {} has been locked for {} hours due to {} failed login attempts from IP: {}", 
-                email, LOCK_DURATION_HOURS, MAX_LOGIN_ATTEMPTS, ipAddress);
+    public void recordSuccessfulLogin(String email, String ipAddress) {
+        redisCircuitBreaker.execute("login_success", () -> {
+            executeSuccessScript(email, ipAddress, Instant.now());
+            return true;
+        }, () -> {
+            localLoginThrottle.recordSuccess(email, ipAddress);
+            return false;
+        });
         
-        // 관리자 알림을 위한 추가 로깅 (실제 환경에서는 이메일/Slack 알림 등)
-        log.error("SECURITY_ALERT: Account lockout - Email: {}, IP: {}, Time: {}", 
-                email, ipAddress, timestamp);
+        log.info("Login successful for {}, cleared all failed attempts", email);
+    }
+    
+    private void executeSuccessScript(String email, String ipAddress, Instant at) {
+        redisTemplate.execute(LOGIN_SUCCESS_SCRIPT,
+                List.of(LOGIN_ATTEMPTS_KEY + email, ACCOUNT_LOCK_KEY + email, LOGIN_HISTORY_KEY + email,
+                        FAILED_INDEX_KEY, LOCKED_INDEX_KEY, NEAR_LOCK_INDEX_KEY, STATS_COUNTERS_KEY, FAILED_COUNTS_KEY),
+                String.valueOf(TimeUnit.MINUTES.toSeconds(ATTEMPT_WINDOW_MINUTES)),
+                ipAddress,
+                formatTimestamp(at),
+                email);
     }
     
     /**
-     * 로그인 시도 기록을 초기화합니다
+     * 계정이 잠겨있는지 확인합니다
      */
-    private void clearLoginAttempts(String email) {
-        String attemptsKey = LOGIN_ATTEMPTS_KEY + email;
-        redisTemplate.delete(attemptsKey);
+    public boolean isAccountLocked(String email) {
+        return redisCircuitBreaker.execute("login_locked",
+                () -> Boolean.TRUE.equals(redisTemplate.hasKey(ACCOUNT_LOCK_KEY + email)),
+                () -> localLoginThrottle.failedAttempts(email) >= MAX_LOGIN_ATTEMPTS);
     }
     
     /**
-     * 의심스러운 IP를 추적합니다
+     * 현재 로그인 시도 횟수를 반환합니다
      */
-    private void trackSuspiciousIP(String ipAddress, String targetEmail) {
-        String suspiciousKey = SUSPICIOUS_IP_KEY + ipAddress;
-        String currentValue = redisTemplate.opsForValue().get(suspiciousKey);
-        
-        int suspiciousCount = currentValue != null ? Integer.parseInt(currentValue.split(":")[0]) : 0;
-        suspiciousCount++;
-        
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        String newValue = suspiciousCount + ":" + targetEmail + ":" + timestamp;
-        
-        redisTemplate.opsForValue().set(suspiciousKey, newValue, ATTEMPT_WINDOW_MINUTES, TimeUnit.MINUTES);
-        
-        // 의심스러운 IP에서 여러 계정 대상 공격 시 경고
-        if (suspiciousCount >= 20) {
-            log.error("SECURITY_ALERT: Suspicious IP {} has attempted login {} times, latest target: {}", 
-                    ipAddress, suspiciousCount, targetEmail);
-        }
+    public int getCurrentLoginAttempts(String email) {
+        return getFailedAttempts(email);
+    }
+    
+    /**
+     * 남은 시도 횟수를 반환합니다
+     */
+    public int getRemainingAttempts(String email) {
+        return getLoginStatus(email).getRemainingAttempts();
+    }
+    
+    /**
+     * 계정 잠금 정보를 반환합니다
+     */
+    public AccountLockInfo getAccountLockInfo(String email) {
+        return getLoginStatus(email).toLockInfo();
     }
     
     /**
-     * 계정 잠금을 수동으로 해제합니다 (관리자 기능)
+     * 계정 잠금을 수동으로 해제합니다 (관리자 기능, Redis 장애 시 로컬 해제 후 복구 시 반영)
      */
     public void unlockAccount(String email, String adminUser) {
-        String lockKey = ACCOUNT_LOCK_KEY + email;
-        String attemptsKey = LOGIN_ATTEMPTS_KEY + email;
-        
-        redisTemplate.delete(lockKey);
-        redisTemplate.delete(attemptsKey);
+        redisCircuitBreaker.execute("login_unlock", () -> {
+            executeUnlockScript(email);
+            return true;
+        }, () -> {
+            localLoginThrottle.unlock(email, adminUser);
+            return false;
+        });
         
         log.info("Account {} manually unlocked by admin: {}", email, adminUser);
     }
     
-    /**
-     * 로그인 실패를 기록합니다 (별도 메서드)
-     */
-    public void recordFailedAttempt(String email, String ipAddress) {
-        recordLoginAttempt(email, ipAddress, false);
+    private void executeUnlockScript(String email) {
+        redisTemplate.execute(LOGIN_UNLOCK_SCRIPT,
+                List.of(LOGIN_ATTEMPTS_KEY + email, ACCOUNT_LOCK_KEY + email,
+                        FAILED_INDEX_KEY, LOCKED_INDEX_KEY, NEAR_LOCK_INDEX_KEY, STATS_COUNTERS_KEY, FAILED_COUNTS_KEY),
+                email);
     }
     
     /**
-     * 로그인 성공을 기록합니다 (별도 메서드)
+     * 로그인 성공을 기록합니다 (IP를 알 수 없는 경우)
      */
     public void recordSuccessfulLogin(String email) {
-        recordLoginAttempt(email, "unknown", true);
+        recordSuccessfulLogin(email, "unknown");
     }
     
     /**
      * 현재 실패 횟수를 반환합니다
      */
     public int getFailedAttempts(String email) {
-        String attemptsKey = LOGIN_ATTEMPTS_KEY + email;
-        String attempts = redisTemplate.opsForValue().get(attemptsKey);
-        return attempts != null ? Integer.parseInt(attempts) : 0;
+        return redisCircuitBreaker.execute("login_attempts", () -> {
+            String attempts = redisTemplate.opsForValue().get(LOGIN_ATTEMPTS_KEY + email);
+            return attempts != null ? Integer.parseInt(attempts) : 0;
+        }, () -> localLoginThrottle.failedAttempts(email));
+    }
+    
+    /**
+     * Redis 장애 중 로컬 횟수로 구성한 상태 (인스턴스별 횟수, 대상 계정 수는 추적하지 않음)
+     */
+    private LoginAttemptStatus localStatus(String ipAddress, int attempts, boolean newlyLocked) {
+        boolean locked = attempts >= MAX_LOGIN_ATTEMPTS;
+        return LoginAttemptStatus.builder()
+                .locked(locked)
+                .failedAttempts(attempts)
+                .remainingAttempts(Math.max(0, MAX_LOGIN_ATTEMPTS - attempts))
+                .maxAttempts(MAX_LOGIN_ATTEMPTS)
+                .lockReason(locked ? "MAX_ATTEMPTS_EXCEEDED" : null)
+                .newlyLocked(newlyLocked)
+                .suspiciousCount(localLoginThrottle.ipFailures(ipAddress))
+                .build();
+    }
+    
+    /**
+     * Redis 정상 응답 후 반영할 로컬 저널이 있으면 복구 작업 요청 (회로가 열리지 않은 일시적 실패 대비)
+     */
+    private void replayJournalIfPending() {
+        if (localLoginThrottle.journalSize() > 0 && !journalReplaying.get()) {
+            redisCircuitBreaker.requestRecovery();
+        }
+    }
+    
+    /**
+     * 대체 모드에서 쌓인 로컬 저널을 발생 순서대로 Redis에 반영합니다
+     * 반영 중 다시 실패하면 남은 항목을 저널 앞쪽에 되돌리고 다음 복구 때 이어서 반영합니다.
+     */
+    void replayLocalJournal() {
+        if (!journalReplaying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<JournalEntry> entries = localLoginThrottle.drainJournal();
+            int replayed = 0;
+            try {
+                for (JournalEntry entry : entries) {
+                    redisCircuitBreaker.execute("login_journal_replay", () -> {
+                        replay(entry);
+                        return true;
+                    });
+                    replayed++;
+                }
+            } catch (RuntimeException e) {
+                localLoginThrottle.restore(entries.subList(replayed, entries.size()));
+                log.warn("Stopped replaying local login journal after {}/{} entries: {}",
+                        replayed, entries.size(), e.getMessage());
+                return;
+            }
+            
+            if (!entries.isEmpty()) {
+                log.info("Replayed {} degraded-mode login events to Redis", entries.size());
+            }
+            if (localLoginThrottle.journalSize() == 0) {
+                // Redis가 다시 기준이므로 장애 중 로컬 횟수는 폐기
+                localLoginThrottle.clearCounters();
+            }
+        } finally {
+            journalReplaying.set(false);
+        }
+    }
+    
+    private void replay(JournalEntry entry) {
+        switch (entry.type()) {
+            case FAILURE -> executeFailureScript(entry.email(), entry.ipAddress(), entry.timestamp());
+            case SUCCESS -> executeSuccessScript(entry.email(), entry.ipAddress(), entry.timestamp());
+            case UNLOCK -> executeUnlockScript(entry.email());
+        }
     }
     
     /**
      * 계정 잠금 정보를 Map 형태로 반환합니다 (AuthController용)
      */
     public Map<String, Object> getAccountLockInfoAsMap(String email) {
-        Map<String, Object> info = new HashMap<>();
-        String lockKey = ACCOUNT_LOCK_KEY + email;
-        
-        String lockData = redisTemplate.opsForValue().get(lockKey);
-        boolean isLocked = lockData != null;
-        
-        info.put("isLocked", isLocked);
-        info.put("failedAttempts", getFailedAttempts(email));
-        
-        if (isLocked) {
-            // 잠금 해제 시간 계산 (현재 시간 + 1시간)
-            long lockExpiresAt = System.currentTimeMillis() + (LOCK_DURATION_HOURS * 60 * 60 * 1000);
-            info.put("lockExpiresAt", lockExpiresAt);
-        }
-        
-        return info;
+        return getLoginStatus(email).toMap();
     }
     
     /**
-     * 의심스러운 IP 주소 목록을 반환합니다
+     * 의심스러운 IP 주소 목록을 반환합니다 (실패 추정값 상위 K개)
      */
     public Map<String, Integer> getSuspiciousIpAddresses() {
         Map<String, Integer> suspiciousIps = new HashMap<>();
-        var keys = redisTemplate.keys(SUSPICIOUS_IP_KEY + "*");
-        
-        if (keys != null) {
-            for (String key : keys) {
-                String ip = key.replace(SUSPICIOUS_IP_KEY, "");
-                String count = redisTemplate.opsForValue().get(key);
-                suspiciousIps.put(ip, count != null ? Integer.parseInt(count) : 0);
-            }
+        for (HeavyHitterEntry entry : readHeavyHitters(TOP_IPS_KEY, "ip:")) {
+            suspiciousIps.put(entry.member(), entry.estimate());
         }
-        
         return suspiciousIps;
     }
     
     /**
-     * 보안 통계를 Map 형태로 반환합니다
+     * 보안 통계를 Map 형태로 반환합니다 (집계 카운터 해시만 조회, O(1))
      */
     public Map<String, Object> getSecurityStatistics() {
         Map<String, Object> stats = new HashMap<>();
         
-        var lockedAccounts = redisTemplate.keys(ACCOUNT_LOCK_KEY + "*");
-        var failedAttempts = redisTemplate.keys(LOGIN_ATTEMPTS_KEY + "*");
-        var suspiciousIPs = redisTemplate.keys(SUSPICIOUS_IP_KEY + "*");
-        
-        // 총 실패 시도 횟수 계산
-        int totalFailedAttempts = 0;
-        if (failedAttempts != null) {
-            for (String key : failedAttempts) {
-                String count = redisTemplate.opsForValue().get(key);
-                totalFailedAttempts += count != null ? Integer.parseInt(count) : 0;
-            }
-        }
-        
-        stats.put("lockedAccounts", lockedAccounts != null ? lockedAccounts.size() : 0);
-        stats.put("totalFailedAttempts", totalFailedAttempts);
-        stats.put("suspiciousIpCount", suspiciousIPs != null ? suspiciousIPs.size() : 0);
+        Map<String, Integer> counters = readStatsCounters();
+        stats.put("lockedAccounts", counters.get("locked_accounts"));
+        stats.put("totalFailedAttempts", counters.get("total_failed"));
+        stats.put("suspiciousIpCount", countSuspiciousIps());
         
         return stats;
     }
     
     /**
-     * 전체 로그인 시도 통계를 반환합니다
+     * 전체 로그인 시도 통계를 반환합니다 (집계 카운터 해시와 최근 분 단위 버킷만 조회, O(1))
      */
     public LoginAttemptStats getLoginAttemptStats() {
-        // Redis 패턴 매칭으로 통계 수집
-        var lockedAccounts = redisTemplate.keys(ACCOUNT_LOCK_KEY + "*");
-        var failedAttempts = redisTemplate.keys(LOGIN_ATTEMPTS_KEY + "*");
-        var suspiciousIPs = redisTemplate.keys(SUSPICIOUS_IP_KEY + "*");
+        Map<String, Integer> counters = readStatsCounters();
+        
+        // 최근 N분 실패 버킷 (현재 진행 중인 분 포함)
+        long currentMinute = Instant.now().getEpochSecond() / 60;
+        List<String> bucketKeys = new ArrayList<>();
+        for (int i = 0; i < FAILURE_RATE_WINDOW_MINUTES; i++) {
+            bucketKeys.add(FAILURE_BUCKET_KEY + (currentMinute - i));
+        }
+        List<String> buckets = redisCircuitBreaker.execute("login_admin_read",
+                () -> redisTemplate.opsForValue().multiGet(bucketKeys), List::of);
+        
+        int failuresInWindow = 0;
+        int failuresLastMinute = 0;
+        if (buckets != null) {
+            for (int i = 0; i < buckets.size(); i++) {
+                int count = buckets.get(i) != null ? Integer.parseInt(buckets.get(i)) : 0;
+                failuresInWindow += count;
+                if (i == 0) {
+                    failuresLastMinute = count;
+                }
+            }
+        }
         
         return LoginAttemptStats.builder()
-                .totalLockedAccounts(lockedAccounts != null ? lockedAccounts.size() : 0)
-                .totalAccountsWithFailedAttempts(failedAttempts != null ? failedAttempts.size() : 0)
-                .totalSuspiciousIPs(suspiciousIPs != null ? suspiciousIPs.size() : 0)
+                .totalLockedAccounts(counters.get("locked_accounts"))
+                .totalAccountsWithFailedAttempts(counters.get("failed_accounts"))
+                .totalSuspiciousIPs(countSuspiciousIps())
+                .totalAccountsNearLockThreshold(counters.get("near_lock_accounts"))
+                .failuresLastMinute(failuresLastMinute)
+                .failuresPerMinute((double) failuresInWindow / FAILURE_RATE_WINDOW_MINUTES)
+                .failureRateWindowMinutes(FAILURE_RATE_WINDOW_MINUTES)
                 .maxAttemptsThreshold(MAX_LOGIN_ATTEMPTS)
                 .lockDurationHours(LOCK_DURATION_HOURS)
                 .build();
     }
     
     /**
-     * 계정 잠금 정보 DTO
+     * 집계 카운터 조회
+     * 카운터는 쓰기 시 증감되므로, 쓰기가 없는 동안 만료된 항목은 1분에 한 번 보정 스크립트로 반영합니다.
      */
-    @lombok.Data
-    @lombok.Builder
-    public static class AccountLockInfo {
-        private boolean locked;
-        private String lockReason;
-        private LocalDateTime lockTime;
-        private LocalDateTime unlockTime;
-        private String lockingIP;
-        private int remainingAttempts;
+    private Map<String, Integer> readStatsCounters() {
+        long nowMillis = System.currentTimeMillis();
+        long lastReconcile = lastStatsReconcileAt.get();
+        if (nowMillis - lastReconcile >= STATS_RECONCILE_INTERVAL_MILLIS
+                && lastStatsReconcileAt.compareAndSet(lastReconcile, nowMillis)) {
+            redisCircuitBreaker.execute("login_stats_reconcile", () -> redisTemplate.execute(STATS_RECONCILE_SCRIPT,
+                    List.of(FAILED_INDEX_KEY, LOCKED_INDEX_KEY, NEAR_LOCK_INDEX_KEY, STATS_COUNTERS_KEY, FAILED_COUNTS_KEY),
+                    String.valueOf(Instant.now().getEpochSecond())), () -> 0L);
+        }
+        
+        Map<Object, Object> entries = redisCircuitBreaker.execute("login_admin_read",
+                () -> redisTemplate.opsForHash().entries(STATS_COUNTERS_KEY), Map::of);
+        Map<String, Integer> counters = new HashMap<>();
+        for (String field : List.of("failed_accounts", "locked_accounts", "near_lock_accounts", "total_failed")) {
+            Object value = entries.get(field);
+            counters.put(field, value != null ? Math.max(0, Integer.parseInt(value.toString())) : 0);
+        }
+        return counters;
+    }
+    
+    /**
+     * 추적 중인 의심 IP 수 (상위 K개 sorted set 크기, 최대 SKETCH_TOP_K)
+     */
+    private int countSuspiciousIps() {
+        Long count = redisCircuitBreaker.execute("login_admin_read",
+                () -> redisTemplate.opsForZSet().zCard(TOP_IPS_KEY), () -> 0L);
+        return count != null ? count.intValue() : 0;
     }
     
     /**
-     * 잠긴 계정 목록을 반환합니다
+     * 잠긴 계정 목록을 잠금 해제 시각 순으로 반환합니다
      */
-    public List<LockedAccountInfo> getLockedAccounts() {
+    public CursorPage<LockedAccountInfo> getLockedAccounts(String cursor, int limit) {
+        IndexPage page = readIndex(LOCKED_INDEX_KEY, cursor, limit);
+        List<String> lockValues = pipelinedGet(prefixed(ACCOUNT_LOCK_KEY, page.members()));
+        
         List<LockedAccountInfo> lockedAccounts = new ArrayList<>();
-        var keys = redisTemplate.keys(ACCOUNT_LOCK_KEY + "*");
-        
-        if (keys != null) {
-            for (String key : keys) {
-                String email = key.replace(ACCOUNT_LOCK_KEY, "");
-                String lockData = redisTemplate.opsForValue().get(key);
-                
-                if (lockData != null && lockData.contains(":")) {
-                    String[] parts = lockData.split(":");
-                    if (parts.length >= 3) {
-                        LocalDateTime lockTime = LocalDateTime.parse(parts[2]);
-                        LocalDateTime unlockTime = lockTime.plusHours(LOCK_DURATION_HOURS);
-                    
-                        lockedAccounts.add(LockedAccountInfo.builder()
-                                .email(email)
-                                .lockReason(parts[0])
-                                .lockingIP(parts[1])
-                                .lockTime(lockTime)
-                                .unlockTime(unlockTime)
-                                .build());
-                    }
-                }
+        for (int i = 0; i < page.members().size(); i++) {
+            String lockData = lockValues.get(i);
+            if (lockData == null) {
+                continue; // 조회 사이에 해제됨
             }
+            
+            String[] parts = splitValue(lockData);
+            lockedAccounts.add(LockedAccountInfo.builder()
+                    .email(page.members().get(i))
+                    .lockReason(parts[0])
+                    .lockingIP(parts.length >= 2 ? parts[1] : null)
+                    .lockTime(parts.length >= 3 ? parseTimestamp(parts[2]) : null)
+                    .unlockTime(toLocalDateTime(page.scores().get(i)))
+                    .build());
         }
         
-        return lockedAccounts;
+        return page.toCursorPage(lockedAccounts);
     }
     
     /**
      * 실패 시도가 있는 계정 목록을 반환합니다
      */
-    public List<FailedAttemptAccountInfo> getAccountsWithFailedAttempts() {
+    public CursorPage<FailedAttemptAccountInfo> getAccountsWithFailedAttempts(String cursor, int limit) {
+        IndexPage page = readIndex(FAILED_INDEX_KEY, cursor, limit);
+        List<String> attemptValues = pipelinedGet(prefixed(LOGIN_ATTEMPTS_KEY, page.members()));
+        
         List<FailedAttemptAccountInfo> failedAccounts = new ArrayList<>();
-        var keys = redisTemplate.keys(LOGIN_ATTEMPTS_KEY + "*");
-        
-        if (keys != null) {
-            for (String key : keys) {
-                String email = key.replace(LOGIN_ATTEMPTS_KEY, "");
-                String attempts = redisTemplate.opsForValue().get(key);
-                
-                if (attempts != null) {
-                    int attemptCount = Integer.parseInt(attempts);
-                    failedAccounts.add(FailedAttemptAccountInfo.builder()
-                            .email(email)
-                            .failedAttempts(attemptCount)
-                            .remainingAttempts(MAX_LOGIN_ATTEMPTS - attemptCount)
-                            .isNearLockThreshold(attemptCount >= WARNING_THRESHOLD)
-                            .build());
-                }
+        for (int i = 0; i < page.members().size(); i++) {
+            String attempts = attemptValues.get(i);
+            if (attempts == null) {
+                continue;
             }
+            
+            int attemptCount = Integer.parseInt(attempts);
+            failedAccounts.add(FailedAttemptAccountInfo.builder()
+                    .email(page.members().get(i))
+                    .failedAttempts(attemptCount)
+                    .remainingAttempts(Math.max(0, MAX_LOGIN_ATTEMPTS - attemptCount))
+                    .isNearLockThreshold(attemptCount >= WARNING_THRESHOLD)
+                    .build());
         }
         
-        return failedAccounts;
+        return page.toCursorPage(failedAccounts);
     }
     
     /**
      * 의심스러운 IP와 관련 정보를 반환합니다
      */
-    public List<SuspiciousIPInfo> getSuspiciousIPsWithDetails() {
+    public CursorPage<SuspiciousIPInfo> getSuspiciousIPsWithDetails(String cursor, int limit) {
+        // 상위 K개(최대 SKETCH_TOP_K)를 추정값 순으로 한 번에 조회, 커서 = 순위 오프셋
+        List<HeavyHitterEntry> entries = readHeavyHitters(TOP_IPS_KEY, "ip:");
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        int offset = parseOffset(cursor);
+        int end = Math.min(entries.size(), offset + pageSize);
+        
+        List<HeavyHitterEntry> pageEntries = entries.subList(Math.min(offset, end), end);
+        
+        // IP별 [IP 대상 계정 수, 대역 대상 계정 수]를 한 번의 파이프라인으로 조회
+        List<String> targetKeys = new ArrayList<>();
+        for (HeavyHitterEntry entry : pageEntries) {
+            targetKeys.addAll(targetKeys(entry.member()));
+        }
+        List<Long> targetCounts = pipelinedPfCount(targetKeys);
+        
         List<SuspiciousIPInfo> suspiciousIPs = new ArrayList<>();
-        var keys = redisTemplate.keys(SUSPICIOUS_IP_KEY + "*");
-        
-        if (keys != null) {
-            for (String key : keys) {
-                String ipAddress = key.replace(SUSPICIOUS_IP_KEY, "");
-                String data = redisTemplate.opsForValue().get(key);
-                
-                if (data != null && data.contains(":")) {
-                    String[] parts = data.split(":");
-                    if (parts.length >= 3) {
-                        int suspiciousCount = Integer.parseInt(parts[0]);
-                        String targetEmail = parts[1];
-                        LocalDateTime lastAttempt = LocalDateTime.parse(parts[2]);
-                    
-                        suspiciousIPs.add(SuspiciousIPInfo.builder()
-                                .ipAddress(ipAddress)
-                                .suspiciousCount(suspiciousCount)
-                                .lastTargetEmail(targetEmail)
-                                .lastAttemptTime(lastAttempt)
-                                .isHighRisk(suspiciousCount >= 20)
-                                .build());
-                    }
-                }
-            }
+        for (int i = 0; i < pageEntries.size(); i++) {
+            HeavyHitterEntry entry = pageEntries.get(i);
+            int ipTargets = targetCounts.get(i * 2).intValue();
+            int prefixTargets = targetCounts.get(i * 2 + 1).intValue();
+            
+            // 상세 값 = "마지막 대상 계정|시각"
+            String[] parts = entry.detail().isEmpty() ? new String[0] : entry.detail().split("\\|", 2);
+            suspiciousIPs.add(SuspiciousIPInfo.builder()
+                    .ipAddress(entry.member())
+                    .suspiciousCount(entry.estimate())
+                    .networkPrefix(IpPrefixes.of(entry.member()))
+                    .distinctTargetAccounts(ipTargets)
+                    .prefixDistinctTargetAccounts(prefixTargets)
+                    .lastTargetEmail(parts.length >= 1 ? parts[0] : null)
+                    .lastAttemptTime(parts.length >= 2 ? parseTimestamp(parts[1]) : null)
+                    .isHighRisk(entry.estimate() >= HIGH_RISK_IP_THRESHOLD
+                            || ipTargets >= MAX_TARGETS_PER_IP || prefixTargets >= MAX_TARGETS_PER_PREFIX)
+                    .build());
         }
         
-        return suspiciousIPs;
+        return CursorPage.<SuspiciousIPInfo>builder()
+                .items(suspiciousIPs)
+                .nextCursor(end < entries.size() ? String.valueOf(end) : null)
+                .total(entries.size())
+                .build();
     }
     
     /**
-     * 모든 계정의 보안 상태 요약을 반환합니다
+     * 실패가 많은 IP 대역(/24, /64)을 추정값 순으로 반환합니다 (분산 공격 탐지)
      */
-    public List<AccountSecuritySummary> getAllAccountsSecuritySummary() {
-        List<AccountSecuritySummary> summaries = new ArrayList<>();
-        Set<String> allEmails = new HashSet<>();
+    public List<SuspiciousPrefixInfo> getSuspiciousPrefixes(int limit) {
+        List<HeavyHitterEntry> entries = readHeavyHitters(TOP_PREFIXES_KEY, "net:");
+        entries = entries.subList(0, Math.min(entries.size(), Math.max(0, limit)));
+        List<Long> targetCounts = pipelinedPfCount(prefixed(PREFIX_TARGETS_KEY, entries.stream().map(HeavyHitterEntry::member).toList()));
         
-        // 잠긴 계정들 수집
-        var lockedKeys = redisTemplate.keys(ACCOUNT_LOCK_KEY + "*");
-        if (lockedKeys != null) {
-            for (String key : lockedKeys) {
-                allEmails.add(key.replace(ACCOUNT_LOCK_KEY, ""));
-            }
+        List<SuspiciousPrefixInfo> prefixes = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            int targets = targetCounts.get(i).intValue();
+            prefixes.add(SuspiciousPrefixInfo.builder()
+                    .networkPrefix(entries.get(i).member())
+                    .failedAttempts(entries.get(i).estimate())
+                    .distinctTargetAccounts(targets)
+                    .isHighRisk(targets >= MAX_TARGETS_PER_PREFIX)
+                    .build());
         }
+        return prefixes;
+    }
+    
+    /**
+     * 계정의 보안 상태 요약을 반환합니다
+     * 잠금은 실패 기록 시에만 발생하므로 실패 인덱스가 추적 중인 모든 계정을 포함합니다.
+     */
+    public CursorPage<AccountSecuritySummary> getAllAccountsSecuritySummary(String cursor, int limit) {
+        IndexPage page = readIndex(FAILED_INDEX_KEY, cursor, limit);
         
-        // 실패 시도가 있는 계정들 수집
-        var failedKeys = redisTemplate.keys(LOGIN_ATTEMPTS_KEY + "*");
-        if (failedKeys != null) {
-            for (String key : failedKeys) {
-                allEmails.add(key.replace(LOGIN_ATTEMPTS_KEY, ""));
-            }
+        // 계정별 [잠금 값, 실패 횟수]를 한 번의 파이프라인으로 조회
+        List<String> keys = new ArrayList<>();
+        for (String email : page.members()) {
+            keys.add(ACCOUNT_LOCK_KEY + email);
+            keys.add(LOGIN_ATTEMPTS_KEY + email);
         }
+        List<String> values = pipelinedGet(keys);
         
-        // 각 계정의 상태 정보 수집
-        for (String email : allEmails) {
-            AccountLockInfo lockInfo = getAccountLockInfo(email);
-            int failedAttempts = getCurrentLoginAttempts(email);
+        List<AccountSecuritySummary> summaries = new ArrayList<>();
+        for (int i = 0; i < page.members().size(); i++) {
+            String lockData = values.get(i * 2);
+            String attempts = values.get(i * 2 + 1);
+            if (lockData == null && attempts == null) {
+                continue;
+            }
+            
+            int failedAttempts = attempts != null ? Integer.parseInt(attempts) : 0;
+            boolean locked = lockData != null;
+            String[] parts = locked ? splitValue(lockData) : new String[0];
+            LocalDateTime lockTime = parts.length >= 3 ? parseTimestamp(parts[2]) : null;
             
             summaries.add(AccountSecuritySummary.builder()
-                    .email(email)
-                    .isLocked(lockInfo.isLocked())
+                    .email(page.members().get(i))
+                    .isLocked(locked)
                     .failedAttempts(failedAttempts)
-                    .remainingAttempts(lockInfo.getRemainingAttempts())
-                    .lockTime(lockInfo.getLockTime())
-                    .unlockTime(lockInfo.getUnlockTime())
-                    .lockingIP(lockInfo.getLockingIP())
-                    .isNearLockThreshold(failedAttempts >= WARNING_THRESHOLD && !lockInfo.isLocked())
+                    .remainingAttempts(locked ? 0 : Math.max(0, MAX_LOGIN_ATTEMPTS - failedAttempts))
+                    .lockTime(lockTime)
+                    .unlockTime(lockTime != null ? lockTime.plusHours(LOCK_DURATION_HOURS) : null)
+                    .lockingIP(parts.length >= 2 ? parts[1] : null)
+                    .isNearLockThreshold(failedAttempts >= WARNING_THRESHOLD && !locked)
                     .build());
         }
         
-        return summaries;
+        return page.toCursorPage(summaries);
     }
-
+    
+    /**
+     * 상위 K개 sorted set을 현재 윈도우 추정값으로 갱신하여 내림차순 조회
+     */
+    @SuppressWarnings("unchecked")
+    private List<HeavyHitterEntry> readHeavyHitters(String topKey, String itemPrefix) {
+        List<String> keys = new ArrayList<>(sketchSlotKeys(Instant.now()));
+        keys.add(topKey);
+        keys.add(IP_DETAILS_KEY);
+        List<Object> reply = redisCircuitBreaker.execute("login_admin_read",
+                () -> redisTemplate.execute(SUSPICIOUS_IPS_SCRIPT, keys, String.valueOf(SKETCH_WIDTH), itemPrefix), List::of);
+        
+        List<HeavyHitterEntry> entries = new ArrayList<>();
+        if (reply != null) {
+            for (int i = 0; i + 2 < reply.size(); i += 3) {
+                entries.add(new HeavyHitterEntry(String.valueOf(reply.get(i)),
+                        (int) Math.min(Integer.MAX_VALUE, (long) Double.parseDouble(String.valueOf(reply.get(i + 1)))),
+                        String.valueOf(reply.get(i + 2))));
+            }
+        }
+        return entries;
+    }
+    
+    /**
+     * sketch 슬롯 키 (현재 슬롯부터 과거 순)
+     */
+    private static List<String> sketchSlotKeys(Instant now) {
+        long currentSlot = now.getEpochSecond() / SKETCH_SLOT_SECONDS;
+        List<String> keys = new ArrayList<>(SKETCH_SLOTS);
+        for (int i = 0; i < SKETCH_SLOTS; i++) {
+            keys.add(SKETCH_SLOT_KEY + (currentSlot - i));
+        }
+        return keys;
+    }
+    
+    /**
+     * IP/대역 대상 계정 HyperLogLog 키 [IP, 대역] (IP가 없거나 IP 형식이 아니면 존재하지 않는 키)
+     */
+    private static List<String> targetKeys(String ipAddress) {
+        String prefix = IpPrefixes.of(ipAddress);
+        return List.of(IP_TARGETS_KEY + (ipAddress != null ? ipAddress : ""),
+                PREFIX_TARGETS_KEY + (prefix != null ? prefix : ""));
+    }
+    
+    private static int parseOffset(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(cursor));
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring malformed suspicious IP cursor: {}", cursor);
+            return 0;
+        }
+    }
+    
+    /**
+     * 만료되지 않은 인덱스 항목 수 (O(log N))
+     */
+    private long countLive(String indexKey) {
+        Long count = redisCircuitBreaker.execute("login_admin_read",
+                () -> redisTemplate.opsForZSet().count(indexKey, Instant.now().getEpochSecond() + 1, Double.POSITIVE_INFINITY),
+                () -> 0L);
+        return count != null ? count : 0;
+    }
+    
+    /**
+     * 인덱스 한 페이지 조회
+     * 커서 = "마지막 score:같은 score에서 이미 반환한 개수", 만료 시각 순이므로 새 항목은 항상 뒤에 추가됩니다.
+     */
+    private IndexPage readIndex(String indexKey, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long now = Instant.now().getEpochSecond();
+        
+        long minScore = now + 1;
+        long skip = 0;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                int separator = cursor.indexOf(':');
+                long cursorScore = Long.parseLong(cursor.substring(0, separator));
+                if (cursorScore > now) {
+                    minScore = cursorScore;
+                    skip = Long.parseLong(cursor.substring(separator + 1));
+                }
+            } catch (RuntimeException e) {
+                log.debug("Ignoring malformed admin index cursor: {}", cursor);
+            }
+        }
+        
+        long from = minScore;
+        long offset = skip;
+        Set<ZSetOperations.TypedTuple<String>> tuples = redisCircuitBreaker.execute("login_admin_read",
+                () -> redisTemplate.opsForZSet().rangeByScoreWithScores(indexKey, from, Double.POSITIVE_INFINITY, offset, pageSize),
+                Set::of);
+        
+        List<String> members = new ArrayList<>();
+        List<Long> scores = new ArrayList<>();
+        if (tuples != null) {
+            for (var tuple : tuples) {
+                members.add(tuple.getValue());
+                scores.add(tuple.getScore() != null ? tuple.getScore().longValue() : 0L);
+            }
+        }
+        
+        String nextCursor = null;
+        if (members.size() == pageSize) {
+            long lastScore = scores.get(scores.size() - 1);
+            long sameScore = scores.stream().filter(score -> score == lastScore).count();
+            nextCursor = lastScore + ":" + (lastScore == minScore ? skip + sameScore : sameScore);
+        }
+        
+        return new IndexPage(members, scores, nextCursor, countLive(indexKey));
+    }
+    
+    /**
+     * 여러 키를 하나의 파이프라인으로 조회 (없는 키는 null, Redis 장애 시 모두 null)
+     */
+    private List<String> pipelinedGet(List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        
+        List<Object> results = redisCircuitBreaker.execute("login_admin_read",
+                () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (String key : keys) {
+                        connection.stringCommands().get(key.getBytes(StandardCharsets.UTF_8));
+                    }
+                    return null;
+                }), () -> Collections.nCopies(keys.size(), null));
+        
+        List<String> values = new ArrayList<>(results.size());
+        for (Object result : results) {
+            values.add(result != null ? result.toString() : null);
+        }
+        return values;
+    }
+    
+    /**
+     * 여러 HyperLogLog 키의 추정값을 하나의 파이프라인으로 조회 (없는 키는 0, Redis 장애 시 모두 0)
+     */
+    private List<Long> pipelinedPfCount(List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        
+        List<Object> results = redisCircuitBreaker.execute("login_admin_read",
+                () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (String key : keys) {
+                        connection.hyperLogLogCommands().pfCount(key.getBytes(StandardCharsets.UTF_8));
+                    }
+                    return null;
+                }), () -> Collections.nCopies(keys.size(), null));
+        
+        List<Long> counts = new ArrayList<>(results.size());
+        for (Object result : results) {
+            counts.add(result != null ? toLong(result) : 0L);
+        }
+        return counts;
+    }
+    
+    private static List<String> prefixed(String prefix, List<String> members) {
+        return members.stream().map(member -> prefix + member).toList();
+    }
+    
+    private static LocalDateTime toLocalDateTime(long epochSecond) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault());
+    }
+    
+    /**
+     * 상위 K개 조회 결과 (estimate = 윈도우 내 실패 추정값, detail = IP별 상세 값 또는 '')
+     */
+    private record HeavyHitterEntry(String member, int estimate, String detail) {
+    }
+    
+    /**
+     * 인덱스 조회 결과 (members와 scores는 같은 순서)
+     */
+    private record IndexPage(List<String> members, List<Long> scores, String nextCursor, long total) {
+        
+        <T> CursorPage<T> toCursorPage(List<T> items) {
+            return CursorPage.<T>builder()
+                    .items(items)
+                    .nextCursor(nextCursor)
+                    .total(total)
+                    .build();
+        }
+    }
+    
+    /**
+     * 스크립트 응답 {실패 횟수, 잠금 값, 잠금 TTL, ...}을 상태 객체로 변환
+     */
+    private LoginAttemptStatus toStatus(List<Object> reply, boolean newlyLocked, int suspiciousCount,
+                                        int ipTargets, int prefixTargets) {
+        int attempts = reply != null && !reply.isEmpty() ? (int) toLong(reply.get(0)) : 0;
+        String lockValue = reply != null && reply.size() > 1 ? String.valueOf(reply.get(1)) : "";
+        long lockTtl = reply != null && reply.size() > 2 ? toLong(reply.get(2)) : -1;
+        
+        LoginAttemptStatus.LoginAttemptStatusBuilder builder = LoginAttemptStatus.builder()
+                .failedAttempts(attempts)
+                .maxAttempts(MAX_LOGIN_ATTEMPTS)
+                .newlyLocked(newlyLocked)
+                .suspiciousCount(suspiciousCount)
+                .distinctTargetsFromIp(ipTargets)
+                .distinctTargetsFromPrefix(prefixTargets)
+                .sourceBlocked(ipTargets >= MAX_TARGETS_PER_IP || prefixTargets >= MAX_TARGETS_PER_PREFIX);
+        
+        if (lockValue.isEmpty()) {
+            return builder
+                    .locked(false)
+                    .remainingAttempts(Math.max(0, MAX_LOGIN_ATTEMPTS - attempts))
+                    .build();
+        }
+        
+        String[] parts = splitValue(lockValue);
+        LocalDateTime lockTime = parts.length >= 3 ? parseTimestamp(parts[2]) : null;
+        LocalDateTime unlockTime = lockTtl > 0
+                ? LocalDateTime.now().plusSeconds(lockTtl)
+                : (lockTime != null ? lockTime.plusHours(LOCK_DURATION_HOURS) : null);
+        
+        return builder
+                .locked(true)
+                .remainingAttempts(0)
+                .lockReason(parts[0])
+                .lockingIP(parts.length >= 2 ? parts[1] : null)
+                .lockTime(lockTime)
+                .unlockTime(unlockTime)
+                .build();
+    }
+    
+    /**
+     * 저장된 값 분리: 현재 형식은 '|' 구분, 기존 형식은 ':' 구분 (타임스탬프의 ':'는 마지막 필드에 남김)
+     */
+    private static String[] splitValue(String value) {
+        return value.indexOf('|') >= 0 ? value.split("\\|", 3) : value.split(":", 3);
+    }
+    
+    private static String formatTimestamp(Instant at) {
+        return LocalDateTime.ofInstant(at, ZoneId.systemDefault()).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+    
+    private static LocalDateTime parseTimestamp(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+    
+    private static int replyInt(List<Object> reply, int index) {
+        return reply != null && reply.size() > index ? (int) toLong(reply.get(index)) : 0;
+    }
+    
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : Long.parseLong(String.valueOf(value));
+    }
+    
+    private static RedisScript<List> loadScript(String path) {
+        return RedisScript.of(new ClassPathResource(path), List.class);
+    }
+    
+    /**
+     * 로그인 시도 상태 DTO (스크립트 한 번의 응답으로 구성)
+     */
+    @lombok.Data
+    @lombok.Builder
+    public static class LoginAttemptStatus {
+        private boolean locked;
+        private int failedAttempts;
+        private int remainingAttempts;
+        private int maxAttempts;
+        private String lockReason;
+        private String lockingIP;
+        private LocalDateTime lockTime;
+        private LocalDateTime unlockTime;
+        private boolean newlyLocked;
+        private int suspiciousCount; // 윈도우 내 IP 실패 추정값
+        private int distinctTargetsFromIp;
+        private int distinctTargetsFromPrefix;
+        private boolean sourceBlocked; // 요청 IP/대역이 여러 계정을 시도하여 차단 대상 (credential stuffing)
+        
+        public AccountLockInfo toLockInfo() {
+            return AccountLockInfo.builder()
+                    .locked(locked)
+                    .lockReason(lockReason)
+                    .lockTime(lockTime)
+                    .unlockTime(unlockTime)
+                    .lockingIP(lockingIP)
+                    .remainingAttempts(remainingAttempts)
+                    .build();
+        }
+        
+        /**
+         * AuthController 응답용 Map
+         */
+        public Map<String, Object> toMap() {
+            Map<String, Object> info = new HashMap<>();
+            info.put("isLocked", locked);
+            info.put("failedAttempts", failedAttempts);
+            
+            if (locked) {
+                LocalDateTime expiresAt = unlockTime != null ? unlockTime : LocalDateTime.now().plusHours(LOCK_DURATION_HOURS);
+                info.put("lockExpiresAt", expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+            
+            return info;
+        }
+    }
+    
+    /**
+     * 계정 잠금 정보 DTO
+     */
+    @lombok.Data
+    @lombok.Builder
+    public static class AccountLockInfo {
+        private boolean locked;
+        private String lockReason;
+        private LocalDateTime lockTime;
+        private LocalDateTime unlockTime;
+        private String lockingIP;
+        private int remainingAttempts;
+    }
+    
     /**
      * 로그인 시도 통계 DTO
      */
@@ -477,10 +984,25 @@ public class RedisLoginAttemptService {
         private int totalLockedAccounts;
         private int totalAccountsWithFailedAttempts;
         private int totalSuspiciousIPs;
+        private int totalAccountsNearLockThreshold;
+        private int failuresLastMinute;
+        private double failuresPerMinute;
+        private int failureRateWindowMinutes;
         private int maxAttemptsThreshold;
         private int lockDurationHours;
     }
     
+    /**
+     * 커서 기반 페이지 DTO (nextCursor가 null이면 마지막 페이지)
+     */
+    @lombok.Data
+    @lombok.Builder
+    public static class CursorPage<T> {
+        private List<T> items;
+        private String nextCursor;
+        private long total;
+    }
+    
     /**
      * 잠긴 계정 정보 DTO
      */
@@ -514,11 +1036,26 @@ public class RedisLoginAttemptService {
     public static class SuspiciousIPInfo {
         private String ipAddress;
         private int suspiciousCount;
+        private String networkPrefix;
+        private int distinctTargetAccounts;
+        private int prefixDistinctTargetAccounts;
         private String lastTargetEmail;
         private LocalDateTime lastAttemptTime;
         private boolean isHighRisk;
     }
     
+    /**
+     * 의심스러운 IP 대역 정보 DTO
+     */
+    @lombok.Data
+    @lombok.Builder
+    public static class SuspiciousPrefixInfo {
+        private String networkPrefix;
+        private int failedAttempts;
+        private int distinctTargetAccounts;
+        private boolean isHighRisk;
+    }
+    
     /**
      * 계정 보안 상태 요약 DTO
      */
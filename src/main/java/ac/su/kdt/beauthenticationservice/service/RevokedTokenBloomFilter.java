@@ -0,0 +1,164 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 무효화된 jti에 대한 시간 분할 Bloom filter
+ * 토큰의 exp가 속한 시간 구간(bucket)별로 필터를 두므로, 구간이 지나면 필터를 통째로 버리면 됩니다.
+ * "없음" 응답은 확정이므로 블랙리스트 조회를 생략할 수 있고, "있을 수 있음"인 경우에만 조회합니다.
+ */
+@Component
+public class RevokedTokenBloomFilter {
+
+    private final long bucketSeconds;
+    private final int expectedInsertions;
+    private final double fpp;
+    private final long bytesPerFilter;
+
+    // bucket index (exp / bucketSeconds) -> filter
+    private final ConcurrentNavigableMap<Long, BloomFilter<CharSequence>> buckets = new ConcurrentSkipListMap<>();
+
+    // 값에 exp가 없는 기존 항목은 구간을 알 수 없으므로 별도 필터에 보관, 마지막 항목의 보관 기한이 지나면 rotate()에서 제거
+    private volatile BloomFilter<CharSequence> unbounded;
+    private long unboundedExpiresAt; // guarded by this
+
+    private final Counter negativeCounter;
+    private final Counter falsePositiveCounter;
+
+    public RevokedTokenBloomFilter(MeterRegistry meterRegistry,
+                                   @Value("${oauth.revocation.bloom.bucket-seconds:3600}") long bucketSeconds,
+                                   @Value("${oauth.revocation.bloom.expected-insertions-per-bucket:10000}") int expectedInsertions,
+                                   @Value("${oauth.revocation.bloom.fpp:0.001}") double fpp) {
+        this.bucketSeconds = bucketSeconds;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.bytesPerFilter = optimalNumOfBits(expectedInsertions, fpp) / 8;
+
+        this.negativeCounter = Counter.builder("token_revocation_bloom_negative_count")
+                .description("Number of revocation checks answered by the Bloom filter without a lookup")
+                .register(meterRegistry);
+        this.falsePositiveCounter = Counter.builder("token_revocation_bloom_false_positive_count")
+                .description("Number of Bloom filter hits that were not actually revoked")
+                .register(meterRegistry);
+
+        Gauge.builder("token_revocation_bloom_bucket_count", buckets, ConcurrentNavigableMap::size)
+                .description("Number of live Bloom filter time buckets")
+                .register(meterRegistry);
+        Gauge.builder("token_revocation_bloom_memory_bytes", this, RevokedTokenBloomFilter::memoryBytes)
+                .description("Approximate memory used by Bloom filter bit arrays")
+                .register(meterRegistry);
+        Gauge.builder("token_revocation_bloom_expected_fpp", this, RevokedTokenBloomFilter::expectedFpp)
+                .description("Highest expected false positive probability across live buckets")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 무효화된 jti 추가
+     */
+    public void put(String jti, long expiresAtEpochSecond) {
+        buckets.computeIfAbsent(expiresAtEpochSecond / bucketSeconds, index -> newFilter()).put(jti);
+    }
+
+    /**
+     * exp를 알 수 없는 jti 추가 (모든 조회에서 함께 확인), expiresAtEpochSecond = 항목 보관 기한
+     */
+    public synchronized void putUnbounded(String jti, long expiresAtEpochSecond) {
+        if (unbounded == null) {
+            unbounded = newFilter();
+        }
+        unbounded.put(jti);
+        unboundedExpiresAt = Math.max(unboundedExpiresAt, expiresAtEpochSecond);
+    }
+
+    /**
+     * false이면 무효화되지 않은 것이 확실함
+     */
+    public boolean mightContain(String jti, long expiresAtEpochSecond) {
+        BloomFilter<CharSequence> unboundedFilter = unbounded;
+        if (unboundedFilter != null && unboundedFilter.mightContain(jti)) {
+            return true;
+        }
+
+        BloomFilter<CharSequence> filter = buckets.get(expiresAtEpochSecond / bucketSeconds);
+        if (filter != null && filter.mightContain(jti)) {
+            return true;
+        }
+
+        negativeCounter.increment();
+        return false;
+    }
+
+    /**
+     * 필터는 "있을 수 있음"이었지만 실제로는 무효화되지 않은 경우 기록
+     */
+    public void recordFalsePositive() {
+        falsePositiveCounter.increment();
+    }
+
+    /**
+     * exp가 속한 구간이 끝나는 시각 (이 시각 이후 rotate()에서 해당 구간 필터 제거)
+     */
+    public long bucketEndEpochSecond(long expiresAtEpochSecond) {
+        return (expiresAtEpochSecond / bucketSeconds + 1) * bucketSeconds;
+    }
+
+    /**
+     * 현재 시각 이전에 끝난 구간의 필터 제거 (해당 구간의 토큰은 모두 만료됨)
+     * exp를 알 수 없는 항목의 필터도 모든 항목의 보관 기한이 지났으면 제거합니다.
+     */
+    public int rotate() {
+        long now = Instant.now().getEpochSecond();
+        var expired = buckets.headMap(now / bucketSeconds);
+        int removed = expired.size();
+        expired.clear();
+
+        synchronized (this) {
+            if (unbounded != null && unboundedExpiresAt <= now) {
+                unbounded = null;
+                unboundedExpiresAt = 0;
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 전체 초기화 (블랙리스트 초기화 시)
+     */
+    public synchronized void clear() {
+        buckets.clear();
+        unbounded = null;
+        unboundedExpiresAt = 0;
+    }
+
+    public long memoryBytes() {
+        return (buckets.size() + (unbounded != null ? 1 : 0)) * bytesPerFilter;
+    }
+
+    public double expectedFpp() {
+        double max = unbounded != null ? unbounded.expectedFpp() : 0.0;
+        for (BloomFilter<CharSequence> filter : buckets.values()) {
+            max = Math.max(max, filter.expectedFpp());
+        }
+        return max;
+    }
+
+    private BloomFilter<CharSequence> newFilter() {
+        return BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedInsertions, fpp);
+    }
+
+    private static long optimalNumOfBits(long n, double p) {
+        return (long) (-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+    }
+}
@@ -1,101 +1,174 @@
 package ac.su.kdt.beauthenticationservice.service;
 
 import ac.su.kdt.beauthenticationservice.jwt.JwtService;
+import ac.su.kdt.beauthenticationservice.model.dto.UserSnapshot;
 import ac.su.kdt.beauthenticationservice.model.entity.User;
 import ac.su.kdt.beauthenticationservice.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 /**
  * SSO (Single Sign-On) 토큰 관리 서비스
  * 여러 애플리케이션 간 단일 인증을 제공합니다.
+ * 토큰과 세션은 Redis 해시로 저장하고 필드 단위로 갱신합니다. 토큰 해시에는 발급 시점의 사용자 스냅샷을 함께 담습니다.
+ * 발급 시각은 역할 변경/비활성화/비밀번호 재설정 시 갱신되는 사용자 워터마크(로컬 캐시)와 비교해 이전에 발급된 토큰을 거절합니다.
+ * 응답하는 사용자 정보는 사용자 변경 시 무효화되는 UserSnapshotCache에서 읽어 이메일 인증/이름/사진 변경이 바로 반영되고,
+ * 캐시 조회에 실패하면 토큰 해시의 스냅샷으로 응답합니다.
+ * TTL 연장은 마지막 연장 후 renew-after-seconds가 지난 검증에서만 수행합니다.
+ * Redis 호출은 회로 차단기를 거치므로, Redis 장애 중에는 기다리지 않고 각 메서드의 실패 값(빈 결과)을 반환합니다.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class SSOTokenService {
     
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisCircuitBreaker redisCircuitBreaker;
     private final JwtService jwtService;
     private final UserRepository userRepository;
+    private final UserTokenWatermarkService userTokenWatermarkService;
+    private final UserSnapshotCache userSnapshotCache;
+    private final BackchannelLogoutService backchannelLogoutService;
+    private final long renewAfterSeconds;
+    private final LongSupplier clock;
     
-    private static final String SSO_TOKEN_PREFIX = "sso:token:";
-    private static final String SSO_SESSION_PREFIX = "sso:session:";
+    private static final String SSO_TOKEN_PREFIX = "sso:v2:token:"; // + token (HASH: 사용자 스냅샷 + 세션 필드)
+    private static final String SSO_SESSION_PREFIX = "sso:v2:session:"; // + sessionId (HASH: userId, ssoToken, app:<id>)
+    private static final String APPLICATION_FIELD_PREFIX = "app:";
     private static final Duration SSO_TOKEN_EXPIRY = Duration.ofHours(8); // 8시간
     
+    // 토큰 해시의 세션 필드 (사용자 스냅샷 필드와 함께 저장)
+    private static final String FIELD_SESSION_ID = "sessionId";
+    private static final String FIELD_CREATED_AT = "createdAt";
+    private static final String FIELD_EXPIRES_AT = "expiresAt";
+    private static final String FIELD_ISSUED_AT = "issuedAt"; // epoch 초
+    private static final String FIELD_ISSUED_AT_MILLIS = "issuedAtMillis"; // epoch 밀리초 (워터마크 비교용)
+    private static final String FIELD_RENEWED_AT = "renewedAt"; // epoch 초 (마지막 TTL 연장)
+    
+    // 세션 해시 필드
+    private static final String FIELD_USER_ID = "userId";
+    private static final String FIELD_SSO_TOKEN = "ssoToken";
+    
+    private static final RedisScript<Long> RENEW_SCRIPT = RedisScript.of(new ClassPathResource("scripts/sso_renew.lua"), Long.class);
+    private static final RedisScript<Long> REGISTER_APP_SCRIPT = RedisScript.of(new ClassPathResource("scripts/sso_register_app.lua"), Long.class);
+    
+    @Autowired
+    public SSOTokenService(RedisTemplate<String, String> redisTemplate,
+                           RedisCircuitBreaker redisCircuitBreaker,
+                           JwtService jwtService,
+                           UserRepository userRepository,
+                           UserTokenWatermarkService userTokenWatermarkService,
+                           UserSnapshotCache userSnapshotCache,
+                           BackchannelLogoutService backchannelLogoutService,
+                           @Value("${oauth.sso.renew-after-seconds:900}") long renewAfterSeconds) {
+        this(redisTemplate, redisCircuitBreaker, jwtService, userRepository, userTokenWatermarkService,
+                userSnapshotCache, backchannelLogoutService, renewAfterSeconds, System::currentTimeMillis);
+    }
+    
+    SSOTokenService(RedisTemplate<String, String> redisTemplate, RedisCircuitBreaker redisCircuitBreaker,
+                    JwtService jwtService, UserRepository userRepository,
+                    UserTokenWatermarkService userTokenWatermarkService, UserSnapshotCache userSnapshotCache,
+                    BackchannelLogoutService backchannelLogoutService, long renewAfterSeconds, LongSupplier clock) {
+        this.redisTemplate = redisTemplate;
+        this.redisCircuitBreaker = redisCircuitBreaker;
+        this.jwtService = jwtService;
+        this.userRepository = userRepository;
+        this.userTokenWatermarkService = userTokenWatermarkService;
+        this.userSnapshotCache = userSnapshotCache;
+        this.backchannelLogoutService = backchannelLogoutService;
+        this.renewAfterSeconds = renewAfterSeconds;
+        this.clock = clock;
+    }
+    
     /**
      * SSO 토큰 생성
      */
     public String generateSSOToken(User user) {
         String ssoToken = UUID.randomUUID().toString();
         String sessionId = UUID.randomUUID().toString();
+        long nowMillis = clock.getAsLong();
+        long now = TimeUnit.MILLISECONDS.toSeconds(nowMillis);
+        LocalDateTime createdAt = LocalDateTime.now();
         
-        // SSO 토큰 정보 저장
-        Map<String, Object> tokenInfo = new HashMap<>();
-        tokenInfo.put("userId", user.getId());
-        tokenInfo.put("email", user.getEmail());
-        tokenInfo.put("name", user.getName());
-        tokenInfo.put("role", user.getRole().name());
-        tokenInfo.put("sessionId", sessionId);
-        tokenInfo.put("createdAt", LocalDateTime.now().toString());
-        tokenInfo.put("expiresAt", LocalDateTime.now().plus(SSO_TOKEN_EXPIRY).toString());
+        // SSO 토큰 정보 (사용자 스냅샷 포함)
+        Map<String, String> tokenInfo = new HashMap<>(UserSnapshot.from(user).toFields());
+        tokenInfo.put(FIELD_SESSION_ID, sessionId);
+        tokenInfo.put(FIELD_CREATED_AT, createdAt.toString());
+        tokenInfo.put(FIELD_EXPIRES_AT, createdAt.plus(SSO_TOKEN_EXPIRY).toString());
+        tokenInfo.put(FIELD_ISSUED_AT, String.valueOf(now));
+        tokenInfo.put(FIELD_ISSUED_AT_MILLIS, String.valueOf(nowMillis));
+        tokenInfo.put(FIELD_RENEWED_AT, String.valueOf(now));
         
-        redisTemplate.opsForValue().set(
-            SSO_TOKEN_PREFIX + ssoToken, 
-            tokenInfo, 
-            SSO_TOKEN_EXPIRY
-        );
-        
-        // 세션 정보 저장
-        Map<String, Object> sessionInfo = new HashMap<>();
-        sessionInfo.put("userId", user.getId());
-        sessionInfo.put("ssoToken", ssoToken);
-        sessionInfo.put("applications", new HashMap<String, String>());
+        // 세션 정보 (등록된 애플리케이션은 app:<applicationId> 필드로 추가)
+        Map<String, String> sessionInfo = Map.of(
+                FIELD_USER_ID, user.getId(),
+                FIELD_SSO_TOKEN, ssoToken);
         
-        redisTemplate.opsForValue().set(
-            SSO_SESSION_PREFIX + sessionId,
-            sessionInfo,
-            SSO_TOKEN_EXPIRY
-        );
+        // 두 해시와 TTL을 하나의 파이프라인으로 저장
+        redisCircuitBreaker.execute("sso_write", () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            writeHash(connection, SSO_TOKEN_PREFIX + ssoToken, tokenInfo);
+            writeHash(connection, SSO_SESSION_PREFIX + sessionId, sessionInfo);
+            return null;
+        }));
         
         log.info("SSO token generated for user: {} with session: {}", user.getEmail(), sessionId);
         return ssoToken;
     }
     
     /**
-     * SSO 토큰 검증
+     * SSO 토큰 검증 (토큰 해시 조회 한 번 + 사용자 스냅샷 캐시, TTL 연장은 필요할 때만)
      */
-    public Optional<User> validateSSOToken(String ssoToken) {
+    public Optional<UserSnapshot> validateSSOToken(String ssoToken) {
         try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> tokenInfo = (Map<String, Object>) redisTemplate.opsForValue()
-                .get(SSO_TOKEN_PREFIX + ssoToken);
+            Map<String, String> tokenInfo = readHash(SSO_TOKEN_PREFIX + ssoToken);
             
-            if (tokenInfo == null) {
+            if (tokenInfo.isEmpty()) {
                 log.warn("SSO token not found or expired: {}", ssoToken);
                 return Optional.empty();
             }
             
-            String userId = (String) tokenInfo.get("userId");
-            Optional<User> userOpt = userRepository.findById(userId);
+            UserSnapshot issued = UserSnapshot.fromFields(tokenInfo);
+            if (issued == null) {
+                log.warn("SSO token has no user snapshot: {}", ssoToken);
+                return Optional.empty();
+            }
             
-            if (userOpt.isPresent()) {
-                log.info("SSO token validation successful for user: {}", userOpt.get().getEmail());
-                // 토큰 사용 시 TTL 갱신
-                redisTemplate.expire(SSO_TOKEN_PREFIX + ssoToken, SSO_TOKEN_EXPIRY);
-                return userOpt;
+            // 토큰 발급 이후 역할 변경/비활성화/비밀번호 재설정이 있었으면 스냅샷이 낡았으므로 거절
+            if (issuedAtMillis(tokenInfo) < userTokenWatermarkService.getWatermark(issued.getId())) {
+                log.info("SSO token issued before user watermark, ending session for user: {}", issued.getId());
+                deleteSession(ssoToken, tokenInfo.get(FIELD_SESSION_ID));
+                return Optional.empty();
             }
             
-            return Optional.empty();
+            // 발급 후 바뀐 프로필(이메일 인증/이름/사진)을 반영하기 위해 현재 스냅샷으로 응답
+            UserSnapshot user = userSnapshotCache.get(issued.getId()).orElse(issued);
+            if (!Boolean.TRUE.equals(user.getIsActive())) {
+                return Optional.empty();
+            }
+            
+            renewIfDue(ssoToken, tokenInfo);
+            
+            log.info("SSO token validation successful for user: {}", user.getEmail());
+            return Optional.of(user);
             
         } catch (Exception e) {
             log.error("Error validating SSO token: {}", e.getMessage());
@@ -104,34 +177,21 @@ public class SSOTokenService {
     }
     
     /**
-     * 애플리케이션 등록 (SSO 세션에 애플리케이션 추가)
+     * 애플리케이션 등록 (SSO 세션에 애플리케이션 필드 추가)
      */
     public boolean registerApplication(String ssoToken, String applicationId, String applicationName) {
         try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> tokenInfo = (Map<String, Object>) redisTemplate.opsForValue()
-                .get(SSO_TOKEN_PREFIX + ssoToken);
+            String sessionId = redisCircuitBreaker.execute("sso_read",
+                    () -> (String) redisTemplate.opsForHash().get(SSO_TOKEN_PREFIX + ssoToken, FIELD_SESSION_ID));
             
-            if (tokenInfo == null) {
+            if (sessionId == null) {
                 return false;
             }
             
-            String sessionId = (String) tokenInfo.get("sessionId");
-            @SuppressWarnings("unchecked")
-            Map<String, Object> sessionInfo = (Map<String, Object>) redisTemplate.opsForValue()
-                .get(SSO_SESSION_PREFIX + sessionId);
-            
-            if (sessionInfo != null) {
-                @SuppressWarnings("unchecked")
-                Map<String, String> applications = (Map<String, String>) sessionInfo.get("applications");
-                applications.put(applicationId, applicationName);
-                
-                redisTemplate.opsForValue().set(
-                    SSO_SESSION_PREFIX + sessionId,
-                    sessionInfo,
-                    SSO_TOKEN_EXPIRY
-                );
-                
+            Long registered = redisCircuitBreaker.execute("sso_write", () -> redisTemplate.execute(REGISTER_APP_SCRIPT,
+                    List.of(SSO_SESSION_PREFIX + sessionId), APPLICATION_FIELD_PREFIX + applicationId, applicationName));
+            
+            if (registered != null && registered == 1L) {
                 log.info("Application {} registered to SSO session: {}", applicationName, sessionId);
                 return true;
             }
@@ -146,27 +206,25 @@ public class SSOTokenService {
     
     /**
      * SSO 로그아웃 (모든 애플리케이션에서 로그아웃)
+     * 세션 삭제 후 등록된 애플리케이션에 back-channel 로그아웃 알림을 동시에 보내고, 모두 끝날 때까지 기다립니다(알림 실패는 결과에 영향 없음).
      */
     public boolean logout(String ssoToken) {
         try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> tokenInfo = (Map<String, Object>) redisTemplate.opsForValue()
-                .get(SSO_TOKEN_PREFIX + ssoToken);
+            List<String> fields = redisCircuitBreaker.execute("sso_read", () -> redisTemplate.<String, String>opsForHash()
+                    .multiGet(SSO_TOKEN_PREFIX + ssoToken, List.of(FIELD_SESSION_ID, FIELD_USER_ID)));
             
-            if (tokenInfo == null) {
+            if (fields == null || fields.get(0) == null) {
                 return false;
             }
             
-            String sessionId = (String) tokenInfo.get("sessionId");
-            String userId = (String) tokenInfo.get("userId");
+            String sessionId = fields.get(0);
+            String userId = fields.get(1);
+            List<String> applicationIds = applicationIds(readHash(SSO_SESSION_PREFIX + sessionId));
             
-            // SSO 토큰 삭제
-            redisTemplate.delete(SSO_TOKEN_PREFIX + ssoToken);
+            // SSO 토큰과 세션 정보 삭제
+            deleteSession(ssoToken, sessionId);
             
-            // 세션 정보 삭제
-            if (sessionId != null) {
-                redisTemplate.delete(SSO_SESSION_PREFIX + sessionId);
-            }
+            notifyApplications(userId, sessionId, applicationIds);
             
             log.info("SSO logout completed for user: {}", userId);
             return true;
@@ -182,22 +240,18 @@ public class SSOTokenService {
      */
     public Map<String, Object> getSessionInfo(String ssoToken) {
         try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> tokenInfo = (Map<String, Object>) redisTemplate.opsForValue()
-                .get(SSO_TOKEN_PREFIX + ssoToken);
+            Map<String, String> tokenInfo = readHash(SSO_TOKEN_PREFIX + ssoToken);
             
-            if (tokenInfo == null) {
+            if (tokenInfo.isEmpty()) {
                 return new HashMap<>();
             }
             
-            String sessionId = (String) tokenInfo.get("sessionId");
-            @SuppressWarnings("unchecked")
-            Map<String, Object> sessionInfo = (Map<String, Object>) redisTemplate.opsForValue()
-                .get(SSO_SESSION_PREFIX + sessionId);
+            String sessionId = tokenInfo.get(FIELD_SESSION_ID);
+            Map<String, String> sessionHash = readHash(SSO_SESSION_PREFIX + sessionId);
             
             Map<String, Object> result = new HashMap<>();
             result.put("tokenInfo", tokenInfo);
-            result.put("sessionInfo", sessionInfo != null ? sessionInfo : new HashMap<>());
+            result.put("sessionInfo", toSessionInfo(sessionHash));
             
             return result;
             
@@ -230,4 +284,118 @@ public class SSOTokenService {
             return null;
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * 마지막 연장 후 renew-after-seconds가 지났을 때만 토큰/세션 TTL 연장 (실패해도 검증 결과에는 영향 없음)
+     */
+    private void renewIfDue(String ssoToken, Map<String, String> tokenInfo) {
+        long now = nowEpochSecond();
+        if (now - parseLong(tokenInfo.get(FIELD_RENEWED_AT)) < renewAfterSeconds) {
+            return;
+        }
+        
+        String sessionId = tokenInfo.get(FIELD_SESSION_ID);
+        redisCircuitBreaker.execute("sso_renew", () -> redisTemplate.execute(RENEW_SCRIPT,
+                List.of(SSO_TOKEN_PREFIX + ssoToken, SSO_SESSION_PREFIX + sessionId),
+                String.valueOf(SSO_TOKEN_EXPIRY.toSeconds()),
+                String.valueOf(now),
+                LocalDateTime.now().plus(SSO_TOKEN_EXPIRY).toString()), () -> 0L);
+    }
+    
+    /**
+     * 등록된 애플리케이션에 로그아웃 알림 (각 알림은 타임아웃/재시도 횟수로 제한되므로 전체 대기도 제한됨)
+     */
+    private void notifyApplications(String userId, String sessionId, List<String> applicationIds) {
+        if (applicationIds.isEmpty()) {
+            return;
+        }
+        
+        try {
+            Map<String, Boolean> results = backchannelLogoutService.notifyLogout(userId, sessionId, applicationIds).join();
+            long delivered = results.values().stream().filter(Boolean::booleanValue).count();
+            log.info("Back-channel logout for session {} delivered to {}/{} applications", sessionId, delivered, results.size());
+        } catch (Exception e) {
+            log.error("Back-channel logout for session {} failed: {}", sessionId, e.getMessage());
+        }
+    }
+    
+    /**
+     * 세션 해시에서 등록된 애플리케이션 ID 목록 추출
+     */
+    static List<String> applicationIds(Map<String, String> sessionHash) {
+        List<String> applicationIds = new ArrayList<>();
+        for (String field : sessionHash.keySet()) {
+            if (field.startsWith(APPLICATION_FIELD_PREFIX)) {
+                applicationIds.add(field.substring(APPLICATION_FIELD_PREFIX.length()));
+            }
+        }
+        return applicationIds;
+    }
+    
+    /**
+     * 세션 해시를 응답 형식으로 변환 (app:<id> 필드를 applications 맵으로 모음)
+     */
+    static Map<String, Object> toSessionInfo(Map<String, String> sessionHash) {
+        Map<String, Object> sessionInfo = new HashMap<>();
+        Map<String, String> applications = new HashMap<>();
+        
+        sessionHash.forEach((field, value) -> {
+            if (field.startsWith(APPLICATION_FIELD_PREFIX)) {
+                applications.put(field.substring(APPLICATION_FIELD_PREFIX.length()), value);
+            } else {
+                sessionInfo.put(field, value);
+            }
+        });
+        
+        if (!sessionHash.isEmpty()) {
+            sessionInfo.put("applications", applications);
+        }
+        return sessionInfo;
+    }
+    
+    /**
+     * Redis 조회/저장/삭제 (회로가 열려 있으면 즉시 예외, 호출한 메서드의 실패 처리로 넘어감)
+     */
+    private Map<String, String> readHash(String key) {
+        Map<String, String> hash = redisCircuitBreaker.execute("sso_read",
+                () -> redisTemplate.<String, String>opsForHash().entries(key));
+        return hash != null ? hash : Map.of();
+    }
+    
+    private static void writeHash(RedisConnection connection, String key, Map<String, String> fields) {
+        byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        Map<byte[], byte[]> rawFields = new HashMap<>();
+        fields.forEach((field, value) -> rawFields.put(field.getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8)));
+        connection.hashCommands().hMSet(rawKey, rawFields);
+        connection.keyCommands().expire(rawKey, SSO_TOKEN_EXPIRY.toSeconds());
+    }
+    
+    private void deleteSession(String ssoToken, String sessionId) {
+        List<String> keys = sessionId != null
+                ? List.of(SSO_TOKEN_PREFIX + ssoToken, SSO_SESSION_PREFIX + sessionId)
+                : List.of(SSO_TOKEN_PREFIX + ssoToken);
+        redisCircuitBreaker.execute("sso_write", () -> redisTemplate.delete(keys));
+    }
+    
+    private long nowEpochSecond() {
+        return Instant.ofEpochMilli(clock.getAsLong()).getEpochSecond();
+    }
+    
+    /**
+     * 토큰 발급 시각 (epoch millis, issuedAtMillis가 없는 이전 토큰은 초 단위 issuedAt 사용)
+     */
+    private static long issuedAtMillis(Map<String, String> tokenInfo) {
+        String issuedAtMillis = tokenInfo.get(FIELD_ISSUED_AT_MILLIS);
+        return issuedAtMillis != null
+                ? parseLong(issuedAtMillis)
+                : TimeUnit.SECONDS.toMillis(parseLong(tokenInfo.get(FIELD_ISSUED_AT)));
+    }
+    
+    private static long parseLong(String value) {
+        try {
+            return value != null ? Long.parseLong(value) : 0L;
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Redis 없이 검증하는 봉인(sealed) Authorization Code
+ * 코드 데이터를 AES-GCM으로 암호화해 코드 자체에 담으므로 발급과 소비에 Redis 쓰기가 없고, Redis 점검 중에도 코드 흐름이 유지됩니다.
+ * 일회용 보장은 코드 수명 동안만 유지하는 인스턴스 로컬 재사용 집합으로 처리합니다.
+ * 따라서 여러 인스턴스 운영 시에는 /oauth/token 요청이 코드를 소비할 인스턴스로 고정되어야 일회용이 보장됩니다(PKCE 사용 권장).
+ */
+@Slf4j
+@Component
+public class SealedAuthorizationCodes {
+
+    public static final String PREFIX = "s1."; // Redis 코드(URL-safe Base64)에는 '.'이 없으므로 구분 가능
+
+    private static final byte[] AAD = PREFIX.getBytes(StandardCharsets.US_ASCII);
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final boolean enabled;
+    private final SecretKeySpec key;
+    private final long lifetimeMillis;
+    private final int maxReplayEntries;
+    private final TimingWheel timingWheel;
+    private final LongSupplier clock;
+    private final SecureRandom random = new SecureRandom();
+
+    // 소비한 코드의 IV (코드 만료 시 제거)
+    private final Map<String, Boolean> consumed = new ConcurrentHashMap<>();
+
+    // 무효화 시각 (이 시각 이전에 발급된 코드 거절, 코드 수명이 지나면 제거)
+    private final Map<String, Long> userRevokedAt = new ConcurrentHashMap<>();
+    private final Map<String, Long> clientRevokedAt = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final MeterRegistry meterRegistry;
+    private final Counter issuedCounter;
+
+    @Autowired
+    public SealedAuthorizationCodes(MeterRegistry meterRegistry,
+                                    TimingWheel timingWheel,
+                                    @Value("${oauth.auth-code.sealed.enabled:false}") boolean enabled,
+                                    @Value("${oauth.auth-code.sealed.secret:}") String secret,
+                                    @Value("${oauth.authorization-code-expiration:600}") long lifetimeSeconds,
+                                    @Value("${oauth.auth-code.sealed.max-replay-entries:100000}") int maxReplayEntries) {
+        this(meterRegistry, timingWheel, enabled, secret, lifetimeSeconds, maxReplayEntries, System::currentTimeMillis);
+    }
+
+    SealedAuthorizationCodes(MeterRegistry meterRegistry, TimingWheel timingWheel, boolean enabled, String secret,
+                             long lifetimeSeconds, int maxReplayEntries, LongSupplier clock) {
+        this.meterRegistry = meterRegistry;
+        this.timingWheel = timingWheel;
+        this.enabled = enabled;
+        this.lifetimeMillis = TimeUnit.SECONDS.toMillis(lifetimeSeconds);
+        this.maxReplayEntries = maxReplayEntries;
+        this.clock = clock;
+
+        byte[] keyBytes;
+        if (secret == null || secret.isEmpty()) {
+            if (enabled) {
+                // 인스턴스마다 키가 달라지므로 여러 인스턴스 운영 시에는 공통 secret 설정 필요
+                log.warn("oauth.auth-code.sealed.secret is not set, using a random per-instance key");
+            }
+            keyBytes = new byte[32];
+            random.nextBytes(keyBytes);
+        } else {
+            keyBytes = sha256(secret.getBytes(StandardCharsets.UTF_8));
+        }
+        this.key = new SecretKeySpec(keyBytes, "AES");
+
+        this.issuedCounter = Counter.builder("auth_code_sealed_issued_count")
+                .description("Number of sealed authorization codes issued without Redis")
+                .register(meterRegistry);
+
+        Gauge.builder("auth_code_sealed_replay_entries", consumed, Map::size)
+                .description("Number of consumed sealed authorization codes remembered for replay detection")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static boolean isSealed(String authCode) {
+        return authCode != null && authCode.startsWith(PREFIX);
+    }
+
+    /**
+     * 코드 데이터를 암호화한 코드 발급
+     */
+    public String seal(AuthorizationCodeService.AuthorizationCodeData data) {
+        byte[] iv = new byte[IV_BYTES];
+        random.nextBytes(iv);
+
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(AAD);
+            byte[] sealed = cipher.doFinal(serialize(data, clock.getAsLong()));
+
+            byte[] code = new byte[IV_BYTES + sealed.length];
+            System.arraycopy(iv, 0, code, 0, IV_BYTES);
+            System.arraycopy(sealed, 0, code, IV_BYTES, sealed.length);
+
+            issuedCounter.increment();
+            return PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(code);
+        } catch (GeneralSecurityException | IOException e) {
+            throw new IllegalStateException("Failed to seal authorization code", e);
+        }
+    }
+
+    /**
+     * 코드 복호화 및 소비 (위조, 만료, 재사용, 무효화된 코드는 null)
+     */
+    public AuthorizationCodeService.AuthorizationCodeData open(String authCode) {
+        Unsealed unsealed = unseal(authCode);
+        if (unsealed == null) {
+            return null;
+        }
+
+        if (consumed.size() >= maxReplayEntries) {
+            // 재사용 여부를 기억할 수 없으면 실패 쪽으로 닫음
+            rejected("capacity");
+            return null;
+        }
+        if (consumed.putIfAbsent(unsealed.nonce(), Boolean.TRUE) != null) {
+            rejected("replayed");
+            log.warn("Sealed authorization code replayed for user: {} client: {}",
+                    unsealed.data().getUserId(), unsealed.data().getClientId());
+            return null;
+        }
+        timingWheel.schedule(unsealed.expiresAtMillis(), () -> consumed.remove(unsealed.nonce()));
+
+        return unsealed.data();
+    }
+
+    /**
+     * 소비하지 않고 유효성만 확인
+     */
+    public boolean isValid(String authCode) {
+        Unsealed unsealed = unseal(authCode);
+        return unsealed != null && !consumed.containsKey(unsealed.nonce());
+    }
+
+    /**
+     * 지금까지 발급된 사용자의 코드 무효화
+     */
+    public void revokeUser(String userId) {
+        revoke(userRevokedAt, userId);
+    }
+
+    /**
+     * 지금까지 발급된 클라이언트의 코드 무효화
+     */
+    public void revokeClient(String clientId) {
+        revoke(clientRevokedAt, clientId);
+    }
+
+    public int replayEntries() {
+        return consumed.size();
+    }
+
+    private void revoke(Map<String, Long> revokedAt, String id) {
+        long now = clock.getAsLong();
+        revokedAt.merge(id, now, Math::max);
+        // 무효화 시각 이전에 발급된 코드가 모두 만료되면 제거 (그 사이 더 늦은 무효화가 있었으면 유지)
+        timingWheel.schedule(now + lifetimeMillis, () -> revokedAt.remove(id, now));
+    }
+
+    private Unsealed unseal(String authCode) {
+        if (!isSealed(authCode)) {
+            return null;
+        }
+
+        byte[] code;
+        try {
+            code = Base64.getUrlDecoder().decode(authCode.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            rejected("invalid");
+            return null;
+        }
+        if (code.length <= IV_BYTES + TAG_BITS / 8) {
+            rejected("invalid");
+            return null;
+        }
+
+        AuthorizationCodeService.AuthorizationCodeData data;
+        long issuedAtMillis;
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, code, 0, IV_BYTES));
+            cipher.updateAAD(AAD);
+            byte[] plain = cipher.doFinal(code, IV_BYTES, code.length - IV_BYTES);
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(plain));
+            issuedAtMillis = in.readLong();
+            data = AuthorizationCodeService.AuthorizationCodeData.builder()
+                    .userId(readNullable(in))
+                    .clientId(readNullable(in))
+                    .redirectUri(readNullable(in))
+                    .scope(readNullable(in))
+                    .state(readNullable(in))
+                    .codeChallenge(readNullable(in))
+                    .codeChallengeMethod(readNullable(in))
+                    .createdAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(issuedAtMillis), ZoneId.systemDefault()))
+                    .build();
+        } catch (GeneralSecurityException | IOException e) {
+            // 태그 불일치(위조 또는 다른 키로 발급) 포함
+            rejected("invalid");
+            return null;
+        }
+
+        long expiresAtMillis = issuedAtMillis + lifetimeMillis;
+        if (clock.getAsLong() >= expiresAtMillis) {
+            rejected("expired");
+            return null;
+        }
+        if (revokedSince(userRevokedAt, data.getUserId(), issuedAtMillis)
+                || revokedSince(clientRevokedAt, data.getClientId(), issuedAtMillis)) {
+            rejected("revoked");
+            return null;
+        }
+
+        // IV는 코드마다 무작위이므로 재사용 판별 키로 사용
+        String nonce = Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(code, IV_BYTES));
+        return new Unsealed(data, nonce, expiresAtMillis);
+    }
+
+    private static boolean revokedSince(Map<String, Long> revokedAt, String id, long issuedAtMillis) {
+        Long revoked = id != null ? revokedAt.get(id) : null;
+        return revoked != null && issuedAtMillis <= revoked;
+    }
+
+    static byte[] serialize(AuthorizationCodeService.AuthorizationCodeData data, long issuedAtMillis) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(issuedAtMillis);
+        writeNullable(out, data.getUserId());
+        writeNullable(out, data.getClientId());
+        writeNullable(out, data.getRedirectUri());
+        writeNullable(out, data.getScope());
+        writeNullable(out, data.getState());
+        writeNullable(out, data.getCodeChallenge());
+        writeNullable(out, data.getCodeChallengeMethod());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    private void rejected(String reason) {
+        Counter.builder("auth_code_sealed_rejected_count")
+                .description("Number of sealed authorization codes rejected as invalid, expired, replayed or revoked")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record Unsealed(AuthorizationCodeService.AuthorizationCodeData data, String nonce, long expiresAtMillis) {
+    }
+}
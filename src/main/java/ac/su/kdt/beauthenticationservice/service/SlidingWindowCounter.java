@@ -0,0 +1,339 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * 키별 슬라이딩 윈도우 카운터 (lock-free, 메모리 상한 있음)
+ * 윈도우를 고정 길이 슬롯으로 나누고, 각 슬롯은 (슬롯 번호, 횟수)를 long 하나에 담아 CAS로 증가시킵니다.
+ * 지난 슬롯은 다음 증가 시 같은 CAS에서 재사용되므로 별도 정리 없이 윈도우가 이동합니다.
+ * 키 테이블은 여러 stripe로 나누어, 상한 초과 시 정리가 해당 stripe에만 국한되도록 합니다.
+ * 상한 초과 시 제거 대상은 stripe 전체를 훑지 않고, stripe별 순환 포인터(CLOCK 방식)가 가리키는 몇 개의 키만 확인해
+ * 윈도우가 지난 키는 제거하고 나머지 중 가장 오래 갱신되지 않은 키를 고릅니다 (새 키가 몰려도 삽입당 비용 고정).
+ * TimingWheel을 주면 키마다 마지막 증가 슬롯이 윈도우를 벗어나는 시각에 제거를 예약하므로, 지난 키가 상한까지 쌓이지 않습니다.
+ * 제거(만료, 초기화, 상한 초과)는 진행 중인 증가가 없을 때 Window를 봉인한 뒤에만 하므로,
+ * 제거와 겹친 증가는 봉인 전에 끝나 제거 여부 판단에 반영되거나 봉인을 보고 새 Window에 다시 반영되어 유실되지 않습니다.
+ */
+public final class SlidingWindowCounter {
+
+    // 슬롯 값 = (슬롯 번호 << COUNT_BITS) | 횟수
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long SLOT_NUMBER_MASK = (1L << (Long.SIZE - COUNT_BITS)) - 1;
+
+    private static final int STRIPES = 16;
+    private static final int EVICTION_SAMPLES = 8; // 상한 초과 시 확인하는 키 수
+
+    private final long slotMillis;
+    private final int slots;
+    private final int maxKeysPerStripe;
+    private final LongSupplier clock;
+    private final TimingWheel expiryWheel; // null이면 상한 초과 시에만 정리
+
+    @SuppressWarnings("unchecked")
+    private final ConcurrentHashMap<String, Window>[] stripes = new ConcurrentHashMap[STRIPES];
+
+    // stripe별 제거 후보 순환 포인터
+    private final EvictionHand[] evictionHands = new EvictionHand[STRIPES];
+
+    public SlidingWindowCounter(Duration window, int slots, int maxKeys) {
+        this(window, slots, maxKeys, System::currentTimeMillis, null);
+    }
+
+    public SlidingWindowCounter(Duration window, int slots, int maxKeys, TimingWheel expiryWheel) {
+        this(window, slots, maxKeys, System::currentTimeMillis, expiryWheel);
+    }
+
+    SlidingWindowCounter(Duration window, int slots, int maxKeys, LongSupplier clock) {
+        this(window, slots, maxKeys, clock, null);
+    }
+
+    SlidingWindowCounter(Duration window, int slots, int maxKeys, LongSupplier clock, TimingWheel expiryWheel) {
+        if (slots <= 0 || window.toMillis() < slots) {
+            throw new IllegalArgumentException("window must be at least one millisecond per slot");
+        }
+        this.slotMillis = window.toMillis() / slots;
+        this.slots = slots;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        this.clock = clock;
+        this.expiryWheel = expiryWheel;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+            evictionHands[i] = new EvictionHand();
+        }
+    }
+
+    /**
+     * 1 증가 후 윈도우 내 합계 반환
+     */
+    public int increment(String key) {
+        long slotNumber = currentSlotNumber();
+        ConcurrentHashMap<String, Window> stripe = stripe(key);
+
+        while (true) {
+            Window window = stripe.get(key);
+            if (window == null) {
+                if (stripe.size() >= maxKeysPerStripe) {
+                    makeRoom(stripe, key, slotNumber);
+                }
+                Window created = new Window(slots);
+                Window existing = stripe.putIfAbsent(key, created);
+                window = existing != null ? existing : created;
+                if (existing == null) {
+                    scheduleExpiry(key, created, slotNumber, slotNumber);
+                }
+            }
+
+            if (!window.enter()) {
+                // 제거 중인 Window: 맵에서 빠지면 새 Window로, 봉인이 풀리면 같은 Window로 다시 시도
+                Thread.onSpinWait();
+                continue;
+            }
+            try {
+                window.increment(slotNumber, slots);
+                return window.sum(slotNumber, slots);
+            } finally {
+                window.exit();
+            }
+        }
+    }
+
+    /**
+     * 윈도우 내 합계 (없는 키는 0)
+     */
+    public int count(String key) {
+        Window window = stripe(key).get(key);
+        return window != null ? window.sum(currentSlotNumber(), slots) : 0;
+    }
+
+    public void reset(String key) {
+        ConcurrentHashMap<String, Window> stripe = stripe(key);
+        Window window = stripe.get(key);
+        if (window != null) {
+            remove(stripe, key, window);
+        }
+    }
+
+    /**
+     * 추적 중인 키 수 (윈도우가 지난 키 포함, 상한 초과 시 정리됨)
+     */
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, Window> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private ConcurrentHashMap<String, Window> stripe(String key) {
+        return stripes[indexOf(key)];
+    }
+
+    private long currentSlotNumber() {
+        return (clock.getAsLong() / slotMillis) & SLOT_NUMBER_MASK;
+    }
+
+    /**
+     * stripe가 가득 찼을 때: 순환 포인터로 EVICTION_SAMPLES개의 키를 확인해 윈도우가 지난 키는 제거하고,
+     * 그래도 가득 차 있으면 확인한 키 중 가장 오래 갱신되지 않은 키를 제거
+     */
+    private void makeRoom(ConcurrentHashMap<String, Window> stripe, String incomingKey, long slotNumber) {
+        EvictionHand hand = evictionHands[indexOf(incomingKey)];
+        Map.Entry<String, Window> oldest = null;
+        long oldestSlot = Long.MAX_VALUE;
+
+        synchronized (hand) {
+            for (int i = 0; i < EVICTION_SAMPLES; i++) {
+                Map.Entry<String, Window> entry = hand.next(stripe);
+                if (entry == null) {
+                    break;
+                }
+                if (removeIfExpired(stripe, entry.getKey(), entry.getValue(), slotNumber)) {
+                    continue;
+                }
+                long touched = entry.getValue().lastSlotNumber();
+                if (touched < oldestSlot) {
+                    oldestSlot = touched;
+                    oldest = entry;
+                }
+            }
+        }
+
+        if (oldest != null && stripe.size() >= maxKeysPerStripe) {
+            remove(stripe, oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    /**
+     * 윈도우가 지났고 진행 중인 증가가 없을 때만 봉인 후 제거 (봉인 직전에 끝난 증가가 있으면 봉인을 풀고 유지)
+     */
+    private boolean removeIfExpired(ConcurrentHashMap<String, Window> stripe, String key, Window window, long slotNumber) {
+        if (!window.isExpired(slotNumber, slots) || !window.trySeal()) {
+            return false;
+        }
+        if (!window.isExpired(slotNumber, slots)) {
+            window.unseal();
+            return false;
+        }
+        stripe.remove(key, window);
+        return true;
+    }
+
+    /**
+     * 진행 중인 증가가 끝나기를 기다려 봉인 후 제거 (초기화, 상한 초과 시)
+     */
+    private void remove(ConcurrentHashMap<String, Window> stripe, String key, Window window) {
+        while (!window.trySeal()) {
+            if (stripe.get(key) != window) {
+                return; // 다른 제거가 먼저 끝남
+            }
+            Thread.onSpinWait();
+        }
+        stripe.remove(key, window);
+    }
+
+    /**
+     * 마지막 증가 슬롯이 윈도우를 벗어나는 시각에 만료 확인 예약 (키당 예약 하나)
+     */
+    private void scheduleExpiry(String key, Window window, long lastSlotNumber, long slotNumber) {
+        if (expiryWheel == null) {
+            return;
+        }
+        long remainingSlots = Math.max(1, lastSlotNumber + slots - slotNumber);
+        long deadline = (clock.getAsLong() / slotMillis + remainingSlots) * slotMillis;
+        expiryWheel.schedule(deadline, () -> expireIfIdle(key, window));
+    }
+
+    /**
+     * 만료 시각 도달: 그 사이 증가가 없었으면 제거, 있었으면 마지막 증가 기준으로 다시 예약
+     */
+    private void expireIfIdle(String key, Window window) {
+        ConcurrentHashMap<String, Window> stripe = stripe(key);
+        if (stripe.get(key) != window) {
+            return; // 이미 초기화/정리되어 다른 Window로 교체됨
+        }
+
+        long slotNumber = currentSlotNumber();
+        if (!removeIfExpired(stripe, key, window, slotNumber)) {
+            scheduleExpiry(key, window, window.lastSlotNumber(), slotNumber);
+        }
+    }
+
+    private int indexOf(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    /**
+     * 키 하나의 슬롯 배열
+     */
+    /**
+     * stripe를 순환하는 제거 후보 포인터 (약한 일관성 iterator를 이어서 사용, 끝에 닿으면 처음부터 다시)
+     */
+    private static final class EvictionHand {
+
+        private Iterator<Map.Entry<String, Window>> iterator = Collections.emptyIterator();
+
+        Map.Entry<String, Window> next(ConcurrentHashMap<String, Window> stripe) {
+            if (!iterator.hasNext()) {
+                iterator = stripe.entrySet().iterator();
+                if (!iterator.hasNext()) {
+                    return null;
+                }
+            }
+            return iterator.next();
+        }
+    }
+
+    private static final class Window {
+
+        private static final int SEALED = Integer.MIN_VALUE;
+
+        private final AtomicLongArray slotValues;
+        private final AtomicInteger writers = new AtomicInteger(); // 진행 중인 증가 수, SEALED면 제거 중
+
+        Window(int slots) {
+            this.slotValues = new AtomicLongArray(slots);
+        }
+
+        /**
+         * 증가 시작 (봉인된 Window면 false)
+         */
+        boolean enter() {
+            int current;
+            do {
+                current = writers.get();
+                if (current < 0) {
+                    return false;
+                }
+            } while (!writers.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        void exit() {
+            writers.decrementAndGet();
+        }
+
+        /**
+         * 진행 중인 증가가 없을 때만 봉인 (이후 enter는 실패)
+         */
+        boolean trySeal() {
+            return writers.compareAndSet(0, SEALED);
+        }
+
+        void unseal() {
+            writers.set(0);
+        }
+
+        void increment(long slotNumber, int slots) {
+            int index = (int) (slotNumber % slots);
+            long current;
+            long next;
+            do {
+                current = slotValues.get(index);
+                long count = (current >>> COUNT_BITS) == slotNumber ? current & COUNT_MASK : 0;
+                // 포화 시 증가 중단 (슬롯당 최대 2^24 - 1)
+                next = (slotNumber << COUNT_BITS) | Math.min(count + 1, COUNT_MASK);
+            } while (!slotValues.compareAndSet(index, current, next));
+        }
+
+        int sum(long slotNumber, int slots) {
+            long sum = 0;
+            for (int i = 0; i < slots; i++) {
+                long value = slotValues.get(i);
+                if (isLive(value >>> COUNT_BITS, slotNumber, slots)) {
+                    sum += value & COUNT_MASK;
+                }
+            }
+            return (int) Math.min(sum, Integer.MAX_VALUE);
+        }
+
+        boolean isExpired(long slotNumber, int slots) {
+            for (int i = 0; i < slots; i++) {
+                long value = slotValues.get(i);
+                if ((value & COUNT_MASK) != 0 && isLive(value >>> COUNT_BITS, slotNumber, slots)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long lastSlotNumber() {
+            long last = 0;
+            for (int i = 0; i < slotValues.length(); i++) {
+                last = Math.max(last, slotValues.get(i) >>> COUNT_BITS);
+            }
+            return last;
+        }
+
+        private static boolean isLive(long valueSlotNumber, long currentSlotNumber, int slots) {
+            return valueSlotNumber <= currentSlotNumber && currentSlotNumber - valueSlotNumber < slots;
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package ac.su.kdt.beauthenticationservice.service;
 
 import ac.su.kdt.beauthenticationservice.config.OAuth2Properties;
+import ac.su.kdt.beauthenticationservice.model.dto.UserChangedEvent;
 import ac.su.kdt.beauthenticationservice.model.entity.User;
 import ac.su.kdt.beauthenticationservice.repository.UserRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,6 +32,7 @@ public class SocialLoginService {
     
     private final OAuth2Properties oauth2Properties;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
     private final RestTemplate restTemplate = new RestTemplate();
     private final ObjectMapper objectMapper = new ObjectMapper();
     
@@ -247,7 +250,9 @@ public class SocialLoginService {
             user.setName(name);
             user.setPictureUrl(pictureUrl);
             user.setEmailVerified(true); // 소셜 로그인은 이메일 인증됨으로 간주
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            applicationEventPublisher.publishEvent(new UserChangedEvent(saved.getId()));
+            return saved;
         }
         
         // 2. 이메일로 기존 사용자 찾기
@@ -261,7 +266,9 @@ public class SocialLoginService {
                 user.setName(name);
                 user.setPictureUrl(pictureUrl);
                 user.setEmailVerified(true);
-                return userRepository.save(user);
+                User saved = userRepository.save(user);
+                applicationEventPublisher.publishEvent(new UserChangedEvent(saved.getId()));
+                return saved;
             }
         }
         
@@ -0,0 +1,82 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 고정 크기 상위 K개 빈도 항목 추적 (Space-Saving)
+ * 가득 찬 상태에서 새 항목이 들어오면 가장 작은 항목을 대체하고 그 횟수를 이어받으므로,
+ * 실제 빈도가 전체의 1/K를 넘는 항목은 반드시 목록에 남습니다.
+ */
+public final class SpaceSavingTopK {
+
+    private final int capacity;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> byCount = new TreeSet<>(
+            Comparator.comparingLong((Entry entry) -> entry.count).thenComparing(entry -> entry.item));
+
+    public SpaceSavingTopK(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public synchronized void offer(String item) {
+        Entry entry = entries.get(item);
+        if (entry != null) {
+            byCount.remove(entry);
+            entry.count++;
+            byCount.add(entry);
+            return;
+        }
+
+        if (entries.size() < capacity) {
+            entry = new Entry(item, 1, 0);
+        } else {
+            Entry smallest = byCount.pollFirst();
+            entries.remove(smallest.item);
+            entry = new Entry(item, smallest.count + 1, smallest.count);
+        }
+        entries.put(item, entry);
+        byCount.add(entry);
+    }
+
+    /**
+     * 추적 중인 항목 (횟수 내림차순)
+     */
+    public synchronized List<Candidate> candidates() {
+        List<Candidate> candidates = new ArrayList<>(entries.size());
+        for (Entry entry : byCount.descendingSet()) {
+            candidates.add(new Candidate(entry.item, entry.count, entry.error));
+        }
+        return candidates;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        byCount.clear();
+    }
+
+    /**
+     * count는 과대 추정일 수 있으며 최대 error만큼 큼
+     */
+    public record Candidate(String item, long count, long error) {
+    }
+
+    private static final class Entry {
+        private final String item;
+        private long count;
+        private final long error;
+
+        private Entry(String item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * 계층형 타이밍 휠 (인스턴스 로컬 보안 상태의 만료 엔진)
+ * 마감 시각까지 남은 틱 수에 따라 4단계 휠(단계마다 256칸) 중 한 칸에 등록하고, 틱마다 현재 칸만 처리합니다.
+ * 상위 단계의 칸은 하위 단계가 한 바퀴 돌 때 한 단계 아래로 내려오므로 등록, 취소, 만료가 모두 O(1)(분할 상환)이며 전체 스캔이 없습니다.
+ * 등록과 취소는 어느 스레드에서나 가능하고, 휠 자료구조와 만료 콜백은 전용 스레드 하나에서만 다룹니다(콜백은 짧게 유지).
+ */
+@Slf4j
+@Component
+public class TimingWheel implements DisposableBean {
+
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4; // 100ms 틱 기준 최상위 단계 범위 약 13년
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final LongSupplier clock;
+
+    // [단계][칸], 휠 스레드에서만 접근
+    private final ArrayDeque<Timeout>[][] buckets;
+    private long currentTick;
+
+    // 다른 스레드의 등록 요청 (다음 틱에 휠 스레드가 배치)
+    private final Queue<Timeout> registrations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    // Metrics
+    private final Counter expiredCounter;
+
+    @Autowired
+    public TimingWheel(MeterRegistry meterRegistry,
+                       @Value("${oauth.expiry-wheel.tick-ms:100}") long tickMillis) {
+        this(meterRegistry, tickMillis, System::currentTimeMillis, true);
+    }
+
+    /**
+     * 테스트용: 전용 스레드 없이 advance()를 직접 호출해 진행
+     */
+    TimingWheel(MeterRegistry meterRegistry, long tickMillis, LongSupplier clock) {
+        this(meterRegistry, tickMillis, clock, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private TimingWheel(MeterRegistry meterRegistry, long tickMillis, LongSupplier clock, boolean startWorker) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.clock = clock;
+        this.startMillis = clock.getAsLong();
+
+        this.buckets = new ArrayDeque[LEVELS][WHEEL_SIZE];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                buckets[level][slot] = new ArrayDeque<>();
+            }
+        }
+
+        this.expiredCounter = Counter.builder("expiry_wheel_expired_count")
+                .description("Number of timing wheel entries that reached their deadline")
+                .register(meterRegistry);
+
+        Gauge.builder("expiry_wheel_pending", pending, AtomicInteger::get)
+                .description("Number of timing wheel entries waiting for their deadline")
+                .register(meterRegistry);
+
+        if (startWorker) {
+            this.worker = new Thread(this::runWorker, "expiry-wheel");
+            this.worker.setDaemon(true);
+            this.worker.start();
+        } else {
+            this.worker = null;
+        }
+    }
+
+    /**
+     * 마감 시각(epoch millis)에 task 실행 예약, 마감 후 한 틱 이내에 휠 스레드에서 실행
+     */
+    public Timeout schedule(long deadlineMillis, Runnable task) {
+        long deadlineTick = Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis);
+        Timeout timeout = new Timeout(deadlineTick, task);
+        pending.incrementAndGet();
+        registrations.add(timeout);
+        return timeout;
+    }
+
+    public int pending() {
+        return pending.get();
+    }
+
+    /**
+     * 등록 요청을 배치하고 현재 시각까지 틱 진행 (휠 스레드 전용)
+     */
+    void advance() {
+        long targetTick = Math.floorDiv(clock.getAsLong() - startMillis, tickMillis);
+
+        Timeout registered;
+        while ((registered = registrations.poll()) != null) {
+            place(registered);
+        }
+
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            ArrayDeque<Timeout> bucket = buckets[0][(int) (currentTick & WHEEL_MASK)];
+            for (int remaining = bucket.size(); remaining > 0; remaining--) {
+                place(bucket.poll());
+            }
+        }
+    }
+
+    /**
+     * 남은 틱 수가 들어가는 가장 낮은 단계의 칸에 배치 (마감이 지났으면 바로 만료)
+     */
+    private void place(Timeout timeout) {
+        if (timeout.state.get() != PENDING) {
+            return; // 취소됨
+        }
+
+        long delta = timeout.deadlineTick - currentTick;
+        if (delta <= 0) {
+            expire(timeout);
+            return;
+        }
+
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = WHEEL_BITS * level;
+            if (delta < 1L << (shift + WHEEL_BITS)) {
+                buckets[level][(int) ((timeout.deadlineTick >>> shift) & WHEEL_MASK)].add(timeout);
+                return;
+            }
+        }
+
+        // 최상위 단계 범위를 넘으면 가장 먼 칸에 두고, 내려올 때 다시 배치
+        int topShift = WHEEL_BITS * (LEVELS - 1);
+        long farthestTick = currentTick + (1L << (topShift + WHEEL_BITS)) - 1;
+        buckets[LEVELS - 1][(int) ((farthestTick >>> topShift) & WHEEL_MASK)].add(timeout);
+    }
+
+    /**
+     * 하위 단계가 한 바퀴 돌았으면 상위 단계의 현재 칸을 다시 배치 (하위 단계로 내려옴)
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = WHEEL_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            ArrayDeque<Timeout> bucket = buckets[level][(int) ((currentTick >>> shift) & WHEEL_MASK)];
+            for (int remaining = bucket.size(); remaining > 0; remaining--) {
+                place(bucket.poll());
+            }
+        }
+    }
+
+    private void expire(Timeout timeout) {
+        if (!timeout.state.compareAndSet(PENDING, EXPIRED)) {
+            return;
+        }
+        pending.decrementAndGet();
+        expiredCounter.increment();
+        try {
+            timeout.task.run();
+        } catch (Exception e) {
+            log.error("Timing wheel expiry callback failed", e);
+        }
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                advance();
+                long sleepMillis = startMillis + (currentTick + 1) * tickMillis - clock.getAsLong();
+                if (sleepMillis > 0) {
+                    Thread.sleep(sleepMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Timing wheel tick failed", e);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * 예약 항목 (취소 시 칸에서 바로 빼지 않고, 해당 칸을 처리할 때 건너뜀)
+     */
+    public final class Timeout {
+
+        private final long deadlineTick;
+        private final Runnable task;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        private Timeout(long deadlineTick, Runnable task) {
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+
+        public boolean cancel() {
+            if (state.compareAndSet(PENDING, CANCELLED)) {
+                pending.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+}
@@ -1,54 +1,208 @@
 package ac.su.kdt.beauthenticationservice.service;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import ac.su.kdt.beauthenticationservice.jwt.VerifiedToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * JWT 토큰 블랙리스트 관리 서비스
- * 로그아웃된 토큰들을 블랙리스트에 추가하여 무효화 처리합니다.
+ * 무효화된 jti를 Redis(blacklist:token:{jti})에 토큰의 남은 수명만큼 저장하여 모든 인스턴스가 공유합니다.
+ * 각 인스턴스는 블랙리스트의 로컬 사본을 유지하고 Redis pub/sub으로 변경을 전파받으므로,
+ * 요청마다 네트워크 왕복 없이 무효화 여부를 확인할 수 있습니다.
+ * 로컬 사본은 항목 수 상한이 있으며, 상한을 넘어 담지 못한 항목이 생기면 다음 재동기화 전까지 Bloom filter 양성인 조회만 Redis로 확인합니다.
+ * 구독이 실제로 활성화(listening)된 동안에만 로컬 사본을 신뢰하고, 구독이 끊기면 Redis 조회로 돌아갑니다.
+ * 대부분의 토큰은 무효화되지 않았으므로 RevokedTokenBloomFilter로 먼저 걸러 확정 음성이면 조회를 생략합니다.
+ * 로컬 사본의 각 항목과 Bloom filter 구간은 공용 타이밍 휠로 만료 시각에 정확히 제거되므로 주기적 전체 스캔이 없습니다.
  */
 @Slf4j
 @Service
-public class TokenBlacklistService {
-    
-    // 블랙리스트 토큰들을 저장하는 캐시 (토큰 만료 시간까지 유지)
-    private final Cache<String, LocalDateTime> blacklistedTokens;
-    
-    public TokenBlacklistService() {
-        this.blacklistedTokens = CacheBuilder.newBuilder()
-                .maximumSize(10000) // 최대 10,000개 토큰 저장
-                .expireAfterWrite(24, TimeUnit.HOURS) // 24시간 후 자동 만료
-                .recordStats() // 통계 기록 활성화
-                .build();
+public class TokenBlacklistService implements DisposableBean {
+
+    static final String BLACKLIST_KEY_PREFIX = "blacklist:token:";
+    static final String EVENT_CHANNEL = "blacklist:events";
+
+    // pub/sub 이벤트 형식: R|exp|jti (무효화), U|jti (해제), C (전체 초기화)
+    private static final String EVENT_REVOKE = "R";
+    private static final String EVENT_UNREVOKE = "U";
+    private static final String EVENT_CLEAR = "C";
+
+    private static final int SCAN_BATCH_SIZE = 500;
+    private static final long LEGACY_ENTRY_TTL_SECONDS = 30L * 24 * 3600; // 값에 exp가 없는 기존 항목 (최대 토큰 수명)
+    private static final long UNSYNCED_RETRY_MILLIS = TimeUnit.SECONDS.toMillis(10); // 구독은 활성인데 동기화 전인 경우 재시도 주기
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RevokedTokenBloomFilter bloomFilter;
+    private final UserTokenWatermarkService watermarkService;
+    private final TimingWheel timingWheel;
+    private final Optional<RedisMessageListenerContainer> listenerContainer;
+    private final long resyncIntervalMillis;
+    private final int maxLocalEntries;
+    private final ExecutorService syncExecutor; // 요청 스레드를 막지 않도록 재동기화 전용 스레드 하나
+
+    // 로컬 사본: jti -> exp (epoch seconds)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    // 회전을 예약해 둔 Bloom filter 구간 종료 시각 (구간당 예약 하나)
+    private final Set<Long> scheduledRotations = ConcurrentHashMap.newKeySet();
+
+    // pub/sub 구독과 초기 동기화가 모두 완료되면 로컬 사본만으로 판단
+    private volatile boolean synced = false;
+    private final AtomicBoolean syncInProgress = new AtomicBoolean(false);
+    private final AtomicLong lastSyncAt = new AtomicLong(0);
+
+    // 상한 때문에 로컬 사본에 담지 못한 항목 수, completeAtDropCount와 다르면 로컬 미스를 확정으로 볼 수 없음
+    private final AtomicLong droppedCount = new AtomicLong(0);
+    private volatile long completeAtDropCount = 0;
+
+    // Metrics
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder purgedCount = new LongAdder();
+    private final Counter redisFallbackCounter;
+
+    public TokenBlacklistService(RedisTemplate<String, String> redisTemplate,
+                                 RevokedTokenBloomFilter bloomFilter,
+                                 UserTokenWatermarkService watermarkService,
+                                 TimingWheel timingWheel,
+                                 Optional<RedisMessageListenerContainer> listenerContainer,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${oauth.revocation.resync-interval-seconds:300}") long resyncIntervalSeconds,
+                                 @Value("${oauth.revocation.local-max-entries:200000}") int maxLocalEntries) {
+        this.redisTemplate = redisTemplate;
+        this.bloomFilter = bloomFilter;
+        this.watermarkService = watermarkService;
+        this.timingWheel = timingWheel;
+        this.listenerContainer = listenerContainer;
+        this.resyncIntervalMillis = TimeUnit.SECONDS.toMillis(resyncIntervalSeconds);
+        this.maxLocalEntries = maxLocalEntries;
+        this.syncExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-blacklist-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // 다른 인스턴스의 무효화 이벤트 구독
+        listenerContainer.ifPresent(container -> container.addMessageListener(
+                (message, pattern) -> handleEvent(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(EVENT_CHANNEL)));
+        if (listenerContainer.isEmpty()) {
+            log.warn("RedisMessageListenerContainer not available - token revocation checks will query Redis directly");
+        }
+
+        this.redisFallbackCounter = Counter.builder("token_revocation_redis_lookup_count")
+                .description("Number of revocation checks that had to query Redis")
+                .register(meterRegistry);
+
+        Gauge.builder("token_revocation_local_size", revokedTokens, Map::size)
+                .description("Number of revoked tokens mirrored locally")
+                .register(meterRegistry);
+        Gauge.builder("token_revocation_local_dropped_count", droppedCount, AtomicLong::get)
+                .description("Number of revoked tokens not mirrored locally because the local size limit was reached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 기동 완료 후 Redis의 블랙리스트를 로컬 사본으로 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (syncInProgress.compareAndSet(false, true)) {
+            synchronizeSafely();
+        }
     }
-    
+
     /**
-     * 토큰을 블랙리스트에 추가합니다 (로그아웃 시 호출)
+     * 토큰을 블랙리스트에 추가합니다 (로그아웃/토큰 폐기 시 호출)
+     * Redis 항목은 토큰의 남은 수명이 지나면 자동 삭제됩니다.
      */
     public void blacklistToken(String tokenId, long expirationTime) {
         if (tokenId == null || tokenId.trim().isEmpty()) {
             log.warn("Attempted to blacklist null or empty token");
             return;
         }
-        
-        // Unix timestamp를 LocalDateTime으로 변환
-        LocalDateTime expirationDateTime = Instant.ofEpochSecond(expirationTime)
-                .atZone(ZoneOffset.UTC)
-                .toLocalDateTime();
-        
-        blacklistedTokens.put(tokenId, expirationDateTime);
-        log.info("Token blacklisted: {} (expires at: {})", 
-                tokenId.substring(0, Math.min(10, tokenId.length())) + "...", 
-                expirationDateTime);
+
+        long ttl = expirationTime - nowEpochSeconds();
+        if (ttl <= 0) {
+            log.debug("Token already expired, skipping blacklist: {}", abbreviate(tokenId));
+            return;
+        }
+
+        track(tokenId, expirationTime);
+
+        try {
+            redisTemplate.opsForValue().set(BLACKLIST_KEY_PREFIX + tokenId, String.valueOf(expirationTime), ttl, TimeUnit.SECONDS);
+            redisTemplate.convertAndSend(EVENT_CHANNEL, EVENT_REVOKE + "|" + expirationTime + "|" + tokenId);
+            log.info("Token blacklisted: {} (expires in {}s)", abbreviate(tokenId), ttl);
+        } catch (Exception e) {
+            log.error("Failed to store token revocation in Redis (kept locally only): {}", e.getMessage());
+        }
     }
-    
+
+    /**
+     * 검증된 토큰을 블랙리스트에 추가합니다
+     */
+    public void revoke(VerifiedToken token) {
+        blacklistToken(token.getJti(), token.getExpiresAt().getEpochSecond());
+    }
+
+    /**
+     * 검증된 토큰의 무효화 여부 (JwtAuthenticationFilter에서 요청마다 호출)
+     * 사용자 워터마크 이전에 발급된 토큰은 jti와 무관하게 무효입니다.
+     * 동기화된 상태에서 Bloom filter가 음성이면 블랙리스트 조회 없이 바로 false를 반환합니다.
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        if (watermarkService.isInvalidated(token)) {
+            log.debug("Token issued before user watermark: {}", token.getUserId());
+            return true;
+        }
+
+        String tokenId = token.getJti();
+        if (synced && tokenId != null && token.getExpiresAt() != null) {
+            maybeMaintain();
+            if (!bloomFilter.mightContain(tokenId, token.getExpiresAt().getEpochSecond())) {
+                missCount.increment();
+                return false;
+            }
+
+            boolean revoked = isTokenBlacklisted(tokenId);
+            if (!revoked) {
+                bloomFilter.recordFalsePositive();
+            }
+            return revoked;
+        }
+
+        // 동기화 전에는 필터가 불완전하므로 사용하지 않음
+        return isTokenBlacklisted(tokenId);
+    }
+
     /**
      * 토큰이 블랙리스트에 있는지 확인합니다
      */
@@ -56,40 +210,28 @@ public class TokenBlacklistService {
         if (tokenId == null || tokenId.trim().isEmpty()) {
             return false;
         }
-        
-        LocalDateTime blacklistTime = blacklistedTokens.getIfPresent(tokenId);
-        boolean isBlacklisted = blacklistTime != null;
-        
-        if (isBlacklisted) {
-            log.debug("Token found in blacklist: {} (blacklisted at: {})", 
-                    tokenId.substring(0, Math.min(10, tokenId.length())) + "...", 
-                    blacklistTime);
-        }
-        
-        return isBlacklisted;
-    }
-    
-    /**
-     * 만료된 토큰들을 수동으로 정리합니다
-     */
-    public void cleanupExpiredTokens() {
-        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
-        int initialSize = (int) blacklistedTokens.size();
-        
-        // 만료된 토큰들 제거
-        blacklistedTokens.asMap().entrySet().removeIf(entry -> 
-                entry.getValue().isBefore(now)
-        );
-        
-        int finalSize = (int) blacklistedTokens.size();
-        int removed = initialSize - finalSize;
-        
-        if (removed > 0) {
-            log.info("Cleaned up {} expired tokens from blacklist. Current size: {}", 
-                    removed, finalSize);
-        }
-    }
-    
+
+        maybeMaintain();
+
+        Long expiration = revokedTokens.get(tokenId);
+        if (expiration != null) {
+            if (expiration > nowEpochSeconds()) {
+                hitCount.increment();
+                log.debug("Token found in blacklist: {}", abbreviate(tokenId));
+                return true;
+            }
+            revokedTokens.remove(tokenId, expiration);
+        }
+
+        if (synced && isLocalComplete()) {
+            missCount.increment();
+            return false;
+        }
+
+        // 로컬 사본이 동기화되지 않았거나 상한 때문에 빠진 항목이 있으면 Redis 직접 조회
+        return isBlacklistedInRedis(tokenId);
+    }
+
     /**
      * 특정 토큰을 블랙리스트에서 제거합니다 (관리자 기능)
      */
@@ -97,37 +239,302 @@ public class TokenBlacklistService {
         if (tokenId == null || tokenId.trim().isEmpty()) {
             return;
         }
-        
-        LocalDateTime removed = blacklistedTokens.asMap().remove(tokenId);
-        if (removed != null) {
-            log.info("Token manually removed from blacklist: {}", 
-                    tokenId.substring(0, Math.min(10, tokenId.length())) + "...");
+
+        revokedTokens.remove(tokenId);
+        try {
+            redisTemplate.delete(BLACKLIST_KEY_PREFIX + tokenId);
+            redisTemplate.convertAndSend(EVENT_CHANNEL, EVENT_UNREVOKE + "|" + tokenId);
+            log.info("Token manually removed from blacklist: {}", abbreviate(tokenId));
+        } catch (Exception e) {
+            log.error("Failed to remove token revocation from Redis: {}", e.getMessage());
         }
     }
-    
+
     /**
      * 블랙리스트 전체를 초기화합니다 (관리자 기능 - 주의해서 사용)
      */
     public void clearBlacklist() {
-        int size = (int) blacklistedTokens.size();
-        blacklistedTokens.invalidateAll();
+        int size = revokedTokens.size();
+        revokedTokens.clear();
+        bloomFilter.clear();
+
+        try {
+            List<String> keys = new ArrayList<>();
+            try (Cursor<String> cursor = redisTemplate.scan(scanOptions())) {
+                while (cursor.hasNext()) {
+                    keys.add(cursor.next());
+                    if (keys.size() >= SCAN_BATCH_SIZE) {
+                        redisTemplate.delete(keys);
+                        keys.clear();
+                    }
+                }
+            }
+            if (!keys.isEmpty()) {
+                redisTemplate.delete(keys);
+            }
+            redisTemplate.convertAndSend(EVENT_CHANNEL, EVENT_CLEAR);
+        } catch (Exception e) {
+            log.error("Failed to clear token blacklist in Redis: {}", e.getMessage());
+        }
+
         log.warn("Entire token blacklist cleared. {} tokens were removed.", size);
     }
-    
+
     /**
      * 블랙리스트 통계 정보를 반환합니다
      */
     public BlacklistStats getBlacklistStats() {
-        var stats = blacklistedTokens.stats();
+        long hits = hitCount.sum();
+        long misses = missCount.sum();
+        long total = hits + misses;
+
         return BlacklistStats.builder()
-                .totalTokens((int) blacklistedTokens.size())
-                .hitCount(stats.hitCount())
-                .missCount(stats.missCount())
-                .hitRate(stats.hitRate())
-                .evictionCount(stats.evictionCount())
+                .totalTokens(revokedTokens.size())
+                .hitCount(hits)
+                .missCount(misses)
+                .hitRate(total == 0 ? 0.0 : (double) hits / total)
+                .evictionCount(purgedCount.sum())
+                .redisLookupCount((long) redisFallbackCounter.count())
+                .synced(synced)
                 .build();
     }
-    
+
+    /**
+     * Redis의 블랙리스트 전체를 SCAN으로 읽어 로컬 사본을 Redis와 맞춥니다
+     * 스캔 시작 전부터 로컬에 있었는데 Redis에 없는 항목은 놓친 해제(U)/초기화(C) 이벤트로 보고 제거합니다.
+     * 스캔 중에 추가된 항목은 스캔 위치에 따라 Redis에서 보지 못했을 수 있으므로 제거하지 않습니다.
+     */
+    void synchronize() {
+        long startedAt = System.currentTimeMillis();
+        long droppedBefore = droppedCount.get();
+        Set<String> localBefore = new HashSet<>(revokedTokens.keySet());
+        Set<String> present = new HashSet<>();
+
+        List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        try (Cursor<String> cursor = redisTemplate.scan(scanOptions())) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= SCAN_BATCH_SIZE) {
+                    loadBatch(batch, present);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            loadBatch(batch, present);
+        }
+
+        // 필터에서는 삭제할 수 없으므로 이후 조회는 오탐으로 처리
+        localBefore.removeAll(present);
+        localBefore.forEach(revokedTokens::remove);
+
+        if (droppedCount.get() == droppedBefore) {
+            completeAtDropCount = droppedBefore; // 스캔 중 빠진 항목이 없으면 Redis의 모든 항목이 로컬에 있음
+        }
+        lastSyncAt.set(System.currentTimeMillis());
+        synced = isSubscribed();
+        log.info("Token blacklist synchronized from Redis: {} entries, {} stale local entries removed in {}ms",
+                present.size(), localBefore.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * pub/sub 이벤트 처리
+     */
+    void handleEvent(String event) {
+        try {
+            String[] parts = event.split("\\|", 3);
+            switch (parts[0]) {
+                case EVENT_REVOKE -> track(parts[2], Long.parseLong(parts[1]));
+                case EVENT_UNREVOKE -> revokedTokens.remove(parts[1]); // 필터에서는 삭제할 수 없으므로 이후 조회는 오탐으로 처리
+                case EVENT_CLEAR -> {
+                    revokedTokens.clear();
+                    bloomFilter.clear();
+                }
+                default -> log.warn("Unknown token blacklist event: {}", event);
+            }
+        } catch (Exception e) {
+            log.warn("Malformed token blacklist event: {}", event);
+        }
+    }
+
+    /**
+     * 한 배치의 값을 읽어 로컬 사본에 반영하고, Redis에 있는 jti를 present에 기록
+     */
+    private void loadBatch(List<String> keys, Set<String> present) {
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        if (values == null) {
+            throw new IllegalStateException("Redis returned no values for blacklist batch"); // 일부만 읽은 채로 로컬 항목을 지우지 않도록
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            String value = values.get(i);
+            if (value != null) {
+                String tokenId = keys.get(i).substring(BLACKLIST_KEY_PREFIX.length());
+                remember(tokenId, value);
+                present.add(tokenId);
+            }
+        }
+    }
+
+    private boolean isBlacklistedInRedis(String tokenId) {
+        redisFallbackCounter.increment();
+        try {
+            String value = redisTemplate.opsForValue().get(BLACKLIST_KEY_PREFIX + tokenId);
+            if (value == null) {
+                missCount.increment();
+                return false;
+            }
+
+            remember(tokenId, value);
+            hitCount.increment();
+            return true;
+        } catch (Exception e) {
+            // Redis 장애 시 로컬 사본 기준으로만 판단 (fail-open)
+            log.warn("Token revocation lookup failed, falling back to local state: {}", e.getMessage());
+            missCount.increment();
+            return false;
+        }
+    }
+
+    /**
+     * 요청 경로에서 주기적으로 재동기화 (전용 스레드에서 한 번에 하나만, 만료 항목 정리는 타이밍 휠이 담당)
+     */
+    private void maybeMaintain() {
+        // 구독이 끊긴 동안의 이벤트는 유실되므로 Redis 조회로 전환 (다시 구독되면 재동기화 후 복귀)
+        if (synced && listenerContainer.isPresent() && !isSubscribed()) {
+            synced = false;
+            log.warn("Token blacklist subscription is not active - revocation checks will query Redis until resynchronized");
+        }
+
+        // 놓친 pub/sub 이벤트 보정 및 초기 동기화 실패 시 재시도
+        if (!isResyncDue() || !syncInProgress.compareAndSet(false, true)) {
+            return;
+        }
+        if (!isResyncDue()) {
+            syncInProgress.set(false); // 확인과 CAS 사이에 다른 동기화가 끝남
+            return;
+        }
+        syncExecutor.execute(this::synchronizeSafely);
+    }
+
+    private boolean isResyncDue() {
+        long interval = !synced && isSubscribed() ? Math.min(resyncIntervalMillis, UNSYNCED_RETRY_MILLIS) : resyncIntervalMillis;
+        return System.currentTimeMillis() - lastSyncAt.get() >= interval;
+    }
+
+    /**
+     * pub/sub 구독이 실제로 활성화되어 있는지 (컨테이너가 있어도 연결 전이거나 끊긴 경우 false)
+     */
+    private boolean isSubscribed() {
+        return listenerContainer.map(RedisMessageListenerContainer::isListening).orElse(false);
+    }
+
+    private boolean isLocalComplete() {
+        return droppedCount.get() == completeAtDropCount;
+    }
+
+    /**
+     * 동기화 실행 후 진행 표시 해제 (호출 전에 syncInProgress를 획득해야 함)
+     */
+    private void synchronizeSafely() {
+        try {
+            synchronize();
+        } catch (Exception e) {
+            // 이미 동기화된 사본은 pub/sub으로 계속 갱신되므로 유지
+            lastSyncAt.set(System.currentTimeMillis());
+            log.warn("Token blacklist synchronization failed: {}", e.getMessage());
+        } finally {
+            syncInProgress.set(false);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        syncExecutor.shutdownNow();
+    }
+
+    private ScanOptions scanOptions() {
+        return ScanOptions.scanOptions()
+                .match(BLACKLIST_KEY_PREFIX + "*")
+                .count(1000)
+                .build();
+    }
+
+    /**
+     * Redis에 저장된 값(exp epoch seconds)으로 로컬 사본과 Bloom filter에 반영
+     * 기존 "revoked" 값은 exp를 알 수 없으므로 최대 토큰 수명으로 간주합니다.
+     */
+    private void remember(String tokenId, String value) {
+        long expiration;
+        try {
+            expiration = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            long legacyExpiration = nowEpochSeconds() + LEGACY_ENTRY_TTL_SECONDS;
+            bloomFilter.putUnbounded(tokenId, legacyExpiration);
+            scheduleRotation(legacyExpiration);
+            mirror(tokenId, legacyExpiration);
+            return;
+        }
+        track(tokenId, expiration);
+    }
+
+    /**
+     * Bloom filter와 로컬 사본에 추가하고, 구간 회전과 항목 만료를 타이밍 휠에 예약
+     */
+    private void track(String tokenId, long expiration) {
+        bloomFilter.put(tokenId, expiration);
+        scheduleRotation(expiration);
+        mirror(tokenId, expiration);
+    }
+
+    /**
+     * exp가 속한 구간이 끝나는 시각에 Bloom filter 회전 예약 (구간당 예약 하나)
+     */
+    private void scheduleRotation(long expiration) {
+        long bucketEnd = bloomFilter.bucketEndEpochSecond(expiration);
+        if (scheduledRotations.add(bucketEnd)) {
+            timingWheel.schedule(TimeUnit.SECONDS.toMillis(bucketEnd), () -> {
+                scheduledRotations.remove(bucketEnd);
+                bloomFilter.rotate();
+            });
+        }
+    }
+
+    /**
+     * 로컬 사본에 더 늦은 exp로 반영된 경우에만 만료 예약 (재동기화로 같은 항목을 다시 읽어도 예약이 늘지 않음)
+     */
+    private void mirror(String tokenId, long expiration) {
+        if (revokedTokens.size() >= maxLocalEntries && !revokedTokens.containsKey(tokenId)) {
+            droppedCount.incrementAndGet(); // Bloom filter에는 들어 있으므로 양성 조회는 Redis로 확인
+            return;
+        }
+
+        boolean[] extended = {false};
+        revokedTokens.compute(tokenId, (id, current) -> {
+            if (current != null && current >= expiration) {
+                return current;
+            }
+            extended[0] = true;
+            return expiration;
+        });
+
+        if (extended[0]) {
+            timingWheel.schedule(TimeUnit.SECONDS.toMillis(expiration), () -> {
+                if (revokedTokens.remove(tokenId, expiration)) {
+                    purgedCount.increment();
+                }
+            });
+        }
+    }
+
+    private static long nowEpochSeconds() {
+        return Instant.now().getEpochSecond();
+    }
+
+    private static String abbreviate(String tokenId) {
+        return tokenId.substring(0, Math.min(10, tokenId.length())) + "...";
+    }
+
     /**
      * 블랙리스트 통계 정보를 담는 클래스
      */
@@ -139,5 +546,7 @@ public class TokenBlacklistService {
         private long missCount;
         private double hitRate;
         private long evictionCount;
+        private long redisLookupCount;
+        private boolean synced;
     }
-}
\ No newline at end of file
+}
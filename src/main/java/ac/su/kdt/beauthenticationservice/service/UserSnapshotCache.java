@@ -0,0 +1,224 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import ac.su.kdt.beauthenticationservice.model.dto.UserChangedEvent;
+import ac.su.kdt.beauthenticationservice.model.dto.UserSnapshot;
+import ac.su.kdt.beauthenticationservice.model.entity.User;
+import ac.su.kdt.beauthenticationservice.repository.UserRepository;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자 스냅샷 2단계 캐시 (인스턴스 로컬 + Redis 공유)
+ * 로컬 캐시(크기 제한) 미스 시 Redis 해시(user_snapshot:{userId})를 조회하고, 둘 다 없을 때만 DB에서 읽어 양쪽에 채웁니다.
+ * 같은 사용자의 동시 미스는 로컬 캐시가 한 번의 조회로 합칩니다.
+ * 사용자 변경(UserChangedEvent)은 트랜잭션 커밋 후 로컬/Redis에서 지우고, Redis pub/sub으로 다른 인스턴스의 로컬 캐시도 지웁니다.
+ * 무효화는 사용자별 버전(user_snapshot_version:{userId})을 올리고, DB에서 읽은 스냅샷은 DB 조회 전에 읽은 버전이 그대로일 때만
+ * Redis에 기록하므로, DB 조회와 기록 사이에 커밋된 변경의 무효화를 오래된 스냅샷이 덮어쓰지 않습니다.
+ * 이벤트 없이 DB가 바뀐 경우(다른 서비스의 티켓 변경 등)는 각 단계의 TTL이 지나면 반영됩니다.
+ */
+@Slf4j
+@Service
+public class UserSnapshotCache {
+
+    static final String SNAPSHOT_KEY_PREFIX = "user_snapshot:";
+    static final String VERSION_KEY_PREFIX = "user_snapshot_version:";
+    static final String EVENT_CHANNEL = "user_snapshot:events";
+
+    private static final RedisScript<Long> WRITE_SCRIPT = RedisScript.of(new ClassPathResource("scripts/user_snapshot_write.lua"), Long.class);
+
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final long redisTtlSeconds;
+
+    // userId -> 스냅샷 (없는 사용자는 캐시하지 않음)
+    private final Cache<String, UserSnapshot> snapshots;
+
+    // 로컬 무효화 횟수 (로드 중에 무효화가 있었으면 로드한 스냅샷을 로컬 캐시에 남기지 않음)
+    private final AtomicLong localInvalidations = new AtomicLong();
+
+    // Metrics
+    private final Counter redisLookupCounter;
+    private final Counter databaseLoadCounter;
+    private final Counter invalidationCounter;
+
+    public UserSnapshotCache(UserRepository userRepository,
+                             RedisTemplate<String, String> redisTemplate,
+                             RedisCircuitBreaker redisCircuitBreaker,
+                             Optional<RedisMessageListenerContainer> listenerContainer,
+                             MeterRegistry meterRegistry,
+                             @Value("${oauth.user-cache.local-max-size:10000}") long localMaxSize,
+                             @Value("${oauth.user-cache.local-ttl-seconds:60}") long localTtlSeconds,
+                             @Value("${oauth.user-cache.redis-ttl-seconds:300}") long redisTtlSeconds) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.redisCircuitBreaker = redisCircuitBreaker;
+        this.redisTtlSeconds = redisTtlSeconds;
+        this.snapshots = CacheBuilder.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtlSeconds, TimeUnit.SECONDS) // pub/sub 이벤트 유실 보정
+                .build();
+
+        // 다른 인스턴스의 사용자 변경 구독
+        listenerContainer.ifPresent(container -> container.addMessageListener(
+                (message, pattern) -> invalidateLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(EVENT_CHANNEL)));
+
+        this.redisLookupCounter = Counter.builder("user_snapshot_redis_lookup_count")
+                .description("Number of user snapshot lookups that missed the local cache and queried Redis")
+                .register(meterRegistry);
+
+        this.databaseLoadCounter = Counter.builder("user_snapshot_db_load_count")
+                .description("Number of user snapshot lookups that had to query the database")
+                .register(meterRegistry);
+
+        this.invalidationCounter = Counter.builder("user_snapshot_invalidation_count")
+                .description("Number of user snapshot invalidations after user changes")
+                .register(meterRegistry);
+
+        Gauge.builder("user_snapshot_cache_size", snapshots, Cache::size)
+                .description("Number of user snapshots cached locally")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 사용자 스냅샷 조회 (로컬 -> Redis -> DB)
+     */
+    public Optional<UserSnapshot> get(String userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+
+        try {
+            long invalidationsBefore = localInvalidations.get();
+            boolean[] loaded = {false};
+            UserSnapshot snapshot = snapshots.get(userId, () -> {
+                loaded[0] = true;
+                return load(userId);
+            });
+            if (loaded[0] && localInvalidations.get() != invalidationsBefore) {
+                snapshots.invalidate(userId); // 로드 중 무효화: 이번 응답에만 쓰고 다음 조회에서 다시 로드
+            }
+            return Optional.of(snapshot);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (!(e.getCause() instanceof UserNotFoundException)) {
+                log.warn("User snapshot lookup failed for user {}: {}", userId, e.getCause().getMessage());
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 사용자 변경 커밋 후 무효화 (트랜잭션 밖에서 발행되면 즉시)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    /**
+     * 로컬/Redis 스냅샷 삭제 후 다른 인스턴스에 전파 (Redis 장애 시 로컬만, 공유 스냅샷은 TTL로 만료)
+     * 버전을 먼저 올린 뒤 지우므로, 진행 중이던 DB 로드는 삭제 전후 어느 쪽이든 오래된 스냅샷을 남기지 못합니다.
+     */
+    public void invalidate(String userId) {
+        if (userId == null) {
+            return;
+        }
+
+        invalidateLocal(userId);
+        invalidationCounter.increment();
+
+        boolean propagated = redisCircuitBreaker.execute("user_snapshot_invalidate", () -> {
+            String versionKey = VERSION_KEY_PREFIX + userId;
+            redisTemplate.opsForValue().increment(versionKey);
+            redisTemplate.expire(versionKey, redisTtlSeconds, TimeUnit.SECONDS);
+            redisTemplate.delete(SNAPSHOT_KEY_PREFIX + userId);
+            redisTemplate.convertAndSend(EVENT_CHANNEL, userId);
+            return true;
+        }, () -> false);
+        if (!propagated) {
+            log.warn("User snapshot for {} invalidated locally only (Redis unavailable)", userId);
+        }
+    }
+
+    private void invalidateLocal(String userId) {
+        localInvalidations.incrementAndGet();
+        snapshots.invalidate(userId);
+    }
+
+    private UserSnapshot load(String userId) throws UserNotFoundException {
+        redisLookupCounter.increment();
+        Map<String, String> shared = redisCircuitBreaker.execute("user_snapshot_read",
+                () -> redisTemplate.<String, String>opsForHash().entries(SNAPSHOT_KEY_PREFIX + userId), Map::of);
+        UserSnapshot snapshot = shared != null && !shared.isEmpty() ? UserSnapshot.fromFields(shared) : null;
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        // DB 조회 전 버전 ('' = 없음, null = Redis 장애로 알 수 없어 기록하지 않음)
+        String version = redisCircuitBreaker.execute("user_snapshot_version",
+                () -> Objects.requireNonNullElse(redisTemplate.opsForValue().get(VERSION_KEY_PREFIX + userId), ""),
+                () -> null);
+
+        databaseLoadCounter.increment();
+        Optional<User> user = userRepository.findById(userId);
+        if (user.isEmpty()) {
+            throw new UserNotFoundException();
+        }
+
+        snapshot = UserSnapshot.from(user.get());
+        if (version != null) {
+            writeShared(snapshot, version);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 버전이 DB 조회 전과 같을 때만 Redis에 기록 (그 사이 무효화되었으면 건너뜀)
+     */
+    private void writeShared(UserSnapshot snapshot, String version) {
+        List<Object> args = new ArrayList<>(List.of(version, String.valueOf(redisTtlSeconds)));
+        snapshot.toFields().forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+
+        redisCircuitBreaker.execute("user_snapshot_write", () -> redisTemplate.execute(WRITE_SCRIPT,
+                List.of(SNAPSHOT_KEY_PREFIX + snapshot.getId(), VERSION_KEY_PREFIX + snapshot.getId()),
+                args.toArray()), () -> 0L);
+    }
+
+    /**
+     * DB에 없는 사용자 (로컬 캐시에 남기지 않기 위한 로더 예외)
+     */
+    private static final class UserNotFoundException extends Exception {
+
+        private UserNotFoundException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import ac.su.kdt.beauthenticationservice.jwt.VerifiedToken;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 사용자별 토큰 무효화 워터마크 서비스
+ * "이 시각 이전에 발급된 토큰은 모두 무효"라는 시각을 사용자별로 Redis(token_watermark:{userId})에 저장합니다.
+ * 워터마크와 토큰 발급 시각은 밀리초 단위로 비교하므로(iat_ms), 무효화 직후 같은 초에 새로 발급된 토큰은 유효합니다.
+ * 토큰의 발급 시각과 한 번 비교하면 되므로, 사용자의 토큰이 몇 개든 한 번의 쓰기로 모든 세션을 무효화할 수 있습니다.
+ * 각 인스턴스는 워터마크를 로컬에 캐시하고 Redis pub/sub으로 변경을 전파받습니다.
+ */
+@Slf4j
+@Service
+public class UserTokenWatermarkService {
+
+    static final String WATERMARK_KEY_PREFIX = "token_watermark:";
+    static final String EVENT_CHANNEL = "token_watermark:events";
+
+    private static final long NO_WATERMARK = 0L;
+    private static final long MAX_CACHED_USERS = 100_000;
+    private static final long MAX_EPOCH_SECONDS = 100_000_000_000L; // 이보다 작은 값은 이전 버전이 초 단위로 저장한 워터마크
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final long retentionSeconds;
+    private final LongSupplier clock;
+
+    // userId -> watermark (epoch millis, 0이면 워터마크 없음)
+    private final Cache<String, Long> watermarks;
+
+    // Metrics
+    private final Counter redisLookupCounter;
+    private final Counter invalidationCounter;
+
+    @Autowired
+    public UserTokenWatermarkService(RedisTemplate<String, String> redisTemplate,
+                                     Optional<RedisMessageListenerContainer> listenerContainer,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${oauth.jwt.refresh-token-expiration:2592000}") long retentionSeconds,
+                                     @Value("${oauth.revocation.watermark-cache-seconds:300}") long cacheSeconds) {
+        this(redisTemplate, listenerContainer, meterRegistry, retentionSeconds, cacheSeconds, System::currentTimeMillis);
+    }
+
+    UserTokenWatermarkService(RedisTemplate<String, String> redisTemplate,
+                              Optional<RedisMessageListenerContainer> listenerContainer,
+                              MeterRegistry meterRegistry,
+                              long retentionSeconds,
+                              long cacheSeconds,
+                              LongSupplier clock) {
+        this.redisTemplate = redisTemplate;
+        this.retentionSeconds = retentionSeconds;
+        this.clock = clock;
+        this.watermarks = CacheBuilder.newBuilder()
+                .maximumSize(MAX_CACHED_USERS)
+                .expireAfterWrite(cacheSeconds, TimeUnit.SECONDS) // pub/sub 이벤트 유실 보정
+                .build();
+
+        // 다른 인스턴스의 워터마크 변경 구독
+        listenerContainer.ifPresent(container -> container.addMessageListener(
+                (message, pattern) -> handleEvent(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(EVENT_CHANNEL)));
+
+        this.redisLookupCounter = Counter.builder("token_watermark_redis_lookup_count")
+                .description("Number of watermark lookups that had to query Redis")
+                .register(meterRegistry);
+
+        this.invalidationCounter = Counter.builder("token_watermark_invalidation_count")
+                .description("Number of per-user token invalidations")
+                .register(meterRegistry);
+
+        Gauge.builder("token_watermark_cache_size", watermarks, Cache::size)
+                .description("Number of user watermarks cached locally")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 사용자의 현재까지 발급된 모든 토큰 무효화 (비밀번호 변경, 계정 비활성화, 권한 변경 시 호출)
+     * 워터마크는 현재 시각 + 1ms이므로 무효화와 같은 밀리초에 발급된 토큰까지만 무효화됩니다.
+     */
+    public void invalidateAllTokens(String userId) {
+        if (userId == null || userId.isEmpty()) {
+            return;
+        }
+
+        long watermark = clock.getAsLong() + 1;
+        watermarks.asMap().merge(userId, watermark, Math::max);
+        invalidationCounter.increment();
+
+        try {
+            // 가장 긴 토큰 수명이 지나면 이전 토큰은 모두 만료되므로 워터마크도 필요 없음
+            redisTemplate.opsForValue().set(WATERMARK_KEY_PREFIX + userId, String.valueOf(watermark),
+                    retentionSeconds, TimeUnit.SECONDS);
+            redisTemplate.convertAndSend(EVENT_CHANNEL, userId + "|" + watermark);
+            log.info("All tokens invalidated for user: {}", userId);
+        } catch (Exception e) {
+            log.error("Failed to store token watermark in Redis for user {} (kept locally only): {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 토큰이 사용자 워터마크 이전에 발급되었는지 확인
+     */
+    public boolean isInvalidated(VerifiedToken token) {
+        if (token.getUserId() == null || token.getIssuedAt() == null) {
+            return false;
+        }
+
+        long watermark = getWatermark(token.getUserId());
+        return watermark != NO_WATERMARK && token.getIssuedAt().toEpochMilli() < watermark;
+    }
+
+    /**
+     * 사용자 워터마크 조회 (epoch millis, 로컬 캐시 미스 시에만 Redis 조회)
+     * Redis 조회 실패는 캐시하지 않으므로, 이번 호출만 워터마크 없음으로 간주(fail-open)하고 다음 호출에서 다시 조회합니다.
+     */
+    public long getWatermark(String userId) {
+        try {
+            return watermarks.get(userId, () -> loadWatermark(userId));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            log.warn("Token watermark lookup failed for user {}: {}", userId, e.getCause().getMessage());
+            return NO_WATERMARK;
+        }
+    }
+
+    /**
+     * pub/sub 이벤트 처리 (형식: userId|watermark)
+     */
+    void handleEvent(String event) {
+        try {
+            int separator = event.lastIndexOf('|');
+            watermarks.asMap().merge(event.substring(0, separator), toMillis(Long.parseLong(event.substring(separator + 1))), Math::max);
+        } catch (Exception e) {
+            log.warn("Malformed token watermark event: {}", event);
+        }
+    }
+
+    /**
+     * Redis에서 워터마크 조회, 실패 시 예외를 그대로 던져 캐시에 남기지 않음
+     */
+    private long loadWatermark(String userId) {
+        redisLookupCounter.increment();
+        String value = redisTemplate.opsForValue().get(WATERMARK_KEY_PREFIX + userId);
+        return value != null ? toMillis(Long.parseLong(value)) : NO_WATERMARK;
+    }
+
+    /**
+     * 이전 버전이 초 단위로 저장/전파한 워터마크를 밀리초로 변환
+     */
+    static long toMillis(long watermark) {
+        return watermark > NO_WATERMARK && watermark < MAX_EPOCH_SECONDS ? TimeUnit.SECONDS.toMillis(watermark) : watermark;
+    }
+}
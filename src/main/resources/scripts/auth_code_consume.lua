@@ -0,0 +1,11 @@
+-- 인가 코드 소비: 해시를 읽고 바로 삭제 (원자적이므로 같은 코드로 동시에 요청해도 한 요청만 데이터를 받음)
+-- KEYS[1] = oauth:auth_code:<code>
+-- 반환: 필드/값 평탄 목록 (없거나 만료되었으면 빈 목록)
+-- 인덱스의 항목은 다음 발급 시 만료 시각 기준으로 정리됩니다.
+if redis.call('TYPE', KEYS[1]).ok ~= 'hash' then
+    return {} -- 없음 또는 이전 형식(문자열) 코드
+end
+
+local fields = redis.call('HGETALL', KEYS[1])
+redis.call('DEL', KEYS[1])
+return fields
@@ -0,0 +1,14 @@
+-- 인가 코드 발급: 코드 해시 저장과 사용자/클라이언트 인덱스 갱신을 한 번의 왕복으로 처리
+-- KEYS[1] = oauth:auth_code:<code>, KEYS[2] = oauth:auth_code_index:user:<userId>, KEYS[3] = oauth:auth_code_index:client:<clientId>
+-- ARGV[1] = code, ARGV[2] = 만료 시간(초), ARGV[3] = 현재 epoch 초, ARGV[4..] = 필드/값 쌍
+-- 인덱스는 sorted set (score = 코드 만료 시각)이며, 추가할 때마다 만료된 코드를 정리하므로 최근 만료 시간 내 발급분만 남습니다.
+redis.call('HSET', KEYS[1], unpack(ARGV, 4))
+redis.call('EXPIRE', KEYS[1], ARGV[2])
+
+local expiresAt = tonumber(ARGV[3]) + tonumber(ARGV[2])
+for i = 2, 3 do
+    redis.call('ZADD', KEYS[i], expiresAt, ARGV[1])
+    redis.call('ZREMRANGEBYSCORE', KEYS[i], '-inf', ARGV[3])
+    redis.call('EXPIRE', KEYS[i], ARGV[2])
+end
+return 1
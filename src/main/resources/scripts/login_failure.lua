@@ -0,0 +1,183 @@
+-- 로그인 실패 기록: 실패 횟수 증가, 기록 저장, 임계값 도달 시 잠금, 관리자 조회용 인덱스 갱신,
+-- IP/대역 빈도 sketch 갱신을 원자적으로 처리
+-- KEYS[1] = login_attempts:<email>, KEYS[2] = account_lock:<email>, KEYS[3] = login_history:<email>:<timestamp>
+-- KEYS[4] = login_index:failed,     KEYS[5] = login_index:locked, KEYS[6] = login_index:near_lock
+-- KEYS[7] = login_stats:counters,   KEYS[8] = login_stats:failures:<epoch 분>
+-- KEYS[9..12] = login_sketch:cms:<슬롯> (현재 슬롯부터 과거 순)
+-- KEYS[13] = login_sketch:top_ips,  KEYS[14] = login_sketch:top_prefixes, KEYS[15] = login_sketch:ip_details
+-- KEYS[16] = login_targets:ip:<IP>, KEYS[17] = login_targets:net:<대역> (대상 계정 HyperLogLog)
+-- KEYS[18] = login_index:failed_counts (실패 인덱스 계정별 마지막 실패 횟수, 총 실패 횟수 증감용)
+-- ARGV[1] = 최대 시도 횟수, ARGV[2] = 시도 추적 윈도우(초), ARGV[3] = 잠금 시간(초)
+-- ARGV[4] = IP, ARGV[5] = email, ARGV[6] = timestamp, ARGV[7] = 현재 시각(epoch 초), ARGV[8] = 경고 임계값
+-- ARGV[9] = 분 단위 실패 버킷 보관 시간(초), ARGV[10] = IP 대역('' = IP 형식 아님)
+-- ARGV[11] = sketch 너비, ARGV[12] = 상위 K, ARGV[13] = sketch 슬롯 보관 시간(초)
+-- 반환: {실패 횟수, 잠금 값('' = 잠금 없음), 잠금 TTL(초), 이번에 잠겼는지(0/1), IP 실패 추정값,
+--        IP 대상 계정 수 추정값, 대역 대상 계정 수 추정값}
+local now = tonumber(ARGV[7])
+local windowExpiresAt = now + tonumber(ARGV[2])
+
+-- 인덱스(KEYS[4..6])별 집계 카운터 필드, 인덱스에 새로 추가/제거될 때만 증감
+local COUNTER_FIELDS = {[4] = 'failed_accounts', [5] = 'locked_accounts', [6] = 'near_lock_accounts'}
+local function index(i, score, member)
+    if redis.call('ZADD', KEYS[i], score, member) == 1 then
+        redis.call('HINCRBY', KEYS[7], COUNTER_FIELDS[i], 1)
+    end
+end
+
+local attempts = redis.call('INCR', KEYS[1])
+redis.call('EXPIRE', KEYS[1], ARGV[2])
+
+-- 총 실패 횟수: 직전에 반영한 횟수와의 차이만 반영 (시도 키가 만료 후 다시 시작된 경우 이전 횟수 차감)
+local previousAttempts = tonumber(redis.call('HGET', KEYS[18], ARGV[5]) or '0')
+redis.call('HSET', KEYS[18], ARGV[5], attempts)
+redis.call('HINCRBY', KEYS[7], 'total_failed', attempts - previousAttempts)
+redis.call('SET', KEYS[3], 'FAILURE|' .. ARGV[4] .. '|' .. ARGV[6] .. '|attempt_' .. attempts, 'EX', ARGV[2])
+
+local newlyLocked = 0
+if attempts >= tonumber(ARGV[1]) then
+    -- 이미 잠긴 경우 최초 잠금 시각 유지
+    if redis.call('SET', KEYS[2], 'MAX_ATTEMPTS_EXCEEDED|' .. ARGV[4] .. '|' .. ARGV[6], 'NX', 'EX', ARGV[3]) then
+        newlyLocked = 1
+        index(5, now + tonumber(ARGV[3]), ARGV[5])
+    end
+end
+
+-- 인덱스 점수 = 원본 키의 만료 시각, 만료된 항목은 쓰기 시 정리
+index(4, windowExpiresAt, ARGV[5])
+if attempts >= tonumber(ARGV[8]) then
+    index(6, windowExpiresAt, ARGV[5])
+end
+-- 만료된 실패 계정의 마지막 실패 횟수를 총 실패 횟수에서 차감
+local expiredAccounts = redis.call('ZRANGEBYSCORE', KEYS[4], '-inf', now)
+-- unpack 인자 수 제한을 넘지 않도록 1000개씩 처리
+for offset = 1, #expiredAccounts, 1000 do
+    local chunk = {unpack(expiredAccounts, offset, math.min(offset + 999, #expiredAccounts))}
+    local expiredAttempts = 0
+    for _, count in ipairs(redis.call('HMGET', KEYS[18], unpack(chunk))) do
+        expiredAttempts = expiredAttempts + (tonumber(count) or 0)
+    end
+    redis.call('HDEL', KEYS[18], unpack(chunk))
+    redis.call('HINCRBY', KEYS[7], 'total_failed', -expiredAttempts)
+end
+for i = 4, 6 do
+    local expired = redis.call('ZREMRANGEBYSCORE', KEYS[i], '-inf', now)
+    if expired > 0 then
+        redis.call('HINCRBY', KEYS[7], COUNTER_FIELDS[i], -expired)
+    end
+end
+
+-- 분 단위 실패 버킷 (최근 N분 실패율)
+redis.call('INCR', KEYS[8])
+redis.call('EXPIRE', KEYS[8], ARGV[9])
+
+-- IP/대역 빈도: 슬롯별 Count-Min Sketch(BITFIELD u32, 고정 크기) + 추정값 기준 상위 K개 sorted set
+-- 공격 IP 수와 무관하게 메모리가 고정되며, IP별 키를 만들지 않음
+local DEPTH = 4
+local width = tonumber(ARGV[11])
+local topK = tonumber(ARGV[12])
+
+local function positions(item)
+    local digest = redis.sha1hex(item)
+    local result = {}
+    for row = 0, DEPTH - 1 do
+        result[row + 1] = row * width + tonumber(string.sub(digest, row * 8 + 1, row * 8 + 8), 16) % width
+    end
+    return result
+end
+
+-- 행별로 모든 슬롯을 합한 뒤 최솟값 (과대 추정만 가능)
+local function estimate(item)
+    local pos = positions(item)
+    local sums = {0, 0, 0, 0}
+    for slot = 9, 12 do
+        local args = {'BITFIELD', KEYS[slot]}
+        for row = 1, DEPTH do
+            table.insert(args, 'GET')
+            table.insert(args, 'u32')
+            table.insert(args, '#' .. pos[row])
+        end
+        local values = redis.call(unpack(args))
+        for row = 1, DEPTH do
+            sums[row] = sums[row] + values[row]
+        end
+    end
+    return math.min(sums[1], sums[2], sums[3], sums[4])
+end
+
+local function add(item)
+    local pos = positions(item)
+    local args = {'BITFIELD', KEYS[9], 'OVERFLOW', 'SAT'}
+    for row = 1, DEPTH do
+        table.insert(args, 'INCRBY')
+        table.insert(args, 'u32')
+        table.insert(args, '#' .. pos[row])
+        table.insert(args, 1)
+    end
+    redis.call(unpack(args))
+end
+
+-- 새 슬롯의 첫 기록이면 상위 K개 점수를 현재 윈도우 기준으로 다시 계산 (지난 공격의 높은 점수가 자리를 차지하지 않도록)
+if redis.call('EXISTS', KEYS[9]) == 0 then
+    for _, topKey in ipairs({KEYS[13], KEYS[14]}) do
+        local prefix = topKey == KEYS[13] and 'ip:' or 'net:'
+        for _, member in ipairs(redis.call('ZRANGE', topKey, 0, -1)) do
+            local value = estimate(prefix .. member)
+            if value > 0 then
+                redis.call('ZADD', topKey, value, member)
+            else
+                redis.call('ZREM', topKey, member)
+                if topKey == KEYS[13] then
+                    redis.call('HDEL', KEYS[15], member)
+                end
+            end
+        end
+    end
+    add('ip:' .. ARGV[4])
+    redis.call('EXPIRE', KEYS[9], ARGV[13])
+else
+    add('ip:' .. ARGV[4])
+end
+
+-- 상위 K개 유지: 추정값으로 갱신 후 초과분(가장 작은 항목) 제거
+local function offer(topKey, member, value)
+    redis.call('ZADD', topKey, value, member)
+    local overflow = redis.call('ZCARD', topKey) - topK
+    local evicted = {}
+    if overflow > 0 then
+        evicted = redis.call('ZRANGE', topKey, 0, overflow - 1)
+        redis.call('ZREMRANGEBYRANK', topKey, 0, overflow - 1)
+    end
+    redis.call('EXPIRE', topKey, ARGV[13])
+    return evicted
+end
+
+local ipEstimate = estimate('ip:' .. ARGV[4])
+for _, evicted in ipairs(offer(KEYS[13], ARGV[4], ipEstimate)) do
+    redis.call('HDEL', KEYS[15], evicted)
+end
+if redis.call('ZSCORE', KEYS[13], ARGV[4]) then
+    -- 상위 K개 IP에 한해 마지막 대상 계정과 시각 보관
+    redis.call('HSET', KEYS[15], ARGV[4], ARGV[5] .. '|' .. ARGV[6])
+    redis.call('EXPIRE', KEYS[15], ARGV[13])
+end
+
+if ARGV[10] ~= '' then
+    add('net:' .. ARGV[10])
+    offer(KEYS[14], ARGV[10], estimate('net:' .. ARGV[10]))
+end
+
+-- IP/대역별 대상 계정 수: 이메일 집합 대신 HyperLogLog (키당 최대 12KB, 오차 약 0.81%)
+-- 한 출처에서 여러 계정을 시도하는 credential stuffing 탐지용, 마지막 실패 후 시도 추적 윈도우 동안 유지
+redis.call('PFADD', KEYS[16], ARGV[5])
+redis.call('EXPIRE', KEYS[16], ARGV[2])
+local ipTargets = redis.call('PFCOUNT', KEYS[16])
+local prefixTargets = 0
+if ARGV[10] ~= '' then
+    redis.call('PFADD', KEYS[17], ARGV[5])
+    redis.call('EXPIRE', KEYS[17], ARGV[2])
+    prefixTargets = redis.call('PFCOUNT', KEYS[17])
+end
+
+local lock = redis.call('GET', KEYS[2]) or ''
+local lockTtl = redis.call('TTL', KEYS[2])
+return {attempts, lock, lockTtl, newlyLocked, ipEstimate, ipTargets, prefixTargets}
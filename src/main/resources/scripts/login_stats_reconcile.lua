@@ -0,0 +1,26 @@
+-- 집계 카운터 보정: 쓰기가 없는 동안 만료된 인덱스 항목을 정리하고 카운터를 인덱스 크기(ZCARD, O(1))로 맞춤
+-- 만료된 실패 계정의 마지막 실패 횟수는 총 실패 횟수(total_failed)에서 차감
+-- KEYS[1] = login_index:failed, KEYS[2] = login_index:locked, KEYS[3] = login_index:near_lock
+-- KEYS[4] = login_stats:counters, KEYS[5] = login_index:failed_counts
+-- ARGV[1] = 현재 시각(epoch 초)
+local COUNTER_FIELDS = {'failed_accounts', 'locked_accounts', 'near_lock_accounts'}
+
+local expiredAccounts = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1])
+-- unpack 인자 수 제한을 넘지 않도록 1000개씩 처리
+for offset = 1, #expiredAccounts, 1000 do
+    local chunk = {unpack(expiredAccounts, offset, math.min(offset + 999, #expiredAccounts))}
+    local expiredAttempts = 0
+    for _, count in ipairs(redis.call('HMGET', KEYS[5], unpack(chunk))) do
+        expiredAttempts = expiredAttempts + (tonumber(count) or 0)
+    end
+    redis.call('HDEL', KEYS[5], unpack(chunk))
+    redis.call('HINCRBY', KEYS[4], 'total_failed', -expiredAttempts)
+end
+
+for i = 1, 3 do
+    redis.call('ZREMRANGEBYSCORE', KEYS[i], '-inf', ARGV[1])
+    redis.call('HSET', KEYS[4], COUNTER_FIELDS[i], redis.call('ZCARD', KEYS[i]))
+end
+-- 이전 버전의 IP별 인덱스 필드 정리 (의심 IP 수는 상위 K개 sketch 집합 크기로 대체)
+redis.call('HDEL', KEYS[4], 'suspicious_ips')
+return 1
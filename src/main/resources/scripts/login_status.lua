@@ -0,0 +1,35 @@
+-- 로그인 전 잠금 상태, 실패 횟수, 출처(IP/대역)의 대상 계정 수와 IP 실패 추정값을 한 번에 조회
+-- KEYS[1] = account_lock:<email>, KEYS[2] = login_attempts:<email>
+-- KEYS[3] = login_targets:ip:<IP>, KEYS[4] = login_targets:net:<대역> (없는 키는 0)
+-- KEYS[5..8] = login_sketch:cms:<슬롯> (현재 슬롯부터 과거 순)
+-- ARGV[1] = sketch 항목('ip:<IP>', '' = 조회 안 함), ARGV[2] = sketch 너비
+-- 반환: {실패 횟수, 잠금 값('' = 잠금 없음), 잠금 TTL(초), IP 대상 계정 수, 대역 대상 계정 수, IP 실패 추정값}
+local lock = redis.call('GET', KEYS[1]) or ''
+local lockTtl = redis.call('TTL', KEYS[1])
+local attempts = tonumber(redis.call('GET', KEYS[2]) or '0')
+local ipTargets = redis.call('PFCOUNT', KEYS[3])
+local prefixTargets = redis.call('PFCOUNT', KEYS[4])
+
+-- Count-Min Sketch 추정값: 행별로 모든 슬롯을 합한 뒤 최솟값 (login_failure.lua와 같은 위치 계산)
+local ipFailures = 0
+if ARGV[1] ~= '' then
+    local DEPTH = 4
+    local width = tonumber(ARGV[2])
+    local digest = redis.sha1hex(ARGV[1])
+    local sums = {0, 0, 0, 0}
+    for slot = 5, 8 do
+        local args = {'BITFIELD', KEYS[slot]}
+        for row = 0, DEPTH - 1 do
+            table.insert(args, 'GET')
+            table.insert(args, 'u32')
+            table.insert(args, '#' .. (row * width + tonumber(string.sub(digest, row * 8 + 1, row * 8 + 8), 16) % width))
+        end
+        local values = redis.call(unpack(args))
+        for row = 1, DEPTH do
+            sums[row] = sums[row] + values[row]
+        end
+    end
+    ipFailures = math.min(sums[1], sums[2], sums[3], sums[4])
+end
+
+return {attempts, lock, lockTtl, ipTargets, prefixTargets, ipFailures}
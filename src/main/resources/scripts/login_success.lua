@@ -0,0 +1,20 @@
+-- 로그인 성공 기록: 실패 횟수와 잠금 초기화, 성공 기록 저장, 관리자 조회용 인덱스와 집계 카운터에서 제거
+-- KEYS[1] = login_attempts:<email>, KEYS[2] = account_lock:<email>, KEYS[3] = login_history:<email>
+-- KEYS[4] = login_index:failed, KEYS[5] = login_index:locked, KEYS[6] = login_index:near_lock
+-- KEYS[7] = login_stats:counters, KEYS[8] = login_index:failed_counts
+-- ARGV[1] = 기록 보관 시간(초), ARGV[2] = IP, ARGV[3] = timestamp, ARGV[4] = email
+local COUNTER_FIELDS = {[4] = 'failed_accounts', [5] = 'locked_accounts', [6] = 'near_lock_accounts'}
+
+redis.call('DEL', KEYS[1], KEYS[2])
+local previousAttempts = tonumber(redis.call('HGET', KEYS[8], ARGV[4]) or '0')
+if previousAttempts > 0 then
+    redis.call('HDEL', KEYS[8], ARGV[4])
+    redis.call('HINCRBY', KEYS[7], 'total_failed', -previousAttempts)
+end
+redis.call('SET', KEYS[3], 'SUCCESS|' .. ARGV[2] .. '|' .. ARGV[3], 'EX', ARGV[1])
+for i = 4, 6 do
+    if redis.call('ZREM', KEYS[i], ARGV[4]) == 1 then
+        redis.call('HINCRBY', KEYS[7], COUNTER_FIELDS[i], -1)
+    end
+end
+return 1
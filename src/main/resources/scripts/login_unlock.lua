@@ -0,0 +1,21 @@
+-- 관리자 수동 잠금 해제: 실패 횟수와 잠금 삭제, 관리자 조회용 인덱스와 집계 카운터에서 제거
+-- KEYS[1] = login_attempts:<email>, KEYS[2] = account_lock:<email>
+-- KEYS[3] = login_index:failed, KEYS[4] = login_index:locked, KEYS[5] = login_index:near_lock
+-- KEYS[6] = login_stats:counters, KEYS[7] = login_index:failed_counts
+-- ARGV[1] = email
+-- 반환: 잠금이 실제로 해제되었는지(0/1)
+local COUNTER_FIELDS = {[3] = 'failed_accounts', [4] = 'locked_accounts', [5] = 'near_lock_accounts'}
+
+local unlocked = redis.call('DEL', KEYS[2])
+redis.call('DEL', KEYS[1])
+local previousAttempts = tonumber(redis.call('HGET', KEYS[7], ARGV[1]) or '0')
+if previousAttempts > 0 then
+    redis.call('HDEL', KEYS[7], ARGV[1])
+    redis.call('HINCRBY', KEYS[6], 'total_failed', -previousAttempts)
+end
+for i = 3, 5 do
+    if redis.call('ZREM', KEYS[i], ARGV[1]) == 1 then
+        redis.call('HINCRBY', KEYS[6], COUNTER_FIELDS[i], -1)
+    end
+end
+return unlocked
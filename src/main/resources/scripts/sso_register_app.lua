@@ -0,0 +1,9 @@
+-- SSO 세션에 애플리케이션 등록 (필드 하나만 갱신하므로 동시에 등록해도 서로 덮어쓰지 않음)
+-- KEYS[1] = sso:v2:session:<sessionId>
+-- ARGV[1] = 애플리케이션 필드 (app:<applicationId>), ARGV[2] = 애플리케이션 이름
+-- 반환: 1 (등록), 0 (세션 없음 또는 만료, TTL 없는 키가 새로 생기지 않도록 쓰지 않음)
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return 0
+end
+redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+return 1
@@ -0,0 +1,10 @@
+-- SSO 토큰/세션 TTL 연장 (검증 시 마지막 연장 후 일정 시간이 지났을 때만 호출)
+-- KEYS[1] = sso:v2:token:<token>, KEYS[2] = sso:v2:session:<sessionId>
+-- ARGV[1] = TTL(초), ARGV[2] = 현재 epoch 초, ARGV[3] = 새 만료 시각(표시용)
+-- 반환: 1 (연장), 0 (그 사이 로그아웃/만료되어 토큰 없음)
+if redis.call('EXPIRE', KEYS[1], ARGV[1]) == 0 then
+    return 0
+end
+redis.call('EXPIRE', KEYS[2], ARGV[1])
+redis.call('HSET', KEYS[1], 'renewedAt', ARGV[2], 'expiresAt', ARGV[3])
+return 1
@@ -0,0 +1,45 @@
+-- 상위 K개 IP/대역 조회: 현재 윈도우의 Count-Min Sketch 추정값으로 점수를 갱신하고 0이 된 항목은 제거
+-- KEYS[1..4] = login_sketch:cms:<슬롯> (현재 슬롯부터 과거 순), KEYS[5] = 상위 K개 sorted set
+-- KEYS[6] = 상세 정보 hash (IP만 해당, 대역은 없는 키)
+-- ARGV[1] = sketch 너비, ARGV[2] = 항목 접두사 ('ip:' 또는 'net:')
+-- 반환: {member, 추정값, 상세 정보('' = 없음), ...} (추정값 내림차순)
+local DEPTH = 4
+local width = tonumber(ARGV[1])
+
+local function estimate(item)
+    local digest = redis.sha1hex(item)
+    local sums = {0, 0, 0, 0}
+    for slot = 1, 4 do
+        local args = {'BITFIELD', KEYS[slot]}
+        for row = 0, DEPTH - 1 do
+            local position = row * width + tonumber(string.sub(digest, row * 8 + 1, row * 8 + 8), 16) % width
+            table.insert(args, 'GET')
+            table.insert(args, 'u32')
+            table.insert(args, '#' .. position)
+        end
+        local values = redis.call(unpack(args))
+        for row = 1, DEPTH do
+            sums[row] = sums[row] + values[row]
+        end
+    end
+    return math.min(sums[1], sums[2], sums[3], sums[4])
+end
+
+for _, member in ipairs(redis.call('ZRANGE', KEYS[5], 0, -1)) do
+    local value = estimate(ARGV[2] .. member)
+    if value > 0 then
+        redis.call('ZADD', KEYS[5], value, member)
+    else
+        redis.call('ZREM', KEYS[5], member)
+        redis.call('HDEL', KEYS[6], member)
+    end
+end
+
+local result = {}
+local ranked = redis.call('ZREVRANGE', KEYS[5], 0, -1, 'WITHSCORES')
+for i = 1, #ranked, 2 do
+    table.insert(result, ranked[i])
+    table.insert(result, ranked[i + 1])
+    table.insert(result, redis.call('HGET', KEYS[6], ranked[i]) or '')
+end
+return result
@@ -0,0 +1,13 @@
+-- 사용자 스냅샷 공유 캐시 기록: DB 조회 전에 읽은 버전이 그대로일 때만 교체 (그 사이 무효화되었으면 오래된 스냅샷을 기록하지 않음)
+-- KEYS[1] = user_snapshot:<userId>, KEYS[2] = user_snapshot_version:<userId>
+-- ARGV[1] = DB 조회 전에 읽은 버전('' = 없음), ARGV[2] = 만료 시간(초), ARGV[3..] = 필드/값 쌍
+-- 반환: 기록했는지(0/1)
+if (redis.call('GET', KEYS[2]) or '') ~= ARGV[1] then
+    return 0
+end
+
+-- 이전 필드가 남지 않도록 교체
+redis.call('DEL', KEYS[1])
+redis.call('HSET', KEYS[1], unpack(ARGV, 3))
+redis.call('EXPIRE', KEYS[1], ARGV[2])
+return 1
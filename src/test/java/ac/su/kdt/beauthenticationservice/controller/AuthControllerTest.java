@@ -1,22 +1,38 @@
 package ac.su.kdt.beauthenticationservice.controller;
 
 import ac.su.kdt.beauthenticationservice.jwt.JwtService;
+import ac.su.kdt.beauthenticationservice.jwt.VerifiedToken;
+import ac.su.kdt.beauthenticationservice.model.dto.UserSnapshot;
 import ac.su.kdt.beauthenticationservice.model.entity.User;
+import ac.su.kdt.beauthenticationservice.security.LoginChallengeService;
+import ac.su.kdt.beauthenticationservice.security.LoginTarpit;
 import ac.su.kdt.beauthenticationservice.service.AuthService;
 import ac.su.kdt.beauthenticationservice.service.RedisLoginAttemptService;
+import ac.su.kdt.beauthenticationservice.service.TokenBlacklistService;
+import ac.su.kdt.beauthenticationservice.service.UserTokenWatermarkService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -40,6 +56,22 @@ class AuthControllerTest {
     @MockBean
     private JwtService jwtService;
     
+    @MockBean
+    private TokenBlacklistService tokenBlacklistService;
+    
+    @MockBean
+    private LoginChallengeService loginChallengeService;
+    
+    @TestConfiguration
+    static class TarpitConfig {
+        
+        // 잠김/차단 응답만 짧게 지연 (비동기 응답 경로 검증)
+        @Bean
+        LoginTarpit loginTarpit() {
+            return new LoginTarpit(new SimpleMeterRegistry(), 50, 100, 3, 100);
+        }
+    }
+    
     @Test
     @DisplayName("회원가입이 성공적으로 처리되어야 한다")
     void shouldSignUpSuccessfully() throws Exception {
@@ -91,7 +123,8 @@ class AuthControllerTest {
         
         AuthService.LoginResult successResult = AuthService.LoginResult.success(mockUser);
         
-        when(redisLoginAttemptService.isAccountLocked(anyString())).thenReturn(false);
+        when(redisLoginAttemptService.getLoginStatus(anyString(), anyString()))
+                .thenReturn(RedisLoginAttemptService.LoginAttemptStatus.builder().locked(false).build());
         when(authService.authenticateUser(anyString(), anyString(), anyString()))
                 .thenReturn(successResult);
         when(jwtService.generateAccessToken(anyString(), anyString(), anyString()))
@@ -100,9 +133,13 @@ class AuthControllerTest {
                 .thenReturn("refresh.token.here");
         
         // when & then
-        mockMvc.perform(post("/auth/login")
+        MvcResult asyncResult = mockMvc.perform(post("/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(asyncResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.accessToken").exists())
@@ -121,14 +158,19 @@ class AuthControllerTest {
         
         AuthService.LoginResult failureResult = AuthService.LoginResult.failure("Invalid email or password");
         
-        when(redisLoginAttemptService.isAccountLocked(anyString())).thenReturn(false);
+        when(redisLoginAttemptService.getLoginStatus(anyString(), anyString()))
+                .thenReturn(RedisLoginAttemptService.LoginAttemptStatus.builder().locked(false).build());
         when(authService.authenticateUser(anyString(), anyString(), anyString()))
                 .thenReturn(failureResult);
         
         // when & then
-        mockMvc.perform(post("/auth/login")
+        MvcResult asyncResult = mockMvc.perform(post("/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(asyncResult))
                 .andExpect(status().isUnauthorized())
                 .andExpect(jsonPath("$.error").value("LOGIN_FAILED"));
     }
@@ -142,22 +184,55 @@ class AuthControllerTest {
             "password", "password123"
         );
         
-        Map<String, Object> lockInfo = Map.of(
-            "failedAttempts", 5,
-            "lockExpiresAt", System.currentTimeMillis() + 3600000L
-        );
+        RedisLoginAttemptService.LoginAttemptStatus lockedStatus = RedisLoginAttemptService.LoginAttemptStatus.builder()
+                .locked(true)
+                .failedAttempts(5)
+                .unlockTime(LocalDateTime.now().plusHours(1))
+                .build();
         
-        when(redisLoginAttemptService.isAccountLocked(anyString())).thenReturn(true);
-        when(redisLoginAttemptService.getAccountLockInfoAsMap(anyString())).thenReturn(lockInfo);
+        when(redisLoginAttemptService.getLoginStatus(anyString(), anyString())).thenReturn(lockedStatus);
         
         // when & then
-        mockMvc.perform(post("/auth/login")
+        MvcResult asyncResult = mockMvc.perform(post("/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(asyncResult))
                 .andExpect(status().isLocked())
                 .andExpect(jsonPath("$.error").value("ACCOUNT_LOCKED"));
     }
     
+    @Test
+    @DisplayName("실패가 많은 IP는 비밀번호 검증 전에 작업 증명 챌린지를 받아야 한다")
+    void shouldRequireChallengeBeforeHashing() throws Exception {
+        // given
+        Map<String, String> loginRequest = Map.of(
+            "email", "test@example.com",
+            "password", "password123"
+        );
+        
+        when(redisLoginAttemptService.getLoginStatus(anyString(), anyString()))
+                .thenReturn(RedisLoginAttemptService.LoginAttemptStatus.builder().locked(false).suspiciousCount(50).build());
+        when(loginChallengeService.challengeIfRequired(any(), anyString(), eq(50L)))
+                .thenReturn(Optional.of(new LoginChallengeService.Challenge("v1.challenge", 18, 120)));
+        
+        // when & then
+        MvcResult asyncResult = mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isPreconditionRequired())
+                .andExpect(jsonPath("$.error").value("CHALLENGE_REQUIRED"))
+                .andExpect(jsonPath("$.challenge").value("v1.challenge"))
+                .andExpect(jsonPath("$.difficulty").value(18));
+        verify(authService, never()).authenticateUser(anyString(), anyString(), anyString());
+    }
+    
     @Test
     @DisplayName("토큰 갱신이 성공적으로 처리되어야 한다")
     void shouldRefreshTokenSuccessfully() throws Exception {
@@ -175,7 +250,7 @@ class AuthControllerTest {
         
         when(jwtService.isTokenValid(anyString())).thenReturn(true);
         when(jwtService.extractUserId(anyString())).thenReturn("user123");
-        when(authService.getUserById(anyString())).thenReturn(Optional.of(mockUser));
+        when(authService.getUserSnapshot(anyString())).thenReturn(Optional.of(UserSnapshot.from(mockUser)));
         when(jwtService.generateAccessToken(anyString(), anyString(), anyString()))
                 .thenReturn("new.access.token");
         
@@ -205,7 +280,8 @@ class AuthControllerTest {
                 .socialProvider("LOCAL")
                 .build();
         
-        when(authService.getUserFromToken(anyString())).thenReturn(Optional.of(mockUser));
+        when(jwtService.verify(token)).thenReturn(Optional.of(verifiedToken("user123", Instant.now())));
+        when(authService.getUserSnapshot("user123")).thenReturn(Optional.of(UserSnapshot.from(mockUser)));
         
         // when & then
         mockMvc.perform(get("/auth/me")
@@ -222,7 +298,7 @@ class AuthControllerTest {
         // given
         String invalidToken = "invalid.jwt.token";
         
-        when(authService.getUserFromToken(anyString())).thenReturn(Optional.empty());
+        when(jwtService.verify(anyString())).thenReturn(Optional.empty());
         
         // when & then
         mockMvc.perform(get("/auth/me")
@@ -263,8 +339,8 @@ class AuthControllerTest {
                 .currentTickets(100)
                 .build();
         
-        when(authService.validateToken(anyString())).thenReturn(true);
-        when(authService.getUserFromToken(anyString())).thenReturn(Optional.of(mockUser));
+        when(jwtService.verify("valid.jwt.token")).thenReturn(Optional.of(verifiedToken("user123", Instant.now())));
+        when(authService.getUserSnapshot("user123")).thenReturn(Optional.of(UserSnapshot.from(mockUser)));
         
         // when & then
         mockMvc.perform(post("/auth/validate")
@@ -295,4 +371,61 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.message").value("OAuth 2.0 인증 서비스가 정상 작동합니다"))
                 .andExpect(jsonPath("$.endpoints").exists());
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("무효화된 토큰은 /auth/validate와 /auth/me에서 거절되어야 한다")
+    void shouldRejectRevokedTokenOnValidateAndMe() throws Exception {
+        // given
+        VerifiedToken revoked = verifiedToken("user123", Instant.now());
+        when(jwtService.verify("revoked.jwt.token")).thenReturn(Optional.of(revoked));
+        when(tokenBlacklistService.isRevoked(revoked)).thenReturn(true);
+        
+        // when & then
+        mockMvc.perform(post("/auth/validate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("token", "revoked.jwt.token"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(false));
+        mockMvc.perform(get("/auth/me")
+                .header("Authorization", "Bearer revoked.jwt.token"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("INVALID_TOKEN"));
+        verify(authService, never()).getUserSnapshot(anyString());
+    }
+    
+    @Test
+    @DisplayName("사용자 워터마크 이전에 발급된 토큰은 /auth/validate와 /auth/me에서 거절되어야 한다")
+    void shouldRejectWatermarkedTokenOnValidateAndMe() throws Exception {
+        // given: 실제 워터마크 판정을 블랙리스트 확인에 연결 (Redis 기록 실패는 로컬 워터마크로 유지)
+        UserTokenWatermarkService watermarkService = new UserTokenWatermarkService(
+                mock(RedisTemplate.class), Optional.empty(), new SimpleMeterRegistry(), 2592000, 300);
+        when(tokenBlacklistService.isRevoked(any()))
+                .thenAnswer(invocation -> watermarkService.isInvalidated(invocation.getArgument(0)));
+        when(jwtService.verify("old.jwt.token"))
+                .thenReturn(Optional.of(verifiedToken("user123", Instant.now().minusSeconds(60))));
+        
+        // when: 비밀번호 재설정/권한 변경/비활성화 시와 같은 사용자 단위 무효화
+        watermarkService.invalidateAllTokens("user123");
+        
+        // then
+        mockMvc.perform(post("/auth/validate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("token", "old.jwt.token"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(false));
+        mockMvc.perform(get("/auth/me")
+                .header("Authorization", "Bearer old.jwt.token"))
+                .andExpect(status().isUnauthorized());
+        verify(authService, never()).getUserSnapshot(anyString());
+    }
+    
+    private VerifiedToken verifiedToken(String userId, Instant issuedAt) {
+        return VerifiedToken.builder()
+                .subject(userId)
+                .jti("jti-" + userId)
+                .tokenType("access_token")
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plusSeconds(3600))
+                .build();
+    }
+}
@@ -3,6 +3,7 @@ package ac.su.kdt.beauthenticationservice.controller;
 import ac.su.kdt.beauthenticationservice.jwt.JwtService;
 import ac.su.kdt.beauthenticationservice.security.JwtUserDetails;
 import ac.su.kdt.beauthenticationservice.security.SecurityConfig;
+import ac.su.kdt.beauthenticationservice.service.TokenBlacklistService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -48,6 +49,9 @@ class GatewayControllerTest {
     @MockBean
     private JwtService jwtService;
 
+    @MockBean
+    private TokenBlacklistService tokenBlacklistService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
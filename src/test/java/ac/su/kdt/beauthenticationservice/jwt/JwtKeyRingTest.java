@@ -0,0 +1,154 @@
+package ac.su.kdt.beauthenticationservice.jwt;
+
+import ac.su.kdt.beauthenticationservice.config.OAuth2Properties;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("JWT Key Ring Tests")
+class JwtKeyRingTest {
+
+    private static final String OLD_SECRET = "old-secret-key-for-jwt-testing-purposes-minimum-256-bits-required";
+    private static final String NEW_SECRET = "new-secret-key-for-jwt-testing-purposes-minimum-256-bits-required";
+
+    @Test
+    @DisplayName("키 교체 후에도 이전 kid로 서명된 토큰을 검증할 수 있어야 한다")
+    void shouldVerifyTokenSignedWithPreviousKey() {
+        // given
+        JwtKeyRing oldRing = keyRing("k1", OLD_SECRET, Map.of());
+        String token = Jwts.builder()
+                .header().keyId(oldRing.getActiveKeyId()).and()
+                .subject("user123")
+                .signWith(oldRing.getActiveKey())
+                .compact();
+
+        JwtKeyRing rotatedRing = keyRing("k2", NEW_SECRET, Map.of("k1", OLD_SECRET));
+
+        // when
+        String subject = rotatedRing.getParser().parseSignedClaims(token).getPayload().getSubject();
+
+        // then
+        assertThat(subject).isEqualTo("user123");
+        assertThat(rotatedRing.getKeyIds()).containsExactly("k2", "k1");
+    }
+
+    @Test
+    @DisplayName("알 수 없는 kid로 서명된 토큰은 거부해야 한다")
+    void shouldRejectTokenWithUnknownKeyId() {
+        // given
+        JwtKeyRing oldRing = keyRing("k1", OLD_SECRET, Map.of());
+        String token = Jwts.builder()
+                .header().keyId(oldRing.getActiveKeyId()).and()
+                .subject("user123")
+                .signWith(oldRing.getActiveKey())
+                .compact();
+
+        JwtKeyRing newRing = keyRing("k2", NEW_SECRET, Map.of());
+
+        // when & then
+        assertThatThrownBy(() -> newRing.getParser().parseSignedClaims(token))
+                .isInstanceOf(UnsupportedJwtException.class);
+    }
+
+    @Test
+    @DisplayName("kid가 없는 토큰은 활성 키로 검증해야 한다")
+    void shouldVerifyTokenWithoutKeyIdUsingActiveKey() {
+        // given
+        JwtKeyRing ring = keyRing("k1", OLD_SECRET, Map.of());
+        String token = Jwts.builder()
+                .subject("user123")
+                .signWith(ring.getActiveKey())
+                .compact();
+
+        // when
+        String subject = ring.getParser().parseSignedClaims(token).getPayload().getSubject();
+
+        // then
+        assertThat(subject).isEqualTo("user123");
+    }
+
+    @Test
+    @DisplayName("ES256 모드에서는 개인키로 서명하고 JWKS에 공개키를 게시해야 한다")
+    void shouldSignWithEs256AndPublishJwks() {
+        // given
+        JwtKeyRing ring = asymmetricKeyRing("ES256");
+        String token = Jwts.builder()
+                .header().keyId(ring.getActiveKeyId()).and()
+                .subject("user123")
+                .signWith(ring.getActiveKey())
+                .compact();
+
+        // when
+        var jws = ring.getParser().parseSignedClaims(token);
+        List<?> keys = (List<?>) ring.getJwkSet().get("keys");
+
+        // then
+        assertThat(jws.getHeader().getAlgorithm()).isEqualTo("ES256");
+        assertThat(jws.getPayload().getSubject()).isEqualTo("user123");
+        assertThat(ring.getSigningAlgorithmName()).isEqualTo("ES256");
+        assertThat(keys).hasSize(1);
+        assertThat((Map<?, ?>) keys.get(0))
+                .containsEntry("kty", "EC")
+                .containsEntry("kid", "k1")
+                .doesNotContainKey("d");
+    }
+
+    @Test
+    @DisplayName("EdDSA 모드에서는 Ed25519 공개키를 JWKS에 게시해야 한다")
+    void shouldSignWithEdDsaAndPublishJwks() {
+        // given
+        JwtKeyRing ring = asymmetricKeyRing("EdDSA");
+        String token = Jwts.builder()
+                .header().keyId(ring.getActiveKeyId()).and()
+                .subject("user123")
+                .signWith(ring.getActiveKey())
+                .compact();
+
+        // when
+        var jws = ring.getParser().parseSignedClaims(token);
+        List<?> keys = (List<?>) ring.getJwkSet().get("keys");
+
+        // then
+        assertThat(jws.getHeader().getAlgorithm()).isEqualTo("EdDSA");
+        assertThat(keys).hasSize(1);
+        assertThat((Map<?, ?>) keys.get(0))
+                .containsEntry("kty", "OKP")
+                .containsEntry("crv", "Ed25519")
+                .doesNotContainKey("d");
+    }
+
+    @Test
+    @DisplayName("HMAC 모드에서는 JWKS에 키를 게시하지 않아야 한다")
+    void shouldNotPublishHmacKeys() {
+        // given
+        JwtKeyRing ring = keyRing("k1", OLD_SECRET, Map.of());
+
+        // when
+        List<?> keys = (List<?>) ring.getJwkSet().get("keys");
+
+        // then
+        assertThat(keys).isEmpty();
+        assertThat(ring.getSigningAlgorithmName()).isEqualTo("HS512");
+    }
+
+    private JwtKeyRing asymmetricKeyRing(String algorithm) {
+        OAuth2Properties properties = new OAuth2Properties();
+        properties.getJwt().setKeyId("k1");
+        properties.getJwt().setAlgorithm(algorithm);
+        return new JwtKeyRing(properties);
+    }
+
+    private JwtKeyRing keyRing(String keyId, String secret, Map<String, String> verificationKeys) {
+        OAuth2Properties properties = new OAuth2Properties();
+        properties.getJwt().setKeyId(keyId);
+        properties.getJwt().setSecret(secret);
+        properties.getJwt().getVerificationKeys().putAll(verificationKeys);
+        return new JwtKeyRing(properties);
+    }
+}
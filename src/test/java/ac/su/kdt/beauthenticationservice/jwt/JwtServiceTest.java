@@ -1,6 +1,8 @@
 package ac.su.kdt.beauthenticationservice.jwt;
 
+import ac.su.kdt.beauthenticationservice.config.OAuth2Properties;
 import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,16 +14,20 @@ import static org.assertj.core.api.Assertions.*;
 class JwtServiceTest {
     
     private JwtService jwtService;
+    private VerifiedTokenCache verifiedTokenCache;
     
     @BeforeEach
     void setUp() {
-        jwtService = new JwtService();
-        
         // 테스트용 JWT 설정 주입 (256bit = 32byte minimum)
-        ReflectionTestUtils.setField(jwtService, "secret", "test-secret-key-for-jwt-testing-purposes-minimum-256-bits-required-for-hmac-sha256-algorithm");
+        OAuth2Properties properties = new OAuth2Properties();
+        properties.getJwt().setSecret("test-secret-key-for-jwt-testing-purposes-minimum-256-bits-required-for-hmac-sha256-algorithm");
+        
+        JwtKeyRing keyRing = new JwtKeyRing(properties);
+        verifiedTokenCache = new VerifiedTokenCache(new SimpleMeterRegistry(), 1000);
+        jwtService = new JwtService(keyRing, verifiedTokenCache, new TokenMinter(keyRing, "test-issuer"));
+        
         ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 3600L);
         ReflectionTestUtils.setField(jwtService, "refreshTokenExpiration", 86400L);
-        ReflectionTestUtils.setField(jwtService, "issuer", "test-issuer");
     }
     
     @Test
@@ -138,4 +144,33 @@ class JwtServiceTest {
         assertThat(tokenInfo).containsKey("iss");
         assertThat(tokenInfo).containsKey("exp");
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("같은 토큰은 한 번만 파싱하고 검증 결과를 재사용해야 한다")
+    void shouldReuseVerifiedTokenFromCache() {
+        // given
+        String token = jwtService.generateAccessToken("user123", "test@example.com", "USER");
+        
+        // when
+        var first = jwtService.verify(token);
+        var second = jwtService.verify(token);
+        
+        // then
+        assertThat(first).isPresent();
+        assertThat(second).containsSame(first.get());
+        assertThat(first.get().getUserId()).isEqualTo("user123");
+        assertThat(first.get().isAccessToken()).isTrue();
+        assertThat(verifiedTokenCache.size()).isEqualTo(1);
+    }
+    
+    @Test
+    @DisplayName("검증에 실패한 토큰은 캐시에 저장하지 않아야 한다")
+    void shouldNotCacheInvalidToken() {
+        // when
+        var result = jwtService.verify("invalid.jwt.token");
+        
+        // then
+        assertThat(result).isEmpty();
+        assertThat(verifiedTokenCache.size()).isZero();
+    }
+}
@@ -0,0 +1,133 @@
+package ac.su.kdt.beauthenticationservice.jwt;
+
+import ac.su.kdt.beauthenticationservice.config.OAuth2Properties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Token Minter Tests")
+class TokenMinterTest {
+
+    private static final String SECRET = "test-secret-key-for-jwt-testing-purposes-minimum-256-bits-required-for-hmac-sha256-algorithm";
+
+    @Test
+    @DisplayName("발급된 토큰은 jjwt 파서로 검증되고 기존과 같은 클레임을 가져야 한다")
+    void shouldMintTokenCompatibleWithJjwt() {
+        // given
+        JwtKeyRing keyRing = hmacKeyRing();
+        TokenMinter minter = new TokenMinter(keyRing, "test-issuer");
+        long before = System.currentTimeMillis() / 1000;
+
+        // when
+        String token = minter.begin("user123", null, 3600)
+                .claim("email", "test@example.com")
+                .claim("role", "USER")
+                .claim("token_type", "access_token")
+                .claims(Map.of("scope", "openid", "tags", List.of("a", "b")))
+                .sign();
+        Jws<Claims> jws = keyRing.getParser().parseSignedClaims(token);
+        Claims claims = jws.getPayload();
+
+        // then
+        assertThat(jws.getHeader().getAlgorithm()).isEqualTo("HS512");
+        assertThat(jws.getHeader().getKeyId()).isEqualTo("primary");
+        assertThat(claims.getSubject()).isEqualTo("user123");
+        assertThat(claims.getIssuer()).isEqualTo("test-issuer");
+        assertThat(claims.get("email", String.class)).isEqualTo("test@example.com");
+        assertThat(claims.get("role", String.class)).isEqualTo("USER");
+        assertThat(claims.get("token_type", String.class)).isEqualTo("access_token");
+        assertThat(claims.get("scope", String.class)).isEqualTo("openid");
+        assertThat(claims.get("tags", List.class)).containsExactly("a", "b");
+        assertThat(claims.getIssuedAt().getTime() / 1000).isBetween(before, before + 1);
+        assertThat(claims.get(VerifiedToken.ISSUED_AT_MILLIS_CLAIM, Long.class) / 1000)
+                .isEqualTo(claims.getIssuedAt().getTime() / 1000);
+        assertThat(VerifiedToken.from(claims).getIssuedAt().toEpochMilli())
+                .isEqualTo(claims.get(VerifiedToken.ISSUED_AT_MILLIS_CLAIM, Long.class));
+        assertThat(claims.getExpiration().getTime() - claims.getIssuedAt().getTime()).isEqualTo(3600_000L);
+        assertThat(UUID.fromString(claims.getId()).version()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("null 클레임은 생략하고 특수문자는 JSON 이스케이프해야 한다")
+    void shouldOmitNullClaimsAndEscapeStrings() {
+        // given
+        JwtKeyRing keyRing = hmacKeyRing();
+        TokenMinter minter = new TokenMinter(keyRing, "test-issuer");
+
+        // when
+        String token = minter.begin("user123", "devops-platform-client", 60)
+                .claim("name", "홍길동 \"quote\" \\ \n")
+                .claim("picture", null)
+                .claim("email_verified", true)
+                .sign();
+        Claims claims = keyRing.getParser().parseSignedClaims(token).getPayload();
+
+        // then
+        assertThat(claims.get("name", String.class)).isEqualTo("홍길동 \"quote\" \\ \n");
+        assertThat(claims).doesNotContainKey("picture");
+        assertThat(claims.get("email_verified", Boolean.class)).isTrue();
+        assertThat(claims.getAudience()).containsExactly("devops-platform-client");
+    }
+
+    @Test
+    @DisplayName("Refresh Token은 HMAC 모드에서 HS512로 서명해야 한다")
+    void shouldSignRefreshTokenWithHs512() {
+        // given
+        JwtKeyRing keyRing = hmacKeyRing();
+        TokenMinter minter = new TokenMinter(keyRing, "test-issuer");
+
+        // when
+        String token = minter.begin("user123", null, 60)
+                .claim("token_type", "refresh_token")
+                .signAsRefreshToken();
+
+        // then
+        assertThat(keyRing.getParser().parseSignedClaims(token).getHeader().getAlgorithm()).isEqualTo("HS512");
+    }
+
+    @Test
+    @DisplayName("ES256/EdDSA 모드에서 발급한 토큰은 공개키로 검증되어야 한다")
+    void shouldMintAsymmetricTokens() {
+        for (String algorithm : List.of("ES256", "EdDSA")) {
+            // given
+            OAuth2Properties properties = new OAuth2Properties();
+            properties.getJwt().setAlgorithm(algorithm);
+            JwtKeyRing keyRing = new JwtKeyRing(properties);
+            TokenMinter minter = new TokenMinter(keyRing, "test-issuer");
+
+            // when
+            String token = minter.begin("user123", null, 60).claim("role", "USER").sign();
+            Jws<Claims> jws = keyRing.getParser().parseSignedClaims(token);
+
+            // then
+            assertThat(jws.getHeader().getAlgorithm()).isEqualTo(algorithm);
+            assertThat(jws.getPayload().getSubject()).isEqualTo("user123");
+        }
+    }
+
+    @Test
+    @DisplayName("표준 클레임과 이름이 겹치는 추가 클레임은 거부해야 한다")
+    void shouldRejectDuplicateClaims() {
+        // given
+        TokenMinter minter = new TokenMinter(hmacKeyRing(), "test-issuer");
+
+        // when & then
+        assertThatThrownBy(() -> minter.begin("user123", null, 60)
+                .claim("role", "USER")
+                .claims(Map.of("role", "ADMIN")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private JwtKeyRing hmacKeyRing() {
+        OAuth2Properties properties = new OAuth2Properties();
+        properties.getJwt().setSecret(SECRET);
+        return new JwtKeyRing(properties);
+    }
+}
@@ -0,0 +1,107 @@
+package ac.su.kdt.beauthenticationservice.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Bounded Password Encoder Tests")
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.destroy();
+    }
+
+    @Test
+    @DisplayName("전용 실행기에서 해시/검증 결과가 원래 encoder와 동일해야 한다")
+    void shouldDelegateEncodeAndMatches() {
+        // given
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 8, 5000, 1, meterRegistry);
+
+        // when
+        String encoded = encoder.encode("password123");
+
+        // then
+        assertThat(encoder.matches("password123", encoded)).isTrue();
+        assertThat(encoder.matches("wrong", encoded)).isFalse();
+        assertThat(meterRegistry.get("password_hashing_duration").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 즉시 거절해야 한다")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        // given - 스레드 1개, 대기열 1개를 모두 점유
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(started, release), 1, 1, 5000, 2, meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        await(() -> meterRegistry.get("password_hashing_queue_depth").gauge().value() == 1);
+
+        // when & then
+        assertThatThrownBy(() -> encoder.encode("c"))
+                .isInstanceOf(PasswordHashingRejectedException.class)
+                .extracting("retryAfterSeconds").isEqualTo(2L);
+        assertThat(meterRegistry.get("password_hashing_rejected_count").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("encoded");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("encoded");
+    }
+
+    @Test
+    @DisplayName("최대 대기 시간을 넘기면 거절해야 한다")
+    void shouldRejectWhenWaitTimesOut() {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(new CountDownLatch(1), release), 1, 4, 50, 1, meterRegistry);
+
+        // when & then
+        assertThatThrownBy(() -> encoder.encode("a"))
+                .isInstanceOf(PasswordHashingRejectedException.class);
+        release.countDown();
+    }
+
+    private PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "encoded";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,134 @@
+package ac.su.kdt.beauthenticationservice.security;
+
+import ac.su.kdt.beauthenticationservice.service.RedisCircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Login Challenge Service Tests")
+class LoginChallengeServiceTest {
+
+    private static final String IP = "203.0.113.10";
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+    private LoginChallengeService challengeService;
+
+    @BeforeEach
+    void setUp() {
+        RedisCircuitBreaker redisCircuitBreaker =
+                new RedisCircuitBreaker(new SimpleMeterRegistry(), CircuitBreakerConfig.ofDefaults());
+        challengeService = new LoginChallengeService(redisTemplate, redisCircuitBreaker, new SimpleMeterRegistry(),
+                "test-secret", 10, 8, 12, 120, clock::get);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("IP 실패 횟수가 늘어날수록 난이도가 올라가고 최대값을 넘지 않아야 한다")
+    void shouldScaleDifficultyWithFailures() {
+        assertThat(challengeService.difficultyFor(9)).isZero();
+        assertThat(challengeService.difficultyFor(10)).isEqualTo(8);
+        assertThat(challengeService.difficultyFor(20)).isEqualTo(9);
+        assertThat(challengeService.difficultyFor(80)).isEqualTo(11);
+        assertThat(challengeService.difficultyFor(100_000)).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("올바른 풀이는 한 번만 통과해야 한다")
+    void shouldAcceptValidSolutionOnce() {
+        // given
+        LoginChallengeService.Challenge challenge = challengeService.issue(IP, 8);
+        String solution = solve(challenge);
+        when(valueOperations.setIfAbsent(startsWith("login_challenge:used:"), eq("1"), any(Duration.class)))
+                .thenReturn(true, false);
+
+        // when & then
+        assertThat(challengeService.verify(challenge.token(), solution, IP, 8)).isTrue();
+        assertThat(challengeService.verify(challenge.token(), solution, IP, 8)).isFalse();
+        verify(valueOperations, times(2)).setIfAbsent(anyString(), eq("1"), eq(Duration.ofSeconds(120)));
+    }
+
+    @Test
+    @DisplayName("Redis 장애 중에도 로컬 집합으로 같은 풀이의 재사용을 막아야 한다")
+    void shouldRejectReplayWhenRedisIsDown() {
+        // given
+        LoginChallengeService.Challenge challenge = challengeService.issue(IP, 8);
+        String solution = solve(challenge);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("Redis down"));
+
+        // when & then
+        assertThat(challengeService.verify(challenge.token(), solution, IP, 8)).isTrue();
+        assertThat(challengeService.verify(challenge.token(), solution, IP, 8)).isFalse();
+    }
+
+    @Test
+    @DisplayName("다른 IP, 만료, 낮은 난이도, 위조된 챌린지는 재사용 확인 전에 거절해야 한다")
+    void shouldRejectInvalidChallengesWithoutRedis() {
+        // given
+        LoginChallengeService.Challenge challenge = challengeService.issue(IP, 8);
+        String solution = solve(challenge);
+        String[] parts = challenge.token().split("\\.");
+        String forged = parts[0] + "." + parts[1] + ".1." + parts[3] + "." + parts[4];
+
+        // when & then
+        assertThat(challengeService.verify(challenge.token(), solution, "198.51.100.1", 8)).isFalse();
+        assertThat(challengeService.verify(challenge.token(), solution, IP, 9)).isFalse();
+        assertThat(challengeService.verify(forged, solution, IP, 1)).isFalse();
+        assertThat(challengeService.verify("garbage", solution, IP, 8)).isFalse();
+        clock.addAndGet(Duration.ofSeconds(121).toMillis());
+        assertThat(challengeService.verify(challenge.token(), solution, IP, 8)).isFalse();
+        verifyNoInteractions(valueOperations);
+    }
+
+    @Test
+    @DisplayName("풀이가 없거나 틀리면 새 챌린지를 발급하고, 맞으면 통과시켜야 한다")
+    void shouldIssueChallengeUntilSolved() {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        // when
+        var issued = challengeService.challengeIfRequired(request, IP, 10);
+
+        // then
+        assertThat(issued).isPresent();
+        assertThat(challengeService.challengeIfRequired(request, IP, 5)).isEmpty();
+
+        request.addHeader(LoginChallengeService.CHALLENGE_HEADER, issued.get().token());
+        request.addHeader(LoginChallengeService.SOLUTION_HEADER, solve(issued.get()));
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        assertThat(challengeService.challengeIfRequired(request, IP, 10)).isEmpty();
+    }
+
+    private String solve(LoginChallengeService.Challenge challenge) {
+        for (int i = 0; ; i++) {
+            String candidate = Integer.toString(i, 36);
+            byte[] hash = LoginChallengeService.sha256(challenge.token() + ":" + candidate);
+            if (LoginChallengeService.hasLeadingZeroBits(hash, challenge.difficulty())) {
+                return candidate;
+            }
+        }
+    }
+}
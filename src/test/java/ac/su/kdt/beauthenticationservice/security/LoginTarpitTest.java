@@ -0,0 +1,81 @@
+package ac.su.kdt.beauthenticationservice.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Login Tarpit Tests")
+class LoginTarpitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoginTarpit tarpit;
+
+    @AfterEach
+    void tearDown() {
+        tarpit.destroy();
+    }
+
+    @Test
+    @DisplayName("시작 횟수부터 실패할 때마다 지연이 2배로 늘고 최대값을 넘지 않아야 한다")
+    void shouldGrowDelayProgressively() {
+        // given
+        tarpit = new LoginTarpit(meterRegistry, 500, 8000, 3, 100);
+
+        // when & then
+        assertThat(tarpit.delayFor(2, false)).isZero();
+        assertThat(tarpit.delayFor(3, false)).isEqualTo(500);
+        assertThat(tarpit.delayFor(4, false)).isEqualTo(1000);
+        assertThat(tarpit.delayFor(6, false)).isEqualTo(4000);
+        assertThat(tarpit.delayFor(9, false)).isEqualTo(8000);
+        assertThat(tarpit.delayFor(Integer.MAX_VALUE, false)).isEqualTo(8000);
+        assertThat(tarpit.delayFor(0, true)).isEqualTo(8000);
+    }
+
+    @Test
+    @DisplayName("지연 후 호출 스레드를 막지 않고 응답이 완료되어야 한다")
+    void shouldCompleteAfterDelayWithoutBlockingCaller() throws Exception {
+        // given
+        tarpit = new LoginTarpit(meterRegistry, 100, 100, 1, 100);
+        CountDownLatch completed = new CountDownLatch(1);
+
+        // when
+        long start = System.nanoTime();
+        DeferredResult<String> result = tarpit.respond("denied", 100);
+        long returnedAfterMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        result.setResultHandler(value -> completed.countDown());
+
+        // then
+        assertThat(returnedAfterMillis).isLessThan(100);
+        assertThat(result.hasResult()).isFalse();
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(result.getResult()).isEqualTo("denied");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(100);
+        assertThat(meterRegistry.get("login_tarpit_delayed_count").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("지연이 없거나 대기 중인 응답이 상한을 넘으면 즉시 완료해야 한다")
+    void shouldCompleteImmediatelyWhenNoDelayOrFull() {
+        // given
+        tarpit = new LoginTarpit(meterRegistry, 1000, 1000, 1, 1);
+
+        // when
+        DeferredResult<String> immediate = tarpit.respond("ok", 0);
+        DeferredResult<String> held = tarpit.respond("held", 1000);
+        DeferredResult<String> overflow = tarpit.respond("overflow", 1000);
+
+        // then
+        assertThat(immediate.getResult()).isEqualTo("ok");
+        assertThat(held.hasResult()).isFalse();
+        assertThat(overflow.getResult()).isEqualTo("overflow");
+        assertThat(meterRegistry.get("login_tarpit_overflow_count").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("login_tarpit_pending").gauge().value()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,58 @@
+package ac.su.kdt.beauthenticationservice.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Password Encoder Calibrator Tests")
+class PasswordEncoderCalibratorTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Test
+    @DisplayName("접두사 없는 기존 BCrypt 해시를 검증하고 재해시 대상으로 판단해야 한다")
+    void shouldMatchLegacyBCryptHashAndRequestUpgrade() {
+        // given
+        String legacyHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        PasswordEncoder encoder = PasswordEncoderCalibrator.create(PasswordEncoderCalibrator.BCRYPT, 0);
+
+        // when & then
+        assertThat(encoder.matches(PASSWORD, legacyHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacyHash)).isTrue();
+
+        String upgraded = encoder.encode(PASSWORD);
+        assertThat(upgraded).startsWith("{bcrypt}");
+        assertThat(encoder.matches(PASSWORD, upgraded)).isTrue();
+        assertThat(encoder.upgradeEncoding(upgraded)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Argon2로 전환하면 BCrypt 해시도 검증하면서 새 해시는 Argon2로 생성해야 한다")
+    void shouldMigrateFromBCryptToArgon2() {
+        // given
+        String bcryptHash = PasswordEncoderCalibrator.create(PasswordEncoderCalibrator.BCRYPT, 0).encode(PASSWORD);
+        PasswordEncoder encoder = PasswordEncoderCalibrator.create(PasswordEncoderCalibrator.ARGON2, 0);
+
+        // when
+        String argon2Hash = encoder.encode(PASSWORD);
+
+        // then
+        assertThat(encoder.matches(PASSWORD, bcryptHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(bcryptHash)).isTrue();
+        assertThat(argon2Hash).startsWith("{argon2}");
+        assertThat(encoder.matches(PASSWORD, argon2Hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(argon2Hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("보정된 BCrypt 강도는 허용 범위 안에 있어야 한다")
+    void shouldKeepCalibratedStrengthWithinBounds() {
+        assertThat(PasswordEncoderCalibrator.calibrateBCryptStrength(1))
+                .isEqualTo(PasswordEncoderCalibrator.MIN_BCRYPT_STRENGTH);
+        assertThat(PasswordEncoderCalibrator.calibrateBCryptStrength(Long.MAX_VALUE / 2))
+                .isEqualTo(PasswordEncoderCalibrator.MAX_BCRYPT_STRENGTH);
+    }
+}
@@ -1,8 +1,10 @@
 package ac.su.kdt.beauthenticationservice.service;
 
 import ac.su.kdt.beauthenticationservice.jwt.JwtService;
+import ac.su.kdt.beauthenticationservice.model.dto.UserChangedEvent;
 import ac.su.kdt.beauthenticationservice.model.entity.User;
 import ac.su.kdt.beauthenticationservice.repository.UserRepository;
+import ac.su.kdt.beauthenticationservice.security.PasswordEncoderCalibrator;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
@@ -15,6 +17,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -42,6 +45,15 @@ class AuthServiceTest {
     @Mock
     private EmailService emailService;
     
+    @Mock
+    private UserTokenWatermarkService userTokenWatermarkService;
+    
+    @Mock
+    private UserSnapshotCache userSnapshotCache;
+    
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+    
     @Captor
     private ArgumentCaptor<User> userCaptor;
     
@@ -58,6 +70,9 @@ class AuthServiceTest {
                 jwtService,
                 passwordEncoder,
                 Optional.of(eventPublisher),
+                userTokenWatermarkService,
+                userSnapshotCache,
+                applicationEventPublisher,
                 meterRegistry
         );
     }
@@ -140,6 +155,39 @@ class AuthServiceTest {
         assertThat(result.getErrorMessage()).isNull();
     }
     
+    @Test
+    @DisplayName("이전 비용의 비밀번호 해시는 로그인 성공 시 재해시되어야 한다")
+    void shouldUpgradeLegacyPasswordHashOnLogin() {
+        // given
+        String email = "test@example.com";
+        String password = "password123";
+        String legacyHash = new BCryptPasswordEncoder(4).encode(password);
+        
+        User user = User.builder()
+                .id("user123")
+                .email(email)
+                .passwordHash(legacyHash)
+                .name("Test User")
+                .role(User.UserRole.USER)
+                .isActive(true)
+                .build();
+        
+        PasswordEncoder delegatingEncoder = PasswordEncoderCalibrator.create(PasswordEncoderCalibrator.BCRYPT, 0);
+        authService = new AuthService(userRepository, jwtService, delegatingEncoder,
+                Optional.of(eventPublisher), userTokenWatermarkService, userSnapshotCache,
+                applicationEventPublisher, meterRegistry);
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+        
+        // when
+        AuthService.LoginResult result = authService.authenticateUser(email, password, "192.168.1.1");
+        
+        // then
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(user.getPasswordHash()).isNotEqualTo(legacyHash).startsWith("{bcrypt}");
+        assertThat(delegatingEncoder.matches(password, user.getPasswordHash())).isTrue();
+        verify(userRepository).save(user);
+    }
+    
     @Test
     @DisplayName("잘못된 비밀번호로 로그인 시 실패해야 한다")
     void shouldFailAuthenticationWithInvalidPassword() {
@@ -297,4 +345,49 @@ class AuthServiceTest {
         // 존재하지 않는 이메일이어도 이벤트는 발행되지 않음 (보안상)
         verify(eventPublisher, never()).publishEvent(eq("password.reset_requested"), any());
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("계정 비활성화 시 사용자의 모든 토큰이 무효화되어야 한다")
+    void shouldInvalidateAllTokensWhenUserDeactivated() {
+        // given
+        User user = User.builder()
+                .id("user123")
+                .email("test@example.com")
+                .name("Test User")
+                .isActive(true)
+                .build();
+        
+        when(userRepository.findById("user123")).thenReturn(Optional.of(user));
+        
+        // when
+        authService.deactivateUser("user123");
+        
+        // then
+        assertThat(user.getIsActive()).isFalse();
+        verify(userTokenWatermarkService).invalidateAllTokens("user123");
+        verify(applicationEventPublisher).publishEvent(new UserChangedEvent("user123"));
+    }
+    
+    @Test
+    @DisplayName("역할 변경 시 사용자 스냅샷 무효화 이벤트가 발행되어야 한다")
+    void shouldPublishUserChangedEventWhenRoleUpdated() {
+        // given
+        User user = User.builder()
+                .id("user123")
+                .email("test@example.com")
+                .name("Test User")
+                .role(User.UserRole.USER)
+                .isActive(true)
+                .build();
+        
+        when(userRepository.findById("user123")).thenReturn(Optional.of(user));
+        
+        // when
+        authService.updateUserRole("user123", User.UserRole.ADMIN);
+        
+        // then
+        assertThat(user.getRole()).isEqualTo(User.UserRole.ADMIN);
+        verify(applicationEventPublisher).publishEvent(new UserChangedEvent("user123"));
+        verify(userTokenWatermarkService).invalidateAllTokens("user123");
+    }
+}
@@ -0,0 +1,144 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Authorization Code Service Tests")
+class AuthorizationCodeServiceTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private AuthorizationCodeService authorizationCodeService;
+
+    @BeforeEach
+    void setUp() {
+        RedisCircuitBreaker redisCircuitBreaker =
+                new RedisCircuitBreaker(new SimpleMeterRegistry(), CircuitBreakerConfig.ofDefaults());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SealedAuthorizationCodes sealedAuthorizationCodes = new SealedAuthorizationCodes(meterRegistry,
+                new TimingWheel(meterRegistry, 100, System::currentTimeMillis), false, "", 600, 1000,
+                System::currentTimeMillis);
+        authorizationCodeService = new AuthorizationCodeService(redisTemplate, redisCircuitBreaker, sealedAuthorizationCodes);
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    }
+
+    @Test
+    @DisplayName("스킴이 포함된 redirect_uri도 해시 변환 후 그대로 복원되어야 한다")
+    void shouldRoundTripRedirectUriWithScheme() {
+        // given
+        AuthorizationCodeService.AuthorizationCodeData data = AuthorizationCodeService.AuthorizationCodeData.builder()
+                .userId("user123")
+                .clientId("devops-platform-client")
+                .redirectUri("http://localhost:3000/oauth/callback?next=a:b")
+                .scope("openid profile")
+                .state("xyz")
+                .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .build();
+
+        // when
+        Map<String, String> hash = AuthorizationCodeService.toHash(data);
+        AuthorizationCodeService.AuthorizationCodeData restored = AuthorizationCodeService.fromHash(hash);
+
+        // then
+        assertThat(hash).doesNotContainKeys("codeChallenge", "codeChallengeMethod");
+        assertThat(restored).isEqualTo(data);
+    }
+
+    @Test
+    @DisplayName("발급은 코드 키와 사용자/클라이언트 인덱스를 스크립트 한 번으로 저장해야 한다")
+    @SuppressWarnings("unchecked")
+    void shouldIssueCodeWithSingleScript() {
+        // when
+        String code = authorizationCodeService.generateAuthorizationCode("user123", "client-a",
+                "https://app.example.com/callback", "openid", "xyz", "challenge", "S256");
+
+        // then
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("oauth:auth_code:" + code,
+                        "oauth:auth_code_index:user:user123",
+                        "oauth:auth_code_index:client:client-a")),
+                any(Object[].class));
+        verifyNoMoreInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("소비 스크립트 응답을 코드 데이터로 변환하고, 빈 응답은 무효 코드로 처리해야 한다")
+    @SuppressWarnings("unchecked")
+    void shouldConsumeCodeOnce() {
+        // given
+        List<Object> reply = new ArrayList<>(List.of(
+                "userId", "user123",
+                "clientId", "client-a",
+                "redirectUri", "https://app.example.com/callback",
+                "codeChallenge", "challenge",
+                "codeChallengeMethod", "S256"));
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("oauth:auth_code:abc"))))
+                .thenReturn(reply, List.of());
+
+        // when
+        AuthorizationCodeService.AuthorizationCodeData first = authorizationCodeService.consumeAuthorizationCode("abc");
+        AuthorizationCodeService.AuthorizationCodeData second = authorizationCodeService.consumeAuthorizationCode("abc");
+
+        // then
+        assertThat(first).isNotNull();
+        assertThat(first.getUserId()).isEqualTo("user123");
+        assertThat(first.getRedirectUri()).isEqualTo("https://app.example.com/callback");
+        assertThat(first.getCodeChallengeMethod()).isEqualTo("S256");
+        assertThat(second).isNull();
+    }
+
+    @Test
+    @DisplayName("사용자 무효화는 인덱스에 있는 만료 전 코드만 삭제해야 한다")
+    void shouldRevokeOnlyIndexedCodes() {
+        // given
+        when(zSetOperations.rangeByScore(eq("oauth:auth_code_index:user:user123"), anyDouble(), anyDouble()))
+                .thenReturn(new LinkedHashSet<>(List.of("c1", "c2")));
+
+        // when
+        authorizationCodeService.revokeUserAuthorizationCodes("user123");
+
+        // then
+        verify(redisTemplate).delete(List.of("oauth:auth_code:c1", "oauth:auth_code:c2",
+                "oauth:auth_code_index:user:user123"));
+        verify(redisTemplate, never()).keys(anyString());
+    }
+
+    @Test
+    @DisplayName("Redis 장애 중 통계 조회는 예외 없이 unavailable 상태를 반환해야 한다")
+    void shouldReportUnavailableStatsWhenRedisFails() {
+        // given
+        when(redisTemplate.scan(any(ScanOptions.class))).thenThrow(new RedisConnectionFailureException("redis down"));
+
+        // when
+        Map<String, Object> stats = authorizationCodeService.getAuthorizationCodeStats();
+
+        // then
+        assertThat(stats).containsEntry("status", "unavailable").doesNotContainKey("total_active_codes");
+    }
+}
@@ -0,0 +1,134 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import ac.su.kdt.beauthenticationservice.config.OAuth2Properties;
+import ac.su.kdt.beauthenticationservice.jwt.JwtKeyRing;
+import ac.su.kdt.beauthenticationservice.jwt.TokenMinter;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Back-Channel Logout Service Tests")
+class BackchannelLogoutServiceTest {
+
+    private static final String SECRET = "test-secret-key-for-jwt-testing-purposes-minimum-256-bits-required-for-hmac-sha256-algorithm";
+
+    private WireMockServer wireMockServer;
+    private JwtKeyRing keyRing;
+    private TokenMinter tokenMinter;
+    private BackchannelLogoutService backchannelLogoutService;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+
+        OAuth2Properties properties = new OAuth2Properties();
+        properties.getJwt().setSecret(SECRET);
+        keyRing = new JwtKeyRing(properties);
+        tokenMinter = new TokenMinter(keyRing, "test-issuer");
+        backchannelLogoutService = service(1000, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        backchannelLogoutService.destroy();
+        wireMockServer.stop();
+    }
+
+    @Test
+    @DisplayName("등록된 애플리케이션에 서명된 logout_token을 동시에 보내야 한다")
+    void shouldFanOutSignedLogoutTokensConcurrently() {
+        // given
+        wireMockServer.stubFor(post(urlEqualTo("/console/logout")).willReturn(aResponse().withStatus(200).withFixedDelay(400)));
+        wireMockServer.stubFor(post(urlEqualTo("/docs/logout")).willReturn(aResponse().withStatus(200).withFixedDelay(400)));
+        long startedAt = System.nanoTime();
+
+        // when
+        Map<String, Boolean> results = backchannelLogoutService
+                .notifyLogout("user-1", "session-1", List.of("console", "docs", "unconfigured"))
+                .join();
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        // then
+        assertThat(results).containsExactly(Map.entry("console", true), Map.entry("docs", true));
+        assertThat(elapsedMillis).isLessThan(750);
+
+        String body = wireMockServer.findAll(postRequestedFor(urlEqualTo("/console/logout"))).get(0).getBodyAsString();
+        assertThat(body).startsWith("logout_token=");
+        Claims claims = keyRing.getParser()
+                .parseSignedClaims(URLDecoder.decode(body.substring("logout_token=".length()), StandardCharsets.UTF_8))
+                .getPayload();
+        assertThat(claims.getSubject()).isEqualTo("user-1");
+        assertThat(claims.getAudience()).containsExactly("console");
+        assertThat(claims.get("sid", String.class)).isEqualTo("session-1");
+        assertThat(claims.get("events", Map.class)).containsKey(BackchannelLogoutService.LOGOUT_EVENT);
+        assertThat(claims).doesNotContainKey("nonce");
+    }
+
+    @Test
+    @DisplayName("5xx 응답은 재시도하고 4xx 응답은 재시도하지 않아야 한다")
+    void shouldRetryServerErrorsOnly() {
+        // given
+        wireMockServer.stubFor(post(urlEqualTo("/console/logout")).inScenario("flaky")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(503))
+                .willSetStateTo("recovered"));
+        wireMockServer.stubFor(post(urlEqualTo("/console/logout")).inScenario("flaky")
+                .whenScenarioStateIs("recovered")
+                .willReturn(aResponse().withStatus(200)));
+        wireMockServer.stubFor(post(urlEqualTo("/docs/logout")).willReturn(aResponse().withStatus(400)));
+
+        // when
+        Map<String, Boolean> results = backchannelLogoutService
+                .notifyLogout("user-1", "session-1", List.of("console", "docs"))
+                .join();
+
+        // then
+        assertThat(results).containsEntry("console", true).containsEntry("docs", false);
+        wireMockServer.verify(2, postRequestedFor(urlEqualTo("/console/logout")));
+        wireMockServer.verify(1, postRequestedFor(urlEqualTo("/docs/logout")));
+    }
+
+    @Test
+    @DisplayName("응답이 타임아웃을 넘는 애플리케이션은 실패로 끝나고 다른 애플리케이션을 기다리게 하지 않아야 한다")
+    void shouldBoundSlowApplicationsByTimeout() {
+        // given
+        BackchannelLogoutService fastTimeout = service(200, 0);
+        wireMockServer.stubFor(post(urlEqualTo("/console/logout")).willReturn(aResponse().withStatus(200).withFixedDelay(2000)));
+        wireMockServer.stubFor(post(urlEqualTo("/docs/logout")).willReturn(aResponse().withStatus(200)));
+        long startedAt = System.nanoTime();
+
+        // when
+        Map<String, Boolean> results = fastTimeout.notifyLogout("user-1", "session-1", List.of("console", "docs")).join();
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        fastTimeout.destroy();
+
+        // then
+        assertThat(results).containsEntry("console", false).containsEntry("docs", true);
+        assertThat(elapsedMillis).isLessThan(1500);
+    }
+
+    private BackchannelLogoutService service(long timeoutMs, int maxRetries) {
+        OAuth2Properties.BackchannelLogout config = new OAuth2Properties.BackchannelLogout();
+        config.getUris().put("console", wireMockServer.baseUrl() + "/console/logout");
+        config.getUris().put("docs", wireMockServer.baseUrl() + "/docs/logout");
+        config.setTimeoutMs(timeoutMs);
+        config.setMaxRetries(maxRetries);
+        config.setRetryBackoffMs(50);
+        return new BackchannelLogoutService(tokenMinter, new SimpleMeterRegistry(), config);
+    }
+}
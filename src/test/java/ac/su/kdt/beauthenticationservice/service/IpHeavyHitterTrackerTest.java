@@ -0,0 +1,122 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("IP Heavy Hitter Tracker Tests")
+class IpHeavyHitterTrackerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IpHeavyHitterTracker tracker = new IpHeavyHitterTracker(meterRegistry, 15, 8192, 64, clock::get);
+
+    @Test
+    @DisplayName("분산된 다수 IP 사이에서도 공격 IP를 상위로 찾고 메모리는 고정되어야 한다")
+    void shouldFindHeavyHitterWithFixedMemory() {
+        // given
+        long memoryBefore = tracker.memoryBytes();
+
+        // when - 5만 개 IP가 각 1회, 공격 IP가 5000회 실패
+        for (int i = 0; i < 50_000; i++) {
+            tracker.recordFailure("10." + (i >> 16 & 0xff) + "." + (i >> 8 & 0xff) + "." + (i & 0xff));
+            if (i % 10 == 0) {
+                tracker.recordFailure("198.51.100.7");
+            }
+        }
+
+        // then
+        List<IpHeavyHitterTracker.HeavyHitter> top = tracker.topIps(5);
+        assertThat(top.get(0).key()).isEqualTo("198.51.100.7");
+        assertThat(top.get(0).estimate()).isGreaterThanOrEqualTo(5000);
+        assertThat(tracker.ipExceeds("198.51.100.7", 20)).isTrue();
+        assertThat(tracker.ipExceeds("10.0.0.1", 20)).isFalse();
+        assertThat(tracker.memoryBytes()).isEqualTo(memoryBefore);
+        assertThat(meterRegistry.get("login_ip_sketch_memory_bytes").gauge().value()).isEqualTo(memoryBefore);
+    }
+
+    @Test
+    @DisplayName("대역 안의 여러 IP로 분산된 실패는 대역 기준으로 차단되어야 한다")
+    void shouldAggregateFailuresByPrefix() {
+        // when - 같은 /24 대역의 10개 IP가 각 12회 실패
+        for (int host = 1; host <= 10; host++) {
+            for (int i = 0; i < 12; i++) {
+                tracker.recordFailure("203.0.113." + host);
+            }
+        }
+
+        // then
+        assertThat(tracker.ipExceeds("203.0.113.1", 20)).isFalse();
+        assertThat(tracker.prefixExceeds("203.0.113.200", 100)).isTrue();
+        assertThat(tracker.topPrefixes(1).get(0).key()).isEqualTo("203.0.113.0/24");
+        assertThat(tracker.prefixExceeds("192.0.2.1", 100)).isFalse();
+    }
+
+    @Test
+    @DisplayName("윈도우가 지나면 추정값이 0이 되어야 한다")
+    void shouldExpireAfterWindow() {
+        // given
+        for (int i = 0; i < 30; i++) {
+            tracker.recordFailure("198.51.100.7");
+        }
+        assertThat(tracker.estimateIp("198.51.100.7")).isEqualTo(30);
+
+        // when
+        clock.addAndGet(Duration.ofMinutes(16).toMillis());
+
+        // then
+        assertThat(tracker.estimateIp("198.51.100.7")).isZero();
+        assertThat(tracker.topIps(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("IP 형식이 아닌 값은 대역 없이 IP로만 집계되어야 한다")
+    void shouldIgnorePrefixForNonIpValue() {
+        // when
+        tracker.recordFailure("unknown");
+
+        // then
+        assertThat(tracker.estimateIp("unknown")).isEqualTo(1);
+        assertThat(tracker.estimatePrefix("unknown")).isZero();
+        assertThat(IpPrefixes.of("2001:db8:1:2:3:4:5:6")).isEqualTo("2001:db8:1:2::/64");
+    }
+
+    @Test
+    @DisplayName("대량 분산 실패 중에도 임계값을 넘은 IP는 차단되고 나머지 IP는 차단되지 않아야 한다")
+    void shouldBlockAtThresholdUnderHighTotalVolume() {
+        // given - 50만 건 기준 오차 20으로 폭 결정
+        IpHeavyHitterTracker sized = new IpHeavyHitterTracker(
+                meterRegistry, 15, IpHeavyHitterTracker.widthFor(500_000, 20), 64, clock::get);
+
+        // when - 25만 개 IP가 각 2회씩 실패하는 동안 공격 IP는 임계값(20)만큼 실패
+        for (int i = 0; i < 250_000; i++) {
+            String ip = (10 + (i >> 16)) + "." + (i >> 8 & 0xff) + "." + (i & 0xff) + ".1";
+            sized.recordFailure(ip);
+            sized.recordFailure(ip);
+            if (i % 12_500 == 0) {
+                sized.recordFailure("198.51.100.7");
+            }
+        }
+
+        // then
+        assertThat(sized.estimateIp("198.51.100.7") - sized.errorBound()).isLessThan(20); // 오차 상한을 빼면 놓침
+        assertThat(sized.ipExceeds("198.51.100.7", 20)).isTrue();
+        assertThat(sized.ipExceeds("10.0.0.1", 20)).isFalse();
+        assertThat(sized.ipExceeds("12.3.4.1", 20)).isFalse();
+        assertThat(sized.ipExceeds("192.0.2.1", 20)).isFalse();
+    }
+
+    @Test
+    @DisplayName("폭은 목표 오차를 만족하는 2의 거듭제곱이어야 한다")
+    void shouldSizeWidthFromTargetError() {
+        assertThat(IpHeavyHitterTracker.widthFor(250_000, 20)).isEqualTo(65536);
+        assertThat(IpHeavyHitterTracker.widthFor(1, 1000)).isEqualTo(1);
+        assertThat(Math.E / IpHeavyHitterTracker.widthFor(500_000, 20) * 500_000).isLessThanOrEqualTo(20);
+    }
+}
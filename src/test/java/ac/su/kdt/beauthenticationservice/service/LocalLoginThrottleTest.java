@@ -0,0 +1,77 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Local Login Throttle Tests")
+class LocalLoginThrottleTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+
+    @Test
+    @DisplayName("계정/IP 실패를 윈도우 내에서 세고, 성공 시 계정 횟수를 초기화해야 한다")
+    void shouldCountFailuresWithinWindow() {
+        // given
+        LocalLoginThrottle throttle = new LocalLoginThrottle(meterRegistry, Duration.ofMinutes(60), 1000, 100, clock::get);
+
+        // when
+        throttle.recordFailure("user@example.com", "203.0.113.10");
+        int attempts = throttle.recordFailure("user@example.com", "203.0.113.10");
+
+        // then
+        assertThat(attempts).isEqualTo(2);
+        assertThat(throttle.ipFailures("203.0.113.10")).isEqualTo(2);
+
+        throttle.recordSuccess("user@example.com", "203.0.113.10");
+        assertThat(throttle.failedAttempts("user@example.com")).isZero();
+
+        clock.addAndGet(Duration.ofMinutes(61).toMillis());
+        assertThat(throttle.ipFailures("203.0.113.10")).isZero();
+    }
+
+    @Test
+    @DisplayName("저널은 발생 순서를 유지하고 상한을 넘으면 가장 오래된 항목부터 버려야 한다")
+    void shouldKeepBoundedJournalInOrder() {
+        // given
+        LocalLoginThrottle throttle = new LocalLoginThrottle(meterRegistry, Duration.ofMinutes(60), 1000, 3, clock::get);
+
+        // when
+        throttle.recordFailure("a@example.com", "203.0.113.10");
+        throttle.recordFailure("b@example.com", "203.0.113.10");
+        throttle.recordSuccess("b@example.com", "203.0.113.10");
+        throttle.unlock("c@example.com", "admin");
+
+        // then
+        List<LocalLoginThrottle.JournalEntry> entries = throttle.drainJournal();
+        assertThat(entries).extracting(LocalLoginThrottle.JournalEntry::type).containsExactly(
+                LocalLoginThrottle.EventType.FAILURE, LocalLoginThrottle.EventType.SUCCESS, LocalLoginThrottle.EventType.UNLOCK);
+        assertThat(entries.get(0).email()).isEqualTo("b@example.com");
+        assertThat(throttle.journalSize()).isZero();
+        assertThat(meterRegistry.get("login_local_journal_dropped_count").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("반영하지 못한 항목은 새로 쌓인 항목보다 앞에 되돌려야 한다")
+    void shouldRestoreUnreplayedEntriesFirst() {
+        // given
+        LocalLoginThrottle throttle = new LocalLoginThrottle(meterRegistry, Duration.ofMinutes(60), 1000, 10, clock::get);
+        throttle.recordFailure("old@example.com", "203.0.113.10");
+        List<LocalLoginThrottle.JournalEntry> drained = throttle.drainJournal();
+        throttle.recordFailure("new@example.com", "203.0.113.10");
+
+        // when
+        throttle.restore(drained);
+
+        // then
+        assertThat(throttle.drainJournal()).extracting(LocalLoginThrottle.JournalEntry::email)
+                .containsExactly("old@example.com", "new@example.com");
+    }
+}
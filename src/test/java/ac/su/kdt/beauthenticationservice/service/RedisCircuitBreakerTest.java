@@ -0,0 +1,100 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Redis Circuit Breaker Tests")
+class RedisCircuitBreakerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RedisCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new RedisCircuitBreaker(meterRegistry, CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordExceptions(DataAccessException.class)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        breaker.destroy();
+    }
+
+    @Test
+    @DisplayName("Redis 오류가 임계값을 넘으면 회로가 열리고 이후 호출은 Redis를 거치지 않고 대체 값을 반환해야 한다")
+    void shouldOpenAndSkipRedisAfterFailures() {
+        // given
+        AtomicInteger redisCalls = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            String result = breaker.execute("login_status", () -> {
+                redisCalls.incrementAndGet();
+                throw new RedisConnectionFailureException("connection refused");
+            }, () -> "local");
+            assertThat(result).isEqualTo("local");
+        }
+        String afterOpen = breaker.execute("login_status", () -> {
+            redisCalls.incrementAndGet();
+            return "redis";
+        }, () -> "local");
+
+        // then
+        assertThat(afterOpen).isEqualTo("local");
+        assertThat(redisCalls.get()).isEqualTo(4);
+        assertThat(breaker.circuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(meterRegistry.get("redis_fallback_count").tag("operation", "login_status").counter().count())
+                .isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("대체 값이 없는 호출은 회로가 열리면 즉시 실패하고, Redis와 무관한 예외는 대체 없이 전파해야 한다")
+    void shouldFailFastWithoutFallback() {
+        // given
+        breaker.circuitBreaker().transitionToOpenState();
+
+        // when & then
+        assertThatThrownBy(() -> breaker.execute("auth_code_store", () -> "stored"))
+                .isInstanceOf(IllegalStateException.class);
+
+        breaker.circuitBreaker().transitionToClosedState();
+        assertThatThrownBy(() -> breaker.execute("sso_read", () -> {
+            throw new IllegalArgumentException("bad data");
+        }, () -> "fallback")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("회로가 다시 닫히면 등록된 복구 작업을 실행해야 한다")
+    void shouldRunRecoveryListenersWhenClosed() throws Exception {
+        // given
+        CountDownLatch recovered = new CountDownLatch(1);
+        breaker.onRecovery(recovered::countDown);
+        breaker.circuitBreaker().transitionToOpenState();
+
+        // when
+        breaker.circuitBreaker().transitionToHalfOpenState();
+        breaker.circuitBreaker().transitionToClosedState();
+
+        // then
+        assertThat(recovered.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -13,7 +13,9 @@ import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -205,6 +207,31 @@ class RedisLoginAttemptServiceIntegrationTest {
             assertThat(suspiciousIps.get(ip1)).isEqualTo(3);
             assertThat(suspiciousIps.get(ip2)).isEqualTo(7);
         }
+
+        @Test
+        @DisplayName("한 IP에서 여러 계정을 시도하면 대상 계정 수로 차단된다")
+        void blockSourceTargetingManyAccounts() {
+            // given
+            String stuffingIp = "203.0.113.10";
+
+            // when - 계정마다 1회씩, 잠금 없이 20개 계정 시도
+            for (int i = 0; i < 20; i++) {
+                loginAttemptService.recordFailedAttempt("victim" + i + "@example.com", stuffingIp);
+            }
+
+            // then
+            var status = loginAttemptService.getLoginStatus("new@example.com", stuffingIp);
+            assertThat(status.isLocked()).isFalse();
+            assertThat(status.getDistinctTargetsFromIp()).isEqualTo(20);
+            assertThat(status.isSourceBlocked()).isTrue();
+            assertThat(loginAttemptService.getLoginStatus("new@example.com", "198.51.100.1").isSourceBlocked()).isFalse();
+
+            var details = loginAttemptService.getSuspiciousIPsWithDetails(null, 10).getItems();
+            assertThat(details).hasSize(1);
+            assertThat(details.get(0).getDistinctTargetAccounts()).isEqualTo(20);
+            assertThat(details.get(0).getPrefixDistinctTargetAccounts()).isEqualTo(20);
+            assertThat(details.get(0).isHighRisk()).isTrue();
+        }
     }
 
     @Nested
@@ -242,6 +269,126 @@ class RedisLoginAttemptServiceIntegrationTest {
             assertThat(stats.get("lockedAccounts")).isEqualTo(2);
             assertThat(stats.get("suspiciousIpCount")).isEqualTo(3);
         }
+
+        @Test
+        @DisplayName("로그인 성공과 잠금 해제 시 총 실패 횟수에서 해당 계정의 실패 횟수가 차감된다")
+        void subtractClearedAttemptsFromTotal() {
+            // given
+            for (int i = 0; i < 3; i++) {
+                loginAttemptService.recordFailedAttempt("user1@example.com", "192.168.1.100");
+            }
+            for (int i = 0; i < 10; i++) {
+                loginAttemptService.recordFailedAttempt("user2@example.com", "192.168.1.200");
+            }
+            loginAttemptService.recordFailedAttempt("user3@example.com", "192.168.1.300");
+
+            // when
+            loginAttemptService.recordSuccessfulLogin("user1@example.com", "192.168.1.100");
+            loginAttemptService.unlockAccount("user2@example.com", "test-admin");
+
+            // then
+            Map<String, Object> stats = loginAttemptService.getSecurityStatistics();
+            assertThat(stats.get("totalFailedAttempts")).isEqualTo(1);
+            assertThat(stats.get("lockedAccounts")).isEqualTo(0);
+        }
+    }
+
+    @Nested
+    @DisplayName("관리자 인덱스 조회 테스트")
+    class AdminIndexTest {
+
+        @Test
+        @DisplayName("잠긴 계정 목록을 커서로 끝까지 조회할 수 있다")
+        void paginateLockedAccounts() {
+            // given - 같은 초에 잠긴 계정 5개 (같은 score)
+            for (int account = 0; account < 5; account++) {
+                for (int i = 0; i < 10; i++) {
+                    loginAttemptService.recordFailedAttempt("locked" + account + "@example.com", testIpAddress);
+                }
+            }
+
+            // when
+            Set<String> emails = new HashSet<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                var page = loginAttemptService.getLockedAccounts(cursor, 2);
+                page.getItems().forEach(info -> emails.add(info.getEmail()));
+                assertThat(page.getTotal()).isEqualTo(5);
+                cursor = page.getNextCursor();
+                pages++;
+            } while (cursor != null);
+
+            // then
+            assertThat(emails).hasSize(5);
+            assertThat(pages).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("로그인 성공과 수동 해제 시 인덱스에서 제거된다")
+        void removeFromIndexesOnSuccessAndUnlock() {
+            // given
+            for (int i = 0; i < 10; i++) {
+                loginAttemptService.recordFailedAttempt(testEmail, testIpAddress);
+                loginAttemptService.recordFailedAttempt("other@example.com", testIpAddress);
+            }
+
+            // when
+            loginAttemptService.recordSuccessfulLogin(testEmail, testIpAddress);
+            loginAttemptService.unlockAccount("other@example.com", "admin");
+
+            // then
+            var stats = loginAttemptService.getLoginAttemptStats();
+            assertThat(stats.getTotalLockedAccounts()).isZero();
+            assertThat(stats.getTotalAccountsWithFailedAttempts()).isZero();
+            assertThat(stats.getTotalAccountsNearLockThreshold()).isZero();
+            assertThat(stats.getTotalSuspiciousIPs()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("집계 카운터 테스트")
+    class StatsCounterTest {
+
+        @Test
+        @DisplayName("쓰기 시 유지되는 카운터로 통계와 분당 실패 수를 조회한다")
+        void maintainCountersOnWritePath() {
+            // given
+            for (int i = 0; i < 10; i++) {
+                loginAttemptService.recordFailedAttempt("user1@example.com", "192.168.1.100");
+            }
+            for (int i = 0; i < 3; i++) {
+                loginAttemptService.recordFailedAttempt("user2@example.com", "192.168.1.200");
+            }
+
+            // when
+            var stats = loginAttemptService.getLoginAttemptStats();
+
+            // then
+            assertThat(stats.getTotalLockedAccounts()).isEqualTo(1);
+            assertThat(stats.getTotalAccountsWithFailedAttempts()).isEqualTo(2);
+            assertThat(stats.getTotalSuspiciousIPs()).isEqualTo(2);
+            assertThat(stats.getTotalAccountsNearLockThreshold()).isEqualTo(1);
+            assertThat(stats.getFailuresPerMinute()).isCloseTo(13.0 / stats.getFailureRateWindowMinutes(), within(0.001));
+            assertThat(redisTemplate.opsForHash().get("login_stats:counters", "locked_accounts")).isEqualTo("1");
+        }
+
+        @Test
+        @DisplayName("잠금 해제 시 카운터가 감소한다")
+        void decrementCountersOnUnlock() {
+            // given
+            for (int i = 0; i < 10; i++) {
+                loginAttemptService.recordFailedAttempt(testEmail, testIpAddress);
+            }
+
+            // when
+            loginAttemptService.unlockAccount(testEmail, "admin");
+
+            // then
+            assertThat(redisTemplate.opsForHash().get("login_stats:counters", "locked_accounts")).isEqualTo("0");
+            assertThat(redisTemplate.opsForHash().get("login_stats:counters", "failed_accounts")).isEqualTo("0");
+            assertThat(loginAttemptService.getLoginAttemptStats().getTotalLockedAccounts()).isZero();
+        }
     }
 
     @Nested
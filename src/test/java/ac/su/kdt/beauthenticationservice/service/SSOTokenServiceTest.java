@@ -0,0 +1,206 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import ac.su.kdt.beauthenticationservice.jwt.JwtService;
+import ac.su.kdt.beauthenticationservice.model.dto.UserSnapshot;
+import ac.su.kdt.beauthenticationservice.model.entity.User;
+import ac.su.kdt.beauthenticationservice.repository.UserRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SSO Token Service Tests")
+class SSOTokenServiceTest {
+
+    private static final String TOKEN = "sso-token";
+    private static final String TOKEN_KEY = "sso:v2:token:" + TOKEN;
+    private static final long ISSUED_AT = 1_700_000_000L;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private HashOperations<String, String, String> hashOperations;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserTokenWatermarkService userTokenWatermarkService;
+
+    @Mock
+    private UserSnapshotCache userSnapshotCache;
+
+    @Mock
+    private BackchannelLogoutService backchannelLogoutService;
+
+    private final AtomicLong clock = new AtomicLong(ISSUED_AT * 1000);
+    private SSOTokenService ssoTokenService;
+
+    @BeforeEach
+    void setUp() {
+        RedisCircuitBreaker redisCircuitBreaker =
+                new RedisCircuitBreaker(new SimpleMeterRegistry(), CircuitBreakerConfig.ofDefaults());
+        ssoTokenService = new SSOTokenService(redisTemplate, redisCircuitBreaker, jwtService, userRepository,
+                userTokenWatermarkService, userSnapshotCache, backchannelLogoutService, 900, clock::get);
+        lenient().when(redisTemplate.<String, String>opsForHash()).thenReturn(hashOperations);
+    }
+
+    @Test
+    @DisplayName("검증은 토큰 해시의 사용자 스냅샷으로 응답하고 DB와 TTL 연장을 거치지 않아야 한다")
+    void shouldValidateFromSnapshotWithSingleRead() {
+        // given
+        when(hashOperations.entries(TOKEN_KEY)).thenReturn(tokenHash(true));
+        clock.addAndGet(60_000);
+
+        // when
+        Optional<UserSnapshot> user = ssoTokenService.validateSSOToken(TOKEN);
+
+        // then
+        assertThat(user).isPresent();
+        assertThat(user.get().getEmail()).isEqualTo("user@example.com");
+        assertThat(user.get().getRole()).isEqualTo(User.UserRole.ADMIN);
+        verifyNoInteractions(userRepository);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("검증은 발급 후 바뀐 프로필을 사용자 스냅샷 캐시에서 읽어 응답해야 한다")
+    void shouldRespondWithCurrentProfile() {
+        // given
+        when(hashOperations.entries(TOKEN_KEY)).thenReturn(tokenHash(true));
+        User updated = User.builder()
+                .id("user-1")
+                .email("user@example.com")
+                .name("Renamed")
+                .role(User.UserRole.ADMIN)
+                .isActive(true)
+                .emailVerified(true)
+                .pictureUrl("https://example.com/new.png")
+                .build();
+        when(userSnapshotCache.get("user-1")).thenReturn(Optional.of(UserSnapshot.from(updated)));
+
+        // when
+        Optional<UserSnapshot> user = ssoTokenService.validateSSOToken(TOKEN);
+
+        // then
+        assertThat(user).isPresent();
+        assertThat(user.get().getName()).isEqualTo("Renamed");
+        assertThat(user.get().getPictureUrl()).isEqualTo("https://example.com/new.png");
+    }
+
+    @Test
+    @DisplayName("마지막 연장 후 기준 시간이 지나면 토큰과 세션 TTL을 함께 연장해야 한다")
+    void shouldRenewLazilyPastThreshold() {
+        // given
+        when(hashOperations.entries(TOKEN_KEY)).thenReturn(tokenHash(true));
+        clock.addAndGet(901_000);
+
+        // when
+        ssoTokenService.validateSSOToken(TOKEN);
+
+        // then
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of(TOKEN_KEY, "sso:v2:session:session-1")), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("사용자 워터마크 이전에 발급된 토큰과 비활성 사용자는 거절해야 한다")
+    void shouldRejectStaleOrInactiveSnapshots() {
+        // given
+        when(hashOperations.entries(TOKEN_KEY)).thenReturn(tokenHash(true), tokenHash(false));
+        when(userTokenWatermarkService.getWatermark("user-1")).thenReturn(ISSUED_AT * 1000 + 1, 0L);
+
+        // when & then
+        assertThat(ssoTokenService.validateSSOToken(TOKEN)).isEmpty();
+        verify(redisTemplate).delete(List.of(TOKEN_KEY, "sso:v2:session:session-1"));
+        assertThat(ssoTokenService.validateSSOToken(TOKEN)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("무효화 직후 같은 초에 발급된 SSO 토큰은 유효해야 한다")
+    void shouldAcceptTokenIssuedRightAfterWatermark() {
+        // given
+        Map<String, String> hash = tokenHash(true);
+        hash.put("issuedAtMillis", String.valueOf(ISSUED_AT * 1000 + 502));
+        when(hashOperations.entries(TOKEN_KEY)).thenReturn(hash);
+        when(userTokenWatermarkService.getWatermark("user-1")).thenReturn(ISSUED_AT * 1000 + 501);
+
+        // when & then
+        assertThat(ssoTokenService.validateSSOToken(TOKEN)).isPresent();
+    }
+
+    @Test
+    @DisplayName("세션 해시의 app: 필드는 applications 맵으로 모아야 한다")
+    void shouldCollectApplicationsFromSessionHash() {
+        // when
+        Map<String, Object> sessionInfo = SSOTokenService.toSessionInfo(Map.of(
+                "userId", "user-1",
+                "ssoToken", TOKEN,
+                "app:console", "Console",
+                "app:docs", "Docs"));
+
+        // then
+        assertThat(sessionInfo).containsEntry("userId", "user-1");
+        assertThat(sessionInfo.get("applications")).isEqualTo(Map.of("console", "Console", "docs", "Docs"));
+    }
+
+    @Test
+    @DisplayName("로그아웃은 세션을 삭제하고 등록된 애플리케이션에 back-channel 알림을 보내야 한다")
+    void shouldNotifyRegisteredApplicationsOnLogout() {
+        // given
+        when(hashOperations.multiGet(TOKEN_KEY, List.of("sessionId", "userId"))).thenReturn(List.of("session-1", "user-1"));
+        when(hashOperations.entries("sso:v2:session:session-1")).thenReturn(Map.of(
+                "userId", "user-1",
+                "ssoToken", TOKEN,
+                "app:console", "Console"));
+        when(backchannelLogoutService.notifyLogout("user-1", "session-1", List.of("console")))
+                .thenReturn(CompletableFuture.completedFuture(Map.of("console", true)));
+
+        // when
+        boolean loggedOut = ssoTokenService.logout(TOKEN);
+
+        // then
+        assertThat(loggedOut).isTrue();
+        verify(redisTemplate).delete(List.of(TOKEN_KEY, "sso:v2:session:session-1"));
+        verify(backchannelLogoutService).notifyLogout("user-1", "session-1", List.of("console"));
+    }
+
+    private Map<String, String> tokenHash(boolean active) {
+        User user = User.builder()
+                .id("user-1")
+                .email("user@example.com")
+                .name("User")
+                .role(User.UserRole.ADMIN)
+                .isActive(active)
+                .emailVerified(true)
+                .build();
+        Map<String, String> hash = new HashMap<>(UserSnapshot.from(user).toFields());
+        hash.put("sessionId", "session-1");
+        hash.put("issuedAt", String.valueOf(ISSUED_AT));
+        hash.put("renewedAt", String.valueOf(ISSUED_AT));
+        return hash;
+    }
+}
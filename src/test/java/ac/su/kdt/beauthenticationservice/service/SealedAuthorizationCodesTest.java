@@ -0,0 +1,116 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Sealed Authorization Code Tests")
+class SealedAuthorizationCodesTest {
+
+    private static final String SECRET = "test-sealing-secret";
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+    private SimpleMeterRegistry meterRegistry;
+    private TimingWheel timingWheel;
+    private SealedAuthorizationCodes sealedCodes;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        timingWheel = new TimingWheel(meterRegistry, 100, clock::get);
+        sealedCodes = new SealedAuthorizationCodes(meterRegistry, timingWheel, true, SECRET, 600, 1000, clock::get);
+    }
+
+    @Test
+    @DisplayName("봉인한 코드는 한 번만 원래 데이터로 열려야 한다")
+    void shouldOpenSealedCodeOnce() {
+        // given
+        String code = sealedCodes.seal(data("user123", "client-a"));
+
+        // when
+        AuthorizationCodeService.AuthorizationCodeData opened = sealedCodes.open(code);
+
+        // then
+        assertThat(SealedAuthorizationCodes.isSealed(code)).isTrue();
+        assertThat(opened).isNotNull();
+        assertThat(opened.getUserId()).isEqualTo("user123");
+        assertThat(opened.getRedirectUri()).isEqualTo("https://app.example.com/callback");
+        assertThat(opened.getCodeChallenge()).isEqualTo("challenge");
+        assertThat(opened.getState()).isNull();
+        assertThat(sealedCodes.isValid(code)).isFalse();
+        assertThat(sealedCodes.open(code)).isNull();
+    }
+
+    @Test
+    @DisplayName("위조되었거나 다른 키로 봉인된 코드는 거절해야 한다")
+    void shouldRejectTamperedCodes() {
+        // given
+        String code = sealedCodes.seal(data("user123", "client-a"));
+        char last = code.charAt(code.length() - 10);
+        String tampered = code.substring(0, code.length() - 10) + (last == 'A' ? 'B' : 'A') + code.substring(code.length() - 9);
+        SealedAuthorizationCodes otherKey = new SealedAuthorizationCodes(meterRegistry, timingWheel, true,
+                "another-secret", 600, 1000, clock::get);
+
+        // when & then
+        assertThat(sealedCodes.open(tampered)).isNull();
+        assertThat(sealedCodes.open("s1.not-base64!")).isNull();
+        assertThat(otherKey.open(code)).isNull();
+        assertThat(sealedCodes.open(code)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("만료된 코드는 거절하고, 재사용 기록은 코드 만료 시 정리되어야 한다")
+    void shouldExpireCodesAndReplayEntries() {
+        // given
+        String consumedCode = sealedCodes.seal(data("user123", "client-a"));
+        String unusedCode = sealedCodes.seal(data("user456", "client-a"));
+        sealedCodes.open(consumedCode);
+        timingWheel.advance();
+        assertThat(sealedCodes.replayEntries()).isEqualTo(1);
+
+        // when
+        clock.addAndGet(Duration.ofSeconds(601).toMillis());
+        timingWheel.advance();
+
+        // then
+        assertThat(sealedCodes.open(unusedCode)).isNull();
+        assertThat(sealedCodes.replayEntries()).isZero();
+    }
+
+    @Test
+    @DisplayName("사용자/클라이언트 무효화 이전에 발급된 코드만 거절해야 한다")
+    void shouldRejectCodesIssuedBeforeRevocation() {
+        // given
+        String userCode = sealedCodes.seal(data("user123", "client-a"));
+        String clientCode = sealedCodes.seal(data("user456", "client-b"));
+        clock.addAndGet(1);
+
+        // when
+        sealedCodes.revokeUser("user123");
+        sealedCodes.revokeClient("client-b");
+        clock.addAndGet(1);
+        String laterCode = sealedCodes.seal(data("user123", "client-a"));
+
+        // then
+        assertThat(sealedCodes.open(userCode)).isNull();
+        assertThat(sealedCodes.open(clientCode)).isNull();
+        assertThat(sealedCodes.open(laterCode)).isNotNull();
+    }
+
+    private AuthorizationCodeService.AuthorizationCodeData data(String userId, String clientId) {
+        return AuthorizationCodeService.AuthorizationCodeData.builder()
+                .userId(userId)
+                .clientId(clientId)
+                .redirectUri("https://app.example.com/callback")
+                .scope("openid profile")
+                .codeChallenge("challenge")
+                .codeChallengeMethod("S256")
+                .build();
+    }
+}
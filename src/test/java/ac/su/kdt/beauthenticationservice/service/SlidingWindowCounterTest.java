@@ -0,0 +1,160 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Sliding Window Counter Tests")
+class SlidingWindowCounterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    @DisplayName("윈도우가 지난 슬롯의 횟수는 합계에서 빠져야 한다")
+    void shouldSlideWindow() {
+        // given - 15분 윈도우, 1분 슬롯
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofMinutes(15), 15, 1000, clock::get);
+
+        // when
+        counter.increment("ip");
+        counter.increment("ip");
+        clock.addAndGet(Duration.ofMinutes(10).toMillis());
+        counter.increment("ip");
+
+        // then
+        assertThat(counter.count("ip")).isEqualTo(3);
+        clock.addAndGet(Duration.ofMinutes(6).toMillis());
+        assertThat(counter.count("ip")).isEqualTo(1);
+        clock.addAndGet(Duration.ofMinutes(10).toMillis());
+        assertThat(counter.count("ip")).isZero();
+    }
+
+    @Test
+    @DisplayName("초기화하면 횟수가 0이 되어야 한다")
+    void shouldResetKey() {
+        // given
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofMinutes(15), 15, 1000, clock::get);
+        counter.increment("user@example.com");
+
+        // when
+        counter.reset("user@example.com");
+
+        // then
+        assertThat(counter.count("user@example.com")).isZero();
+    }
+
+    @Test
+    @DisplayName("키 상한을 넘으면 오래된 키를 제거해 메모리를 제한해야 한다")
+    void shouldBoundTrackedKeys() {
+        // given
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofMinutes(15), 15, 160, clock::get);
+
+        // when
+        for (int i = 0; i < 10_000; i++) {
+            counter.increment("10.0." + i);
+        }
+
+        // then
+        assertThat(counter.size()).isLessThanOrEqualTo(160);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 같은 키를 동시에 증가시켜도 유실이 없어야 한다")
+    void shouldNotLoseConcurrentIncrements() throws Exception {
+        // given
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofMinutes(15), 15, 1000);
+        int threads = 8;
+        int incrementsPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < incrementsPerThread; i++) {
+                    counter.increment("203.0.113.7");
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(counter.count("203.0.113.7")).isEqualTo(threads * incrementsPerThread);
+    }
+
+    @Test
+    @DisplayName("만료 제거가 진행되는 동안의 증가도 유실되지 않아야 한다")
+    void shouldNotLoseIncrementsRacingExpiry() throws Exception {
+        // given: 라운드마다 윈도우 이상 시간을 넘겨, 모든 키의 Window가 만료 제거 대상인 상태에서 증가와 제거를 겹침
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        TimingWheel wheel = new TimingWheel(new SimpleMeterRegistry(), 1000, clock::get);
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofMinutes(15), 15, 10_000, clock::get, wheel);
+        int threads = 4;
+        int keys = 256;
+        int incrementsPerKey = 1;
+        int rounds = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CyclicBarrier start = new CyclicBarrier(threads + 1);
+        CyclicBarrier done = new CyclicBarrier(threads + 1);
+        AtomicInteger lostRounds = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * keys / threads;
+            futures.add(executor.submit(() -> {
+                for (int round = 0; round < rounds; round++) {
+                    start.await();
+                    for (int i = 0; i < incrementsPerKey; i++) {
+                        for (int k = 0; k < keys; k++) {
+                            counter.increment("key-" + (k + offset) % keys);
+                        }
+                    }
+                    done.await();
+                }
+                return null;
+            }));
+        }
+
+        // when
+        for (int round = 0; round < rounds; round++) {
+            clock.addAndGet(Duration.ofMinutes(16).toMillis());
+            start.await();
+            wheel.advance();
+            done.await();
+
+            // then: 시계가 라운드 중 멈춰 있으므로 모든 증가는 현재 슬롯에 남아 있어야 함
+            for (int k = 0; k < keys; k++) {
+                if (counter.count("key-" + k) != threads * incrementsPerKey) {
+                    lostRounds.incrementAndGet();
+                }
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(lostRounds.get()).isZero();
+    }
+}
@@ -0,0 +1,97 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Timing Wheel Tests")
+class TimingWheelTest {
+
+    private static final long TICK_MILLIS = 10;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+
+    @Test
+    @DisplayName("모든 단계의 항목이 마감 시각 이후 한 틱 이내에 만료되어야 한다")
+    void shouldExpireEachEntryWithinOneTickOfDeadline() {
+        // given
+        TimingWheel wheel = new TimingWheel(meterRegistry, TICK_MILLIS, clock::get);
+        long start = clock.get();
+        long[] delays = {0, 5, 1_000, 2_550, 100_000, 655_360, 10_000_000};
+        Map<Long, Long> firedAt = new ConcurrentHashMap<>();
+        for (long delay : delays) {
+            wheel.schedule(start + delay, () -> firedAt.put(delay, clock.get()));
+        }
+
+        // when
+        while (clock.get() <= start + 10_000_000 + TICK_MILLIS) {
+            wheel.advance();
+            clock.addAndGet(TICK_MILLIS);
+        }
+
+        // then
+        assertThat(firedAt).hasSize(delays.length);
+        for (long delay : delays) {
+            long lateness = firedAt.get(delay) - (start + delay);
+            assertThat(lateness).as("delay %d", delay).isBetween(0L, TICK_MILLIS - 1);
+        }
+        assertThat(wheel.pending()).isZero();
+        assertThat(meterRegistry.get("expiry_wheel_expired_count").counter().count()).isEqualTo(delays.length);
+    }
+
+    @Test
+    @DisplayName("마감 순서대로 만료되고, 취소한 항목은 실행되지 않아야 한다")
+    void shouldExpireInDeadlineOrderAndSkipCancelled() {
+        // given
+        TimingWheel wheel = new TimingWheel(meterRegistry, TICK_MILLIS, clock::get);
+        long start = clock.get();
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(start + 300_000, () -> fired.add("late"));
+        wheel.schedule(start + 20, () -> fired.add("early"));
+        TimingWheel.Timeout cancelled = wheel.schedule(start + 100, () -> fired.add("cancelled"));
+        wheel.schedule(start + 3_000, () -> fired.add("middle"));
+
+        // when
+        assertThat(cancelled.cancel()).isTrue();
+        clock.addAndGet(400_000);
+        wheel.advance();
+
+        // then
+        assertThat(fired).containsExactly("early", "middle", "late");
+        assertThat(cancelled.isExpired()).isFalse();
+        assertThat(wheel.pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("윈도우가 지난 카운터 키는 다음 증가를 기다리지 않고 제거되어야 한다")
+    void shouldRemoveIdleCounterKeys() {
+        // given
+        TimingWheel wheel = new TimingWheel(meterRegistry, TICK_MILLIS, clock::get);
+        SlidingWindowCounter counter = new SlidingWindowCounter(
+                Duration.ofMinutes(15), 15, 1000, clock::get, wheel);
+        counter.increment("idle@example.com");
+        counter.increment("active@example.com");
+        wheel.advance();
+
+        // when: 10분 뒤 active만 다시 증가, 16분 뒤 확인
+        clock.addAndGet(Duration.ofMinutes(10).toMillis());
+        counter.increment("active@example.com");
+        clock.addAndGet(Duration.ofMinutes(6).toMillis());
+        wheel.advance();
+
+        // then
+        assertThat(counter.size()).isEqualTo(1);
+        assertThat(counter.count("active@example.com")).isEqualTo(1);
+        assertThat(counter.count("idle@example.com")).isZero();
+    }
+}
@@ -0,0 +1,324 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import ac.su.kdt.beauthenticationservice.jwt.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Token Blacklist Service Tests")
+class TokenBlacklistServiceTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private UserTokenWatermarkService watermarkService;
+
+    private RevokedTokenBloomFilter bloomFilter;
+    private TokenBlacklistService tokenBlacklistService;
+    private TimingWheel timingWheel;
+    private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+
+    @BeforeEach
+    void setUp() {
+        // 재동기화가 테스트 중에 실행되지 않도록 주기를 충분히 길게 설정
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        bloomFilter = new RevokedTokenBloomFilter(meterRegistry, 3600, 1000, 0.001);
+        timingWheel = new TimingWheel(meterRegistry, 1000, clock::get);
+        tokenBlacklistService = new TokenBlacklistService(
+                redisTemplate, bloomFilter, watermarkService, timingWheel, Optional.empty(), meterRegistry, Long.MAX_VALUE, 1000);
+    }
+
+    @Test
+    @DisplayName("토큰 무효화 시 남은 수명만큼 Redis에 저장하고 이벤트를 발행해야 한다")
+    void shouldStoreRevocationWithRemainingLifetime() {
+        // given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        long expiration = Instant.now().getEpochSecond() + 600;
+
+        // when
+        tokenBlacklistService.blacklistToken("jti-1", expiration);
+
+        // then
+        verify(valueOperations).set(eq("blacklist:token:jti-1"), eq(String.valueOf(expiration)),
+                longThat(ttl -> ttl > 590 && ttl <= 600), eq(TimeUnit.SECONDS));
+        verify(redisTemplate).convertAndSend("blacklist:events", "R|" + expiration + "|jti-1");
+        assertThat(tokenBlacklistService.isTokenBlacklisted("jti-1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("이미 만료된 토큰은 저장하지 않아야 한다")
+    void shouldSkipAlreadyExpiredToken() {
+        // when
+        tokenBlacklistService.blacklistToken("jti-1", Instant.now().getEpochSecond() - 1);
+
+        // then
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("동기화된 상태에서는 Redis를 조회하지 않고 로컬 사본으로 판단해야 한다")
+    void shouldAnswerFromLocalMirrorWhenSynced() {
+        // given
+        ReflectionTestUtils.setField(tokenBlacklistService, "synced", true);
+
+        // when
+        boolean revoked = tokenBlacklistService.isTokenBlacklisted("jti-unknown");
+
+        // then
+        assertThat(revoked).isFalse();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("동기화되지 않은 상태에서는 Redis를 직접 조회해야 한다")
+    void shouldFallBackToRedisWhenNotSynced() {
+        // given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        long expiration = Instant.now().getEpochSecond() + 600;
+        when(valueOperations.get("blacklist:token:jti-1")).thenReturn(String.valueOf(expiration));
+
+        // when
+        boolean revoked = tokenBlacklistService.isTokenBlacklisted("jti-1");
+
+        // then
+        assertThat(revoked).isTrue();
+        assertThat(tokenBlacklistService.getBlacklistStats().getRedisLookupCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스의 무효화/해제/초기화 이벤트를 로컬 사본에 반영해야 한다")
+    void shouldApplyEventsFromOtherInstances() {
+        // given
+        ReflectionTestUtils.setField(tokenBlacklistService, "synced", true);
+        long expiration = Instant.now().getEpochSecond() + 600;
+
+        // when & then
+        tokenBlacklistService.handleEvent("R|" + expiration + "|jti-1");
+        tokenBlacklistService.handleEvent("R|" + expiration + "|jti-2");
+        assertThat(tokenBlacklistService.isTokenBlacklisted("jti-1")).isTrue();
+
+        tokenBlacklistService.handleEvent("U|jti-1");
+        assertThat(tokenBlacklistService.isTokenBlacklisted("jti-1")).isFalse();
+        assertThat(tokenBlacklistService.isTokenBlacklisted("jti-2")).isTrue();
+
+        tokenBlacklistService.handleEvent("C");
+        assertThat(tokenBlacklistService.isTokenBlacklisted("jti-2")).isFalse();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Bloom filter가 음성이면 블랙리스트 조회 없이 무효화되지 않은 것으로 판단해야 한다")
+    void shouldSkipLookupWhenBloomFilterIsNegative() {
+        // given
+        ReflectionTestUtils.setField(tokenBlacklistService, "synced", true);
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        tokenBlacklistService.handleEvent("R|" + expiresAt.getEpochSecond() + "|jti-revoked");
+
+        VerifiedToken revoked = VerifiedToken.builder().jti("jti-revoked").expiresAt(expiresAt).build();
+        VerifiedToken active = VerifiedToken.builder().jti("jti-active").expiresAt(expiresAt).build();
+
+        // when & then
+        assertThat(tokenBlacklistService.isRevoked(revoked)).isTrue();
+        assertThat(tokenBlacklistService.isRevoked(active)).isFalse();
+        assertThat(bloomFilter.mightContain("jti-active", expiresAt.getEpochSecond())).isFalse();
+        assertThat(bloomFilter.memoryBytes()).isPositive();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("지난 시간 구간의 Bloom filter는 정리되어야 한다")
+    void shouldRotateExpiredBloomFilterBuckets() {
+        // given
+        long expired = Instant.now().minusSeconds(7200).getEpochSecond();
+        long active = Instant.now().plusSeconds(7200).getEpochSecond();
+        bloomFilter.put("jti-old", expired);
+        bloomFilter.put("jti-new", active);
+
+        // when
+        int removed = bloomFilter.rotate();
+
+        // then
+        assertThat(removed).isEqualTo(1);
+        assertThat(bloomFilter.mightContain("jti-old", expired)).isFalse();
+        assertThat(bloomFilter.mightContain("jti-new", active)).isTrue();
+    }
+
+    @Test
+    @DisplayName("exp를 알 수 없는 항목의 Bloom filter도 보관 기한이 지나면 정리되어야 한다")
+    void shouldRotateExpiredUnboundedBloomFilter() {
+        // given
+        long now = Instant.now().getEpochSecond();
+        bloomFilter.putUnbounded("jti-legacy", now - 1);
+
+        // when
+        int removed = bloomFilter.rotate();
+
+        // then
+        assertThat(removed).isEqualTo(1);
+        assertThat(bloomFilter.mightContain("jti-legacy", now + 600)).isFalse();
+        assertThat(bloomFilter.memoryBytes()).isZero();
+
+        // 보관 기한은 가장 늦은 항목 기준이므로, 아직 기한이 남은 항목이 있으면 유지
+        bloomFilter.putUnbounded("jti-legacy-2", now + 7200);
+        bloomFilter.putUnbounded("jti-legacy-3", now - 1);
+        assertThat(bloomFilter.rotate()).isZero();
+        assertThat(bloomFilter.mightContain("jti-legacy-3", now + 600)).isTrue();
+    }
+
+    @Test
+    @DisplayName("무효화 항목은 주기적 스캔 없이 exp 시각에 로컬 사본에서 제거되어야 한다")
+    void shouldExpireMirroredEntriesAtDeadline() {
+        // given
+        long expiration = TimeUnit.MILLISECONDS.toSeconds(clock.get()) + 2;
+        tokenBlacklistService.handleEvent("R|" + expiration + "|jti-1");
+        timingWheel.advance();
+        assertThat(tokenBlacklistService.getBlacklistStats().getTotalTokens()).isEqualTo(1);
+
+        // when
+        clock.set(TimeUnit.SECONDS.toMillis(expiration) + 1000);
+        timingWheel.advance();
+
+        // then
+        assertThat(tokenBlacklistService.getBlacklistStats().getTotalTokens()).isZero();
+        assertThat(tokenBlacklistService.getBlacklistStats().getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("재동기화는 놓친 해제/초기화 이벤트로 Redis에서 사라진 로컬 항목을 제거해야 한다")
+    @SuppressWarnings("unchecked")
+    void shouldDropLocalEntriesMissingFromRedisOnResync() {
+        // given: jti-1은 다른 인스턴스에서 해제되었지만 U 이벤트를 놓침
+        long expiration = Instant.now().getEpochSecond() + 600;
+        tokenBlacklistService.handleEvent("R|" + expiration + "|jti-1");
+        tokenBlacklistService.handleEvent("R|" + expiration + "|jti-2");
+
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenReturn(true, false);
+        when(cursor.next()).thenReturn("blacklist:token:jti-2");
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("blacklist:token:jti-2"))).thenReturn(List.of(String.valueOf(expiration)));
+
+        // when
+        tokenBlacklistService.synchronize();
+
+        // then
+        assertThat(tokenBlacklistService.getBlacklistStats().getTotalTokens()).isEqualTo(1);
+        ReflectionTestUtils.setField(tokenBlacklistService, "synced", true);
+        assertThat(tokenBlacklistService.isTokenBlacklisted("jti-1")).isFalse();
+        assertThat(tokenBlacklistService.isTokenBlacklisted("jti-2")).isTrue();
+    }
+
+    @Test
+    @DisplayName("재동기화가 필요한 동안 요청이 몰려도 전체 스캔은 전용 스레드에서 한 번만 실행되어야 한다")
+    @SuppressWarnings("unchecked")
+    void shouldRunSingleResyncForConcurrentRequests() throws Exception {
+        // given: 스캔이 끝나지 않은 상태에서 요청이 계속 들어옴
+        TokenBlacklistService service = new TokenBlacklistService(
+                redisTemplate, bloomFilter, watermarkService, timingWheel, Optional.empty(), new SimpleMeterRegistry(), 300, 1000);
+        CountDownLatch scanStarted = new CountDownLatch(1);
+        CountDownLatch releaseScan = new CountDownLatch(1);
+        Cursor<String> cursor = mock(Cursor.class);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> {
+            scanStarted.countDown();
+            releaseScan.await(5, TimeUnit.SECONDS);
+            return cursor;
+        });
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            service.isTokenBlacklisted("jti-" + i);
+        }
+        assertThat(scanStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 50; i++) {
+            service.isTokenBlacklisted("jti-" + i);
+        }
+        releaseScan.countDown();
+
+        // then: 완료 후에도 주기가 지나기 전에는 다시 스캔하지 않음
+        AtomicBoolean syncInProgress = (AtomicBoolean) ReflectionTestUtils.getField(service, "syncInProgress");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (syncInProgress.get() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(syncInProgress.get()).isFalse();
+        for (int i = 0; i < 50; i++) {
+            service.isTokenBlacklisted("jti-" + i);
+        }
+        verify(redisTemplate, after(200).times(1)).scan(any(ScanOptions.class));
+        service.destroy();
+    }
+
+    @Test
+    @DisplayName("로컬 사본 상한을 넘어 담지 못한 항목이 있으면 로컬 미스를 Redis로 확인해야 한다")
+    void shouldFallBackToRedisWhenLocalMirrorIsFull() {
+        // given
+        TokenBlacklistService service = new TokenBlacklistService(
+                redisTemplate, bloomFilter, watermarkService, timingWheel, Optional.empty(), new SimpleMeterRegistry(), Long.MAX_VALUE, 1);
+        ReflectionTestUtils.setField(service, "synced", true);
+        long expiration = Instant.now().getEpochSecond() + 600;
+        service.handleEvent("R|" + expiration + "|jti-1");
+        service.handleEvent("R|" + expiration + "|jti-2");
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("blacklist:token:jti-2")).thenReturn(String.valueOf(expiration));
+
+        // when & then
+        assertThat(service.getBlacklistStats().getTotalTokens()).isEqualTo(1);
+        assertThat(service.isTokenBlacklisted("jti-1")).isTrue();
+        assertThat(service.isTokenBlacklisted("jti-2")).isTrue();
+        verify(valueOperations).get("blacklist:token:jti-2");
+    }
+
+    @Test
+    @DisplayName("구독이 활성화된 동안에만 로컬 사본을 신뢰해야 한다")
+    @SuppressWarnings("unchecked")
+    void shouldTrustLocalMirrorOnlyWhileListening() {
+        // given
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+        TokenBlacklistService service = new TokenBlacklistService(
+                redisTemplate, bloomFilter, watermarkService, timingWheel, Optional.of(container), new SimpleMeterRegistry(), Long.MAX_VALUE, 1000);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> mock(Cursor.class));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(container.isListening()).thenReturn(false, true, false);
+
+        // when & then: 컨테이너는 있지만 아직 구독 전
+        service.synchronize();
+        assertThat(service.getBlacklistStats().isSynced()).isFalse();
+
+        service.synchronize();
+        assertThat(service.getBlacklistStats().isSynced()).isTrue();
+
+        // 구독이 끊기면 다음 조회부터 Redis 확인
+        service.isTokenBlacklisted("jti-1");
+        assertThat(service.getBlacklistStats().isSynced()).isFalse();
+        verify(valueOperations).get("blacklist:token:jti-1");
+    }
+}
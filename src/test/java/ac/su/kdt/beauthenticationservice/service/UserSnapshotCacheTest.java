@@ -0,0 +1,189 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import ac.su.kdt.beauthenticationservice.model.dto.UserChangedEvent;
+import ac.su.kdt.beauthenticationservice.model.dto.UserSnapshot;
+import ac.su.kdt.beauthenticationservice.model.entity.User;
+import ac.su.kdt.beauthenticationservice.repository.UserRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("User Snapshot Cache Tests")
+class UserSnapshotCacheTest {
+
+    private static final String USER_ID = "user-1";
+    private static final String SNAPSHOT_KEY = "user_snapshot:" + USER_ID;
+    private static final String VERSION_KEY = "user_snapshot_version:" + USER_ID;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private HashOperations<String, String, String> hashOperations;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private UserSnapshotCache userSnapshotCache;
+
+    @BeforeEach
+    void setUp() {
+        RedisCircuitBreaker redisCircuitBreaker =
+                new RedisCircuitBreaker(new SimpleMeterRegistry(), CircuitBreakerConfig.ofDefaults());
+        userSnapshotCache = new UserSnapshotCache(userRepository, redisTemplate, redisCircuitBreaker,
+                Optional.empty(), new SimpleMeterRegistry(), 100, 60, 300);
+        lenient().when(redisTemplate.<String, String>opsForHash()).thenReturn(hashOperations);
+        lenient().when(hashOperations.entries(SNAPSHOT_KEY)).thenReturn(Map.of());
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("DB에서 읽은 스냅샷은 Redis에 기록하고 이후 조회는 로컬 캐시에서 응답해야 한다")
+    void shouldLoadOnceAndServeLocally() {
+        // given
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user()));
+
+        // when
+        Optional<UserSnapshot> first = userSnapshotCache.get(USER_ID);
+        Optional<UserSnapshot> second = userSnapshotCache.get(USER_ID);
+
+        // then
+        assertThat(first).isPresent();
+        assertThat(first.get().getRole()).isEqualTo(User.UserRole.ADMIN);
+        assertThat(second).containsSame(first.get());
+        verify(userRepository, times(1)).findById(USER_ID);
+        verify(hashOperations, times(1)).entries(SNAPSHOT_KEY);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(SNAPSHOT_KEY, VERSION_KEY)), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Redis에 스냅샷이 있으면 DB를 조회하지 않아야 한다")
+    void shouldServeFromRedisWithoutDatabase() {
+        // given
+        when(hashOperations.entries(SNAPSHOT_KEY)).thenReturn(UserSnapshot.from(user()).toFields());
+
+        // when
+        Optional<UserSnapshot> snapshot = userSnapshotCache.get(USER_ID);
+
+        // then
+        assertThat(snapshot).isPresent();
+        assertThat(snapshot.get().getEmail()).isEqualTo("user@example.com");
+        assertThat(snapshot.get().getCurrentTickets()).isEqualTo(42);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("없는 사용자는 캐시하지 않아야 한다")
+    void shouldNotCacheMissingUsers() {
+        // given
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.empty());
+
+        // when & then
+        assertThat(userSnapshotCache.get(USER_ID)).isEmpty();
+        assertThat(userSnapshotCache.get(USER_ID)).isEmpty();
+        verify(userRepository, times(2)).findById(USER_ID);
+    }
+
+    @Test
+    @DisplayName("DB 조회가 실패하면 예외 없이 빈 결과를 반환하고 캐시하지 않아야 한다")
+    void shouldReturnEmptyWhenDatabaseLookupFails() {
+        // given
+        when(userRepository.findById(USER_ID))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenReturn(Optional.of(user()));
+
+        // when & then
+        assertThat(userSnapshotCache.get(USER_ID)).isEmpty();
+        assertThat(userSnapshotCache.get(USER_ID)).isPresent();
+    }
+
+    @Test
+    @DisplayName("사용자 변경 이벤트는 로컬/Redis 스냅샷을 지우고 다른 인스턴스에 전파해야 한다")
+    void shouldInvalidateOnUserChanged() {
+        // given
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user()));
+        userSnapshotCache.get(USER_ID);
+
+        // when
+        userSnapshotCache.onUserChanged(new UserChangedEvent(USER_ID));
+        userSnapshotCache.get(USER_ID);
+
+        // then
+        verify(valueOperations).increment(VERSION_KEY);
+        verify(redisTemplate).expire(VERSION_KEY, 300, TimeUnit.SECONDS);
+        verify(redisTemplate).delete(SNAPSHOT_KEY);
+        verify(redisTemplate).convertAndSend("user_snapshot:events", USER_ID);
+        verify(userRepository, times(2)).findById(USER_ID);
+    }
+
+    @Test
+    @DisplayName("DB 조회와 Redis 기록 사이에 무효화되면 오래된 스냅샷을 Redis와 로컬 캐시에 남기지 않아야 한다")
+    void shouldNotWriteSnapshotReadBeforeInvalidation() {
+        // given: Redis 버전 키와 기록 스크립트의 버전 비교를 흉내냄
+        AtomicLong version = new AtomicLong();
+        AtomicBoolean written = new AtomicBoolean();
+        when(valueOperations.get(VERSION_KEY)).thenAnswer(invocation -> version.get() == 0 ? null : String.valueOf(version.get()));
+        when(valueOperations.increment(VERSION_KEY)).thenAnswer(invocation -> version.incrementAndGet());
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(SNAPSHOT_KEY, VERSION_KEY)), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    String current = version.get() == 0 ? "" : String.valueOf(version.get());
+                    written.set(current.equals(invocation.getArgument(2))); // ARGV[1] = DB 조회 전에 읽은 버전
+                    return written.get() ? 1L : 0L;
+                });
+
+        // DB 조회 직후, 기록 전에 사용자 변경이 커밋되어 무효화됨
+        when(userRepository.findById(USER_ID)).thenAnswer(invocation -> {
+            userSnapshotCache.onUserChanged(new UserChangedEvent(USER_ID));
+            return Optional.of(user());
+        }).thenReturn(Optional.of(user()));
+
+        // when
+        Optional<UserSnapshot> stale = userSnapshotCache.get(USER_ID);
+
+        // then: 이번 응답에는 쓰이지만 Redis 기록은 거절되고, 다음 조회는 DB에서 다시 읽음
+        assertThat(stale).isPresent();
+        assertThat(written).isFalse();
+
+        userSnapshotCache.get(USER_ID);
+        assertThat(written).isTrue();
+        verify(userRepository, times(2)).findById(USER_ID);
+    }
+
+    private static User user() {
+        return User.builder()
+                .id(USER_ID)
+                .email("user@example.com")
+                .name("User")
+                .role(User.UserRole.ADMIN)
+                .emailVerified(true)
+                .isActive(true)
+                .currentTickets(42)
+                .build();
+    }
+}
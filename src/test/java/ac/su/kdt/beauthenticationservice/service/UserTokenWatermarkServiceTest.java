@@ -0,0 +1,155 @@
+package ac.su.kdt.beauthenticationservice.service;
+
+import ac.su.kdt.beauthenticationservice.jwt.VerifiedToken;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("User Token Watermark Service Tests")
+class UserTokenWatermarkServiceTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private UserTokenWatermarkService watermarkService;
+
+    @BeforeEach
+    void setUp() {
+        watermarkService = new UserTokenWatermarkService(
+                redisTemplate, Optional.empty(), new SimpleMeterRegistry(), 2592000, 300);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("워터마크 설정 후 이전에 발급된 토큰은 무효화되어야 한다")
+    void shouldInvalidateTokensIssuedBeforeWatermark() {
+        // given
+        VerifiedToken oldToken = token("user123", Instant.now().minusSeconds(60));
+
+        // when
+        watermarkService.invalidateAllTokens("user123");
+
+        // then
+        verify(valueOperations).set(startsWith("token_watermark:user123"), anyString(), eq(2592000L), eq(TimeUnit.SECONDS));
+        verify(redisTemplate).convertAndSend(eq("token_watermark:events"), startsWith("user123|"));
+        assertThat(watermarkService.isInvalidated(oldToken)).isTrue();
+    }
+
+    @Test
+    @DisplayName("워터마크 이후에 발급된 토큰은 유효해야 한다")
+    void shouldAcceptTokensIssuedAfterWatermark() {
+        // given
+        long watermark = Instant.now().minusSeconds(60).getEpochSecond();
+        when(valueOperations.get("token_watermark:user123")).thenReturn(String.valueOf(watermark));
+
+        // when & then
+        assertThat(watermarkService.isInvalidated(token("user123", Instant.now()))).isFalse();
+        assertThat(watermarkService.isInvalidated(token("user123", Instant.now().minusSeconds(120)))).isTrue();
+
+        // 두 번째 조회부터는 로컬 캐시 사용
+        verify(valueOperations, times(1)).get("token_watermark:user123");
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스의 워터마크 이벤트를 로컬 캐시에 반영해야 한다")
+    void shouldApplyWatermarkEventFromOtherInstance() {
+        // given
+        when(valueOperations.get("token_watermark:user123")).thenReturn(null);
+        VerifiedToken token = token("user123", Instant.now().minusSeconds(60));
+        assertThat(watermarkService.isInvalidated(token)).isFalse();
+
+        // when
+        watermarkService.handleEvent("user123|" + Instant.now().getEpochSecond());
+
+        // then
+        assertThat(watermarkService.isInvalidated(token)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Redis 조회 실패는 캐시하지 않고 다음 조회에서 다시 Redis를 확인해야 한다")
+    void shouldNotCacheRedisFailures() {
+        // given
+        long watermark = Instant.now().getEpochSecond();
+        when(valueOperations.get("token_watermark:user123"))
+                .thenThrow(new RedisConnectionFailureException("connection refused"))
+                .thenReturn(String.valueOf(watermark));
+        VerifiedToken token = token("user123", Instant.now().minusSeconds(60));
+
+        // when & then: 장애 중인 호출만 fail-open
+        assertThat(watermarkService.isInvalidated(token)).isFalse();
+        assertThat(watermarkService.isInvalidated(token)).isTrue();
+        verify(valueOperations, times(2)).get("token_watermark:user123");
+    }
+
+    @Test
+    @DisplayName("무효화 직후 같은 초에 발급된 토큰은 유효해야 한다")
+    void shouldAcceptTokenIssuedRightAfterInvalidation() {
+        // given
+        AtomicLong clock = new AtomicLong(1_700_000_000_500L);
+        watermarkService = new UserTokenWatermarkService(
+                redisTemplate, Optional.empty(), new SimpleMeterRegistry(), 2592000, 300, clock::get);
+
+        // when: 비밀번호 재설정 직후 재로그인
+        watermarkService.invalidateAllTokens("user123");
+        VerifiedToken before = tokenWithMillisClaim("user123", 1_700_000_000_400L);
+        VerifiedToken after = tokenWithMillisClaim("user123", 1_700_000_000_502L);
+
+        // then
+        assertThat(before.getIssuedAt().getEpochSecond()).isEqualTo(after.getIssuedAt().getEpochSecond());
+        assertThat(watermarkService.isInvalidated(before)).isTrue();
+        assertThat(watermarkService.isInvalidated(after)).isFalse();
+        verify(valueOperations).set("token_watermark:user123", "1700000000501", 2592000L, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("이전 버전이 초 단위로 저장한 워터마크는 밀리초로 변환해야 한다")
+    void shouldConvertLegacySecondWatermarks() {
+        // given
+        when(valueOperations.get("token_watermark:user123")).thenReturn("1700000000");
+
+        // when & then
+        assertThat(watermarkService.getWatermark("user123")).isEqualTo(1_700_000_000_000L);
+        assertThat(watermarkService.isInvalidated(tokenWithMillisClaim("user123", 1_699_999_999_999L))).isTrue();
+        assertThat(watermarkService.isInvalidated(tokenWithMillisClaim("user123", 1_700_000_000_400L))).isFalse();
+        assertThat(UserTokenWatermarkService.toMillis(1_700_000_000_501L)).isEqualTo(1_700_000_000_501L);
+    }
+
+    private VerifiedToken tokenWithMillisClaim(String userId, long issuedAtMillis) {
+        return VerifiedToken.from(Jwts.claims()
+                .subject(userId)
+                .issuedAt(new Date(issuedAtMillis / 1000 * 1000))
+                .expiration(new Date(issuedAtMillis + 3_600_000))
+                .add(VerifiedToken.ISSUED_AT_MILLIS_CLAIM, issuedAtMillis)
+                .build());
+    }
+
+    private VerifiedToken token(String userId, Instant issuedAt) {
+        return VerifiedToken.builder()
+                .subject(userId)
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plusSeconds(3600))
+                .build();
+    }
+}